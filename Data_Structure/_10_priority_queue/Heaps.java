@@ -0,0 +1,56 @@
+package _10_priority_queue;
+
+/**
+ * d-ary 힙 구현들이 공유하는 인덱스 계산과 용적 확인.
+ * <p>
+ * 차수(arity)는 2의 거듭제곱으로 제한해서 자식/부모 인덱스를 곱셈/나눗셈 대신 시프트로 구한다.
+ * k번째 노드의 자식은 (k << shift) + 1 부터 arity개, 부모는 (k - 1) >> shift 이다.
+ * 4-ary 힙은 이진 힙보다 높이가 절반이고 형제들이 한 캐시 라인 근처에 모여 있어서,
+ * 비교가 싼 요소라면 poll의 캐시 미스가 줄어든다.
+ */
+final class Heaps {
+
+    static final int DEFAULT_ARITY = 4;
+    static final int MAX_ARITY = 16;
+    static final int DEFAULT_CAPACITY = 16;
+    static final int MAX_ARRAY_SIZE = Integer.MAX_VALUE - 8;
+
+    private Heaps() {
+    }
+
+    /**
+     * @return log2(arity)
+     * @throws IllegalArgumentException arity가 2 이상 MAX_ARITY 이하인 2의 거듭제곱이 아닌 경우
+     */
+    static int shiftOf(int arity) {
+        if (arity < 2 || arity > MAX_ARITY || Integer.bitCount(arity) != 1) {
+            throw new IllegalArgumentException("arity must be a power of two in [2, " + MAX_ARITY + "]: " + arity);
+        }
+        return Integer.numberOfTrailingZeros(arity);
+    }
+
+    /**
+     * 자식이 있는 마지막 노드의 인덱스. (자식이 있는 노드가 없으면 음수)
+     */
+    static int lastParent(int size, int shift) {
+        return (size - 2) >> shift;
+    }
+
+    static int hugeRangeCheck(int size, int oldCapacity, int newCapacity) {
+        if (MAX_ARRAY_SIZE - size <= 0) {
+            throw new OutOfMemoryError("Required heap length too large");
+        }
+        if (newCapacity >= 0) {
+            if (newCapacity - MAX_ARRAY_SIZE <= 0) {
+                return newCapacity;
+            }
+            return MAX_ARRAY_SIZE;
+        } else {
+            int fiveFourthsSize = oldCapacity + (oldCapacity >> 2);
+            if (fiveFourthsSize <= 0 || fiveFourthsSize >= MAX_ARRAY_SIZE) {
+                return MAX_ARRAY_SIZE;
+            }
+            return fiveFourthsSize;
+        }
+    }
+}
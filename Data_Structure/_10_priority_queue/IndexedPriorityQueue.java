@@ -0,0 +1,330 @@
+package _10_priority_queue;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import my_interface.MyQueueInterface;
+import my_util.ResizePolicy;
+
+/**
+ * 추가한 요소의 위치를 Handle로 추적하는 d-ary 최소 힙.
+ * <p>
+ * add()가 돌려주는 Handle은 힙 배열에서 자신의 현재 인덱스를 기억하고, 요소가 움직일 때마다 함께 갱신된다.
+ * 그래서 이미 들어 있는 요소의 우선순위 변경(decreaseKey/update)과 임의 요소 삭제(remove(Handle))를
+ * 탐색 없이 O(log n)에 할 수 있다. (타이머 취소, 다익스트라의 거리 갱신 등)
+ * <p>
+ * 우선순위는 요소 자체를 comparator(없으면 Comparable)로 비교해서 정한다.
+ * 큐에 들어 있는 요소를 밖에서 변경하면 안 되고, 우선순위를 바꾸려면 새 값으로 decreaseKey/update를 호출한다.
+ * null 요소는 허용하지 않는다.
+ *
+ * @param <E> the type of elements in this Queue
+ */
+public class IndexedPriorityQueue<E> implements MyQueueInterface<E>, Iterable<E> {
+
+    /**
+     * 큐에 추가한 요소 하나를 가리킨다. 요소가 poll/remove로 빠지면 더 이상 큐에 들어 있지 않은 상태가 된다.
+     */
+    public static final class Handle<E> {
+
+        private final IndexedPriorityQueue<E> owner;
+        private E value;
+        private int index; // 힙 배열에서의 위치, 큐에 없으면 -1
+
+        private Handle(IndexedPriorityQueue<E> owner, E value) {
+            this.owner = owner;
+            this.value = value;
+        }
+
+        public E get() {
+            return value;
+        }
+
+        public boolean isQueued() {
+            return index >= 0;
+        }
+    }
+
+    private Handle<E>[] heap;
+    private int size;
+    private final int shift; // log2(arity)
+    private final Comparator<? super E> comparator;
+    private final ResizePolicy resizePolicy;
+
+    public IndexedPriorityQueue() {
+        this(Heaps.DEFAULT_CAPACITY, Heaps.DEFAULT_ARITY, null, ResizePolicy.defaultPolicy());
+    }
+
+    public IndexedPriorityQueue(Comparator<? super E> comparator) {
+        this(Heaps.DEFAULT_CAPACITY, Heaps.DEFAULT_ARITY, comparator, ResizePolicy.defaultPolicy());
+    }
+
+    /**
+     * @param capacity     초기 용적
+     * @param arity        노드 하나의 자식 개수 (2의 거듭제곱, 2 ~ 16)
+     * @param comparator   우선순위 기준, null이면 요소의 Comparable 구현을 따른다
+     * @param resizePolicy 용적 확장/축소 정책
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public IndexedPriorityQueue(int capacity, int arity, Comparator<? super E> comparator,
+        ResizePolicy resizePolicy) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException();
+        }
+        if (resizePolicy == null) {
+            throw new NullPointerException();
+        }
+        this.shift = Heaps.shiftOf(arity);
+        this.heap = (Handle<E>[]) new Handle[Math.max(capacity, 1)];
+        this.size = 0;
+        this.comparator = comparator;
+        this.resizePolicy = resizePolicy;
+    }
+
+    @SuppressWarnings("unchecked")
+    private int compare(E a, E b) {
+        return comparator == null ? ((Comparable<? super E>) a).compareTo(b) : comparator.compare(a, b);
+    }
+
+    private void checkElement(Object e) {
+        if (e == null) {
+            throw new NullPointerException();
+        }
+        if (comparator == null && !(e instanceof Comparable)) {
+            throw new ClassCastException(e.getClass().getName() + " is not Comparable");
+        }
+    }
+
+    /**
+     * handle이 이 큐에 들어 있는지 확인한다.
+     *
+     * @throws IllegalArgumentException 다른 큐의 handle인 경우
+     * @throws IllegalStateException    이미 poll/remove된 handle인 경우
+     */
+    private void checkQueued(Handle<E> handle) {
+        if (handle.owner != this) {
+            throw new IllegalArgumentException("handle belongs to another queue");
+        }
+        if (handle.index < 0) {
+            throw new IllegalStateException("handle is no longer queued");
+        }
+    }
+
+    private void siftUp(int k, Handle<E> x) {
+        Handle<E>[] h = heap;
+        E xv = x.value;
+        while (k > 0) {
+            int parent = (k - 1) >> shift;
+            Handle<E> p = h[parent];
+            if (compare(xv, p.value) >= 0) {
+                break;
+            }
+            h[k] = p;
+            p.index = k;
+            k = parent;
+        }
+        h[k] = x;
+        x.index = k;
+    }
+
+    private void siftDown(int k, Handle<E> x, int n) {
+        Handle<E>[] h = heap;
+        E xv = x.value;
+        int lastParent = Heaps.lastParent(n, shift);
+        int arity = 1 << shift;
+        while (k <= lastParent) {
+            int first = (k << shift) + 1;
+            int end = Math.min(first + arity, n);
+            int best = first;
+            Handle<E> b = h[first];
+            for (int c = first + 1; c < end; c++) {
+                if (compare(h[c].value, b.value) < 0) {
+                    best = c;
+                    b = h[c];
+                }
+            }
+            if (compare(xv, b.value) <= 0) {
+                break;
+            }
+            h[k] = b;
+            b.index = k;
+            k = best;
+        }
+        h[k] = x;
+        x.index = k;
+    }
+
+    private void ensureCapacity(int minCapacity) {
+        int arrayCapacity = heap.length;
+        if (minCapacity > arrayCapacity) {
+            int newCapacity = Heaps.hugeRangeCheck(size, arrayCapacity,
+                resizePolicy.growCapacity(arrayCapacity, minCapacity));
+            heap = Arrays.copyOf(heap, newCapacity);
+            resizePolicy.recordReallocation(size);
+        }
+    }
+
+    private void shrinkIfNeeded() {
+        int newCapacity = resizePolicy.shrinkCapacity(heap.length, size, Heaps.DEFAULT_CAPACITY);
+        if (newCapacity < heap.length) {
+            heap = Arrays.copyOf(heap, newCapacity);
+            resizePolicy.recordReallocation(size);
+        }
+    }
+
+    /**
+     * 요소를 추가하고 그 요소를 가리키는 Handle을 반환한다.
+     */
+    public Handle<E> add(E e) {
+        checkElement(e);
+        ensureCapacity(size + 1);
+        Handle<E> handle = new Handle<>(this, e);
+        siftUp(size++, handle);
+        return handle;
+    }
+
+    @Override
+    public boolean offer(E e) {
+        add(e);
+        return true;
+    }
+
+    @Override
+    public E poll() {
+        Handle<E> top = pollHandle();
+        return top == null ? null : top.value;
+    }
+
+    /**
+     * 가장 작은 요소를 꺼내고 그 Handle을 반환한다. 비어 있으면 null을 반환한다.
+     */
+    public Handle<E> pollHandle() {
+        if (size == 0) {
+            return null;
+        }
+        Handle<E> top = heap[0];
+        removeAt(0);
+        return top;
+    }
+
+    @Override
+    public E peek() {
+        return size == 0 ? null : heap[0].value;
+    }
+
+    public Handle<E> peekHandle() {
+        return size == 0 ? null : heap[0];
+    }
+
+    /**
+     * handle이 가리키는 요소를 더 작거나 같은 value로 바꾸고 위로 옮긴다.
+     *
+     * @throws IllegalArgumentException value가 기존 요소보다 큰 경우, 다른 큐의 handle인 경우
+     * @throws IllegalStateException    handle이 더 이상 큐에 없는 경우
+     */
+    public void decreaseKey(Handle<E> handle, E value) {
+        checkQueued(handle);
+        checkElement(value);
+        if (compare(value, handle.value) > 0) {
+            throw new IllegalArgumentException("new value is greater than the current value");
+        }
+        handle.value = value;
+        siftUp(handle.index, handle);
+    }
+
+    /**
+     * handle이 가리키는 요소를 value로 바꾸고 우선순위에 맞는 위치로 옮긴다. (증가/감소 모두 가능)
+     *
+     * @throws IllegalArgumentException 다른 큐의 handle인 경우
+     * @throws IllegalStateException    handle이 더 이상 큐에 없는 경우
+     */
+    public void update(Handle<E> handle, E value) {
+        checkQueued(handle);
+        checkElement(value);
+        int cmp = compare(value, handle.value);
+        handle.value = value;
+        if (cmp < 0) {
+            siftUp(handle.index, handle);
+        } else if (cmp > 0) {
+            siftDown(handle.index, handle, size);
+        }
+    }
+
+    /**
+     * handle이 가리키는 요소를 삭제한다. O(log n)
+     *
+     * @return 삭제했으면 true, 이미 poll/remove된 handle이면 false
+     * @throws IllegalArgumentException 다른 큐의 handle인 경우
+     */
+    public boolean remove(Handle<E> handle) {
+        if (handle.owner != this) {
+            throw new IllegalArgumentException("handle belongs to another queue");
+        }
+        if (handle.index < 0) {
+            return false;
+        }
+        removeAt(handle.index);
+        return true;
+    }
+
+    /**
+     * i번째 칸을 마지막 요소로 채우고, 그 요소를 위아래 중 맞는 방향으로 옮긴다.
+     */
+    private void removeAt(int i) {
+        Handle<E>[] h = heap;
+        h[i].index = -1;
+        int n = --size;
+        Handle<E> moved = h[n];
+        h[n] = null;
+        if (i != n) {
+            siftDown(i, moved, n);
+            if (h[i] == moved) {
+                siftUp(i, moved);
+            }
+        }
+        shrinkIfNeeded();
+    }
+
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            heap[i].index = -1;
+            heap[i] = null;
+        }
+        size = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int arity() {
+        return 1 << shift;
+    }
+
+    /**
+     * 요소들을 힙 배열의 순서(우선순위 순서가 아님)로 돌려준다. 순회 중 큐를 변경하면 결과는 정의되지 않는다.
+     */
+    @Override
+    public Iterator<E> iterator() {
+        return new Iterator<E>() {
+            private int now = 0;
+
+            @Override
+            public boolean hasNext() {
+                return now < size;
+            }
+
+            @Override
+            public E next() {
+                if (now >= size) {
+                    throw new NoSuchElementException();
+                }
+                return heap[now++].value;
+            }
+        };
+    }
+}
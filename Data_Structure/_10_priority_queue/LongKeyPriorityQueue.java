@@ -0,0 +1,202 @@
+package _10_priority_queue;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import my_util.ResizePolicy;
+
+/**
+ * long 키의 오름차순으로 값을 꺼내는 d-ary 최소 힙.
+ * <p>
+ * 키를 long[]에, 값을 같은 인덱스의 Object[]에 따로 저장하고 키를 기본형 비교(<)로만 정렬한다.
+ * Comparator 호출이 없으므로 여러 종류의 Comparator가 섞여 호출 지점이 megamorphic해지는 일이 없고,
+ * 키 비교가 연속된 long[] 안에서만 일어나서 요소 객체를 따라가는 캐시 미스도 없다.
+ * (마감 시각(nanoTime)으로 정렬하는 타이머, 정수 거리로 정렬하는 최단 경로 탐색 등)
+ * <p>
+ * 같은 키의 값들 사이의 순서는 보장하지 않는다. null 값은 허용하지 않는다.
+ *
+ * @param <E> the type of values in this Queue
+ */
+public class LongKeyPriorityQueue<E> {
+
+    private long[] keys;
+    private Object[] values;
+    private int size;
+    private final int shift; // log2(arity)
+    private final ResizePolicy resizePolicy;
+
+    public LongKeyPriorityQueue() {
+        this(Heaps.DEFAULT_CAPACITY, Heaps.DEFAULT_ARITY, ResizePolicy.defaultPolicy());
+    }
+
+    /**
+     * @param capacity     초기 용적
+     * @param arity        노드 하나의 자식 개수 (2의 거듭제곱, 2 ~ 16)
+     * @param resizePolicy 용적 확장/축소 정책
+     */
+    public LongKeyPriorityQueue(int capacity, int arity, ResizePolicy resizePolicy) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException();
+        }
+        if (resizePolicy == null) {
+            throw new NullPointerException();
+        }
+        this.shift = Heaps.shiftOf(arity);
+        this.keys = new long[Math.max(capacity, 1)];
+        this.values = new Object[keys.length];
+        this.size = 0;
+        this.resizePolicy = resizePolicy;
+    }
+
+    /**
+     * keys[i]를 values[i]의 키로 하는 힙을 O(n) 만에 만든다. 두 배열은 복사한다.
+     */
+    public static <E> LongKeyPriorityQueue<E> heapify(long[] keys, E[] values, int arity) {
+        if (keys.length != values.length) {
+            throw new IllegalArgumentException();
+        }
+        for (E value : values) {
+            if (value == null) {
+                throw new NullPointerException();
+            }
+        }
+        LongKeyPriorityQueue<E> queue = new LongKeyPriorityQueue<>(keys.length, arity,
+            ResizePolicy.defaultPolicy());
+        System.arraycopy(keys, 0, queue.keys, 0, keys.length);
+        System.arraycopy(values, 0, queue.values, 0, values.length);
+        queue.size = keys.length;
+        for (int i = Heaps.lastParent(queue.size, queue.shift); i >= 0; i--) {
+            queue.siftDown(i, queue.keys[i], queue.values[i], queue.size);
+        }
+        return queue;
+    }
+
+    private void siftUp(int k, long key, Object value) {
+        long[] ks = keys;
+        Object[] vs = values;
+        while (k > 0) {
+            int parent = (k - 1) >> shift;
+            long p = ks[parent];
+            if (key >= p) {
+                break;
+            }
+            ks[k] = p;
+            vs[k] = vs[parent];
+            k = parent;
+        }
+        ks[k] = key;
+        vs[k] = value;
+    }
+
+    private void siftDown(int k, long key, Object value, int n) {
+        long[] ks = keys;
+        Object[] vs = values;
+        int lastParent = Heaps.lastParent(n, shift);
+        int arity = 1 << shift;
+        while (k <= lastParent) {
+            int first = (k << shift) + 1;
+            int end = Math.min(first + arity, n);
+            int best = first;
+            long b = ks[first];
+            for (int c = first + 1; c < end; c++) {
+                if (ks[c] < b) {
+                    best = c;
+                    b = ks[c];
+                }
+            }
+            if (key <= b) {
+                break;
+            }
+            ks[k] = b;
+            vs[k] = vs[best];
+            k = best;
+        }
+        ks[k] = key;
+        vs[k] = value;
+    }
+
+    private void ensureCapacity(int minCapacity) {
+        int arrayCapacity = keys.length;
+        if (minCapacity > arrayCapacity) {
+            int newCapacity = Heaps.hugeRangeCheck(size, arrayCapacity,
+                resizePolicy.growCapacity(arrayCapacity, minCapacity));
+            keys = Arrays.copyOf(keys, newCapacity);
+            values = Arrays.copyOf(values, newCapacity);
+            resizePolicy.recordReallocation(size);
+        }
+    }
+
+    private void shrinkIfNeeded() {
+        int newCapacity = resizePolicy.shrinkCapacity(keys.length, size, Heaps.DEFAULT_CAPACITY);
+        if (newCapacity < keys.length) {
+            keys = Arrays.copyOf(keys, newCapacity);
+            values = Arrays.copyOf(values, newCapacity);
+            resizePolicy.recordReallocation(size);
+        }
+    }
+
+    public void offer(long key, E value) {
+        if (value == null) {
+            throw new NullPointerException();
+        }
+        ensureCapacity(size + 1);
+        siftUp(size++, key, value);
+    }
+
+    /**
+     * 키가 가장 작은 값을 꺼낸다.
+     *
+     * @return 꺼낸 값, 비어 있으면 null
+     */
+    @SuppressWarnings("unchecked")
+    public E poll() {
+        if (size == 0) {
+            return null;
+        }
+        E result = (E) values[0];
+        int n = --size;
+        long lastKey = keys[n];
+        Object lastValue = values[n];
+        values[n] = null;
+        if (n > 0) {
+            siftDown(0, lastKey, lastValue, n);
+        }
+        shrinkIfNeeded();
+        return result;
+    }
+
+    /**
+     * @return 키가 가장 작은 값, 비어 있으면 null
+     */
+    @SuppressWarnings("unchecked")
+    public E peek() {
+        return size == 0 ? null : (E) values[0];
+    }
+
+    /**
+     * @return 가장 작은 키
+     * @throws NoSuchElementException 큐가 비어 있는 경우
+     */
+    public long peekKey() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        return keys[0];
+    }
+
+    public void clear() {
+        Arrays.fill(values, 0, size, null);
+        size = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int arity() {
+        return 1 << shift;
+    }
+}
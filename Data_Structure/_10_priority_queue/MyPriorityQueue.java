@@ -0,0 +1,319 @@
+package _10_priority_queue;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import my_interface.MyQueueInterface;
+import my_util.ResizePolicy;
+
+/**
+ * 배열 기반 d-ary 최소 힙 우선순위 큐.
+ * <p>
+ * poll/peek은 comparator(없으면 요소의 Comparable 구현) 기준으로 가장 작은 요소를 반환한다.
+ * offer와 poll은 O(log n), peek은 O(1)이다. 같은 우선순위의 요소들 사이의 순서는 보장하지 않는다.
+ * <p>
+ * 요소를 옮길 때는 교환하지 않고 빈 칸(hole)을 이동시킨 뒤 마지막에 한 번만 쓴다.
+ * heapify와 큰 묶음의 offerAll은 아래에서부터 siftDown하는 O(n) 힙 구성을 사용한다.
+ * iterator()와 toArray()는 힙 배열의 순서(우선순위 순서가 아님)로 요소를 돌려준다.
+ * null 요소는 허용하지 않는다.
+ *
+ * @param <E> the type of elements in this Queue
+ */
+public class MyPriorityQueue<E> implements MyQueueInterface<E>, Iterable<E> {
+
+    private Object[] heap;
+    private int size;
+    private final int shift; // log2(arity)
+    private final Comparator<? super E> comparator;
+    private final ResizePolicy resizePolicy;
+
+    public MyPriorityQueue() {
+        this(Heaps.DEFAULT_CAPACITY, Heaps.DEFAULT_ARITY, null, ResizePolicy.defaultPolicy());
+    }
+
+    public MyPriorityQueue(Comparator<? super E> comparator) {
+        this(Heaps.DEFAULT_CAPACITY, Heaps.DEFAULT_ARITY, comparator, ResizePolicy.defaultPolicy());
+    }
+
+    public MyPriorityQueue(int arity, Comparator<? super E> comparator) {
+        this(Heaps.DEFAULT_CAPACITY, arity, comparator, ResizePolicy.defaultPolicy());
+    }
+
+    /**
+     * @param capacity     초기 용적
+     * @param arity        노드 하나의 자식 개수 (2의 거듭제곱, 2 ~ 16). 비교가 싼 요소는 4, 비싼 요소는 2가 보통 빠르다.
+     * @param comparator   우선순위 기준, null이면 요소의 Comparable 구현을 따른다
+     * @param resizePolicy 용적 확장/축소 정책
+     */
+    public MyPriorityQueue(int capacity, int arity, Comparator<? super E> comparator, ResizePolicy resizePolicy) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException();
+        }
+        if (resizePolicy == null) {
+            throw new NullPointerException();
+        }
+        this.shift = Heaps.shiftOf(arity);
+        this.heap = new Object[Math.max(capacity, 1)];
+        this.size = 0;
+        this.comparator = comparator;
+        this.resizePolicy = resizePolicy;
+    }
+
+    /**
+     * values의 요소들로 O(n) 만에 힙을 만든다. values는 복사하므로 이후에 변경해도 큐에 영향이 없다.
+     */
+    public static <E> MyPriorityQueue<E> heapify(E[] values, int arity, Comparator<? super E> comparator) {
+        MyPriorityQueue<E> queue = new MyPriorityQueue<>(values.length, arity, comparator,
+            ResizePolicy.defaultPolicy());
+        queue.offerAll(values, 0, values.length);
+        return queue;
+    }
+
+    @SuppressWarnings("unchecked")
+    private int compare(Object a, Object b) {
+        return comparator == null
+            ? ((Comparable<? super E>) a).compareTo((E) b)
+            : comparator.compare((E) a, (E) b);
+    }
+
+    private void checkElement(Object e) {
+        if (e == null) {
+            throw new NullPointerException();
+        }
+        if (comparator == null && !(e instanceof Comparable)) {
+            throw new ClassCastException(e.getClass().getName() + " is not Comparable");
+        }
+    }
+
+    /**
+     * x를 k번째 칸에 넣으려 할 때, x보다 큰 조상들을 한 칸씩 내리고 x가 들어갈 자리에 쓴다.
+     */
+    private void siftUp(int k, Object x) {
+        Object[] h = heap;
+        while (k > 0) {
+            int parent = (k - 1) >> shift;
+            Object p = h[parent];
+            if (compare(x, p) >= 0) {
+                break;
+            }
+            h[k] = p;
+            k = parent;
+        }
+        h[k] = x;
+    }
+
+    /**
+     * x를 k번째 칸에 넣으려 할 때, x보다 작은 자식 중 가장 작은 것을 한 칸씩 올리고 x가 들어갈 자리에 쓴다.
+     *
+     * @param n 힙의 크기
+     */
+    private void siftDown(int k, Object x, int n) {
+        Object[] h = heap;
+        int lastParent = Heaps.lastParent(n, shift);
+        int arity = 1 << shift;
+        while (k <= lastParent) {
+            int first = (k << shift) + 1;
+            int end = Math.min(first + arity, n);
+            int best = first;
+            Object b = h[first];
+            for (int c = first + 1; c < end; c++) {
+                if (compare(h[c], b) < 0) {
+                    best = c;
+                    b = h[c];
+                }
+            }
+            if (compare(x, b) <= 0) {
+                break;
+            }
+            h[k] = b;
+            k = best;
+        }
+        h[k] = x;
+    }
+
+    /**
+     * 배열 전체를 아래쪽 부모부터 siftDown해서 힙 조건을 만족시킨다. O(n)
+     */
+    private void heapifyAll() {
+        Object[] h = heap;
+        for (int i = Heaps.lastParent(size, shift); i >= 0; i--) {
+            siftDown(i, h[i], size);
+        }
+    }
+
+    private void ensureCapacity(int minCapacity) {
+        int arrayCapacity = heap.length;
+        if (minCapacity > arrayCapacity) {
+            int newCapacity = Heaps.hugeRangeCheck(size, arrayCapacity,
+                resizePolicy.growCapacity(arrayCapacity, minCapacity));
+            heap = Arrays.copyOf(heap, newCapacity);
+            resizePolicy.recordReallocation(size);
+        }
+    }
+
+    private void shrinkIfNeeded() {
+        int newCapacity = resizePolicy.shrinkCapacity(heap.length, size, Heaps.DEFAULT_CAPACITY);
+        if (newCapacity < heap.length) {
+            heap = Arrays.copyOf(heap, newCapacity);
+            resizePolicy.recordReallocation(size);
+        }
+    }
+
+    @Override
+    public boolean offer(E e) {
+        checkElement(e);
+        ensureCapacity(size + 1);
+        siftUp(size++, e);
+        return true;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public E poll() {
+        if (size == 0) {
+            return null;
+        }
+        Object[] h = heap;
+        E result = (E) h[0];
+        int n = --size;
+        Object last = h[n];
+        h[n] = null;
+        if (n > 0) {
+            siftDown(0, last, n);
+        }
+        shrinkIfNeeded();
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public E peek() {
+        return size == 0 ? null : (E) heap[0];
+    }
+
+    /**
+     * src의 요소를 모두 추가한다.
+     * 추가할 개수가 현재 요소 개수 이상이면 뒤에 이어 붙인 뒤 전체를 O(n)으로 다시 힙으로 만들고,
+     * 아니면 하나씩 siftUp한다.
+     *
+     * @return 추가한 요소 개수 (항상 len)
+     */
+    @Override
+    public int offerAll(E[] src, int off, int len) {
+        if (off < 0 || len < 0 || off > src.length - len) {
+            throw new IndexOutOfBoundsException();
+        }
+        for (int i = off, end = off + len; i < end; i++) {
+            checkElement(src[i]);
+        }
+        ensureCapacity(size + len);
+        if (len >= size) {
+            System.arraycopy(src, off, heap, size, len);
+            size += len;
+            heapifyAll();
+        } else {
+            for (int i = off, end = off + len; i < end; i++) {
+                siftUp(size++, src[i]);
+            }
+        }
+        return len;
+    }
+
+    /**
+     * 값이 o인 요소 하나를 삭제한다. 위치를 찾는 데 O(n)이 걸린다.
+     * (자주 삭제해야 한다면 IndexedPriorityQueue를 사용한다)
+     */
+    public boolean remove(Object o) {
+        int i = indexOf(o);
+        if (i < 0) {
+            return false;
+        }
+        removeAt(i);
+        return true;
+    }
+
+    public boolean contains(Object o) {
+        return indexOf(o) >= 0;
+    }
+
+    private int indexOf(Object o) {
+        if (o != null) {
+            for (int i = 0; i < size; i++) {
+                if (o.equals(heap[i])) {
+                    return i;
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * i번째 칸을 마지막 요소로 채우고, 그 요소를 위아래 중 맞는 방향으로 옮긴다.
+     */
+    private void removeAt(int i) {
+        Object[] h = heap;
+        int n = --size;
+        Object moved = h[n];
+        h[n] = null;
+        if (i != n) {
+            siftDown(i, moved, n);
+            if (h[i] == moved) {
+                siftUp(i, moved);
+            }
+        }
+        shrinkIfNeeded();
+    }
+
+    public void clear() {
+        Arrays.fill(heap, 0, size, null);
+        size = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int arity() {
+        return 1 << shift;
+    }
+
+    public Comparator<? super E> comparator() {
+        return comparator;
+    }
+
+    /**
+     * 요소들을 힙 배열의 순서대로 담은 배열을 반환한다.
+     */
+    public Object[] toArray() {
+        return Arrays.copyOf(heap, size);
+    }
+
+    /**
+     * 요소들을 힙 배열의 순서(우선순위 순서가 아님)로 돌려준다. 순회 중 큐를 변경하면 결과는 정의되지 않는다.
+     */
+    @Override
+    public Iterator<E> iterator() {
+        return new Iterator<E>() {
+            private int now = 0;
+
+            @Override
+            public boolean hasNext() {
+                return now < size;
+            }
+
+            @SuppressWarnings("unchecked")
+            @Override
+            public E next() {
+                if (now >= size) {
+                    throw new NoSuchElementException();
+                }
+                return (E) heap[now++];
+            }
+        };
+    }
+}
@@ -0,0 +1,159 @@
+package _11_offheap_queue;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 자주 쓰는 RecordCodec 구현.
+ */
+public final class Codecs {
+
+    private Codecs() {
+    }
+
+    /**
+     * Long을 8바이트로 저장한다.
+     */
+    public static final RecordCodec<Long> INT64 = new RecordCodec<Long>() {
+        @Override
+        public int fixedSize() {
+            return Long.BYTES;
+        }
+
+        @Override
+        public int encodedSize(Long value) {
+            return Long.BYTES;
+        }
+
+        @Override
+        public void encode(Long value, ByteBuffer dst, int offset) {
+            dst.putLong(offset, value);
+        }
+
+        @Override
+        public Long decode(ByteBuffer src, int offset, int length) {
+            return src.getLong(offset);
+        }
+    };
+
+    /**
+     * Integer를 4바이트로 저장한다.
+     */
+    public static final RecordCodec<Integer> INT32 = new RecordCodec<Integer>() {
+        @Override
+        public int fixedSize() {
+            return Integer.BYTES;
+        }
+
+        @Override
+        public int encodedSize(Integer value) {
+            return Integer.BYTES;
+        }
+
+        @Override
+        public void encode(Integer value, ByteBuffer dst, int offset) {
+            dst.putInt(offset, value);
+        }
+
+        @Override
+        public Integer decode(ByteBuffer src, int offset, int length) {
+            return src.getInt(offset);
+        }
+    };
+
+    /**
+     * Double을 8바이트로 저장한다.
+     */
+    public static final RecordCodec<Double> FLOAT64 = new RecordCodec<Double>() {
+        @Override
+        public int fixedSize() {
+            return Double.BYTES;
+        }
+
+        @Override
+        public int encodedSize(Double value) {
+            return Double.BYTES;
+        }
+
+        @Override
+        public void encode(Double value, ByteBuffer dst, int offset) {
+            dst.putDouble(offset, value);
+        }
+
+        @Override
+        public Double decode(ByteBuffer src, int offset, int length) {
+            return src.getDouble(offset);
+        }
+    };
+
+    /**
+     * byte[]를 그대로 저장한다. (가변 길이)
+     */
+    public static final RecordCodec<byte[]> BYTES = new RecordCodec<byte[]>() {
+        @Override
+        public int fixedSize() {
+            return VARIABLE;
+        }
+
+        @Override
+        public int encodedSize(byte[] value) {
+            return value.length;
+        }
+
+        @Override
+        public void encode(byte[] value, ByteBuffer dst, int offset) {
+            dst.put(offset, value);
+        }
+
+        @Override
+        public byte[] decode(ByteBuffer src, int offset, int length) {
+            byte[] value = new byte[length];
+            src.get(offset, value);
+            return value;
+        }
+    };
+
+    /**
+     * String을 UTF-8로 저장한다. (가변 길이)
+     * encodedSize는 바이트 배열을 만들지 않고 문자를 세어서 길이를 구한다.
+     */
+    public static final RecordCodec<String> UTF8 = new RecordCodec<String>() {
+        @Override
+        public int fixedSize() {
+            return VARIABLE;
+        }
+
+        @Override
+        public int encodedSize(String value) {
+            int length = 0;
+            for (int i = 0, n = value.length(); i < n; i++) {
+                char c = value.charAt(i);
+                if (c < 0x80) {
+                    length++;
+                } else if (c < 0x800) {
+                    length += 2;
+                } else if (Character.isHighSurrogate(c) && i + 1 < n && Character.isLowSurrogate(value.charAt(i + 1))) {
+                    length += 4;
+                    i++;
+                } else if (Character.isSurrogate(c)) {
+                    length++; // 짝이 없는 surrogate는 getBytes에서 '?'(1바이트)로 바뀐다.
+                } else {
+                    length += 3;
+                }
+            }
+            return length;
+        }
+
+        @Override
+        public void encode(String value, ByteBuffer dst, int offset) {
+            dst.put(offset, value.getBytes(StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public String decode(ByteBuffer src, int offset, int length) {
+            byte[] bytes = new byte[length];
+            src.get(offset, bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    };
+}
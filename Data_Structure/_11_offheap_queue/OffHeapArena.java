@@ -0,0 +1,117 @@
+package _11_offheap_queue;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * 직접 버퍼(direct ByteBuffer)를 할당하고, GC를 기다리지 않고 명시적으로 해제하는 영역.
+ * <p>
+ * Java 17에는 java.lang.foreign.Arena가 정식 API로 없으므로, 직접 버퍼의 네이티브 메모리를
+ * sun.misc.Unsafe.invokeCleaner로 즉시 해제한다. (jdk.unsupported 모듈, 리플렉션으로 찾는다)
+ * invokeCleaner를 쓸 수 없는 환경에서는 해제를 GC에 맡긴다.
+ * <p>
+ * 해제한 버퍼나 그 버퍼의 view에 접근하면 JVM이 비정상 종료될 수 있다.
+ * 이 영역을 쓰는 자료구조는 해제 이후의 접근을 막아야 하고, 밖으로 내준 view는 다음 변경 전까지만 유효하다고 문서화한다.
+ * 하나의 영역은 하나의 스레드에서만 사용한다.
+ */
+public final class OffHeapArena implements AutoCloseable {
+
+    private static final MethodHandle INVOKE_CLEANER = findInvokeCleaner();
+
+    private final Map<ByteBuffer, Boolean> live = new IdentityHashMap<>();
+    private long allocatedBytes;
+    private boolean closed;
+
+    private static MethodHandle findInvokeCleaner() {
+        try {
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+            theUnsafe.setAccessible(true);
+            return MethodHandles.lookup()
+                .findVirtual(unsafeClass, "invokeCleaner", MethodType.methodType(void.class, ByteBuffer.class))
+                .bindTo(theUnsafe.get(null));
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * @return 버퍼를 즉시 해제할 수 있으면 true, GC에 맡기면 false
+     */
+    public static boolean canFreeExplicitly() {
+        return INVOKE_CLEANER != null;
+    }
+
+    /**
+     * bytes 크기의 직접 버퍼를 할당한다. 바이트 순서는 플랫폼 기본 순서이다.
+     *
+     * @throws IllegalStateException 이미 닫힌 영역인 경우
+     */
+    public ByteBuffer allocate(int bytes) {
+        if (closed) {
+            throw new IllegalStateException("arena is closed");
+        }
+        ByteBuffer buffer = ByteBuffer.allocateDirect(bytes).order(ByteOrder.nativeOrder());
+        live.put(buffer, Boolean.TRUE);
+        allocatedBytes += bytes;
+        return buffer;
+    }
+
+    /**
+     * 이 영역에서 할당한 buffer를 즉시 해제한다. 이미 해제했거나 다른 영역의 버퍼이면 아무것도 하지 않는다.
+     */
+    public void free(ByteBuffer buffer) {
+        if (live.remove(buffer) != null) {
+            allocatedBytes -= buffer.capacity();
+            release(buffer);
+        }
+    }
+
+    /**
+     * 영역과 관계없이 직접 버퍼 또는 FileChannel.map으로 만든 매핑 버퍼를 즉시 해제한다.
+     * 다른 버퍼의 view(slice, duplicate)는 해제할 수 없다. invokeCleaner를 쓸 수 없으면 GC에 맡긴다.
+     */
+    public static void release(ByteBuffer buffer) {
+        if (INVOKE_CLEANER == null) {
+            return;
+        }
+        try {
+            INVOKE_CLEANER.invokeExact(buffer);
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * @return 해제되지 않은 버퍼들의 바이트 합
+     */
+    public long allocatedBytes() {
+        return allocatedBytes;
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * 해제되지 않은 모든 버퍼를 해제한다. 이후 allocate는 IllegalStateException을 던진다.
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        for (ByteBuffer buffer : live.keySet()) {
+            release(buffer);
+        }
+        live.clear();
+        allocatedBytes = 0;
+    }
+}
@@ -0,0 +1,351 @@
+package _11_offheap_queue;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import my_interface.MyQueueInterface;
+import my_util.ResizePolicy;
+
+/**
+ * 요소를 RecordCodec으로 직렬화해서 힙 밖의 직접 버퍼(direct ByteBuffer)에 저장하는 원형 큐.
+ * <p>
+ * 큐에 요소가 몇 개 있든 힙에는 큐 객체와 ByteBuffer 객체만 남으므로, 큐가 깊어져도 GC가 훑을 참조가 늘지 않는다.
+ * poll/peek은 매번 요소를 새로 만든다. (복사 없이 읽으려면 peekBuffer()를 사용한다)
+ * <p>
+ * MyArrayQueue와 같은 방식으로 head와 tail은 되돌리지 않고 계속 증가하는 카운터이며(int overflow도 허용),
+ * 위치는 (용적 - 1) 마스크와의 AND 연산으로 구한다. 용적은 항상 2의 거듭제곱이다.
+ * <ul>
+ *   <li>고정 크기 코덱: head/tail은 레코드 번호이고, 레코드 k는 (k & mask) * recordSize 바이트 위치에 있다.</li>
+ *   <li>가변 크기 코덱: head/tail은 바이트 위치이고, 레코드는 [길이(4바이트)][내용]을 4바이트 단위로 맞춘 형태이다.
+ *       레코드가 버퍼 끝에서 잘리지 않도록, 남은 공간이 부족하면 PADDING 표시를 쓰고 버퍼의 처음부터 쓴다.</li>
+ * </ul>
+ * 가득 차면 ResizePolicy에 따라 더 큰 버퍼를 할당해 옮기고 이전 버퍼는 바로 해제한다. (축소하지 않는다)
+ * <p>
+ * 버퍼는 OffHeapArena에서 할당한다. close()를 호출하면 버퍼를 즉시 해제하고, 이후의 모든 연산은 IllegalStateException을 던진다.
+ * null 요소는 허용하지 않는다. 하나의 스레드에서만 사용한다.
+ *
+ * @param <E> the type of elements in this Queue
+ */
+public class OffHeapQueue<E> implements MyQueueInterface<E>, AutoCloseable {
+
+    private static final int MAX_BUFFER_SIZE = 1 << 30;
+    private static final int DEFAULT_CAPACITY = 1024;
+    private static final int HEADER_BYTES = 4;
+    private static final int PADDING = -1; // 가변 크기 모드에서 버퍼 끝까지 건너뛰라는 표시
+
+    private final RecordCodec<E> codec;
+    private final int recordSize; // 고정 크기 코덱이면 레코드 크기, 가변 크기이면 RecordCodec.VARIABLE
+    private final OffHeapArena arena;
+    private final boolean ownsArena; // 생성자에서 arena를 받지 않아 직접 만든 경우
+    private final ResizePolicy resizePolicy;
+
+    private ByteBuffer buffer; // close() 후에는 null
+    private int capacity; // 고정 크기: 레코드 칸 수, 가변 크기: 바이트 수 (2의 거듭제곱)
+    private int mask; // capacity - 1
+    private int head;
+    private int tail;
+    private int count; // 요소 개수
+
+    public OffHeapQueue(RecordCodec<E> codec) {
+        this(codec, DEFAULT_CAPACITY, null, ResizePolicy.neverShrink());
+    }
+
+    /**
+     * @param codec        요소의 직렬화 방법
+     * @param capacity     초기 용적. 고정 크기 코덱이면 레코드 개수, 가변 크기 코덱이면 바이트 수이다. (2의 거듭제곱으로 올림된다)
+     * @param arena        버퍼를 할당할 영역. null이면 이 큐만 쓰는 영역을 만들고 close() 때 함께 닫는다.
+     * @param resizePolicy 용적 확장 정책 (축소 설정은 무시한다)
+     */
+    public OffHeapQueue(RecordCodec<E> codec, int capacity, OffHeapArena arena, ResizePolicy resizePolicy) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException();
+        }
+        if (codec == null || resizePolicy == null) {
+            throw new NullPointerException();
+        }
+        int fixedSize = codec.fixedSize();
+        if (fixedSize <= 0 && fixedSize != RecordCodec.VARIABLE) {
+            throw new IllegalArgumentException("invalid record size: " + fixedSize);
+        }
+        this.codec = codec;
+        this.recordSize = fixedSize;
+        this.ownsArena = arena == null;
+        this.arena = ownsArena ? new OffHeapArena() : arena;
+        this.resizePolicy = resizePolicy;
+        this.capacity = powerOfTwoCapacity(Math.max(capacity, isFixed() ? 1 : HEADER_BYTES));
+        this.buffer = this.arena.allocate(bufferBytes(this.capacity));
+        this.mask = this.capacity - 1;
+    }
+
+    private boolean isFixed() {
+        return recordSize != RecordCodec.VARIABLE;
+    }
+
+    /**
+     * capacity 이상인 가장 작은 2의 거듭제곱을 반환한다. (최소 1)
+     */
+    private static int powerOfTwoCapacity(int capacity) {
+        if (capacity <= 1) {
+            return 1;
+        }
+        if (capacity >= MAX_BUFFER_SIZE) {
+            return MAX_BUFFER_SIZE;
+        }
+        return Integer.highestOneBit(capacity - 1) << 1;
+    }
+
+    /**
+     * 용적 capacity에 필요한 버퍼 바이트 수.
+     *
+     * @throws OutOfMemoryError 직접 버퍼 하나로 담을 수 없는 경우
+     */
+    private int bufferBytes(int capacity) {
+        long bytes = isFixed() ? (long) capacity * recordSize : capacity;
+        if (bytes > MAX_BUFFER_SIZE) {
+            throw new OutOfMemoryError("Required off-heap queue size too large");
+        }
+        return (int) bytes;
+    }
+
+    private static int align(int bytes) {
+        return (bytes + (HEADER_BYTES - 1)) & -HEADER_BYTES;
+    }
+
+    private void ensureOpen() {
+        if (buffer == null) {
+            throw new IllegalStateException("queue is closed");
+        }
+    }
+
+    /**
+     * minCapacity 이상의 새 버퍼로 요소들을 옮기고 이전 버퍼를 해제한다. 옮긴 뒤 head는 0이다.
+     */
+    private void grow(int minCapacity) {
+        int newCapacity = powerOfTwoCapacity(
+            Math.max(resizePolicy.growCapacity(capacity, minCapacity), minCapacity));
+        if (newCapacity < minCapacity) {
+            throw new OutOfMemoryError("Required off-heap queue size too large");
+        }
+        ByteBuffer newBuffer = arena.allocate(bufferBytes(newCapacity));
+        int newTail = isFixed() ? copyFixed(newBuffer) : copyVariable(newBuffer);
+
+        arena.free(buffer);
+        buffer = newBuffer;
+        capacity = newCapacity;
+        mask = newCapacity - 1;
+        head = 0;
+        tail = newTail;
+        resizePolicy.recordReallocation(count);
+    }
+
+    /**
+     * 레코드들을 newBuffer의 처음부터 순서대로 옮긴다. 감겨 있어도 put 최대 두 번으로 끝난다.
+     */
+    private int copyFixed(ByteBuffer newBuffer) {
+        int from = (head & mask) * recordSize;
+        int bytes = count * recordSize;
+        int firstLength = Math.min(bytes, buffer.capacity() - from);
+        newBuffer.put(0, buffer, from, firstLength);
+        newBuffer.put(firstLength, buffer, 0, bytes - firstLength);
+        return count;
+    }
+
+    /**
+     * 레코드들을 newBuffer의 처음부터 PADDING 없이 이어 붙인다.
+     *
+     * @return 옮긴 바이트 수 (새 tail)
+     */
+    private int copyVariable(ByteBuffer newBuffer) {
+        int at = 0;
+        int h = head;
+        for (int i = 0; i < count; i++) {
+            int pos = h & mask;
+            int length = buffer.getInt(pos);
+            if (length == PADDING) {
+                h += capacity - pos;
+                pos = 0;
+                length = buffer.getInt(0);
+            }
+            int recordBytes = align(HEADER_BYTES + length);
+            newBuffer.put(at, buffer, pos, recordBytes);
+            at += recordBytes;
+            h += recordBytes;
+        }
+        return at;
+    }
+
+    @Override
+    public boolean offer(E e) {
+        if (e == null) {
+            throw new NullPointerException();
+        }
+        ensureOpen();
+        if (isFixed()) {
+            if (count == capacity) {
+                grow(capacity + 1);
+            }
+            codec.encode(e, buffer, (tail & mask) * recordSize);
+            tail++;
+        } else {
+            int length = codec.encodedSize(e);
+            if (length < 0 || length > MAX_BUFFER_SIZE - 2 * HEADER_BYTES) {
+                throw new IllegalArgumentException("invalid record length: " + length);
+            }
+            int recordBytes = align(HEADER_BYTES + length);
+            int pos = tail & mask;
+            int contiguous = capacity - pos;
+            int required = recordBytes <= contiguous ? recordBytes : contiguous + recordBytes;
+            if (capacity - (tail - head) < required) {
+                grow(tail - head + recordBytes);
+                pos = tail & mask;
+                contiguous = capacity - pos;
+            }
+            if (recordBytes > contiguous) {
+                buffer.putInt(pos, PADDING);
+                tail += contiguous;
+                pos = 0;
+            }
+            buffer.putInt(pos, length);
+            codec.encode(e, buffer, pos + HEADER_BYTES);
+            tail += recordBytes;
+        }
+        count++;
+        return true;
+    }
+
+    @Override
+    public E poll() {
+        ensureOpen();
+        if (count == 0) {
+            return null;
+        }
+        E e;
+        if (isFixed()) {
+            e = codec.decode(buffer, (head & mask) * recordSize, recordSize);
+            head++;
+        } else {
+            int pos = skipPadding();
+            int length = buffer.getInt(pos);
+            e = codec.decode(buffer, pos + HEADER_BYTES, length);
+            head += align(HEADER_BYTES + length);
+        }
+        count--;
+        return e;
+    }
+
+    /**
+     * 가변 크기 모드에서 head가 PADDING을 가리키면 버퍼의 처음으로 넘긴다.
+     *
+     * @return 첫 번째 레코드의 바이트 위치
+     */
+    private int skipPadding() {
+        int pos = head & mask;
+        if (buffer.getInt(pos) == PADDING) {
+            head += capacity - pos;
+            pos = 0;
+        }
+        return pos;
+    }
+
+    @Override
+    public E peek() {
+        ensureOpen();
+        if (count == 0) {
+            return null;
+        }
+        if (isFixed()) {
+            return codec.decode(buffer, (head & mask) * recordSize, recordSize);
+        }
+        int pos = skipPadding();
+        return codec.decode(buffer, pos + HEADER_BYTES, buffer.getInt(pos));
+    }
+
+    /**
+     * 첫 번째 레코드의 직렬화된 내용을 복사하지 않고 읽기 전용 view로 반환한다.
+     * view의 position은 0, limit은 레코드 길이이다.
+     * <p>
+     * view는 큐를 다음으로 변경(poll, offer, clear, close)하기 전까지만 유효하다.
+     * 특히 close() 이후에 view에 접근하면 해제된 메모리를 읽게 된다.
+     *
+     * @return 첫 번째 레코드의 view, 비어 있으면 null
+     */
+    public ByteBuffer peekBuffer() {
+        ensureOpen();
+        if (count == 0) {
+            return null;
+        }
+        int pos;
+        int length;
+        if (isFixed()) {
+            pos = (head & mask) * recordSize;
+            length = recordSize;
+        } else {
+            int at = skipPadding();
+            pos = at + HEADER_BYTES;
+            length = buffer.getInt(at);
+        }
+        return buffer.slice(pos, length).asReadOnlyBuffer().order(ByteOrder.nativeOrder());
+    }
+
+    /**
+     * 요소를 모두 삭제한다. 버퍼는 해제하지 않는다.
+     */
+    public void clear() {
+        ensureOpen();
+        head = 0;
+        tail = 0;
+        count = 0;
+    }
+
+    public int size() {
+        return count;
+    }
+
+    public boolean isEmpty() {
+        return count == 0;
+    }
+
+    /**
+     * @return 레코드들이 차지하는 바이트 수 (가변 크기 모드에서는 길이 표시, 정렬, PADDING 포함)
+     */
+    public long usedBytes() {
+        return isFixed() ? (long) count * recordSize : tail - head;
+    }
+
+    /**
+     * @return 할당된 직접 버퍼의 바이트 수, 닫혔으면 0
+     */
+    public long offHeapBytes() {
+        return buffer == null ? 0 : buffer.capacity();
+    }
+
+    public RecordCodec<E> codec() {
+        return codec;
+    }
+
+    public ResizePolicy getResizePolicy() {
+        return resizePolicy;
+    }
+
+    public boolean isClosed() {
+        return buffer == null;
+    }
+
+    /**
+     * 버퍼를 즉시 해제한다. 생성자에서 arena를 받지 않았으면 내부 영역도 닫는다.
+     */
+    @Override
+    public void close() {
+        if (buffer == null) {
+            return;
+        }
+        if (ownsArena) {
+            arena.close();
+        } else {
+            arena.free(buffer);
+        }
+        buffer = null;
+        head = 0;
+        tail = 0;
+        count = 0;
+    }
+}
@@ -0,0 +1,39 @@
+package _11_offheap_queue;
+
+import java.nio.ByteBuffer;
+
+/**
+ * OffHeapQueue가 요소를 직렬화해서 버퍼에 저장하고 다시 읽어 오는 방법.
+ * <p>
+ * encode/decode는 버퍼의 position/limit을 쓰지 않고 절대 위치(offset) 기반 get/put만 사용해야 한다.
+ * 버퍼의 바이트 순서는 플랫폼 기본 순서(ByteOrder.nativeOrder())이다.
+ *
+ * @param <E> the type of records
+ */
+public interface RecordCodec<E> {
+
+    /**
+     * fixedSize()가 이 값이면 레코드마다 길이가 다르다.
+     */
+    int VARIABLE = -1;
+
+    /**
+     * @return 모든 레코드의 바이트 크기, 길이가 레코드마다 다르면 VARIABLE
+     */
+    int fixedSize();
+
+    /**
+     * @return value를 직렬화했을 때의 바이트 크기 (고정 크기 코덱이면 fixedSize()와 같다)
+     */
+    int encodedSize(E value);
+
+    /**
+     * value를 dst[offset]부터 정확히 encodedSize(value) 바이트에 쓴다.
+     */
+    void encode(E value, ByteBuffer dst, int offset);
+
+    /**
+     * src[offset]부터 length 바이트를 읽어 요소를 만든다.
+     */
+    E decode(ByteBuffer src, int offset, int length);
+}
@@ -0,0 +1,77 @@
+package _12_persistent_queue;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PersistentQueue가 추가한 레코드를 언제 디스크에 강제로 기록(fsync)할지 정하는 정책.
+ * <p>
+ * 정책은 offer할 때마다 확인한다. (따로 스레드를 두지 않으므로 offer가 없으면 시간이 지나도 기록하지 않는다)
+ * fsync하지 않은 레코드는 프로세스가 죽어도 OS 페이지 캐시에 남아 있으면 살아남지만,
+ * OS나 전원이 죽으면 마지막 fsync 이후의 레코드를 잃을 수 있다. 잃은 만큼은 다시 열 때 체크섬으로 찾아 잘라낸다.
+ */
+public final class FsyncPolicy {
+
+    private static final FsyncPolicy NEVER = new FsyncPolicy(0, 0);
+
+    private final int everyRecords; // 0이면 개수로 기록하지 않는다.
+    private final long everyNanos; // 0이면 시간으로 기록하지 않는다.
+
+    private FsyncPolicy(int everyRecords, long everyNanos) {
+        this.everyRecords = everyRecords;
+        this.everyNanos = everyNanos;
+    }
+
+    /**
+     * 레코드를 records개 추가할 때마다 기록한다. (1이면 매번)
+     */
+    public static FsyncPolicy everyRecords(int records) {
+        if (records < 1) {
+            throw new IllegalArgumentException();
+        }
+        return new FsyncPolicy(records, 0);
+    }
+
+    /**
+     * 마지막 기록 후 millis 밀리초 이상 지난 뒤 처음 추가할 때 기록한다.
+     */
+    public static FsyncPolicy everyMillis(long millis) {
+        if (millis < 1) {
+            throw new IllegalArgumentException();
+        }
+        return new FsyncPolicy(0, TimeUnit.MILLISECONDS.toNanos(millis));
+    }
+
+    /**
+     * 사용 중에는 기록하지 않고 OS에 맡긴다. close()와 sync()에서만 기록한다.
+     */
+    public static FsyncPolicy never() {
+        return NEVER;
+    }
+
+    /**
+     * @param pendingRecords  마지막 기록 이후 추가한 레코드 개수
+     * @param lastSyncNanos   마지막 기록 시각 (System.nanoTime)
+     * @return 지금 기록해야 하면 true
+     */
+    boolean shouldSync(int pendingRecords, long lastSyncNanos) {
+        if (everyRecords > 0) {
+            return pendingRecords >= everyRecords;
+        }
+        return everyNanos > 0 && System.nanoTime() - lastSyncNanos >= everyNanos;
+    }
+
+    boolean isNever() {
+        return everyRecords == 0 && everyNanos == 0;
+    }
+
+    @Override
+    public String toString() {
+        if (everyRecords > 0) {
+            return "FsyncPolicy{everyRecords=" + everyRecords + '}';
+        }
+        if (everyNanos > 0) {
+            return "FsyncPolicy{everyMillis=" + TimeUnit.NANOSECONDS.toMillis(everyNanos) + '}';
+        }
+        return "FsyncPolicy{never}";
+    }
+}
@@ -0,0 +1,636 @@
+package _12_persistent_queue;
+
+import _11_offheap_queue.OffHeapArena;
+import _11_offheap_queue.RecordCodec;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.CRC32C;
+import my_interface.MyQueueInterface;
+
+/**
+ * 요소를 RecordCodec으로 직렬화해서 디렉터리 안의 세그먼트 파일들에 이어 쓰는 영속 큐.
+ * 프로세스를 다시 시작해도 open으로 같은 디렉터리를 열면 남아 있던 요소들을 이어서 꺼낼 수 있다.
+ * <p>
+ * 세그먼트 파일은 FileChannel.map으로 통째로 매핑하고, 코덱이 매핑된 메모리에 직접 쓴다. (offer에 시스템 호출이 없다)
+ * <ul>
+ *   <li>세그먼트: "00000000000000000000.seg"처럼 일련번호를 이름으로 하는 segmentSize 바이트 파일.
+ *       [헤더 16바이트] 뒤에 레코드가 이어진다.</li>
+ *   <li>레코드: [길이 + 1 (4바이트)][내용의 CRC32C (4바이트)][내용]을 4바이트 단위로 맞춘 형태.
+ *       길이 자리의 0은 데이터의 끝, ROLL은 다음 세그먼트로 넘어가라는 표시이다.</li>
+ *   <li>메타 파일(queue.meta): head 위치와, 마지막으로 fsync한 tail 위치(synced tail), 정상 종료 여부.</li>
+ * </ul>
+ * tail 세그먼트에 레코드가 들어가지 않으면 ROLL을 쓰고 다음 세그먼트를 만든다. head가 세그먼트를 다 읽으면 그 파일은 지운다.
+ * <p>
+ * 파일은 플랫폼과 관계없이 little-endian이다. (코덱은 버퍼의 바이트 순서를 따르는 get/put만 사용해야 한다)
+ * <p>
+ * 복구: open할 때 synced tail부터 레코드의 CRC를 확인하며 읽어 나가고, 처음으로 잘리거나 깨진 레코드에서 tail을 정한다.
+ * 그 뒤의 내용은 0으로 지우고 뒤따르는 세그먼트는 삭제한다. synced tail 이전의 레코드는 fsync가 끝난 것이므로 확인하지 않는다.
+ * head는 poll마다 메타 파일에 쓰지만 fsync는 sync()에서만 하므로, OS나 전원이 죽으면 이미 꺼낸 요소가 다시 나올 수 있다.
+ * (적어도 한 번 전달, at-least-once)
+ * <p>
+ * 언제 fsync할지는 FsyncPolicy로 정한다. null 요소는 허용하지 않는다.
+ * 하나의 스레드에서만 사용하고, 같은 디렉터리를 두 큐가 동시에 열면 안 된다.
+ *
+ * @param <E> the type of elements in this Queue
+ */
+public class PersistentQueue<E> implements MyQueueInterface<E>, AutoCloseable {
+
+    public static final int DEFAULT_SEGMENT_SIZE = 64 << 20;
+    private static final int MIN_SEGMENT_SIZE = 4096;
+    private static final int MAX_SEGMENT_SIZE = 1 << 30;
+
+    // 파일 형식 상수는 같은 패키지의 testPersistentQueue가 파일을 직접 망가뜨릴 때도 쓴다.
+    static final String META_FILE = "queue.meta";
+    static final String SEGMENT_SUFFIX = ".seg";
+
+    static final int SEGMENT_MAGIC = 0x50515347; // "PQSG"
+    static final int META_MAGIC = 0x50514d54; // "PQMT"
+    static final int VERSION = 1;
+
+    // 세그먼트 헤더: magic(4) version(4) seq(8)
+    static final int DATA_START = 16;
+    static final int RECORD_HEADER = 8; // 길이 + 1(4), CRC32C(4)
+    static final int END = 0;
+    static final int ROLL = -1;
+
+    // 메타 파일
+    static final int META_HEAD_SEQ = 8;
+    static final int META_HEAD_OFFSET = 16;
+    static final int META_CLEAN = 20;
+    static final int META_SYNCED_SEQ = 24;
+    static final int META_SYNCED_OFFSET = 32;
+    private static final int META_SIZE = 64;
+
+    private static final int ZERO_CHUNK = 64 << 10;
+
+    private final Path dir;
+    private final RecordCodec<E> codec;
+    private final int segmentSize;
+    private final FsyncPolicy fsyncPolicy;
+    private final CRC32C crc = new CRC32C();
+
+    private MappedByteBuffer meta; // close() 후에는 null
+    private MappedByteBuffer headSegment; // head와 tail이 같은 세그먼트이면 tailSegment와 같은 객체
+    private MappedByteBuffer tailSegment;
+    private ByteBuffer crcView; // tailSegment의 duplicate. CRC를 계산할 때 position/limit을 바꾼다.
+    private long headSeq;
+    private int headOffset;
+    private long tailSeq;
+    private int tailOffset;
+    private long syncedSeq;
+    private long count;
+
+    private int pending; // 마지막 fsync 이후 추가한 레코드 개수
+    private long lastSyncNanos;
+    private boolean dirDirty; // 마지막 fsync 이후 세그먼트 파일을 만들거나 지웠으면 true
+    private final boolean recovered;
+
+    private PersistentQueue(Path dir, RecordCodec<E> codec, int segmentSize, FsyncPolicy fsyncPolicy)
+        throws IOException {
+        this.dir = dir;
+        this.codec = codec;
+        this.segmentSize = segmentSize;
+        this.fsyncPolicy = fsyncPolicy;
+        this.recovered = recover();
+        this.lastSyncNanos = System.nanoTime();
+    }
+
+    /**
+     * dir의 큐를 기본 세그먼트 크기(64MB), FsyncPolicy.never()로 연다. 디렉터리가 없으면 만든다.
+     */
+    public static <E> PersistentQueue<E> open(Path dir, RecordCodec<E> codec) throws IOException {
+        return open(dir, codec, DEFAULT_SEGMENT_SIZE, FsyncPolicy.never());
+    }
+
+    /**
+     * dir의 큐를 연다. 디렉터리가 없으면 만들고, 이전에 정상 종료되지 않았으면 복구한다.
+     *
+     * @param codec       요소의 직렬화 방법 (이전에 같은 디렉터리를 열 때 쓴 코덱과 같아야 한다)
+     * @param segmentSize 새로 만드는 세그먼트 파일의 바이트 수 (4KB ~ 1GB). 레코드 하나는 세그먼트 하나에 들어가야 한다.
+     * @param fsyncPolicy 언제 fsync할지
+     * @throws IOException 파일을 읽거나 쓸 수 없는 경우, 파일 형식이 다른 경우
+     */
+    public static <E> PersistentQueue<E> open(Path dir, RecordCodec<E> codec, int segmentSize,
+        FsyncPolicy fsyncPolicy) throws IOException {
+        if (dir == null || codec == null || fsyncPolicy == null) {
+            throw new NullPointerException();
+        }
+        if (segmentSize < MIN_SEGMENT_SIZE || segmentSize > MAX_SEGMENT_SIZE) {
+            throw new IllegalArgumentException("invalid segment size: " + segmentSize);
+        }
+        int fixedSize = codec.fixedSize();
+        if (fixedSize <= 0 && fixedSize != RecordCodec.VARIABLE) {
+            throw new IllegalArgumentException("invalid record size: " + fixedSize);
+        }
+        Files.createDirectories(dir);
+        return new PersistentQueue<>(dir, codec, segmentSize, fsyncPolicy);
+    }
+
+    private static int align(int bytes) {
+        return (bytes + 3) & -4;
+    }
+
+    private Path segmentPath(long seq) {
+        return dir.resolve(String.format("%020d%s", seq, SEGMENT_SUFFIX));
+    }
+
+    private static MappedByteBuffer map(Path path, long size) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+            StandardOpenOption.WRITE)) {
+            // 매핑은 채널을 닫아도 유효하다.
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0,
+                size > 0 ? size : channel.size());
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            return buffer;
+        }
+    }
+
+    private MappedByteBuffer createSegment(long seq) throws IOException {
+        Path path = segmentPath(seq);
+        Files.deleteIfExists(path);
+        MappedByteBuffer segment = map(path, segmentSize);
+        writeSegmentHeader(segment, seq);
+        dirDirty = true;
+        return segment;
+    }
+
+    private static void writeSegmentHeader(MappedByteBuffer segment, long seq) {
+        segment.putInt(0, SEGMENT_MAGIC);
+        segment.putInt(4, VERSION);
+        segment.putLong(8, seq);
+    }
+
+    /**
+     * @return 헤더가 seq번 세그먼트로 올바르게 쓰여 있으면 true
+     */
+    private static boolean isValidSegment(MappedByteBuffer segment, long seq) {
+        return segment.capacity() >= DATA_START + RECORD_HEADER
+            && segment.getInt(0) == SEGMENT_MAGIC
+            && segment.getInt(4) == VERSION
+            && segment.getLong(8) == seq;
+    }
+
+    /**
+     * 디렉터리에 있는 세그먼트의 일련번호들을 오름차순으로 반환한다.
+     */
+    private List<Long> listSegments() throws IOException {
+        List<Long> seqs = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir, "*" + SEGMENT_SUFFIX)) {
+            for (Path path : stream) {
+                String name = path.getFileName().toString();
+                try {
+                    seqs.add(Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length())));
+                } catch (NumberFormatException e) {
+                    // 이 큐가 만든 파일이 아니다.
+                }
+            }
+        }
+        Collections.sort(seqs);
+        return seqs;
+    }
+
+    /**
+     * 메타 파일과 세그먼트들로부터 head, tail, 요소 개수를 복원한다.
+     *
+     * @return 이전에 정상 종료되지 않았으면 true
+     */
+    private boolean recover() throws IOException {
+        Path metaPath = dir.resolve(META_FILE);
+        boolean fresh = !Files.exists(metaPath);
+        meta = map(metaPath, META_SIZE);
+        if (fresh || meta.getInt(0) == 0) {
+            meta.putInt(0, META_MAGIC);
+            meta.putInt(4, VERSION);
+            meta.putInt(META_CLEAN, 1);
+        } else if (meta.getInt(0) != META_MAGIC || meta.getInt(4) != VERSION) {
+            OffHeapArena.release(meta);
+            meta = null;
+            throw new IOException("not a persistent queue: " + metaPath);
+        }
+        boolean clean = meta.getInt(META_CLEAN) == 1;
+        headSeq = meta.getLong(META_HEAD_SEQ);
+        headOffset = meta.getInt(META_HEAD_OFFSET);
+        syncedSeq = meta.getLong(META_SYNCED_SEQ);
+        int syncedOffset = meta.getInt(META_SYNCED_OFFSET);
+
+        // head보다 앞선 세그먼트는 다 읽었지만 지우기 전에 멈춘 것이다.
+        List<Long> seqs = listSegments();
+        while (!seqs.isEmpty() && seqs.get(0) < headSeq) {
+            Files.delete(segmentPath(seqs.remove(0)));
+        }
+        if (seqs.isEmpty() || seqs.get(0) != headSeq) {
+            if (!seqs.isEmpty()) {
+                headSeq = seqs.get(0);
+            }
+            headOffset = DATA_START;
+        }
+        // headSeq부터 일련번호가 이어지는 세그먼트만 큐에 속한다.
+        long lastSeq = headSeq - 1;
+        for (long seq : seqs) {
+            if (seq == lastSeq + 1) {
+                lastSeq = seq;
+            } else {
+                Files.delete(segmentPath(seq));
+            }
+        }
+
+        if (lastSeq < headSeq) {
+            headSegment = createSegment(headSeq);
+        } else {
+            headSegment = map(segmentPath(headSeq), 0);
+            if (!isValidSegment(headSegment, headSeq)) {
+                // 만들다가 멈춘 세그먼트이다. fsync한 적이 없으므로 레코드도 없다.
+                OffHeapArena.release(headSegment);
+                headSegment = createSegment(headSeq);
+            }
+        }
+        headOffset = recordBoundary(headSegment, headOffset);
+
+        // synced tail부터 CRC를 확인하며 tail을 찾는다.
+        long seq = headSeq;
+        int offset = headOffset;
+        if (syncedSeq > headSeq && syncedSeq <= lastSeq
+            || syncedSeq == headSeq && syncedOffset > headOffset) {
+            seq = syncedSeq;
+            offset = syncedOffset;
+        }
+        MappedByteBuffer segment = headSegment;
+        if (seq != headSeq) {
+            segment = map(segmentPath(seq), 0);
+            if (!isValidSegment(segment, seq)) {
+                OffHeapArena.release(segment);
+                seq = headSeq;
+                offset = headOffset;
+                segment = headSegment;
+            }
+        }
+        offset = recordBoundary(segment, offset);
+        while (true) {
+            offset = scan(segment, offset);
+            if (offset < 0) {
+                // ROLL (또는 헤더만 남고 꽉 찬 세그먼트)
+                MappedByteBuffer next = null;
+                if (seq < lastSeq) {
+                    next = map(segmentPath(seq + 1), 0);
+                    if (!isValidSegment(next, seq + 1)) {
+                        OffHeapArena.release(next);
+                        next = null;
+                    }
+                }
+                if (next == null) {
+                    offset = -offset;
+                    break;
+                }
+                if (segment != headSegment) {
+                    OffHeapArena.release(segment);
+                }
+                segment = next;
+                seq++;
+                offset = DATA_START;
+                continue;
+            }
+            break;
+        }
+        tailSeq = seq;
+        tailOffset = offset;
+        tailSegment = segment;
+        crcView = tailSegment.duplicate();
+        for (long s = tailSeq + 1; s <= lastSeq; s++) {
+            Files.delete(segmentPath(s));
+            dirDirty = true;
+        }
+        // 끊긴 위치 뒤의 옛 레코드가 나중에 새 레코드 뒤에서 되살아나지 않도록 지운다.
+        // 매핑된 페이지는 순서 없이 디스크에 쓰이므로, tail 자리가 0(END)이어도 그 뒤 페이지에는 CRC가 맞는 옛 레코드가
+        // 남아 있을 수 있다. 정상 종료되지 않았으면 tail 자리의 값과 관계없이 끝까지 지운다.
+        if (tailOffset < tailSegment.capacity() && (!clean || tailSegment.getInt(tailOffset) != END)) {
+            zero(tailSegment, tailOffset);
+        }
+
+        count = countRecords();
+        syncedSeq = tailSeq;
+        writeHead();
+        meta.putInt(META_CLEAN, 0);
+        sync0();
+        return !fresh && !clean;
+    }
+
+    /**
+     * segment의 DATA_START부터 레코드 길이를 따라가서, offset을 넘지 않는 가장 가까운 레코드 경계를 반환한다.
+     * 메타 파일의 위치가 레코드 중간을 가리키면 그 레코드의 시작으로 돌아간다.
+     */
+    private static int recordBoundary(MappedByteBuffer segment, int offset) {
+        int limit = segment.capacity();
+        int pos = DATA_START;
+        while (pos < offset && pos + RECORD_HEADER <= limit) {
+            int stored = segment.getInt(pos);
+            if (stored <= 0) {
+                break;
+            }
+            int next = pos + align(RECORD_HEADER + stored - 1);
+            if (next > offset || next > limit || next <= pos) {
+                break;
+            }
+            pos = next;
+        }
+        return pos;
+    }
+
+    /**
+     * offset부터 CRC가 맞는 레코드들을 건너뛴다.
+     *
+     * @return 데이터의 끝이나 깨진 레코드의 위치, ROLL에서 멈췄으면 그 위치의 음수
+     */
+    private int scan(MappedByteBuffer segment, int offset) {
+        ByteBuffer view = segment.duplicate();
+        int limit = segment.capacity();
+        while (true) {
+            if (offset + 4 > limit) {
+                return -offset; // 레코드가 세그먼트 끝까지 꽉 찼다.
+            }
+            int stored = segment.getInt(offset);
+            if (stored == ROLL) {
+                return -offset;
+            }
+            if (stored <= 0 || stored - 1 > limit - offset - RECORD_HEADER) {
+                return offset;
+            }
+            int start = offset + RECORD_HEADER;
+            crc.reset();
+            view.limit(start + stored - 1).position(start);
+            crc.update(view);
+            if ((int) crc.getValue() != segment.getInt(offset + 4)) {
+                return offset;
+            }
+            offset += align(RECORD_HEADER + stored - 1);
+        }
+    }
+
+    private static void zero(MappedByteBuffer segment, int from) {
+        byte[] zeros = new byte[ZERO_CHUNK];
+        int limit = segment.capacity();
+        for (int pos = from; pos < limit; pos += ZERO_CHUNK) {
+            segment.put(pos, zeros, 0, Math.min(ZERO_CHUNK, limit - pos));
+        }
+    }
+
+    /**
+     * head부터 tail까지의 레코드 개수를 길이만 따라가며 센다.
+     */
+    private long countRecords() throws IOException {
+        if (headSeq == tailSeq && headOffset > tailOffset) {
+            headOffset = tailOffset;
+        }
+        long n = 0;
+        long seq = headSeq;
+        int offset = headOffset;
+        MappedByteBuffer segment = headSegment;
+        while (seq != tailSeq || offset != tailOffset) {
+            int stored = offset + 4 <= segment.capacity() ? segment.getInt(offset) : ROLL;
+            if (stored == ROLL) {
+                if (segment != headSegment && segment != tailSegment) {
+                    OffHeapArena.release(segment);
+                }
+                seq++;
+                offset = DATA_START;
+                segment = seq == tailSeq ? tailSegment : map(segmentPath(seq), 0);
+                continue;
+            }
+            if (stored <= 0) {
+                throw new IOException("corrupt segment: " + segmentPath(seq));
+            }
+            offset += align(RECORD_HEADER + stored - 1);
+            n++;
+        }
+        return n;
+    }
+
+    private void ensureOpen() {
+        if (meta == null) {
+            throw new IllegalStateException("queue is closed");
+        }
+    }
+
+    @Override
+    public boolean offer(E e) {
+        if (e == null) {
+            throw new NullPointerException();
+        }
+        ensureOpen();
+        int length = codec.encodedSize(e);
+        if (length < 0 || length > segmentSize - DATA_START - RECORD_HEADER) {
+            throw new IllegalArgumentException("invalid record length: " + length);
+        }
+        int recordBytes = align(RECORD_HEADER + length);
+        if (recordBytes > tailSegment.capacity() - tailOffset) {
+            roll();
+        }
+        MappedByteBuffer segment = tailSegment;
+        int pos = tailOffset;
+        int start = pos + RECORD_HEADER;
+        codec.encode(e, segment, start);
+        crc.reset();
+        crcView.limit(start + length).position(start);
+        crc.update(crcView);
+        segment.putInt(pos + 4, (int) crc.getValue());
+        segment.putInt(pos, length + 1);
+        tailOffset = pos + recordBytes;
+        count++;
+        pending++;
+        if (!fsyncPolicy.isNever() && fsyncPolicy.shouldSync(pending, lastSyncNanos)) {
+            sync();
+        }
+        return true;
+    }
+
+    /**
+     * tail 세그먼트를 닫고 다음 세그먼트를 만든다. fsync는 다음 sync()에서 한다.
+     */
+    private void roll() {
+        MappedByteBuffer old = tailSegment;
+        if (tailOffset + 4 <= old.capacity()) {
+            old.putInt(tailOffset, ROLL);
+        }
+        try {
+            tailSegment = createSegment(tailSeq + 1);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (old != headSegment) {
+            OffHeapArena.release(old);
+        }
+        tailSeq++;
+        tailOffset = DATA_START;
+        crcView = tailSegment.duplicate();
+    }
+
+    @Override
+    public E poll() {
+        ensureOpen();
+        if (count == 0) {
+            return null;
+        }
+        int pos = headRecord();
+        int length = headSegment.getInt(pos) - 1;
+        E e = codec.decode(headSegment, pos + RECORD_HEADER, length);
+        headOffset = pos + align(RECORD_HEADER + length);
+        count--;
+        writeHead();
+        return e;
+    }
+
+    @Override
+    public E peek() {
+        ensureOpen();
+        if (count == 0) {
+            return null;
+        }
+        int pos = headRecord();
+        return codec.decode(headSegment, pos + RECORD_HEADER, headSegment.getInt(pos) - 1);
+    }
+
+    /**
+     * head가 ROLL이나 세그먼트 끝을 가리키면 다음 세그먼트로 넘어가고, 다 읽은 세그먼트 파일을 지운다.
+     * 큐가 비어 있지 않을 때만 호출한다.
+     *
+     * @return 첫 번째 레코드의 바이트 위치
+     */
+    private int headRecord() {
+        while (headOffset + 4 > headSegment.capacity() || headSegment.getInt(headOffset) == ROLL) {
+            long old = headSeq;
+            if (headSegment != tailSegment) {
+                OffHeapArena.release(headSegment);
+            }
+            headSeq++;
+            headOffset = DATA_START;
+            try {
+                headSegment = headSeq == tailSeq ? tailSegment : map(segmentPath(headSeq), 0);
+                // 새 head를 먼저 기록해야 지우다가 멈춰도 복구가 지운 세그먼트를 찾지 않는다.
+                writeHead();
+                Files.deleteIfExists(segmentPath(old));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            dirDirty = true;
+        }
+        return headOffset;
+    }
+
+    private void writeHead() {
+        meta.putLong(META_HEAD_SEQ, headSeq);
+        meta.putInt(META_HEAD_OFFSET, headOffset);
+    }
+
+    /**
+     * 지금까지 추가한 레코드와 head 위치를 디스크에 기록하고 기다린다.
+     * 반환한 뒤에는 OS나 전원이 죽어도 이 레코드들은 다시 열 때 남아 있다.
+     */
+    public void sync() {
+        ensureOpen();
+        try {
+            sync0();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void sync0() throws IOException {
+        // 이미 매핑을 해제한 세그먼트는 파일 채널로 fsync한다. (munmap한 페이지도 페이지 캐시에 남아 있다)
+        for (long seq = Math.max(syncedSeq, headSeq); seq < tailSeq; seq++) {
+            try (FileChannel channel = FileChannel.open(segmentPath(seq), StandardOpenOption.WRITE)) {
+                channel.force(false);
+            }
+        }
+        tailSegment.force();
+        if (dirDirty) {
+            forceDirectory();
+            dirDirty = false;
+        }
+        syncedSeq = tailSeq;
+        meta.putLong(META_SYNCED_SEQ, tailSeq);
+        meta.putInt(META_SYNCED_OFFSET, tailOffset);
+        meta.force();
+        pending = 0;
+        lastSyncNanos = System.nanoTime();
+    }
+
+    /**
+     * 새로 만들거나 지운 세그먼트 파일의 디렉터리 항목을 기록한다.
+     */
+    private void forceDirectory() {
+        try (FileChannel channel = FileChannel.open(dir, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // 디렉터리를 열 수 없는 플랫폼(Windows)에서는 파일 시스템에 맡긴다.
+        }
+    }
+
+    public long size() {
+        return count;
+    }
+
+    public boolean isEmpty() {
+        return count == 0;
+    }
+
+    /**
+     * @return open할 때 이전에 정상 종료(close)되지 않은 큐를 복구했으면 true
+     */
+    public boolean wasRecovered() {
+        return recovered;
+    }
+
+    public Path directory() {
+        return dir;
+    }
+
+    public RecordCodec<E> codec() {
+        return codec;
+    }
+
+    public FsyncPolicy fsyncPolicy() {
+        return fsyncPolicy;
+    }
+
+    public boolean isClosed() {
+        return meta == null;
+    }
+
+    /**
+     * 모든 레코드를 fsync하고 정상 종료로 표시한 뒤 매핑을 해제한다. 이후의 모든 연산은 IllegalStateException을 던진다.
+     */
+    @Override
+    public void close() {
+        if (meta == null) {
+            return;
+        }
+        try {
+            sync0();
+            meta.putInt(META_CLEAN, 1);
+            meta.force();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            if (headSegment != tailSegment) {
+                OffHeapArena.release(headSegment);
+            }
+            OffHeapArena.release(tailSegment);
+            OffHeapArena.release(meta);
+            headSegment = null;
+            tailSegment = null;
+            crcView = null;
+            meta = null;
+            count = 0;
+        }
+    }
+}
@@ -0,0 +1,319 @@
+package _12_persistent_queue;
+
+import _11_offheap_queue.Codecs;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+/*
+     PersistentQueue의 복구를 확인한다. 큐를 close하지 않고 버려서 프로세스가 죽은 것처럼 만든 뒤
+     (매핑된 페이지는 페이지 캐시에 남는다) 세그먼트나 메타 파일을 직접 망가뜨리고 다시 열어서,
+     복구된 요소 개수와 내용이 기대한 것과 같은지 확인한다.
+     요소는 Codecs.INT64로 저장하므로 레코드 하나는 항상 RECORD 바이트이다.
+ */
+public class testPersistentQueue {
+
+    static final int SEGMENT_SIZE = 4096;
+    static final int RECORD = PersistentQueue.RECORD_HEADER + Long.BYTES;
+    static final int PER_SEGMENT = (SEGMENT_SIZE - PersistentQueue.DATA_START) / RECORD;
+
+    static final List<Path> dirs = new ArrayList<>();
+
+    public static void main(String[] args) throws IOException {
+        try {
+            cleanReopen();
+            crashKeepsWrittenRecords();
+            zeroedHeaderBeforeValidRecord();
+            corruptedRecords();
+            missingOrBrokenNextSegment();
+            metaOffsetsInsideRecords();
+            fsyncPolicy();
+        } finally {
+            for (Path dir : dirs) {
+                delete(dir);
+            }
+        }
+    }
+
+    static void check(boolean condition, String message) {
+        if (!condition) {
+            throw new AssertionError(message);
+        }
+    }
+
+    static Path newDir() throws IOException {
+        Path dir = Files.createTempDirectory("pq-test");
+        dirs.add(dir);
+        return dir;
+    }
+
+    static PersistentQueue<Long> open(Path dir) throws IOException {
+        return open(dir, FsyncPolicy.never());
+    }
+
+    static PersistentQueue<Long> open(Path dir, FsyncPolicy policy) throws IOException {
+        return PersistentQueue.open(dir, Codecs.INT64, SEGMENT_SIZE, policy);
+    }
+
+    static void offer(PersistentQueue<Long> q, long from, long to) {
+        for (long v = from; v < to; v++) {
+            q.offer(v);
+        }
+    }
+
+    static List<Long> range(long from, long to) {
+        List<Long> list = new ArrayList<>();
+        for (long v = from; v < to; v++) {
+            list.add(v);
+        }
+        return list;
+    }
+
+    static List<Long> drain(PersistentQueue<Long> q) {
+        List<Long> list = new ArrayList<>();
+        for (Long v; (v = q.poll()) != null; ) {
+            list.add(v);
+        }
+        return list;
+    }
+
+    /**
+     * 다시 연 큐의 요소 개수와 내용을 확인한다. 큐는 비워진 채로 열려 있다.
+     */
+    static void expect(PersistentQueue<Long> q, List<Long> expected, String message) {
+        check(q.size() == expected.size(), message + ": 요소 개수 " + q.size() + ", 기대 " + expected.size());
+        List<Long> actual = drain(q);
+        check(actual.equals(expected), message + ": 내용이 다르다");
+    }
+
+    static Path segment(Path dir, long seq) {
+        return dir.resolve(String.format("%020d%s", seq, PersistentQueue.SEGMENT_SUFFIX));
+    }
+
+    /**
+     * 빈 디렉터리에서 k번째로 추가한 레코드의 세그먼트 번호. (한 세그먼트에 PER_SEGMENT개가 꽉 차게 들어간다)
+     */
+    static long segmentOf(int k) {
+        return k / PER_SEGMENT;
+    }
+
+    static int offsetOf(int k) {
+        return PersistentQueue.DATA_START + (k % PER_SEGMENT) * RECORD;
+    }
+
+    static void write(Path file, long position, ByteBuffer bytes) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.write(bytes, position);
+        }
+    }
+
+    static void putInt(Path file, long position, int value) throws IOException {
+        write(file, position, ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN).putInt(0, value));
+    }
+
+    static void putLong(Path file, long position, long value) throws IOException {
+        write(file, position, ByteBuffer.allocate(8).order(ByteOrder.LITTLE_ENDIAN).putLong(0, value));
+    }
+
+    static void delete(Path dir) throws IOException {
+        try (Stream<Path> paths = Files.walk(dir)) {
+            for (Path p : (Iterable<Path>) paths.sorted(Comparator.reverseOrder())::iterator) {
+                Files.deleteIfExists(p);
+            }
+        }
+    }
+
+    static void cleanReopen() throws IOException {
+        Path dir = newDir();
+        PersistentQueue<Long> q = open(dir);
+        offer(q, 0, 700);
+        check(q.poll() == 0 && q.poll() == 1, "poll이 다르다");
+        q.close();
+        q = open(dir);
+        check(!q.wasRecovered(), "정상 종료한 큐를 복구했다");
+        expect(q, range(2, 700), "정상 종료");
+        q.close();
+        System.out.println("clean      : close 후 다시 열면 남은 698개가 그대로 나옴");
+    }
+
+    static void crashKeepsWrittenRecords() throws IOException {
+        Path dir = newDir();
+        PersistentQueue<Long> q = open(dir);
+        offer(q, 0, 600);
+        for (int i = 0; i < 300; i++) {
+            q.poll();
+        }
+        // close하지 않고 버린다.
+        q = open(dir);
+        check(q.wasRecovered(), "비정상 종료를 알아채지 못했다");
+        expect(q, range(300, 600), "비정상 종료");
+        q.close();
+        System.out.println("crash      : 세그먼트를 넘어간 head와 tail이 그대로 복구됨");
+    }
+
+    /**
+     * tail 자리의 헤더는 0인데 그 뒤에 CRC가 맞는 옛 레코드가 남아 있는 경우.
+     * 복구가 그 뒤를 지우지 않으면, 같은 크기의 새 레코드를 추가한 뒤 다시 복구할 때 옛 레코드가 되살아난다.
+     */
+    static void zeroedHeaderBeforeValidRecord() throws IOException {
+        Path dir = newDir();
+        PersistentQueue<Long> q = open(dir);
+        offer(q, 0, 5);
+        Path file = segment(dir, 0);
+        putLong(file, offsetOf(2), 0); // 길이와 CRC 자리
+
+        q = open(dir);
+        check(q.wasRecovered(), "비정상 종료를 알아채지 못했다");
+        check(q.size() == 2, "0인 헤더에서 멈추지 않았다 " + q.size());
+        q.offer(100L);
+        q = open(dir);
+        expect(q, List.of(0L, 1L, 100L), "0인 헤더 뒤의 옛 레코드");
+        q.close();
+        System.out.println("zeroed     : 0인 헤더 뒤에 남은 옛 레코드가 되살아나지 않음");
+    }
+
+    /**
+     * 마지막 sync 뒤의 k번째 레코드를 여러 방식으로 망가뜨리면 그 앞까지만 복구되어야 한다.
+     * 복구한 큐에 이어 쓴 레코드도 다음 복구에서 그대로 나와야 한다.
+     */
+    static void corruptedRecords() throws IOException {
+        Random random = new Random(2024);
+        String[] kinds = {"payload", "crc", "zero header", "huge length", "torn payload"};
+        int[] seen = new int[kinds.length];
+        for (int round = 0; round < 200; round++) {
+            Path dir = newDir();
+            int n = 1 + random.nextInt(3 * PER_SEGMENT);
+            int polled = random.nextInt(n);
+            int k = polled + random.nextInt(n - polled);
+            int kind = random.nextInt(kinds.length);
+            seen[kind]++;
+
+            PersistentQueue<Long> q = open(dir);
+            offer(q, 0, n);
+            for (int i = 0; i < polled; i++) {
+                q.poll();
+            }
+            Path file = segment(dir, segmentOf(k));
+            int at = offsetOf(k);
+            switch (kind) {
+                case 0:
+                    putLong(file, at + PersistentQueue.RECORD_HEADER, -1L - k);
+                    break;
+                case 1:
+                    putInt(file, at + 4, 0x12345678);
+                    break;
+                case 2:
+                    putLong(file, at, 0);
+                    break;
+                case 3:
+                    putInt(file, at, SEGMENT_SIZE);
+                    break;
+                default:
+                    // 내용의 앞 4바이트만 다른 값으로 쓰인 채 멈춘 경우
+                    putInt(file, at + PersistentQueue.RECORD_HEADER, ~k);
+                    break;
+            }
+
+            q = open(dir);
+            String message = "round " + round + " (" + kinds[kind] + ", n=" + n + ", polled=" + polled + ", k=" + k + ")";
+            check(q.wasRecovered(), message + ": 비정상 종료를 알아채지 못했다");
+            check(q.size() == k - polled, message + ": 요소 개수 " + q.size());
+            int more = random.nextInt(2 * PER_SEGMENT);
+            offer(q, 1_000_000, 1_000_000 + more);
+
+            q = open(dir);
+            List<Long> expected = range(polled, k);
+            expected.addAll(range(1_000_000, 1_000_000 + more));
+            expect(q, expected, message + " 뒤에 이어 쓴 레코드");
+            q.close();
+        }
+        StringBuilder summary = new StringBuilder();
+        for (int i = 0; i < kinds.length; i++) {
+            summary.append(i == 0 ? "" : ", ").append(kinds[i]).append(' ').append(seen[i]);
+        }
+        System.out.println("corrupted  : 200번, 깨진 레코드 앞까지만 복구됨 (" + summary + ")");
+    }
+
+    static void missingOrBrokenNextSegment() throws IOException {
+        int n = 2 * PER_SEGMENT + 90;
+
+        Path dir = newDir();
+        PersistentQueue<Long> q = open(dir);
+        offer(q, 0, n);
+        Files.delete(segment(dir, 1));
+        q = open(dir);
+        expect(q, range(0, PER_SEGMENT), "중간 세그먼트가 없는 경우");
+        check(!Files.exists(segment(dir, 2)), "끊긴 뒤의 세그먼트가 남아 있다");
+        q.close();
+
+        dir = newDir();
+        q = open(dir);
+        offer(q, 0, n);
+        putInt(segment(dir, 2), 0, 0); // 세그먼트 헤더의 magic
+        q = open(dir);
+        expect(q, range(0, 2 * PER_SEGMENT), "다음 세그먼트의 헤더가 깨진 경우");
+        q.close();
+        System.out.println("segments   : 다음 세그먼트가 없거나 깨지면 그 앞에서 멈추고 뒤의 파일은 지움");
+    }
+
+    static void metaOffsetsInsideRecords() throws IOException {
+        Path dir = newDir();
+        PersistentQueue<Long> q = open(dir);
+        offer(q, 0, 10);
+        q.sync();
+        for (int i = 0; i < 3; i++) {
+            q.poll();
+        }
+        Path meta = dir.resolve(PersistentQueue.META_FILE);
+        // head가 3번 레코드의 중간을 가리키면 3번 레코드의 처음으로 돌아간다. (적어도 한 번 전달)
+        putInt(meta, PersistentQueue.META_HEAD_OFFSET, offsetOf(3) + 5);
+        // synced tail이 6번 레코드의 중간을 가리키면 6번부터 CRC를 확인하므로 8번의 손상을 찾아낸다.
+        putLong(meta, PersistentQueue.META_SYNCED_SEQ, 0);
+        putInt(meta, PersistentQueue.META_SYNCED_OFFSET, offsetOf(6) + 9);
+        putInt(segment(dir, 0), offsetOf(8) + 4, 0);
+        q = open(dir);
+        expect(q, range(3, 8), "메타 파일의 위치가 레코드 중간을 가리키는 경우");
+        q.close();
+        System.out.println("meta       : 레코드 중간을 가리키는 head/synced tail을 레코드 처음으로 맞춤");
+    }
+
+    static void fsyncPolicy() throws IOException {
+        long now = System.nanoTime();
+        FsyncPolicy everyFour = FsyncPolicy.everyRecords(4);
+        check(!everyFour.shouldSync(3, now) && everyFour.shouldSync(4, now), "everyRecords가 다르다");
+        FsyncPolicy everyTen = FsyncPolicy.everyMillis(10);
+        check(!everyTen.shouldSync(1000, now) && everyTen.shouldSync(1, now - 20_000_000L), "everyMillis가 다르다");
+        check(FsyncPolicy.never().isNever() && !FsyncPolicy.never().shouldSync(1000, 0), "never가 다르다");
+
+        // synced tail 이전의 레코드는 fsync가 끝났으므로 CRC를 확인하지 않는다.
+        // everyRecords(4)로 10개를 넣으면 8번째에서 마지막으로 기록하므로 2번 손상은 넘어가고 9번 손상은 찾아낸다.
+        Path dir = newDir();
+        PersistentQueue<Long> q = open(dir, everyFour);
+        offer(q, 0, 10);
+        Path file = segment(dir, 0);
+        putInt(file, offsetOf(2) + 4, 0);
+        putInt(file, offsetOf(9) + 4, 0);
+        q = open(dir);
+        check(q.size() == 9, "everyRecords(4): 요소 개수 " + q.size());
+        q.close();
+
+        // never()이면 open 이후의 레코드를 모두 확인하므로 2번 손상에서 멈춘다.
+        dir = newDir();
+        q = open(dir, FsyncPolicy.never());
+        offer(q, 0, 10);
+        putInt(segment(dir, 0), offsetOf(2) + 4, 0);
+        q = open(dir);
+        expect(q, range(0, 2), "never()");
+        q.close();
+        System.out.println("fsync      : 마지막 fsync 이후의 레코드만 CRC로 확인함");
+    }
+}
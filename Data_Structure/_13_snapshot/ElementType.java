@@ -0,0 +1,30 @@
+package _13_snapshot;
+
+/**
+ * 스냅샷 파일에 저장된 요소의 형식.
+ * <p>
+ * 기본형은 코덱 없이 배열의 값을 little-endian으로 빈틈없이 이어 쓴다. (int는 4바이트, long/double은 8바이트)
+ * OBJECT는 RecordCodec으로 직렬화한 레코드를 이어 쓴다.
+ */
+public enum ElementType {
+
+    OBJECT(1),
+    INT(2),
+    LONG(3),
+    DOUBLE(4);
+
+    final int code; // 파일 헤더에 쓰는 값
+
+    ElementType(int code) {
+        this.code = code;
+    }
+
+    static ElementType of(int code) {
+        for (ElementType type : values()) {
+            if (type.code == code) {
+                return type;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,83 @@
+package _13_snapshot;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+
+/**
+ * 스냅샷 파일의 헤더(32바이트, little-endian).
+ * <pre>
+ *  0  magic       int   "DSNP"
+ *  4  version     int
+ *  8  elementType int   ElementType.code
+ * 12  recordSize  int   레코드 하나의 바이트 수, 레코드마다 다르면 RecordCodec.VARIABLE
+ * 16  count       long  요소 개수, 쓰는 중이면 -1
+ * 24  dataBytes   long  헤더 뒤 데이터의 바이트 수
+ * </pre>
+ * 가변 크기 레코드는 [길이(4바이트)][내용]으로 저장하고 정렬하지 않는다.
+ */
+final class SnapshotHeader {
+
+    static final int SIZE = 32;
+    static final int MAGIC = 0x504e5344; // "DSNP"
+    static final int VERSION = 1;
+    static final long INCOMPLETE = -1;
+
+    final ElementType type;
+    final int recordSize;
+    final long count;
+    final long dataBytes;
+
+    SnapshotHeader(ElementType type, int recordSize, long count, long dataBytes) {
+        this.type = type;
+        this.recordSize = recordSize;
+        this.count = count;
+        this.dataBytes = dataBytes;
+    }
+
+    void write(FileChannel channel) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(MAGIC).putInt(VERSION).putInt(type.code).putInt(recordSize).putLong(count).putLong(dataBytes);
+        buffer.flip();
+        long at = 0;
+        while (buffer.hasRemaining()) {
+            at += channel.write(buffer, at);
+        }
+    }
+
+    /**
+     * @throws IOException 스냅샷 파일이 아니거나, 쓰다가 멈췄거나, 잘린 경우
+     */
+    static SnapshotHeader read(FileChannel channel) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, buffer.position()) < 0) {
+                throw new IOException("not a snapshot file");
+            }
+        }
+        buffer.flip();
+        if (buffer.getInt() != MAGIC) {
+            throw new IOException("not a snapshot file");
+        }
+        int version = buffer.getInt();
+        if (version != VERSION) {
+            throw new IOException("unsupported snapshot version: " + version);
+        }
+        ElementType type = ElementType.of(buffer.getInt());
+        int recordSize = buffer.getInt();
+        long count = buffer.getLong();
+        long dataBytes = buffer.getLong();
+        if (type == null) {
+            throw new IOException("unknown element type");
+        }
+        if (count == INCOMPLETE) {
+            throw new IOException("incomplete snapshot");
+        }
+        if (count < 0 || dataBytes < 0 || channel.size() != SIZE + dataBytes) {
+            throw new IOException("corrupt snapshot: " + count + " elements, " + dataBytes + " bytes, file size "
+                + channel.size());
+        }
+        return new SnapshotHeader(type, recordSize, count, dataBytes);
+    }
+}
@@ -0,0 +1,275 @@
+package _13_snapshot;
+
+import _11_offheap_queue.Codecs;
+import _11_offheap_queue.OffHeapArena;
+import _11_offheap_queue.RecordCodec;
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.NoSuchElementException;
+
+/**
+ * SnapshotWriter로 쓴 스냅샷 파일을 앞에서부터 읽는 스트리밍 reader.
+ * <p>
+ * 파일을 64MB 창(window) 단위로 읽기 전용 매핑해서 읽는다. 기본형 배열은 bulk get으로 페이지 캐시에서 배열로 바로 복사한다.
+ * 하나의 스레드에서만 사용한다.
+ *
+ * @param <E> the type of elements
+ */
+public final class SnapshotReader<E> implements AutoCloseable {
+
+    private final FileChannel channel;
+    private final ElementType type;
+    private final RecordCodec<E> codec;
+    private final int recordSize;
+    private final long count;
+    private final long end; // 데이터의 끝 파일 위치
+
+    private MappedByteBuffer window;
+    private long windowStart;
+    private long position;
+    private long remaining; // 아직 읽지 않은 요소 개수
+    private boolean closed;
+
+    private SnapshotReader(Path path, ElementType type, RecordCodec<E> codec) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            SnapshotHeader header = SnapshotHeader.read(channel);
+            if (header.type != type) {
+                throw new IOException("snapshot of " + header.type + ", not " + type);
+            }
+            if (header.recordSize != codec.fixedSize()) {
+                throw new IOException("record size " + header.recordSize + " does not match codec " + codec.fixedSize());
+            }
+            if (header.recordSize != RecordCodec.VARIABLE && header.dataBytes != header.count * header.recordSize) {
+                throw new IOException("corrupt snapshot: " + header.count + " records, " + header.dataBytes + " bytes");
+            }
+            this.type = type;
+            this.codec = codec;
+            this.recordSize = header.recordSize;
+            this.count = header.count;
+            this.remaining = header.count;
+            this.position = SnapshotHeader.SIZE;
+            this.end = SnapshotHeader.SIZE + header.dataBytes;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * codec으로 직렬화한 요소들이 저장된 path를 연다.
+     *
+     * @throws IOException 스냅샷 파일이 아니거나, 쓰다가 멈췄거나, 코덱의 레코드 크기가 다른 경우
+     */
+    public static <E> SnapshotReader<E> open(Path path, RecordCodec<E> codec) throws IOException {
+        if (path == null || codec == null) {
+            throw new NullPointerException();
+        }
+        return new SnapshotReader<>(path, ElementType.OBJECT, codec);
+    }
+
+    public static SnapshotReader<Integer> openInts(Path path) throws IOException {
+        return new SnapshotReader<>(path, ElementType.INT, Codecs.INT32);
+    }
+
+    public static SnapshotReader<Long> openLongs(Path path) throws IOException {
+        return new SnapshotReader<>(path, ElementType.LONG, Codecs.INT64);
+    }
+
+    public static SnapshotReader<Double> openDoubles(Path path) throws IOException {
+        return new SnapshotReader<>(path, ElementType.DOUBLE, Codecs.FLOAT64);
+    }
+
+    private void ensureOpen() {
+        if (closed) {
+            throw new IllegalStateException("reader is closed");
+        }
+    }
+
+    /**
+     * 현재 위치부터 bytes 바이트가 창 안에 들어오도록 필요하면 창을 다시 매핑한다.
+     *
+     * @return 현재 위치의 창 안에서의 바이트 위치
+     * @throws IOException 데이터가 bytes 바이트보다 적게 남은 경우
+     */
+    private int require(int bytes) throws IOException {
+        if (bytes > end - position) {
+            throw new IOException("corrupt snapshot: record exceeds end of data");
+        }
+        if (window == null || position + bytes > windowStart + window.capacity()) {
+            if (window != null) {
+                OffHeapArena.release(window);
+                window = null;
+            }
+            long size = Math.min(Math.max(SnapshotWriter.WINDOW_SIZE, bytes), end - position);
+            window = channel.map(FileChannel.MapMode.READ_ONLY, position, size);
+            window.order(ByteOrder.LITTLE_ENDIAN);
+            windowStart = position;
+        }
+        return (int) (position - windowStart);
+    }
+
+    /**
+     * @return 파일에 저장된 요소 개수
+     */
+    public long count() {
+        return count;
+    }
+
+    /**
+     * 요소 개수를 int로 반환한다. 배열 하나에 담을 자료구조가 불러오기 전에 확인한다.
+     *
+     * @throws IOException 요소 개수가 maxCount보다 많은 경우
+     */
+    public int count(int maxCount) throws IOException {
+        if (count > maxCount) {
+            throw new IOException("too many elements: " + count + " > " + maxCount);
+        }
+        return (int) count;
+    }
+
+    public ElementType elementType() {
+        return type;
+    }
+
+    public boolean hasNext() {
+        return remaining > 0;
+    }
+
+    /**
+     * @throws NoSuchElementException 모든 요소를 읽은 경우
+     */
+    public E next() throws IOException {
+        ensureOpen();
+        if (remaining == 0) {
+            throw new NoSuchElementException();
+        }
+        E value;
+        if (recordSize != RecordCodec.VARIABLE) {
+            int at = require(recordSize);
+            value = codec.decode(window, at, recordSize);
+            position += recordSize;
+        } else {
+            int lengthAt = require(Integer.BYTES);
+            int length = window.getInt(lengthAt);
+            if (length < 0) {
+                throw new IOException("corrupt snapshot: negative record length");
+            }
+            position += Integer.BYTES;
+            int at = require(length);
+            value = codec.decode(window, at, length);
+            position += length;
+        }
+        remaining--;
+        return value;
+    }
+
+    /**
+     * 최대 len개의 요소를 읽어 dst[off]부터 담는다.
+     *
+     * @return 읽은 요소 개수
+     */
+    public int read(E[] dst, int off, int len) throws IOException {
+        if (off < 0 || len < 0 || off > dst.length - len) {
+            throw new IndexOutOfBoundsException();
+        }
+        int n = (int) Math.min(len, remaining);
+        for (int i = 0; i < n; i++) {
+            dst[off + i] = next();
+        }
+        return n;
+    }
+
+    private void checkType(ElementType expected) {
+        ensureOpen();
+        if (type != expected) {
+            throw new IllegalStateException("snapshot of " + type + ", not " + expected);
+        }
+    }
+
+    /**
+     * 최대 len개의 int 값을 읽어 dst[off]부터 담는다. openInts로 연 reader에서만 사용할 수 있다.
+     *
+     * @return 읽은 요소 개수
+     */
+    public int readInts(int[] dst, int off, int len) throws IOException {
+        if (off < 0 || len < 0 || off > dst.length - len) {
+            throw new IndexOutOfBoundsException();
+        }
+        checkType(ElementType.INT);
+        int total = (int) Math.min(len, remaining);
+        for (int left = total; left > 0; ) {
+            int at = require(Integer.BYTES);
+            int n = Math.min(left, (window.capacity() - at) / Integer.BYTES);
+            window.slice(at, n * Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN).asIntBuffer().get(dst, off, n);
+            position += (long) n * Integer.BYTES;
+            remaining -= n;
+            off += n;
+            left -= n;
+        }
+        return total;
+    }
+
+    /**
+     * 최대 len개의 long 값을 읽어 dst[off]부터 담는다. openLongs로 연 reader에서만 사용할 수 있다.
+     *
+     * @return 읽은 요소 개수
+     */
+    public int readLongs(long[] dst, int off, int len) throws IOException {
+        if (off < 0 || len < 0 || off > dst.length - len) {
+            throw new IndexOutOfBoundsException();
+        }
+        checkType(ElementType.LONG);
+        int total = (int) Math.min(len, remaining);
+        for (int left = total; left > 0; ) {
+            int at = require(Long.BYTES);
+            int n = Math.min(left, (window.capacity() - at) / Long.BYTES);
+            window.slice(at, n * Long.BYTES).order(ByteOrder.LITTLE_ENDIAN).asLongBuffer().get(dst, off, n);
+            position += (long) n * Long.BYTES;
+            remaining -= n;
+            off += n;
+            left -= n;
+        }
+        return total;
+    }
+
+    /**
+     * 최대 len개의 double 값을 읽어 dst[off]부터 담는다. openDoubles로 연 reader에서만 사용할 수 있다.
+     *
+     * @return 읽은 요소 개수
+     */
+    public int readDoubles(double[] dst, int off, int len) throws IOException {
+        if (off < 0 || len < 0 || off > dst.length - len) {
+            throw new IndexOutOfBoundsException();
+        }
+        checkType(ElementType.DOUBLE);
+        int total = (int) Math.min(len, remaining);
+        for (int left = total; left > 0; ) {
+            int at = require(Double.BYTES);
+            int n = Math.min(left, (window.capacity() - at) / Double.BYTES);
+            window.slice(at, n * Double.BYTES).order(ByteOrder.LITTLE_ENDIAN).asDoubleBuffer().get(dst, off, n);
+            position += (long) n * Double.BYTES;
+            remaining -= n;
+            off += n;
+            left -= n;
+        }
+        return total;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        if (window != null) {
+            OffHeapArena.release(window);
+            window = null;
+        }
+        channel.close();
+    }
+}
@@ -0,0 +1,243 @@
+package _13_snapshot;
+
+import _11_offheap_queue.Codecs;
+import _11_offheap_queue.OffHeapArena;
+import _11_offheap_queue.RecordCodec;
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * 요소를 하나씩 또는 배열 구간 단위로 스냅샷 파일에 이어 쓰는 스트리밍 writer.
+ * 전체 요소를 메모리에 모아 두지 않으므로 힙보다 큰 데이터도 쓸 수 있다.
+ * <p>
+ * 파일을 64MB 창(window) 단위로 매핑해서 쓴다. 기본형 배열은 IntBuffer/LongBuffer/DoubleBuffer의 bulk put으로
+ * 매핑된 페이지 캐시에 바로 복사하므로, 중간 버퍼나 write 시스템 호출 없이 복사 한 번으로 끝난다.
+ * <p>
+ * 헤더의 요소 개수는 close()에서 기록하고 fsync한다. close() 전에 멈춘 파일은 SnapshotReader가 읽지 않는다.
+ * 하나의 스레드에서만 사용한다.
+ *
+ * @param <E> the type of elements
+ */
+public final class SnapshotWriter<E> implements AutoCloseable {
+
+    static final int WINDOW_SIZE = 64 << 20;
+
+    private final FileChannel channel;
+    private final ElementType type;
+    private final RecordCodec<? super E> codec;
+    private final int recordSize;
+
+    private MappedByteBuffer window; // close() 후에는 null
+    private long windowStart; // window의 0번 바이트의 파일 위치
+    private long position; // 다음에 쓸 파일 위치
+    private long count;
+    private boolean closed;
+
+    private SnapshotWriter(Path path, ElementType type, RecordCodec<? super E> codec) throws IOException {
+        int recordSize = codec.fixedSize();
+        if (recordSize <= 0 && recordSize != RecordCodec.VARIABLE) {
+            throw new IllegalArgumentException("invalid record size: " + recordSize);
+        }
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+            StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.type = type;
+        this.codec = codec;
+        this.recordSize = recordSize;
+        this.position = SnapshotHeader.SIZE;
+        try {
+            new SnapshotHeader(type, recordSize, SnapshotHeader.INCOMPLETE, 0).write(channel);
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * path에 codec으로 직렬화한 요소들을 쓰는 writer를 연다. 파일이 있으면 덮어쓴다.
+     */
+    public static <E> SnapshotWriter<E> create(Path path, RecordCodec<? super E> codec) throws IOException {
+        if (path == null || codec == null) {
+            throw new NullPointerException();
+        }
+        return new SnapshotWriter<>(path, ElementType.OBJECT, codec);
+    }
+
+    /**
+     * path에 int 값을 4바이트씩 쓰는 writer를 연다. 파일이 있으면 덮어쓴다.
+     */
+    public static SnapshotWriter<Integer> createInts(Path path) throws IOException {
+        return new SnapshotWriter<>(path, ElementType.INT, Codecs.INT32);
+    }
+
+    /**
+     * path에 long 값을 8바이트씩 쓰는 writer를 연다. 파일이 있으면 덮어쓴다.
+     */
+    public static SnapshotWriter<Long> createLongs(Path path) throws IOException {
+        return new SnapshotWriter<>(path, ElementType.LONG, Codecs.INT64);
+    }
+
+    /**
+     * path에 double 값을 8바이트씩 쓰는 writer를 연다. 파일이 있으면 덮어쓴다.
+     */
+    public static SnapshotWriter<Double> createDoubles(Path path) throws IOException {
+        return new SnapshotWriter<>(path, ElementType.DOUBLE, Codecs.FLOAT64);
+    }
+
+    private void ensureOpen() {
+        if (closed) {
+            throw new IllegalStateException("writer is closed");
+        }
+    }
+
+    /**
+     * 현재 위치부터 bytes 바이트가 창 안에 들어오도록 필요하면 창을 다시 매핑한다.
+     *
+     * @return 현재 위치의 창 안에서의 바이트 위치
+     */
+    private int reserve(int bytes) throws IOException {
+        if (window == null || position + bytes > windowStart + window.capacity()) {
+            if (window != null) {
+                OffHeapArena.release(window);
+                window = null;
+            }
+            window = channel.map(FileChannel.MapMode.READ_WRITE, position, Math.max(WINDOW_SIZE, bytes));
+            window.order(ByteOrder.LITTLE_ENDIAN);
+            windowStart = position;
+        }
+        return (int) (position - windowStart);
+    }
+
+    public void write(E value) throws IOException {
+        if (value == null) {
+            throw new NullPointerException();
+        }
+        ensureOpen();
+        if (recordSize != RecordCodec.VARIABLE) {
+            int at = reserve(recordSize);
+            codec.encode(value, window, at);
+            position += recordSize;
+        } else {
+            int length = codec.encodedSize(value);
+            if (length < 0 || length > Integer.MAX_VALUE - Integer.BYTES) {
+                throw new IllegalArgumentException("invalid record length: " + length);
+            }
+            int at = reserve(Integer.BYTES + length);
+            window.putInt(at, length);
+            codec.encode(value, window, at + Integer.BYTES);
+            position += Integer.BYTES + length;
+        }
+        count++;
+    }
+
+    /**
+     * src[off]부터 len개의 요소를 순서대로 쓴다.
+     */
+    public void write(E[] src, int off, int len) throws IOException {
+        if (off < 0 || len < 0 || off > src.length - len) {
+            throw new IndexOutOfBoundsException();
+        }
+        for (int i = off, end = off + len; i < end; i++) {
+            write(src[i]);
+        }
+    }
+
+    private void checkType(ElementType expected) {
+        ensureOpen();
+        if (type != expected) {
+            throw new IllegalStateException("snapshot of " + type + ", not " + expected);
+        }
+    }
+
+    /**
+     * src[off]부터 len개의 int 값을 쓴다. createInts로 연 writer에서만 사용할 수 있다.
+     */
+    public void writeInts(int[] src, int off, int len) throws IOException {
+        if (off < 0 || len < 0 || off > src.length - len) {
+            throw new IndexOutOfBoundsException();
+        }
+        checkType(ElementType.INT);
+        while (len > 0) {
+            int at = reserve(Integer.BYTES);
+            int n = Math.min(len, (window.capacity() - at) / Integer.BYTES);
+            window.slice(at, n * Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN).asIntBuffer().put(src, off, n);
+            position += (long) n * Integer.BYTES;
+            count += n;
+            off += n;
+            len -= n;
+        }
+    }
+
+    /**
+     * src[off]부터 len개의 long 값을 쓴다. createLongs로 연 writer에서만 사용할 수 있다.
+     */
+    public void writeLongs(long[] src, int off, int len) throws IOException {
+        if (off < 0 || len < 0 || off > src.length - len) {
+            throw new IndexOutOfBoundsException();
+        }
+        checkType(ElementType.LONG);
+        while (len > 0) {
+            int at = reserve(Long.BYTES);
+            int n = Math.min(len, (window.capacity() - at) / Long.BYTES);
+            window.slice(at, n * Long.BYTES).order(ByteOrder.LITTLE_ENDIAN).asLongBuffer().put(src, off, n);
+            position += (long) n * Long.BYTES;
+            count += n;
+            off += n;
+            len -= n;
+        }
+    }
+
+    /**
+     * src[off]부터 len개의 double 값을 쓴다. createDoubles로 연 writer에서만 사용할 수 있다.
+     */
+    public void writeDoubles(double[] src, int off, int len) throws IOException {
+        if (off < 0 || len < 0 || off > src.length - len) {
+            throw new IndexOutOfBoundsException();
+        }
+        checkType(ElementType.DOUBLE);
+        while (len > 0) {
+            int at = reserve(Double.BYTES);
+            int n = Math.min(len, (window.capacity() - at) / Double.BYTES);
+            window.slice(at, n * Double.BYTES).order(ByteOrder.LITTLE_ENDIAN).asDoubleBuffer().put(src, off, n);
+            position += (long) n * Double.BYTES;
+            count += n;
+            off += n;
+            len -= n;
+        }
+    }
+
+    /**
+     * @return 지금까지 쓴 요소 개수
+     */
+    public long count() {
+        return count;
+    }
+
+    public ElementType elementType() {
+        return type;
+    }
+
+    /**
+     * 매핑을 해제하고, 파일을 쓴 만큼으로 자른 뒤 헤더에 요소 개수를 기록하고 fsync한다.
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try (FileChannel c = channel) {
+            if (window != null) {
+                window.force();
+                OffHeapArena.release(window);
+                window = null;
+            }
+            c.truncate(position);
+            new SnapshotHeader(type, recordSize, count, position - SnapshotHeader.SIZE).write(c);
+            c.force(false);
+        }
+    }
+}
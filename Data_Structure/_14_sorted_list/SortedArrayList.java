@@ -0,0 +1,568 @@
+package _14_sorted_list;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+import my_interface.MyReadableListInterface;
+import my_util.ResizePolicy;
+import my_util.Sorting;
+
+/**
+ * 요소를 항상 정렬된 순서로 유지하는 배열 리스트.
+ * <p>
+ * 정렬된 배열에서 이진 탐색하므로 indexOf/contains/floor/ceiling/subList(fromKey, toKey)는 O(log n)이다.
+ * 비교 결과(compareTo 또는 Comparator)가 0이면 같은 요소로 보고, 같은 요소들 사이에서는 먼저 추가한 요소가 앞에 온다.
+ * <p>
+ * 요소를 추가하는 방법
+ * <ul>
+ *   <li>mergeSorted: 이미 정렬된 묶음을 기존 배열과 뒤에서부터 한 번에 병합한다.
+ *       묶음의 각 요소가 들어갈 자리를 이진 탐색으로 찾고, 그 사이의 기존 요소들은 System.arraycopy로 한 번에 옮기므로
+ *       기존 요소는 최대 한 번만 움직인다. (묶음이 크면 이진 탐색 대신 요소를 하나씩 비교하며 병합한다)</li>
+ *   <li>addAll: 정렬되지 않은 묶음을 복사해서 정렬한 뒤 mergeSorted와 같이 병합한다.</li>
+ *   <li>add: 요소 하나를 정렬되지 않은 버퍼에 모아 두고, 버퍼가 차거나 읽기 연산이 호출되면 정렬해서 한 번에 병합한다.
+ *       버퍼 크기는 요소 개수의 제곱근(최소 32)이므로 연속된 add의 평균 비용은 O(√n)번의 요소 이동이다.</li>
+ * </ul>
+ * size()를 제외한 모든 읽기 연산은 먼저 버퍼를 병합한다. null 요소는 허용하지 않는다.
+ *
+ * @param <E> the type of elements in this list
+ */
+public class SortedArrayList<E> implements MyReadableListInterface<E>, Iterable<E> {
+
+    private static final int MAX_ARRAY_SIZE = Integer.MAX_VALUE - 8;
+    private static final int DEFAULT_CAPACITY = 10;
+    private static final int MIN_BUFFER_SIZE = 32;
+    private static final Object[] EMPTY_ARRAY = {};
+
+    private final Comparator<? super E> comparator; // null이면 요소의 Comparable 구현을 따른다.
+    private final ResizePolicy resizePolicy;
+
+    private Object[] array; // [0, size)는 정렬되어 있다.
+    private int size;
+    private Object[] buffer = EMPTY_ARRAY; // add로 추가했지만 아직 병합하지 않은 요소들 (정렬되어 있지 않다)
+    private int pending;
+
+    public SortedArrayList() {
+        this(null);
+    }
+
+    /**
+     * @param comparator 정렬 기준, null이면 요소의 Comparable 구현을 따른다
+     */
+    public SortedArrayList(Comparator<? super E> comparator) {
+        this(0, comparator, ResizePolicy.defaultPolicy());
+    }
+
+    /**
+     * @param capacity     초기 용적
+     * @param comparator   정렬 기준, null이면 요소의 Comparable 구현을 따른다
+     * @param resizePolicy 용적 확장/축소 정책
+     */
+    public SortedArrayList(int capacity, Comparator<? super E> comparator, ResizePolicy resizePolicy) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException();
+        }
+        if (resizePolicy == null) {
+            throw new NullPointerException();
+        }
+        this.array = capacity == 0 ? EMPTY_ARRAY : new Object[capacity];
+        this.size = 0;
+        this.comparator = comparator;
+        this.resizePolicy = resizePolicy;
+    }
+
+    @SuppressWarnings("unchecked")
+    private int compare(Object a, Object b) {
+        return comparator == null ? ((Comparable<Object>) a).compareTo(b) : comparator.compare((E) a, (E) b);
+    }
+
+    /**
+     * @return a[from, to)에서 key보다 작지 않은 첫 요소의 위치 (없으면 to)
+     */
+    private int lowerBound(Object[] a, int from, int to, Object key) {
+        while (from < to) {
+            int mid = (from + to) >>> 1;
+            if (compare(a[mid], key) < 0) {
+                from = mid + 1;
+            } else {
+                to = mid;
+            }
+        }
+        return from;
+    }
+
+    /**
+     * @return a[from, to)에서 key보다 큰 첫 요소의 위치 (없으면 to)
+     */
+    private int upperBound(Object[] a, int from, int to, Object key) {
+        while (from < to) {
+            int mid = (from + to) >>> 1;
+            if (compare(a[mid], key) <= 0) {
+                from = mid + 1;
+            } else {
+                to = mid;
+            }
+        }
+        return from;
+    }
+
+    /*
+         용적 확장/축소
+     */
+
+    public void ensureCapacity(int minCapacity) {
+        if (minCapacity < 0) {
+            throw new OutOfMemoryError("Required array length too large");
+        }
+        int arrayCapacity = array.length;
+        if (minCapacity > arrayCapacity) {
+            int newCapacity = hugeRangeCheck(arrayCapacity,
+                resizePolicy.growCapacity(Math.max(arrayCapacity, DEFAULT_CAPACITY), minCapacity));
+            array = Arrays.copyOf(array, Math.max(newCapacity, minCapacity));
+            resizePolicy.recordReallocation(size);
+        }
+    }
+
+    private void shrinkIfNeeded() {
+        int newCapacity = resizePolicy.shrinkCapacity(array.length, size, DEFAULT_CAPACITY);
+        if (newCapacity < array.length) {
+            array = Arrays.copyOf(array, newCapacity);
+            resizePolicy.recordReallocation(size);
+        }
+    }
+
+    /**
+     * 용적을 현재 요소 개수에 맞게 줄인다. 버퍼도 비운다.
+     */
+    public void trimToSize() {
+        flush();
+        buffer = EMPTY_ARRAY;
+        if (size < array.length) {
+            array = size == 0 ? EMPTY_ARRAY : Arrays.copyOf(array, size);
+            resizePolicy.recordReallocation(size);
+        }
+    }
+
+    public ResizePolicy getResizePolicy() {
+        return resizePolicy;
+    }
+
+    /**
+     * 용적은 MAX_ARRAY_SIZE를 초과할 수 없다.
+     *
+     * @param oldCapacity resize하기 전의 용적
+     * @param newCapacity 정책이 계산한 용적 (overflow로 음수일 수 있다)
+     * @return 최종 크기
+     */
+    private int hugeRangeCheck(int oldCapacity, int newCapacity) {
+        if (MAX_ARRAY_SIZE - size <= 0) {
+            throw new OutOfMemoryError("Required array length too large");
+        }
+        if (newCapacity >= 0) {
+            if (newCapacity - MAX_ARRAY_SIZE <= 0) {
+                return newCapacity;
+            }
+            return MAX_ARRAY_SIZE;
+        } else {
+            int fiveFourthsSize = oldCapacity + (oldCapacity >> 2);
+            if (fiveFourthsSize <= 0 || fiveFourthsSize >= MAX_ARRAY_SIZE) {
+                return MAX_ARRAY_SIZE;
+            }
+            return fiveFourthsSize;
+        }
+    }
+
+    /*
+         추가
+     */
+
+    /**
+     * value를 버퍼에 추가한다. 버퍼가 차면 정렬해서 배열에 병합한다.
+     */
+    public void add(E value) {
+        if (value == null) {
+            throw new NullPointerException();
+        }
+        if (size + pending >= MAX_ARRAY_SIZE) {
+            throw new OutOfMemoryError("Required array length too large");
+        }
+        if (pending == buffer.length) {
+            int limit = bufferLimit();
+            if (pending >= limit) {
+                flush();
+            } else {
+                buffer = Arrays.copyOf(buffer, Math.min(limit, Math.max(MIN_BUFFER_SIZE, pending * 2)));
+            }
+        }
+        buffer[pending++] = value;
+    }
+
+    /**
+     * @return 요소 개수의 제곱근 (최소 MIN_BUFFER_SIZE)
+     */
+    private int bufferLimit() {
+        return Math.max(MIN_BUFFER_SIZE, (int) Math.sqrt(size));
+    }
+
+    /**
+     * add로 모아 둔 요소들을 정렬해서 배열에 병합한다. 읽기 연산은 이 메서드를 먼저 호출한다.
+     */
+    public void flush() {
+        int n = pending;
+        if (n == 0) {
+            return;
+        }
+        pending = 0;
+        Object[] buf = buffer;
+        if (n == 1) {
+            insert(buf[0]);
+        } else {
+            sortBatch(buf, 0, n);
+            merge(buf, 0, n);
+        }
+        Arrays.fill(buf, 0, n, null);
+    }
+
+    /**
+     * 이진 탐색으로 찾은 자리에 요소 하나를 끼워 넣는다.
+     */
+    private void insert(Object value) {
+        ensureCapacity(size + 1);
+        int p = upperBound(array, 0, size, value);
+        System.arraycopy(array, p, array, p + 1, size - p);
+        array[p] = value;
+        size++;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void sortBatch(Object[] a, int from, int to) {
+        Sorting.sort((E[]) a, from, to, comparator, Sorting.DEFAULT_PARALLEL_SORT_THRESHOLD);
+    }
+
+    /**
+     * 정렬된 src[off, off + len)를 배열에 병합한다. 배열의 뒤에서부터 채우므로 추가 배열이 필요 없다.
+     * 기존 요소 중 src의 한 요소보다 큰 연속 구간은 System.arraycopy 한 번으로 옮긴다.
+     */
+    private void merge(Object[] src, int off, int len) {
+        ensureCapacity(size + len);
+        Object[] a = array;
+        int i = size; // a[0, i)는 아직 옮기지 않은 기존 요소
+        int w = size + len; // a[w, size + len)는 병합이 끝난 구간
+        int j = off + len; // src[off, j)는 아직 병합하지 않은 요소
+
+        // 묶음이 기존 요소에 비해 크면 이진 탐색보다 하나씩 비교하는 편이 비교 횟수가 적다.
+        boolean gallop = (long) len * (32 - Integer.numberOfLeadingZeros(size)) < size + (long) len;
+        while (j > off && i > 0) {
+            Object e = src[j - 1];
+            int p;
+            if (gallop) {
+                p = upperBound(a, 0, i, e);
+            } else {
+                p = i;
+                while (p > 0 && compare(a[p - 1], e) > 0) {
+                    p--;
+                }
+            }
+            int run = i - p;
+            w -= run;
+            System.arraycopy(a, p, a, w, run);
+            i = p;
+            a[--w] = e;
+            j--;
+        }
+        // 남은 src 요소들은 모두 기존 요소보다 작거나 같으므로 앞에 그대로 놓는다. (w == j - off)
+        System.arraycopy(src, off, a, 0, j - off);
+        size += len;
+    }
+
+    /**
+     * 이미 정렬된 src[off, off + len)를 배열에 병합한다. 정렬하는 비용 없이 O(n + len)번 이하의 요소 이동으로 끝난다.
+     *
+     * @throws IllegalArgumentException src의 구간이 정렬되어 있지 않은 경우
+     */
+    public void mergeSorted(E[] src, int off, int len) {
+        if (off < 0 || len < 0 || off > src.length - len) {
+            throw new IndexOutOfBoundsException();
+        }
+        for (int k = off; k < off + len; k++) {
+            if (src[k] == null) {
+                throw new NullPointerException();
+            }
+            if (k > off && compare(src[k - 1], src[k]) > 0) {
+                throw new IllegalArgumentException("batch is not sorted at index " + k);
+            }
+        }
+        if (len == 0) {
+            return;
+        }
+        if (size + (long) pending + len > MAX_ARRAY_SIZE) {
+            throw new OutOfMemoryError("Required array length too large");
+        }
+        flush();
+        merge(src, off, len);
+    }
+
+    /**
+     * values를 복사해서 정렬한 뒤 배열에 병합한다.
+     *
+     * @return 리스트가 변경되었으면 true
+     */
+    public boolean addAll(E[] values) {
+        return addBatch(Arrays.copyOf(values, values.length, Object[].class));
+    }
+
+    /**
+     * values를 복사해서 정렬한 뒤 배열에 병합한다.
+     *
+     * @return 리스트가 변경되었으면 true
+     */
+    public boolean addAll(Collection<? extends E> values) {
+        return addBatch(values.toArray());
+    }
+
+    private boolean addBatch(Object[] batch) {
+        for (Object value : batch) {
+            if (value == null) {
+                throw new NullPointerException();
+            }
+        }
+        if (batch.length == 0) {
+            return false;
+        }
+        if (size + (long) pending + batch.length > MAX_ARRAY_SIZE) {
+            throw new OutOfMemoryError("Required array length too large");
+        }
+        sortBatch(batch, 0, batch.length);
+        flush();
+        merge(batch, 0, batch.length);
+        return true;
+    }
+
+    /*
+         삭제
+     */
+
+    public E remove(int index) {
+        flush();
+        if (index >= size || index < 0) {
+            throw new IndexOutOfBoundsException();
+        }
+        @SuppressWarnings("unchecked")
+        E element = (E) array[index];
+        System.arraycopy(array, index + 1, array, index, size - index - 1);
+        array[--size] = null;
+        shrinkIfNeeded();
+        return element;
+    }
+
+    /**
+     * value와 같은 요소 중 가장 앞의 하나를 삭제한다.
+     *
+     * @return 삭제했으면 true
+     */
+    public boolean remove(Object value) {
+        int index = indexOf(value);
+        if (index < 0) {
+            return false;
+        }
+        remove(index);
+        return true;
+    }
+
+    /**
+     * [fromIndex, toIndex) 위치의 요소들을 삭제한다.
+     */
+    public void removeRange(int fromIndex, int toIndex) {
+        flush();
+        if (fromIndex < 0 || toIndex > size || fromIndex > toIndex) {
+            throw new IndexOutOfBoundsException();
+        }
+        System.arraycopy(array, toIndex, array, fromIndex, size - toIndex);
+        int newSize = size - (toIndex - fromIndex);
+        Arrays.fill(array, newSize, size, null);
+        size = newSize;
+        shrinkIfNeeded();
+    }
+
+    public void clear() {
+        Arrays.fill(array, 0, size, null);
+        Arrays.fill(buffer, 0, pending, null);
+        size = 0;
+        pending = 0;
+        shrinkIfNeeded();
+    }
+
+    /*
+         읽기
+     */
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public E get(int index) {
+        flush();
+        if (index >= size || index < 0) {
+            throw new IndexOutOfBoundsException();
+        }
+        return (E) array[index];
+    }
+
+    /**
+     * @return 요소 개수 (버퍼에 있는 요소 포함)
+     */
+    @Override
+    public int size() {
+        return size + pending;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size + pending == 0;
+    }
+
+    /**
+     * @return value와 같은(비교 결과가 0인) 요소 중 가장 앞의 위치, 없으면 -1
+     * @throws ClassCastException value를 요소와 비교할 수 없는 경우
+     */
+    @Override
+    public int indexOf(Object value) {
+        if (value == null) {
+            return -1;
+        }
+        flush();
+        int p = lowerBound(array, 0, size, value);
+        return p < size && compare(array[p], value) == 0 ? p : -1;
+    }
+
+    /**
+     * @return value와 같은(비교 결과가 0인) 요소 중 가장 뒤의 위치, 없으면 -1
+     */
+    public int lastIndexOf(Object value) {
+        if (value == null) {
+            return -1;
+        }
+        flush();
+        int p = upperBound(array, 0, size, value) - 1;
+        return p >= 0 && compare(array[p], value) == 0 ? p : -1;
+    }
+
+    @Override
+    public boolean contains(Object value) {
+        return indexOf(value) >= 0;
+    }
+
+    /**
+     * @return key 이하인 요소 중 가장 큰 요소(같은 요소가 여럿이면 가장 뒤의 것), 없으면 null
+     */
+    @SuppressWarnings("unchecked")
+    public E floor(E key) {
+        if (key == null) {
+            throw new NullPointerException();
+        }
+        flush();
+        int p = upperBound(array, 0, size, key);
+        return p == 0 ? null : (E) array[p - 1];
+    }
+
+    /**
+     * @return key 이상인 요소 중 가장 작은 요소(같은 요소가 여럿이면 가장 앞의 것), 없으면 null
+     */
+    @SuppressWarnings("unchecked")
+    public E ceiling(E key) {
+        if (key == null) {
+            throw new NullPointerException();
+        }
+        flush();
+        int p = lowerBound(array, 0, size, key);
+        return p == size ? null : (E) array[p];
+    }
+
+    /**
+     * fromKey 이상 toKey 미만인 요소들을 담은 새 리스트를 반환한다. 구간은 이진 탐색 두 번으로 찾고 한 번에 복사한다.
+     *
+     * @throws IllegalArgumentException fromKey가 toKey보다 큰 경우
+     */
+    public SortedArrayList<E> subList(E fromKey, E toKey) {
+        if (fromKey == null || toKey == null) {
+            throw new NullPointerException();
+        }
+        if (compare(fromKey, toKey) > 0) {
+            throw new IllegalArgumentException("fromKey > toKey");
+        }
+        flush();
+        int from = lowerBound(array, 0, size, fromKey);
+        int to = lowerBound(array, from, size, toKey);
+        SortedArrayList<E> sub = new SortedArrayList<>(to - from, comparator, resizePolicy.copy());
+        System.arraycopy(array, from, sub.array, 0, to - from);
+        sub.size = to - from;
+        return sub;
+    }
+
+    public Comparator<? super E> comparator() {
+        return comparator;
+    }
+
+    public Object[] toArray() {
+        flush();
+        return Arrays.copyOf(array, size);
+    }
+
+    /**
+     * 배열을 직접 순회하며 요소를 정렬된 순서로 action에 넘긴다. Iterator 객체를 만들지 않는다.
+     *
+     * @throws ConcurrentModificationException action이 이 리스트를 변경한 경우
+     */
+    @SuppressWarnings("unchecked")
+    @Override
+    public void forEach(Consumer<? super E> action) {
+        if (action == null) {
+            throw new NullPointerException();
+        }
+        flush();
+        Object[] data = array;
+        int n = size;
+        for (int i = 0; i < n; i++) {
+            action.accept((E) data[i]);
+        }
+        checkForComodification(data, n);
+    }
+
+    /**
+     * 순회를 시작할 때의 배열과 요소 개수가 그대로이고 버퍼가 비어 있는지 확인한다.
+     */
+    private void checkForComodification(Object[] data, int n) {
+        if (array != data || size != n || pending != 0) {
+            throw new ConcurrentModificationException();
+        }
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        flush();
+        return new Iter();
+    }
+
+    private class Iter implements Iterator<E> {
+
+        private final Object[] data = array;
+        private final int n = size;
+        private int now;
+
+        @Override
+        public boolean hasNext() {
+            return now < n;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public E next() {
+            checkForComodification(data, n);
+            if (now >= n) {
+                throw new NoSuchElementException();
+            }
+            return (E) data[now++];
+        }
+    }
+}
@@ -0,0 +1,233 @@
+package _1_array_list;
+
+import java.util.Arrays;
+
+/**
+ * MyArrayList의 요소에서 위치를 찾는 선택적 해시 색인. (MyArrayList.setHashIndexEnabled 참고)
+ * <p>
+ * 선형 탐사(linear probing) 개방 주소법 표에 위치마다 [위치 + 1, 요소의 해시] 한 쌍을 저장한다. (0은 빈 칸)
+ * 요소 자체는 저장하지 않고, 해시가 같으면 리스트의 배열에서 그 위치의 요소와 equals로 비교한다.
+ * 같은 요소가 여러 위치에 있으면 위치마다 따로 저장하므로, 같은 요소가 아주 많이 중복되면 탐색이 느려진다.
+ * <p>
+ * 끝에 추가/삭제하거나 set하면 표를 바로 고친다. 중간에 추가/삭제해서 뒤쪽 위치가 밀리면 표를 버리고(stale)
+ * 나중에 한 번에 다시 만든다. 다시 만드는 비용은 선형 탐색 수십 번과 비슷하므로, 버려진 뒤 처음 몇 번의 탐색은
+ * 선형 탐색으로 답하고 탐색이 계속될 때만 다시 만든다. (중간 변경과 탐색이 번갈아 일어나면 색인이 없는 것과 같다)
+ * 리스트에 있는 동안 hashCode가 바뀌는 요소는 찾지 못할 수 있다.
+ */
+public final class HashIndex {
+
+  private static final int MIN_CAPACITY = 16;
+  private static final int MAX_CAPACITY = 1 << 30;
+  private static final int ARRAY_HEADER_BYTES = 16;
+  private static final int REBUILD_AFTER_QUERIES = 4; // 위치가 밀린 뒤 변경 없이 이 횟수만큼 탐색하면 다시 만든다.
+
+  private int[] slots = {}; // 위치 + 1, 0이면 빈 칸
+  private int[] hashes = {};
+  private int mask = -1;
+  private int shift = 32;
+  private int entries;
+  private boolean stale = true;
+  private int staleQueries; // 마지막으로 위치가 밀린 뒤 선형 탐색으로 답한 횟수
+
+  private long rebuilds;
+  private long rebuildNanos;
+
+  HashIndex() {
+  }
+
+  private static int hash(Object value) {
+    return value == null ? 0 : value.hashCode();
+  }
+
+  private int slotOf(int h) {
+    return (h * 0x9E3779B9) >>> shift;
+  }
+
+  /**
+   * 위치가 밀렸으므로 표를 버린다.
+   */
+  void invalidate() {
+    stale = true;
+    staleQueries = 0;
+  }
+
+  /**
+   * position에 value가 새로 놓였다. (그 위치에 다른 항목이 없어야 한다)
+   */
+  void insert(Object value, int position) {
+    if (stale) {
+      return;
+    }
+    if ((entries + 1) * 2L > slots.length) {
+      if (slots.length == MAX_CAPACITY) {
+        invalidate();
+        return;
+      }
+      rehash(Math.max(MIN_CAPACITY, slots.length * 2));
+    }
+    put(hash(value), position + 1);
+  }
+
+  private void put(int h, int stored) {
+    int i = slotOf(h);
+    while (slots[i] != 0) {
+      i = (i + 1) & mask;
+    }
+    slots[i] = stored;
+    hashes[i] = h;
+    entries++;
+  }
+
+  private void rehash(int capacity) {
+    int[] oldSlots = slots;
+    int[] oldHashes = hashes;
+    allocate(capacity);
+    for (int i = 0; i < oldSlots.length; i++) {
+      if (oldSlots[i] != 0) {
+        put(oldHashes[i], oldSlots[i]);
+      }
+    }
+  }
+
+  private void allocate(int capacity) {
+    slots = new int[capacity];
+    hashes = new int[capacity];
+    mask = capacity - 1;
+    shift = 32 - Integer.numberOfTrailingZeros(capacity);
+    entries = 0;
+  }
+
+  /**
+   * position에 있던 value가 빠졌다.
+   */
+  void delete(Object value, int position) {
+    if (stale) {
+      return;
+    }
+    int stored = position + 1;
+    int i = slotOf(hash(value));
+    while (slots[i] != stored) {
+      if (slots[i] == 0) {
+        invalidate(); // 색인과 리스트가 어긋났다. 다시 만든다.
+        return;
+      }
+      i = (i + 1) & mask;
+    }
+    // 뒤따르는 항목들을 당겨서 탐사 순서를 유지한다. (tombstone을 남기지 않는다)
+    for (int j = (i + 1) & mask; slots[j] != 0; j = (j + 1) & mask) {
+      int ideal = slotOf(hashes[j]);
+      if (((j - ideal) & mask) >= ((j - i) & mask)) {
+        slots[i] = slots[j];
+        hashes[i] = hashes[j];
+        i = j;
+      }
+    }
+    slots[i] = 0;
+    entries--;
+  }
+
+  /**
+   * data[0, size)로 표를 다시 만든다. 표가 너무 작거나 너무 크면 새로 할당한다.
+   */
+  private void rebuild(Object[] data, int size) {
+    long start = System.nanoTime();
+    int capacity = MIN_CAPACITY;
+    while (capacity < MAX_CAPACITY && capacity < size * 2L) {
+      capacity <<= 1;
+    }
+    if (slots.length < capacity || slots.length > capacity * 4L) {
+      allocate(capacity);
+    } else {
+      Arrays.fill(slots, 0);
+      entries = 0;
+    }
+    for (int i = 0; i < size; i++) {
+      put(hash(data[i]), i + 1);
+    }
+    stale = false;
+    rebuilds++;
+    rebuildNanos += System.nanoTime() - start;
+  }
+
+  /**
+   * @param last false이면 가장 앞의 위치, true이면 가장 뒤의 위치를 찾는다.
+   * @return value와 같은 요소의 위치, 없으면 -1
+   */
+  int find(Object value, Object[] data, int size, boolean last) {
+    if (stale) {
+      if (staleQueries < REBUILD_AFTER_QUERIES && rebuilds > 0) {
+        staleQueries++;
+        return last ? linearFindLast(value, data, size) : linearFind(value, data, size);
+      }
+      rebuild(data, size);
+    }
+    int h = hash(value);
+    int found = -1;
+    for (int i = slotOf(h), stored; (stored = slots[i]) != 0; i = (i + 1) & mask) {
+      if (hashes[i] != h) {
+        continue;
+      }
+      int position = stored - 1;
+      if (found >= 0 && (last ? position < found : position > found)) {
+        continue;
+      }
+      Object e = data[position];
+      if (value == null ? e == null : value.equals(e)) {
+        found = position;
+      }
+    }
+    return found;
+  }
+
+  private static int linearFind(Object value, Object[] data, int size) {
+    for (int i = 0; i < size; i++) {
+      if (value == null ? data[i] == null : value.equals(data[i])) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  private static int linearFindLast(Object value, Object[] data, int size) {
+    for (int i = size - 1; i >= 0; i--) {
+      if (value == null ? data[i] == null : value.equals(data[i])) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * @return 표가 차지하는 힙 메모리의 추정치 (바이트)
+   */
+  public long getMemoryBytes() {
+    return slots.length == 0 ? 0 : 2 * (ARRAY_HEADER_BYTES + (long) slots.length * Integer.BYTES);
+  }
+
+  /**
+   * @return 표의 칸 수
+   */
+  public int getCapacity() {
+    return slots.length;
+  }
+
+  /**
+   * @return 표를 처음부터 다시 만든 횟수 (처음 만든 것 포함)
+   */
+  public long getRebuilds() {
+    return rebuilds;
+  }
+
+  /**
+   * @return 표를 다시 만드는 데 쓴 시간의 합 (나노초)
+   */
+  public long getRebuildNanos() {
+    return rebuildNanos;
+  }
+
+  @Override
+  public String toString() {
+    return "HashIndex{capacity=" + slots.length + ", entries=" + entries + ", stale=" + stale
+        + ", memoryBytes=" + getMemoryBytes() + ", rebuilds=" + rebuilds + ", rebuildNanos=" + rebuildNanos + '}';
+  }
+}
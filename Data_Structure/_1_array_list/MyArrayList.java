@@ -1,10 +1,29 @@
 package _1_array_list;
 
+import _11_offheap_queue.RecordCodec;
+import _13_snapshot.SnapshotReader;
+import _13_snapshot.SnapshotWriter;
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Comparator;
+import java.util.ConcurrentModificationException;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import my_interface.IntObjConsumer;
 import my_interface.MyListInterface;
+import my_util.Instrumentation;
+import my_util.ResizePolicy;
+import my_util.SharedArray;
+import my_util.Sorting;
+import my_util.StructureStats;
 
 
 public class MyArrayList<E> implements MyListInterface<E>, Cloneable, Iterable<E> {
@@ -24,19 +43,44 @@ public class MyArrayList<E> implements MyListInterface<E>, Cloneable, Iterable<E
       */
 
   private static final Object[] EMPTY_ARRAY = {};
+  private static final StructureStats STATS = Instrumentation.stats(MyArrayList.class); // Instrumentation.ENABLED일 때만 갱신된다.
   private int size;
 
   Object[] array;
 
+  private ResizePolicy resizePolicy; // 용적 확장/축소 정책
+
+  private int parallelSortThreshold = Sorting.DEFAULT_PARALLEL_SORT_THRESHOLD;
+
+  private SharedArray shared; // clone()/snapshot()으로 배열을 공유 중이면 null이 아니다.
+  private boolean readOnly; // snapshot()으로 만든 리스트
+
+  private HashIndex hashIndex; // null이면 indexOf/contains가 배열을 차례로 비교한다.
+
   public MyArrayList() {
+    this(ResizePolicy.defaultPolicy());
+  }
+
+  public MyArrayList(int capacity) {
+    this(capacity, ResizePolicy.defaultPolicy());
+  }
+
+  public MyArrayList(ResizePolicy resizePolicy) {
+    if (resizePolicy == null) {
+      throw new NullPointerException();
+    }
     this.array = EMPTY_ARRAY;
     this.size = 0;
+    this.resizePolicy = resizePolicy;
   }
 
-  public MyArrayList(int capacity) {
+  public MyArrayList(int capacity, ResizePolicy resizePolicy) {
        if (capacity < 0) {
             throw new IllegalArgumentException();
        }
+    if (resizePolicy == null) {
+      throw new NullPointerException();
+    }
 
     if (capacity == 0) {
       array = EMPTY_ARRAY;
@@ -44,38 +88,107 @@ public class MyArrayList<E> implements MyListInterface<E>, Cloneable, Iterable<E
       array = new Object[capacity];
     }
     this.size = 0;
+    this.resizePolicy = resizePolicy;
   }
 
   private void resize() {
     int array_capacity = array.length;
 
-    // if (array_capacity == 0)
-    if (Arrays.equals(array, EMPTY_ARRAY)) {
-      array = new Object[DEFAULT_CAPACITY];
+    // if array is empty
+    if (array_capacity == 0) {
+      reallocate(DEFAULT_CAPACITY);
       return;
     }
 
     // if array is full
     if (size == array_capacity) {
+      reallocate(hugeRangeCheck(array_capacity, resizePolicy.growCapacity(array_capacity, size + 1)));
+      return;
+    }
 
-      // default growing 1.5x
-      int new_capacity = hugeRangeCheck(array_capacity, array_capacity + (array_capacity << 1));
+    // 정책의 축소 임계값 미만일 때만 축소한다.
+    int new_capacity = resizePolicy.shrinkCapacity(array_capacity, size, DEFAULT_CAPACITY);
+    if (new_capacity < array_capacity) {
+      reallocate(new_capacity);
+    }
+  }
 
-      // copy
-      array = Arrays.copyOf(array, new_capacity);
-      return;
+  private void reallocate(int new_capacity) {
+    if (shared != null) {
+      releaseShared(); // 새 배열로 복사하므로 공유 중이어도 따로 복사할 필요가 없다.
+    }
+    int old_capacity = array.length;
+    array = Arrays.copyOf(array, new_capacity);
+    resizePolicy.recordReallocation(size);
+    if (Instrumentation.ENABLED) {
+      Instrumentation.resized(STATS, resizePolicy, old_capacity, new_capacity, size);
     }
+  }
 
-    // if array is less than half full
-    if (size < (array_capacity >> 1)) {
-      int new_capacity = array_capacity >>> 1;
+  /*
+       배열을 다른 리스트와 공유 중이면 변경하기 전에 자신만의 배열로 복사한다.
+       공유하던 다른 리스트들이 이미 모두 복사해 갔다면 복사하지 않는다.
+       reallocate도 공유를 끝내므로, 확장이 필요하면 먼저 확장한 뒤 호출해야 공유 중인 배열을 한 번만 복사한다.
+   */
+  private void unshare() {
+    if (shared != null && releaseShared()) {
+      array = Arrays.copyOf(array, array.length);
+      resizePolicy.recordReallocation(size);
+      if (Instrumentation.ENABLED) {
+        Instrumentation.resized(STATS, resizePolicy, array.length, array.length, size);
+      }
+    }
+  }
 
-      // copy
-      array = Arrays.copyOf(array, Math.max(new_capacity, DEFAULT_CAPACITY));
-      return;
+  /*
+       공유를 끝낸다. 다른 소유자가 남아 있으면 true를 반환한다.
+       snapshot()으로 만든 리스트는 변경할 수 없으므로 UnsupportedOperationException을 던진다.
+   */
+  private boolean releaseShared() {
+    if (readOnly) {
+      throw new UnsupportedOperationException();
+    }
+    boolean othersRemain = shared.release();
+    shared = null;
+    return othersRemain;
+  }
+
+  /*
+       최소 minCapacity개의 요소를 재할당 없이 담을 수 있도록 용적을 늘린다.
+
+       @param minCapacity - 필요한 최소 용적
+   */
+  public void ensureCapacity(int minCapacity) {
+    if (minCapacity < 0) {
+      throw new OutOfMemoryError("Required array length too large");
+    }
+    int array_capacity = array.length;
+    if (minCapacity > array_capacity) {
+      reallocate(hugeRangeCheck(array_capacity, resizePolicy.growCapacity(array_capacity, minCapacity)));
+    }
+  }
+
+  /*
+       용적을 현재 요소 개수에 맞게 줄인다.
+   */
+  public void trimToSize() {
+    if (size < array.length) {
+      if (size == 0) {
+        if (shared != null) {
+          releaseShared();
+        }
+        array = EMPTY_ARRAY;
+        resizePolicy.recordReallocation(0);
+      } else {
+        reallocate(size);
+      }
     }
   }
 
+  public ResizePolicy getResizePolicy() {
+    return resizePolicy;
+  }
+
   private int hugeRangeCheck(int oldCapacity, int newCapacity) {
           /*
                resizing할 때, overflow를 방지하기 위한 체크 함수
@@ -85,6 +198,9 @@ public class MyArrayList<E> implements MyListInterface<E>, Cloneable, Iterable<E
                @param newCapacity - resize하고자 하는 용적
                @return - 최종 크기 반환
            */
+    if (Instrumentation.ENABLED) {
+      Instrumentation.hugeRangeCheck(STATS, size, oldCapacity, newCapacity, MAX_ARRAY_SIZE);
+    }
     if (MAX_ARRAY_SIZE - size <= 0) {
       throw new OutOfMemoryError("Required array length too large");
     }
@@ -114,8 +230,15 @@ public class MyArrayList<E> implements MyListInterface<E>, Cloneable, Iterable<E
     if (size == array.length) {
       resize();
     }
+    unshare();
     array[size] = value;
+    if (hashIndex != null) {
+      hashIndex.insert(value, size);
+    }
     size++;
+    if (Instrumentation.ENABLED) {
+      Instrumentation.operation(STATS, resizePolicy, size);
+    }
   }
 
   public void addFirst(E value) {
@@ -136,12 +259,170 @@ public class MyArrayList<E> implements MyListInterface<E>, Cloneable, Iterable<E
     if (size == array.length) {
       resize();
     }
+    unshare();
 
-    for (int i = size; i > index; i--) {
-      array[i] = array[i - 1];
-    }
+    System.arraycopy(array, index, array, index + 1, size - index);
     array[index] = value;
     size++;
+    if (hashIndex != null) {
+      hashIndex.invalidate();
+    }
+    if (Instrumentation.ENABLED) {
+      Instrumentation.operation(STATS, resizePolicy, size);
+    }
+  }
+
+  @Override
+  public boolean addAll(Collection<? extends E> values) {
+    return addAll(size, values);
+  }
+
+  @Override
+  public boolean addAll(E[] values) {
+    return addAll(size, values);
+  }
+
+  @Override
+  public boolean addAll(int index, Collection<? extends E> values) {
+    if (index > size || index < 0) {
+      throw new IndexOutOfBoundsException();
+    }
+    Object[] src = values.toArray();
+    return insertAll(index, src, src.length);
+  }
+
+  @Override
+  public boolean addAll(int index, E[] values) {
+    if (index > size || index < 0) {
+      throw new IndexOutOfBoundsException();
+    }
+    return insertAll(index, values, values.length);
+  }
+
+  /*
+       용적 확인 한 번, 뒤쪽 요소 이동 한 번, 복사 한 번으로 여러 요소를 삽입한다.
+   */
+  private boolean insertAll(int index, Object[] src, int length) {
+    if (length == 0) {
+      return false;
+    }
+    ensureCapacity(size + length);
+    unshare();
+
+    System.arraycopy(array, index, array, index + length, size - index);
+    System.arraycopy(src, 0, array, index, length);
+    if (hashIndex != null) {
+      if (index == size) {
+        for (int i = index; i < index + length; i++) {
+          hashIndex.insert(array[i], i);
+        }
+      } else {
+        hashIndex.invalidate();
+      }
+    }
+    size += length;
+    if (Instrumentation.ENABLED) {
+      Instrumentation.operations(STATS, resizePolicy, length, size);
+    }
+    return true;
+  }
+
+  @Override
+  public void removeRange(int fromIndex, int toIndex) {
+    if (fromIndex < 0 || toIndex > size || fromIndex > toIndex) {
+      throw new IndexOutOfBoundsException();
+    }
+    if (fromIndex == toIndex) {
+      return;
+    }
+    unshare();
+    if (hashIndex != null) {
+      if (toIndex == size) {
+        for (int i = fromIndex; i < toIndex; i++) {
+          hashIndex.delete(array[i], i);
+        }
+      } else {
+        hashIndex.invalidate();
+      }
+    }
+    System.arraycopy(array, toIndex, array, fromIndex, size - toIndex);
+    int new_size = size - (toIndex - fromIndex);
+    Arrays.fill(array, new_size, size, null);
+    size = new_size;
+    resize();
+    if (Instrumentation.ENABLED) {
+      Instrumentation.operations(STATS, resizePolicy, toIndex - fromIndex, size);
+    }
+  }
+
+  @Override
+  public boolean removeIf(Predicate<? super E> filter) {
+    if (filter == null) {
+      throw new NullPointerException();
+    }
+    return batchRemove(filter);
+  }
+
+  @Override
+  public boolean retainAll(Collection<?> values) {
+    if (values == null) {
+      throw new NullPointerException();
+    }
+    return batchRemove(e -> !values.contains(e));
+  }
+
+  /*
+       남길 요소를 앞으로 모으는 한 번의 압축으로 filter를 만족하는 요소를 모두 삭제한다.
+       filter가 예외를 던지면 아직 검사하지 않은 요소들을 그대로 뒤에 붙여 리스트를 일관된 상태로 남긴다.
+   */
+  @SuppressWarnings("unchecked")
+  private boolean batchRemove(Predicate<? super E> filter) {
+    unshare();
+    final Object[] data = array;
+    int r = 0;
+    int w = 0;
+    try {
+      for (; r < size; r++) {
+        Object e = data[r];
+        if (!filter.test((E) e)) {
+          data[w++] = e;
+        }
+      }
+    } finally {
+      if (r != size) {
+        System.arraycopy(data, r, data, w, size - r);
+        w += size - r;
+      }
+      if (w != size) {
+        int removed = size - w;
+        Arrays.fill(data, w, size, null);
+        size = w;
+        if (hashIndex != null) {
+          hashIndex.invalidate();
+        }
+        resize();
+        if (Instrumentation.ENABLED) {
+          Instrumentation.operations(STATS, resizePolicy, removed, size);
+        }
+      }
+    }
+    return r != w;
+  }
+
+  @SuppressWarnings("unchecked")
+  @Override
+  public void replaceAll(UnaryOperator<E> operator) {
+    if (operator == null) {
+      throw new NullPointerException();
+    }
+    unshare();
+    final Object[] data = array;
+    if (hashIndex != null) {
+      hashIndex.invalidate();
+    }
+    for (int i = 0; i < size; i++) {
+      data[i] = operator.apply((E) data[i]);
+    }
   }
 
   @SuppressWarnings("unchecked")
@@ -158,12 +439,20 @@ public class MyArrayList<E> implements MyListInterface<E>, Cloneable, Iterable<E
     if (index >= size || index < 0) {
       throw new IndexOutOfBoundsException();
     } else {
+      unshare();
+      if (hashIndex != null) {
+        hashIndex.delete(array[index], index);
+        hashIndex.insert(value, index);
+      }
       array[index] = value;
     }
   }
 
   @Override
   public int indexOf(Object value) {
+    if (hashIndex != null) {
+      return hashIndex.find(value, array, size, false);
+    }
     if (value == null) {
       for (int i = 0; i < size; i++) {
         if (array[i] == null) {
@@ -181,6 +470,9 @@ public class MyArrayList<E> implements MyListInterface<E>, Cloneable, Iterable<E
   }
 
   public int lastIndexOf(Object value) {
+    if (hashIndex != null) {
+      return hashIndex.find(value, array, size, true);
+    }
     if (value == null) {
       for (int i = size - 1; i >= 0; i--) {
         if (array[i] == null) {
@@ -208,16 +500,24 @@ public class MyArrayList<E> implements MyListInterface<E>, Cloneable, Iterable<E
     if (index >= size || index < 0) {
       throw new IndexOutOfBoundsException();
     }
+    unshare();
 
     E element = (E) array[index];
-    array[index] = null;
-
-    for (int i = index; i < size - 1; i++) {
-      array[i] = array[i + 1];
-      array[i + 1] = null;
+    if (hashIndex != null) {
+      if (index == size - 1) {
+        hashIndex.delete(element, index);
+      } else {
+        hashIndex.invalidate();
+      }
     }
+
+    System.arraycopy(array, index + 1, array, index, size - index - 1);
+    array[size - 1] = null;
     size--;
     resize();
+    if (Instrumentation.ENABLED) {
+      Instrumentation.operation(STATS, resizePolicy, size);
+    }
     return element;
   }
 
@@ -227,7 +527,7 @@ public class MyArrayList<E> implements MyListInterface<E>, Cloneable, Iterable<E
     if (index == -1) {
       return false;
     }
-    remove(value);
+    remove(index);
     return true;
   }
 
@@ -243,6 +543,16 @@ public class MyArrayList<E> implements MyListInterface<E>, Cloneable, Iterable<E
 
   @Override
   public void clear() {
+    if (hashIndex != null) {
+      hashIndex.invalidate();
+    }
+    if (shared != null) {
+      // 공유 중인 배열은 비울 필요 없이 놓아주기만 한다.
+      releaseShared();
+      array = EMPTY_ARRAY;
+      size = 0;
+      return;
+    }
     for (int i = 0; i < size; i++) {
       array[i] = null;
     }
@@ -255,9 +565,12 @@ public class MyArrayList<E> implements MyListInterface<E>, Cloneable, Iterable<E
 
     try {
       MyArrayList<?> cloneList = (MyArrayList<?>) super.clone();
-      cloneList.array = new Object[size];
-
-      System.arraycopy(array, 0, cloneList.array, 0, size);
+      // 배열은 복사하지 않고 공유한다. 먼저 변경하는 쪽이 자신의 배열을 복사한다.
+      shared = SharedArray.share(shared);
+      cloneList.shared = shared;
+      cloneList.readOnly = false;
+      cloneList.resizePolicy = resizePolicy.copy();
+      cloneList.hashIndex = hashIndex == null ? null : new HashIndex(); // 처음 탐색할 때 만든다.
 
       return cloneList;
     } catch (CloneNotSupportedException e) {
@@ -265,13 +578,99 @@ public class MyArrayList<E> implements MyListInterface<E>, Cloneable, Iterable<E
     }
   }
 
+  /*
+       현재 상태를 담은 읽기 전용 리스트를 배열 복사 없이 O(1)에 반환한다.
+       이 리스트가 이후에 변경되면 그때 이 리스트 쪽에서 배열을 복사하므로 snapshot의 내용은 바뀌지 않는다.
+       snapshot을 변경하려고 하면 UnsupportedOperationException이 발생한다. (snapshot의 clone()은 변경할 수 있다)
+   */
+  public MyArrayList<E> snapshot() {
+    @SuppressWarnings("unchecked")
+    MyArrayList<E> snapshot = (MyArrayList<E>) clone();
+    snapshot.readOnly = true;
+    return snapshot;
+  }
+
+  public boolean isReadOnly() {
+    return readOnly;
+  }
+
+  /**
+   * 요소들을 codec으로 직렬화해서 path에 스냅샷 파일로 저장한다. 파일이 있으면 덮어쓴다.
+   * 파일 형식은 SnapshotWriter를 참고한다.
+   */
+  @SuppressWarnings("unchecked")
+  public void save(Path path, RecordCodec<? super E> codec) throws IOException {
+    try (SnapshotWriter<E> writer = SnapshotWriter.create(path, codec)) {
+      writer.write((E[]) array, 0, size);
+    }
+  }
+
+  /**
+   * save로 저장한 스냅샷 파일에서 요소 개수에 꼭 맞는 용적의 리스트를 만든다.
+   *
+   * @throws IOException 파일을 읽을 수 없거나, 형식이 다르거나, 요소가 MAX_ARRAY_SIZE개보다 많은 경우
+   */
+  @SuppressWarnings("unchecked")
+  public static <E> MyArrayList<E> load(Path path, RecordCodec<E> codec) throws IOException {
+    try (SnapshotReader<E> reader = SnapshotReader.open(path, codec)) {
+      MyArrayList<E> list = new MyArrayList<>(reader.count(MAX_ARRAY_SIZE));
+      list.size = reader.read((E[]) list.array, 0, list.array.length);
+      return list;
+    }
+  }
+
   public void sort() {
     sort(null);
   }
 
   @SuppressWarnings("unchecked")
   public void sort(Comparator<? super E> c) {
-    Arrays.sort((E[]) array, 0, size, c);
+    unshare();
+    if (hashIndex != null) {
+      hashIndex.invalidate();
+    }
+    Sorting.sort((E[]) array, 0, size, c, parallelSortThreshold);
+  }
+
+  /*
+       요소 개수가 threshold 이상이면 sort가 병렬 정렬(Arrays.parallelSort)을 사용한다.
+
+       @param threshold - 병렬 정렬을 사용할 최소 요소 개수. Integer.MAX_VALUE이면 항상 단일 스레드로 정렬한다.
+   */
+  public void setParallelSortThreshold(int threshold) {
+    this.parallelSortThreshold = Sorting.checkThreshold(threshold);
+  }
+
+  public int getParallelSortThreshold() {
+    return parallelSortThreshold;
+  }
+
+  /**
+   * indexOf, lastIndexOf, contains, remove(Object)가 쓸 해시 색인(HashIndex)을 켜거나 끈다. 기본은 꺼져 있다.
+   * <p>
+   * 켜면 색인은 첫 탐색 때 O(n)에 만들어지고, 이후 탐색은 평균 O(1)이다.
+   * 끝에 추가/삭제하거나 set하면 색인을 바로 고치고, 중간에 추가/삭제하거나 정렬하면 색인을 버렸다가
+   * 탐색이 몇 번 이어지면 다시 만든다. (HashIndex 참고)
+   * 색인은 요소마다 int 두 개(위치, 해시)를 표의 절반 이하로 채워 쓰므로 요소당 약 16 ~ 32바이트를 더 쓴다.
+   * 탐색하지 않는 리스트는 끈 채로 두면 색인 비용이 전혀 없다.
+   */
+  public void setHashIndexEnabled(boolean enabled) {
+    if (!enabled) {
+      hashIndex = null;
+    } else if (hashIndex == null) {
+      hashIndex = new HashIndex();
+    }
+  }
+
+  public boolean isHashIndexEnabled() {
+    return hashIndex != null;
+  }
+
+  /**
+   * @return 해시 색인의 메모리 사용량과 재구축 비용을 담은 객체, 색인이 꺼져 있으면 null
+   */
+  public HashIndex getHashIndex() {
+    return hashIndex;
   }
 
   public Object[] toArray() {
@@ -292,6 +691,84 @@ public class MyArrayList<E> implements MyListInterface<E>, Cloneable, Iterable<E
     return a;
   }
 
+  @Override
+  public Spliterator<E> spliterator() {
+    return new Spliter(0, -1);
+  }
+
+  public Stream<E> stream() {
+    return StreamSupport.stream(spliterator(), false);
+  }
+
+  public Stream<E> parallelStream() {
+    return StreamSupport.stream(spliterator(), true);
+  }
+
+  /**
+   * 배열을 직접 순회하며 리스트의 요소를 action에 넘긴다. Iterator 객체를 만들지 않는다.
+   * 순회 중 요소가 추가/삭제되었는지는 순회가 끝난 뒤 한 번만 확인한다.
+   *
+   * @throws ConcurrentModificationException action이 이 리스트를 변경한 경우
+   */
+  @SuppressWarnings("unchecked")
+  @Override
+  public void forEach(Consumer<? super E> action) {
+    if (action == null) {
+      throw new NullPointerException();
+    }
+    Object[] data = array;
+    int n = size;
+    for (int i = 0; i < n; i++) {
+      action.accept((E) data[i]);
+    }
+    checkForComodification(data, n);
+  }
+
+  /**
+   * forEach와 같고, 요소와 함께 그 위치를 넘긴다.
+   */
+  @SuppressWarnings("unchecked")
+  public void forEachIndexed(IntObjConsumer<? super E> action) {
+    if (action == null) {
+      throw new NullPointerException();
+    }
+    Object[] data = array;
+    int n = size;
+    for (int i = 0; i < n; i++) {
+      action.accept(i, (E) data[i]);
+    }
+    checkForComodification(data, n);
+  }
+
+  /**
+   * [fromIndex, toIndex) 구간의 요소만 순서대로 action에 넘긴다.
+   */
+  @SuppressWarnings("unchecked")
+  public void forEachRange(int fromIndex, int toIndex, Consumer<? super E> action) {
+    if (fromIndex < 0 || toIndex > size || fromIndex > toIndex) {
+      throw new IndexOutOfBoundsException();
+    }
+    if (action == null) {
+      throw new NullPointerException();
+    }
+    Object[] data = array;
+    int n = size;
+    for (int i = fromIndex; i < toIndex; i++) {
+      action.accept((E) data[i]);
+    }
+    checkForComodification(data, n);
+  }
+
+  /**
+   * 순회를 시작할 때의 배열과 요소 개수가 그대로인지 확인한다.
+   * (modCount를 두지 않으므로 같은 개수만큼 추가/삭제하거나 set한 경우는 잡지 못한다)
+   */
+  private void checkForComodification(Object[] data, int n) {
+    if (array != data || size != n) {
+      throw new ConcurrentModificationException();
+    }
+  }
+
   @Override
   public Iterator<E> iterator() {
     return new Iter();
@@ -318,8 +795,100 @@ public class MyArrayList<E> implements MyListInterface<E>, Cloneable, Iterable<E
       return (E) data[cs];
     }
 
+    @SuppressWarnings("unchecked")
+    @Override
+    public void forEachRemaining(Consumer<? super E> action) {
+      if (action == null) {
+        throw new NullPointerException();
+      }
+      Object[] data = MyArrayList.this.array;
+      int n = size;
+      int i = now;
+      now = n;
+      for (; i < n; i++) {
+        action.accept((E) data[i]);
+      }
+      checkForComodification(data, n);
+    }
+
     public void remove() {
       throw new UnsupportedOperationException();
     }
   }
+
+  /**
+   * 배열의 [index, fence) 구간을 순회하는 Spliterator. trySplit은 구간을 절반으로 나눈다.
+   * fence는 처음 사용할 때 정해진다. (생성 후 첫 사용 전까지의 추가/삭제는 반영된다)
+   */
+  private class Spliter implements Spliterator<E> {
+
+    private int index;
+    private int fence; // -1이면 아직 정해지지 않음
+
+    Spliter(int origin, int fence) {
+      this.index = origin;
+      this.fence = fence;
+    }
+
+    private int getFence() {
+      int hi = fence;
+      if (hi < 0) {
+        hi = fence = size;
+      }
+      return hi;
+    }
+
+    @Override
+    public Spliterator<E> trySplit() {
+      int hi = getFence();
+      int lo = index;
+      int mid = (lo + hi) >>> 1;
+      if (lo >= mid) {
+        return null;
+      }
+      index = mid;
+      return new Spliter(lo, mid);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public boolean tryAdvance(Consumer<? super E> action) {
+      if (action == null) {
+        throw new NullPointerException();
+      }
+      int hi = getFence();
+      int i = index;
+      if (i < hi) {
+        index = i + 1;
+        action.accept((E) array[i]);
+        return true;
+      }
+      return false;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public void forEachRemaining(Consumer<? super E> action) {
+      if (action == null) {
+        throw new NullPointerException();
+      }
+      final Object[] data = array;
+      int hi = getFence();
+      int i = index;
+      index = hi;
+      for (; i < hi; i++) {
+        action.accept((E) data[i]);
+      }
+    }
+
+    @Override
+    public long estimateSize() {
+      return getFence() - index;
+    }
+
+    @Override
+    public int characteristics() {
+      return Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED;
+    }
+  }
 }
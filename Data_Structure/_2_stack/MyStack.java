@@ -1,11 +1,27 @@
 package _2_stack;
 
+import _11_offheap_queue.RecordCodec;
+import _13_snapshot.SnapshotReader;
+import _13_snapshot.SnapshotWriter;
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.Arrays;
 import java.util.Comparator;
+import java.util.ConcurrentModificationException;
 import java.util.EmptyStackException;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import my_interface.IntObjConsumer;
 import my_interface.MyStackInterface;
+import my_util.Instrumentation;
+import my_util.ResizePolicy;
+import my_util.SharedArray;
+import my_util.Sorting;
+import my_util.StructureStats;
 
 /**
  * @param <E> the type of elements in this Stack
@@ -25,48 +41,167 @@ public class MyStack<E> implements MyStackInterface<E>, Cloneable, Iterable<E> {
 
   private static final int DEFAULT_CAPACITY = 10; // 최소(기본) 용적 크기
   private static final Object[] EMPTY_ARRAY = {}; // 요소 개수
+  private static final StructureStats STATS = Instrumentation.stats(MyStack.class); // Instrumentation.ENABLED일 때만 갱신된다.
 
   private Object[] array; // 요소를 담을 배열
   private int size; // 요소 개수
+  private ResizePolicy resizePolicy; // 용적 확장/축소 정책
+  private int parallelSortThreshold = Sorting.DEFAULT_PARALLEL_SORT_THRESHOLD; // 병렬 정렬을 사용할 최소 요소 개수
+  private SharedArray shared; // clone()/snapshot()으로 배열을 공유 중이면 null이 아니다.
+  private boolean readOnly; // snapshot()으로 만든 스택
 
   public MyStack() {
+    this(ResizePolicy.defaultPolicy());
+  }
+
+  public MyStack(int capacity) {
+    this(capacity, ResizePolicy.defaultPolicy());
+  }
+
+  public MyStack(ResizePolicy resizePolicy) {
+    if (resizePolicy == null) {
+      throw new NullPointerException();
+    }
     this.array = EMPTY_ARRAY;
     this.size = 0;
+    this.resizePolicy = resizePolicy;
   }
 
-  public MyStack(int capacity) {
+  public MyStack(int capacity, ResizePolicy resizePolicy) {
     if (capacity < 0) {
       throw new IllegalArgumentException();
     }
+    if (resizePolicy == null) {
+      throw new NullPointerException();
+    }
     if (capacity == 0) {
       array = EMPTY_ARRAY;
     } else {
       array = new Object[capacity];
     }
     this.size = 0;
+    this.resizePolicy = resizePolicy;
   }
 
   private void resize() {
 
-    if (Arrays.equals(array, EMPTY_ARRAY)) {
-      array = new Object[DEFAULT_CAPACITY];
+    int arrayCapacity = array.length;
+
+    if (arrayCapacity == 0) {
+      reallocate(DEFAULT_CAPACITY);
       return;
     }
 
-    int arrayCapacity = array.length;
-
     if (size == arrayCapacity) {
-      //default growing 1.5x
-      int newSize = hugeRangeCheck(arrayCapacity, arrayCapacity + arrayCapacity << 1);
-      array = Arrays.copyOf(array, newSize);
+      reallocate(hugeRangeCheck(arrayCapacity, resizePolicy.growCapacity(arrayCapacity, size + 1)));
       return;
     }
 
-    if (size < (arrayCapacity / 2)) {
-      int newCapacity = (arrayCapacity / 2);
-      array = Arrays.copyOf(array, Math.max(DEFAULT_CAPACITY, newCapacity));
+    // 정책의 축소 임계값 미만일 때만 축소한다. (임계값 근처에서 push/pop이 반복되어도 재할당하지 않는다)
+    int newCapacity = resizePolicy.shrinkCapacity(arrayCapacity, size, DEFAULT_CAPACITY);
+    if (newCapacity < arrayCapacity) {
+      reallocate(newCapacity);
+    }
+  }
+
+  private void reallocate(int newCapacity) {
+    if (shared != null) {
+      releaseShared(); // 새 배열로 복사하므로 공유 중이어도 따로 복사할 필요가 없다.
+    }
+    int oldCapacity = array.length;
+    array = Arrays.copyOf(array, newCapacity);
+    resizePolicy.recordReallocation(size);
+    if (Instrumentation.ENABLED) {
+      Instrumentation.resized(STATS, resizePolicy, oldCapacity, newCapacity, size);
+    }
+  }
+
+  /**
+   * 배열을 다른 스택과 공유 중이면 변경하기 전에 자신만의 배열로 복사한다.
+   * 공유하던 다른 스택들이 이미 모두 복사해 갔다면 복사하지 않는다.
+   */
+  private void unshare() {
+    if (shared != null && releaseShared()) {
+      array = Arrays.copyOf(array, array.length);
+      resizePolicy.recordReallocation(size);
+      if (Instrumentation.ENABLED) {
+        Instrumentation.resized(STATS, resizePolicy, array.length, array.length, size);
+      }
+    }
+  }
+
+  /**
+   * 맨 위의 요소들을 버리고 아래의 newSize개만 남긴 뒤 축소 정책을 적용한다.
+   * 배열을 다른 스택과 공유 중이면 원래 배열은 건드리지 않고, 남길 요소만 축소할 용적의 새 배열로 한 번에 복사한다.
+   * (unshare로 복사한 뒤 resize로 다시 축소하면 두 번 복사하게 된다)
+   */
+  private void truncate(int newSize) {
+    if (shared != null && releaseShared()) {
+      int oldCapacity = array.length;
+      int newCapacity = resizePolicy.shrinkCapacity(oldCapacity, newSize, DEFAULT_CAPACITY);
+      Object[] newArray = new Object[newCapacity];
+      System.arraycopy(array, 0, newArray, 0, newSize);
+      array = newArray;
+      size = newSize;
+      resizePolicy.recordReallocation(newSize);
+      if (Instrumentation.ENABLED) {
+        Instrumentation.resized(STATS, resizePolicy, oldCapacity, newCapacity, newSize);
+      }
       return;
     }
+    Arrays.fill(array, newSize, size, null);
+    size = newSize;
+    resize();
+  }
+
+  /**
+   * 공유를 끝낸다. snapshot()으로 만든 스택은 변경할 수 없으므로 UnsupportedOperationException을 던진다.
+   *
+   * @return 다른 소유자가 남아 있으면 true
+   */
+  private boolean releaseShared() {
+    if (readOnly) {
+      throw new UnsupportedOperationException();
+    }
+    boolean othersRemain = shared.release();
+    shared = null;
+    return othersRemain;
+  }
+
+  /**
+   * 최소 minCapacity개의 요소를 재할당 없이 담을 수 있도록 용적을 늘린다.
+   *
+   * @param minCapacity 필요한 최소 용적
+   */
+  public void ensureCapacity(int minCapacity) {
+    if (minCapacity < 0) {
+      throw new OutOfMemoryError("Required stack size too large");
+    }
+    int arrayCapacity = array.length;
+    if (minCapacity > arrayCapacity) {
+      reallocate(hugeRangeCheck(arrayCapacity, resizePolicy.growCapacity(arrayCapacity, minCapacity)));
+    }
+  }
+
+  /**
+   * 용적을 현재 요소 개수에 맞게 줄인다.
+   */
+  public void trimToSize() {
+    if (size < array.length) {
+      if (size == 0) {
+        if (shared != null) {
+          releaseShared();
+        }
+        array = EMPTY_ARRAY;
+        resizePolicy.recordReallocation(0);
+      } else {
+        reallocate(size);
+      }
+    }
+  }
+
+  public ResizePolicy getResizePolicy() {
+    return resizePolicy;
   }
 
   /**
@@ -77,6 +212,9 @@ public class MyStack<E> implements MyStackInterface<E>, Cloneable, Iterable<E> {
    * @return 최종 크기 반환
    */
   private int hugeRangeCheck(int oldCapacity, int newCapacity) {
+    if (Instrumentation.ENABLED) {
+      Instrumentation.hugeRangeCheck(STATS, size, oldCapacity, newCapacity, MAX_ARRAY_SIZE);
+    }
     if (MAX_ARRAY_SIZE - size <= 0) {
       throw new OutOfMemoryError("Required stack size too large");
     }
@@ -98,9 +236,14 @@ public class MyStack<E> implements MyStackInterface<E>, Cloneable, Iterable<E> {
   public E push(E item) {
     if (size == array.length) {
       resize();
+    } else {
+      unshare();
     }
     array[size] = item;
     size++;
+    if (Instrumentation.ENABLED) {
+      Instrumentation.operation(STATS, resizePolicy, size);
+    }
 
     return item;
   }
@@ -112,13 +255,66 @@ public class MyStack<E> implements MyStackInterface<E>, Cloneable, Iterable<E> {
       throw new EmptyStackException();
     }
     E obj = (E) array[size - 1];
-    array[size - 1] = null;
-    size--;
-    resize();
+    truncate(size - 1);
+    if (Instrumentation.ENABLED) {
+      Instrumentation.operation(STATS, resizePolicy, size);
+    }
 
     return obj;
   }
 
+  /**
+   * 용적을 한 번만 확인(필요하면 한 번 확장)한 뒤 System.arraycopy 한 번으로 요소를 추가한다.
+   */
+  @Override
+  public void pushAll(E[] src, int off, int len) {
+    if (off < 0 || len < 0 || off > src.length - len) {
+      throw new IndexOutOfBoundsException();
+    }
+    if (len == 0) {
+      return;
+    }
+    int required = size + len;
+    if (required < 0) {
+      throw new OutOfMemoryError("Required stack size too large");
+    }
+    if (required > array.length) {
+      ensureCapacity(required);
+    } else {
+      unshare();
+    }
+    System.arraycopy(src, off, array, size, len);
+    size = required;
+    if (Instrumentation.ENABLED) {
+      Instrumentation.operations(STATS, resizePolicy, len, size);
+    }
+  }
+
+  /**
+   * 맨 위부터 최대 max개의 요소를 pop 순서대로 dst에 옮긴다.
+   * pop 순서는 배열 순서의 역순이므로 한 번의 역방향 복사 루프로 옮기고, 비운 칸 정리와 축소 확인은 한 번만 한다.
+   */
+  @SuppressWarnings("unchecked")
+  @Override
+  public int popInto(E[] dst, int off, int max) {
+    if (off < 0 || max < 0 || off > dst.length - max) {
+      throw new IndexOutOfBoundsException();
+    }
+    int n = Math.min(size, max);
+    if (n == 0) {
+      return 0;
+    }
+    final Object[] data = array;
+    for (int i = 0, top = size - 1; i < n; i++) {
+      dst[off + i] = (E) data[top - i];
+    }
+    truncate(size - n);
+    if (Instrumentation.ENABLED) {
+      Instrumentation.operations(STATS, resizePolicy, n, size);
+    }
+    return n;
+  }
+
   @SuppressWarnings("unchecked")
   @Override
   public E peek() {
@@ -154,6 +350,13 @@ public class MyStack<E> implements MyStackInterface<E>, Cloneable, Iterable<E> {
 
   @Override
   public void clear() {
+    if (shared != null) {
+      // 공유 중인 배열은 비울 필요 없이 놓아주기만 한다.
+      releaseShared();
+      array = EMPTY_ARRAY;
+      size = 0;
+      return;
+    }
     for (int i = 0; i < size; i++) {
       array[i] = null;
     }
@@ -170,11 +373,58 @@ public class MyStack<E> implements MyStackInterface<E>, Cloneable, Iterable<E> {
   public Object clone() throws CloneNotSupportedException {
     MyStack<?> cloneStack = (MyStack<?>) super.clone();
 
-    cloneStack.array = new Object[size];
-    System.arraycopy(array, 0, cloneStack.array, 0, size);
+    // 배열은 복사하지 않고 공유한다. 먼저 변경하는 쪽이 자신의 배열을 복사한다.
+    shared = SharedArray.share(shared);
+    cloneStack.shared = shared;
+    cloneStack.readOnly = false;
+    cloneStack.resizePolicy = resizePolicy.copy();
     return cloneStack;
   }
 
+  /**
+   * 현재 상태를 담은 읽기 전용 스택을 배열 복사 없이 O(1)에 반환한다.
+   * 이 스택이 이후에 변경되면 그때 이 스택 쪽에서 배열을 복사하므로 snapshot의 내용은 바뀌지 않는다.
+   * snapshot을 변경하려고 하면 UnsupportedOperationException이 발생한다. (snapshot의 clone()은 변경할 수 있다)
+   */
+  public MyStack<E> snapshot() {
+    try {
+      @SuppressWarnings("unchecked")
+      MyStack<E> snapshot = (MyStack<E>) clone();
+      snapshot.readOnly = true;
+      return snapshot;
+    } catch (CloneNotSupportedException e) {
+      throw new Error(e);
+    }
+  }
+
+  public boolean isReadOnly() {
+    return readOnly;
+  }
+
+  /**
+   * 요소들을 바닥부터 codec으로 직렬화해서 path에 스냅샷 파일로 저장한다. 파일이 있으면 덮어쓴다.
+   */
+  @SuppressWarnings("unchecked")
+  public void save(Path path, RecordCodec<? super E> codec) throws IOException {
+    try (SnapshotWriter<E> writer = SnapshotWriter.create(path, codec)) {
+      writer.write((E[]) array, 0, size);
+    }
+  }
+
+  /**
+   * save로 저장한 스냅샷 파일에서 요소 개수에 꼭 맞는 용적의 스택을 만든다. 마지막에 저장된 요소가 top이다.
+   *
+   * @throws IOException 파일을 읽을 수 없거나, 형식이 다르거나, 요소가 MAX_ARRAY_SIZE개보다 많은 경우
+   */
+  @SuppressWarnings("unchecked")
+  public static <E> MyStack<E> load(Path path, RecordCodec<E> codec) throws IOException {
+    try (SnapshotReader<E> reader = SnapshotReader.open(path, codec)) {
+      MyStack<E> stack = new MyStack<>(reader.count(MAX_ARRAY_SIZE));
+      stack.size = reader.read((E[]) stack.array, 0, stack.array.length);
+      return stack;
+    }
+  }
+
   public Object[] toArray() {
     return Arrays.copyOf(array, size);
   }
@@ -189,12 +439,104 @@ public class MyStack<E> implements MyStackInterface<E>, Cloneable, Iterable<E> {
   }
 
   public void sort() {
-    sort();
+    sort(null);
   }
 
   @SuppressWarnings("unchecked")
   public void sort(Comparator<? super E> c) {
-    Arrays.sort((E[]) array, 0, size, c);
+    unshare();
+    Sorting.sort((E[]) array, 0, size, c, parallelSortThreshold);
+  }
+
+  /**
+   * 요소 개수가 threshold 이상이면 sort가 병렬 정렬(Arrays.parallelSort)을 사용한다.
+   *
+   * @param threshold 병렬 정렬을 사용할 최소 요소 개수. Integer.MAX_VALUE이면 항상 단일 스레드로 정렬한다.
+   */
+  public void setParallelSortThreshold(int threshold) {
+    this.parallelSortThreshold = Sorting.checkThreshold(threshold);
+  }
+
+  public int getParallelSortThreshold() {
+    return parallelSortThreshold;
+  }
+
+  @Override
+  public Spliterator<E> spliterator() {
+    return new Spliter(0, -1);
+  }
+
+  public Stream<E> stream() {
+    return StreamSupport.stream(spliterator(), false);
+  }
+
+  public Stream<E> parallelStream() {
+    return StreamSupport.stream(spliterator(), true);
+  }
+
+  /**
+   * 배열을 직접 순회하며 스택의 요소를 아래(먼저 push한 요소)부터 action에 넘긴다. Iterator 객체를 만들지 않는다.
+   * 순회 중 요소가 추가/삭제되었는지는 순회가 끝난 뒤 한 번만 확인한다.
+   *
+   * @throws ConcurrentModificationException action이 이 스택를 변경한 경우
+   */
+  @SuppressWarnings("unchecked")
+  @Override
+  public void forEach(Consumer<? super E> action) {
+    if (action == null) {
+      throw new NullPointerException();
+    }
+    Object[] data = array;
+    int n = size;
+    for (int i = 0; i < n; i++) {
+      action.accept((E) data[i]);
+    }
+    checkForComodification(data, n);
+  }
+
+  /**
+   * forEach와 같고, 요소와 함께 그 위치를 넘긴다.
+   */
+  @SuppressWarnings("unchecked")
+  public void forEachIndexed(IntObjConsumer<? super E> action) {
+    if (action == null) {
+      throw new NullPointerException();
+    }
+    Object[] data = array;
+    int n = size;
+    for (int i = 0; i < n; i++) {
+      action.accept(i, (E) data[i]);
+    }
+    checkForComodification(data, n);
+  }
+
+  /**
+   * [fromIndex, toIndex) 구간의 요소만 순서대로 action에 넘긴다.
+   */
+  @SuppressWarnings("unchecked")
+  public void forEachRange(int fromIndex, int toIndex, Consumer<? super E> action) {
+    if (fromIndex < 0 || toIndex > size || fromIndex > toIndex) {
+      throw new IndexOutOfBoundsException();
+    }
+    if (action == null) {
+      throw new NullPointerException();
+    }
+    Object[] data = array;
+    int n = size;
+    for (int i = fromIndex; i < toIndex; i++) {
+      action.accept((E) data[i]);
+    }
+    checkForComodification(data, n);
+  }
+
+  /**
+   * 순회를 시작할 때의 배열과 요소 개수가 그대로인지 확인한다.
+   * (modCount를 두지 않으므로 같은 개수만큼 추가/삭제하거나 set한 경우는 잡지 못한다)
+   */
+  private void checkForComodification(Object[] data, int n) {
+    if (array != data || size != n) {
+      throw new ConcurrentModificationException();
+    }
   }
 
   @Override
@@ -223,9 +565,101 @@ public class MyStack<E> implements MyStackInterface<E>, Cloneable, Iterable<E> {
       return (E) data[cs];
     }
 
+    @SuppressWarnings("unchecked")
+    @Override
+    public void forEachRemaining(Consumer<? super E> action) {
+      if (action == null) {
+        throw new NullPointerException();
+      }
+      Object[] data = MyStack.this.array;
+      int n = size;
+      int i = now;
+      now = n;
+      for (; i < n; i++) {
+        action.accept((E) data[i]);
+      }
+      checkForComodification(data, n);
+    }
+
     @Override
     public void remove() {
       throw new UnsupportedOperationException();
     }
   }
+
+  /**
+   * 배열의 [index, fence) 구간을 순회하는 Spliterator. trySplit은 구간을 절반으로 나눈다.
+   * fence는 처음 사용할 때 정해진다. (생성 후 첫 사용 전까지의 추가/삭제는 반영된다)
+   */
+  private class Spliter implements Spliterator<E> {
+
+    private int index;
+    private int fence; // -1이면 아직 정해지지 않음
+
+    Spliter(int origin, int fence) {
+      this.index = origin;
+      this.fence = fence;
+    }
+
+    private int getFence() {
+      int hi = fence;
+      if (hi < 0) {
+        hi = fence = size;
+      }
+      return hi;
+    }
+
+    @Override
+    public Spliterator<E> trySplit() {
+      int hi = getFence();
+      int lo = index;
+      int mid = (lo + hi) >>> 1;
+      if (lo >= mid) {
+        return null;
+      }
+      index = mid;
+      return new Spliter(lo, mid);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public boolean tryAdvance(Consumer<? super E> action) {
+      if (action == null) {
+        throw new NullPointerException();
+      }
+      int hi = getFence();
+      int i = index;
+      if (i < hi) {
+        index = i + 1;
+        action.accept((E) array[i]);
+        return true;
+      }
+      return false;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public void forEachRemaining(Consumer<? super E> action) {
+      if (action == null) {
+        throw new NullPointerException();
+      }
+      final Object[] data = array;
+      int hi = getFence();
+      int i = index;
+      index = hi;
+      for (; i < hi; i++) {
+        action.accept((E) data[i]);
+      }
+    }
+
+    @Override
+    public long estimateSize() {
+      return getFence() - index;
+    }
+
+    @Override
+    public int characteristics() {
+      return Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED;
+    }
+  }
 }
@@ -1,54 +1,158 @@
 package _3_array_queue;
 
+import _11_offheap_queue.RecordCodec;
+import _13_snapshot.SnapshotReader;
+import _13_snapshot.SnapshotWriter;
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.Arrays;
 import java.util.Comparator;
+import java.util.ConcurrentModificationException;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import my_interface.IntObjConsumer;
 import my_interface.MyQueueInterface;
+import my_util.Instrumentation;
+import my_util.ResizePolicy;
+import my_util.SharedArray;
+import my_util.Sorting;
+import my_util.StructureStats;
 
 /**
+ * 배열 기반 원형 큐.
+ * <p>
+ * 배열의 길이는 항상 2의 거듭제곱이며, 인덱스는 나머지 연산(%) 대신 (길이 - 1) 마스크와의 AND 연산으로 구한다.
+ * head와 tail은 배열 길이로 되돌리지 않고 계속 증가하는 카운터이므로(int overflow도 허용),
+ * 요소 개수는 tail - head 이고 배열의 모든 칸을 사용할 수 있다.
+ *
  * @param <E> the type of elements int this Queue
  */
 public class MyArrayQueue<E> implements MyQueueInterface<E>, Cloneable, Iterable<E> {
 
-    private static final int MAX_ARRAY_SIZE = Integer.MAX_VALUE - 8;
+    /**
+     * 2의 거듭제곱 중 배열로 할당할 수 있는 가장 큰 값이다.
+     * (MAX_ARRAY_SIZE = Integer.MAX_VALUE - 8 이하인 가장 큰 2의 거듭제곱)
+     */
+    private static final int MAX_ARRAY_SIZE = 1 << 30;
 
     private static final int DEFAULT_CAPACITY = 64;
+    private static final StructureStats STATS = Instrumentation.stats(MyArrayQueue.class); // Instrumentation.ENABLED일 때만 갱신된다.
 
     private Object[] array;
-    private int size;
-    private int front;
-    private int rear;
+    private int mask; // array.length - 1
+    private int head; // 첫 번째 요소의 위치 (head & mask)
+    private int tail; // 다음 요소가 추가될 위치 (tail & mask)
+    private ResizePolicy resizePolicy; // 용적 확장/축소 정책
+    private int parallelSortThreshold = Sorting.DEFAULT_PARALLEL_SORT_THRESHOLD; // 병렬 정렬을 사용할 최소 요소 개수
+    private SharedArray shared; // clone()/snapshot()으로 배열을 공유 중이면 null이 아니다.
+    private boolean readOnly; // snapshot()으로 만든 큐
 
     public MyArrayQueue() {
-        this.array = new Object[DEFAULT_CAPACITY];
-        this.size = 0;
-        this.front = 0;
-        this.rear = 0;
+        this(DEFAULT_CAPACITY, ResizePolicy.defaultPolicy());
     }
 
     public MyArrayQueue(int capacity) {
+        this(capacity, ResizePolicy.defaultPolicy());
+    }
+
+    public MyArrayQueue(ResizePolicy resizePolicy) {
+        this(DEFAULT_CAPACITY, resizePolicy);
+    }
+
+    /**
+     * @param capacity     초기 용적. 2의 거듭제곱으로 올림된다.
+     * @param resizePolicy 용적 확장/축소 정책. 계산된 용적은 2의 거듭제곱으로 올림된다.
+     */
+    public MyArrayQueue(int capacity, ResizePolicy resizePolicy) {
         if (capacity < 0) {
             throw new IllegalArgumentException();
         }
-        this.array = new Object[capacity];
-        this.size = 0;
-        this.front = 0;
-        this.rear = 0;
+        if (resizePolicy == null) {
+            throw new NullPointerException();
+        }
+        this.array = new Object[powerOfTwoCapacity(capacity)];
+        this.mask = array.length - 1;
+        this.head = 0;
+        this.tail = 0;
+        this.resizePolicy = resizePolicy;
     }
 
+    /**
+     * capacity 이상인 가장 작은 2의 거듭제곱을 반환한다. (최소 1, 최대 MAX_ARRAY_SIZE)
+     */
+    private static int powerOfTwoCapacity(int capacity) {
+        if (capacity <= 1) {
+            return 1;
+        }
+        if (capacity >= MAX_ARRAY_SIZE) {
+            return MAX_ARRAY_SIZE;
+        }
+        return Integer.highestOneBit(capacity - 1) << 1;
+    }
+
+    /**
+     * 요소들을 새 배열의 0번 인덱스부터 옮긴다. 원형으로 감겨 있는 경우에도 System.arraycopy 최대 두 번으로 끝난다.
+     *
+     * @param newCapacity 새 용적 (2의 거듭제곱으로 올림된다)
+     */
     private void resize(int newCapacity) {
+        if (shared != null) {
+            releaseShared(); // 새 배열로 복사하므로 공유 중이어도 따로 복사할 필요가 없다.
+        }
         int arrayCapacity = array.length;
-        newCapacity = hugeRangeCheck(arrayCapacity, newCapacity);
+        newCapacity = powerOfTwoCapacity(hugeRangeCheck(arrayCapacity, newCapacity));
+        int size = size();
         Object[] newArray = new Object[newCapacity];
 
-        for (int i = 1, j = front + 1; i <= size; i++, j++) {
-            newArray[i] = array[j % arrayCapacity];
-        }
+        copyTo(newArray, 0);
 
         this.array = newArray;
-        this.front = 0;
-        this.rear = this.size;
+        this.mask = newCapacity - 1;
+        this.head = 0;
+        this.tail = size;
+        resizePolicy.recordReallocation(size);
+        if (Instrumentation.ENABLED) {
+            Instrumentation.resized(STATS, resizePolicy, arrayCapacity, newCapacity, size);
+        }
+    }
+
+    /**
+     * 배열을 다른 큐와 공유 중이면 변경하기 전에 같은 용적의 자신만의 배열로 옮긴다. (요소가 있는 칸만 복사한다)
+     * 공유하던 다른 큐들이 이미 모두 복사해 갔다면 복사하지 않는다.
+     */
+    private void unshare() {
+        if (shared != null && releaseShared()) {
+            resize(array.length);
+        }
+    }
+
+    /**
+     * 공유를 끝낸다. snapshot()으로 만든 큐는 변경할 수 없으므로 UnsupportedOperationException을 던진다.
+     *
+     * @return 다른 소유자가 남아 있으면 true
+     */
+    private boolean releaseShared() {
+        if (readOnly) {
+            throw new UnsupportedOperationException();
+        }
+        boolean othersRemain = shared.release();
+        shared = null;
+        return othersRemain;
+    }
+
+    /**
+     * 큐의 요소들을 순서대로 dst[offset]부터 복사한다.
+     */
+    private void copyTo(Object[] dst, int offset) {
+        int size = size();
+        int h = head & mask;
+        int firstLength = Math.min(size, array.length - h);
+        System.arraycopy(array, h, dst, offset, firstLength);
+        System.arraycopy(array, 0, dst, offset + firstLength, size - firstLength);
     }
 
     /**
@@ -59,7 +163,10 @@ public class MyArrayQueue<E> implements MyQueueInterface<E>, Cloneable, Iterable
      * @return 최종 크기 반환
      */
     private int hugeRangeCheck(int oldCapacity, int newCapacity) {
-        if (MAX_ARRAY_SIZE - size <= 0) {
+        if (Instrumentation.ENABLED) {
+            Instrumentation.hugeRangeCheck(STATS, size(), oldCapacity, newCapacity, MAX_ARRAY_SIZE);
+        }
+        if (MAX_ARRAY_SIZE - size() <= 0) {
             throw new OutOfMemoryError("Required queue length large");
         }
 
@@ -77,38 +184,78 @@ public class MyArrayQueue<E> implements MyQueueInterface<E>, Cloneable, Iterable
         }
     }
 
+    /**
+     * 최소 minCapacity개의 요소를 재할당 없이 담을 수 있도록 용적을 늘린다.
+     *
+     * @param minCapacity 필요한 최소 요소 개수
+     */
+    public void ensureCapacity(int minCapacity) {
+        if (minCapacity < 0) {
+            throw new OutOfMemoryError("Required queue length large");
+        }
+        int arrayCapacity = array.length;
+        if (minCapacity > arrayCapacity) {
+            resize(resizePolicy.growCapacity(arrayCapacity, minCapacity));
+        }
+    }
+
+    /**
+     * 용적을 현재 요소 개수 이상인 가장 작은 2의 거듭제곱으로 줄인다.
+     */
+    public void trimToSize() {
+        if (powerOfTwoCapacity(size()) < array.length) {
+            resize(size());
+        }
+    }
+
+    public ResizePolicy getResizePolicy() {
+        return resizePolicy;
+    }
+
     @Override
     public boolean offer(E item) {
         int oldCapacity = array.length;
-        if ((rear + 1) % oldCapacity == front) {
-            resize(oldCapacity + (oldCapacity << 1));
+        if (tail - head == oldCapacity) {
+            resize(resizePolicy.growCapacity(oldCapacity, oldCapacity + 1));
+        } else {
+            unshare();
+        }
+        array[tail & mask] = item;
+        tail++;
+        if (Instrumentation.ENABLED) {
+            Instrumentation.operation(STATS, resizePolicy, tail - head);
         }
-        rear = (rear + 1) % array.length;
-
-        array[rear] = item;
-        size++;
 
         return true;
     }
 
     public E poll() {
 
-        if (size == 0) {
+        if (head == tail) {
             return null;
         }
-        front = (front + 1) % array.length;
+        unshare();
+        int idx = head & mask;
 
         @SuppressWarnings("unchecked")
-        E item = (E) array[front];
-        array[front] = null;
-        size--;
+        E item = (E) array[idx];
+        array[idx] = null;
+        head++;
 
-        if (array.length > DEFAULT_CAPACITY && (size < array.length / 4)) {
-            resize(Math.max(DEFAULT_CAPACITY, array.length / 2));
+        shrinkIfNeeded();
+        if (Instrumentation.ENABLED) {
+            Instrumentation.operation(STATS, resizePolicy, tail - head);
         }
         return item;
     }
 
+    private void shrinkIfNeeded() {
+        int newCapacity = resizePolicy.shrinkCapacity(array.length, tail - head, DEFAULT_CAPACITY);
+        if (newCapacity < array.length) {
+            resize(newCapacity);
+        }
+    }
+
     public E remove() {
 
         E item = poll();
@@ -122,12 +269,7 @@ public class MyArrayQueue<E> implements MyQueueInterface<E>, Cloneable, Iterable
     @Override
     @SuppressWarnings("unchecked")
     public E peek() {
-        if (size == 0) {
-            return null;
-        }
-
-        E item = (E) array[(front + 1) % array.length];
-        return item;
+        return (E) array[head & mask]; // 비어있으면 해당 칸은 null이다.
     }
 
     public E element() {
@@ -138,22 +280,122 @@ public class MyArrayQueue<E> implements MyQueueInterface<E>, Cloneable, Iterable
         return item;
     }
 
+    /**
+     * 최대 max개의 요소를 꺼내 action에 넘긴다. 축소 여부는 마지막에 한 번만 확인한다.
+     * action이 예외를 던져도 그때까지 넘긴 요소는 꺼낸 것으로 처리된다.
+     */
+    @Override
+    public int drainTo(Consumer<? super E> action, int max) {
+        if (action == null) {
+            throw new NullPointerException();
+        }
+        if (max < 0) {
+            throw new IllegalArgumentException();
+        }
+        int n = Math.min(size(), max);
+        if (n == 0) {
+            return 0;
+        }
+        unshare();
+        final Object[] data = array;
+        final int m = mask;
+        int h = head;
+        final int end = h + n;
+        try {
+            while (h != end) {
+                int idx = h & m;
+                @SuppressWarnings("unchecked")
+                E item = (E) data[idx];
+                data[idx] = null;
+                h++;
+                action.accept(item);
+            }
+        } finally {
+            int drained = h - head;
+            head = h;
+            shrinkIfNeeded();
+            if (Instrumentation.ENABLED) {
+                Instrumentation.operations(STATS, resizePolicy, drained, tail - head);
+            }
+        }
+        return n;
+    }
+
+    /**
+     * 최대 max개의 요소를 System.arraycopy 최대 두 번으로 dst에 옮기고, 축소 여부는 한 번만 확인한다.
+     */
+    @Override
+    public int drainTo(E[] dst, int off, int max) {
+        if (off < 0 || max < 0 || off > dst.length - max) {
+            throw new IndexOutOfBoundsException();
+        }
+        int n = Math.min(size(), max);
+        if (n == 0) {
+            return 0;
+        }
+        unshare();
+        int h = head & mask;
+        int firstLength = Math.min(n, array.length - h);
+        System.arraycopy(array, h, dst, off, firstLength);
+        System.arraycopy(array, 0, dst, off + firstLength, n - firstLength);
+        Arrays.fill(array, h, h + firstLength, null);
+        Arrays.fill(array, 0, n - firstLength, null);
+        head += n;
+        shrinkIfNeeded();
+        if (Instrumentation.ENABLED) {
+            Instrumentation.operations(STATS, resizePolicy, n, tail - head);
+        }
+        return n;
+    }
+
+    /**
+     * 용적을 한 번만 확인(필요하면 한 번 확장)한 뒤 System.arraycopy 최대 두 번으로 요소를 추가한다.
+     */
+    @Override
+    public int offerAll(E[] src, int off, int len) {
+        if (off < 0 || len < 0 || off > src.length - len) {
+            throw new IndexOutOfBoundsException();
+        }
+        if (len == 0) {
+            return 0;
+        }
+        int required = size() + len;
+        if (required < 0) {
+            throw new OutOfMemoryError("Required queue length large");
+        }
+        if (required > array.length) {
+            ensureCapacity(required);
+        } else {
+            unshare();
+        }
+        int t = tail & mask;
+        int firstLength = Math.min(len, array.length - t);
+        System.arraycopy(src, off, array, t, firstLength);
+        System.arraycopy(src, off + firstLength, array, 0, len - firstLength);
+        tail += len;
+        if (Instrumentation.ENABLED) {
+            Instrumentation.operations(STATS, resizePolicy, len, tail - head);
+        }
+        return len;
+    }
+
     public int size() {
-        return size;
+        return tail - head;
     }
 
     public boolean isEmpty() {
-        return size == 0;
+        return head == tail;
     }
 
     public boolean contains(Object value) {
         if (value == null) {
             return false;
         }
-        int start = (front + 1) % array.length;
+        final Object[] data = array;
+        final int m = mask;
 
-        for (int i = 0, idx = start; i < size; i++, idx = (idx + 1) % array.length) {
-            if (value.equals(array[idx])) {
+        for (int i = head, end = tail; i != end; i++) {
+            if (value.equals(data[i & m])) {
                 return true;
             }
         }
@@ -161,42 +403,33 @@ public class MyArrayQueue<E> implements MyQueueInterface<E>, Cloneable, Iterable
     }
 
     public void clear() {
-
-        for (int i = 0; i < array.length; i++) {
-            array[i] = null;
+        if (shared != null) {
+            // 공유 중인 배열은 비울 필요 없이 놓아주기만 한다.
+            releaseShared();
+            array = new Object[Math.min(array.length, DEFAULT_CAPACITY)];
+            mask = array.length - 1;
+            head = tail = 0;
+            return;
         }
-        front = rear = size = 0;
+        // 요소가 있는 칸만 비운다.
+        int size = size();
+        int h = head & mask;
+        int firstLength = Math.min(size, array.length - h);
+        Arrays.fill(array, h, h + firstLength, null);
+        Arrays.fill(array, 0, size - firstLength, null);
+        head = tail = 0;
     }
 
     public Object[] toArray() {
-        return toArray(new Object[size]);
+        return toArray(new Object[size()]);
     }
 
-    @SuppressWarnings("unchecked")
     public <T> T[] toArray(T[] a) {
-        final T[] res;
+        int size = size();
         if (a.length < size) {
-            if (front <= rear) {
-                return (T[]) Arrays.copyOfRange(array, front + 1, rear + 1, a.getClass());
-            }
-            res = (T[]) Arrays.copyOfRange(array, 0, size, a.getClass());
-            int rearLength = array.length - 1 - front;
-            if (rearLength > 0) {
-                System.arraycopy(array, front + 1, res, 0, rearLength);
-            }
-            System.arraycopy(array, 0, res, rearLength, rear + 1);
-            return res;
-        }
-
-        if (front <= rear) {
-            System.arraycopy(array, front + 1, a, 0, size);
-        } else {
-            int rearLength = array.length - 1 - front;
-            if (rearLength > 0) {
-                System.arraycopy(array, front + 1, a, 0, rearLength);
-            }
-            System.arraycopy(array, 0, a, rearLength, rear + 1);
+            a = Arrays.copyOf(a, size);
         }
+        copyTo(a, 0);
         return a;
     }
 
@@ -207,13 +440,63 @@ public class MyArrayQueue<E> implements MyQueueInterface<E>, Cloneable, Iterable
             @SuppressWarnings("unchecked")
             MyArrayQueue<E> clone = (MyArrayQueue<E>) super.clone();
 
-            clone.array = Arrays.copyOf(array, array.length);
+            // 배열은 복사하지 않고 공유한다. 먼저 변경하는 쪽이 자신의 배열을 복사한다.
+            shared = SharedArray.share(shared);
+            clone.shared = shared;
+            clone.readOnly = false;
+            clone.resizePolicy = resizePolicy.copy();
             return clone;
         } catch (CloneNotSupportedException e) {
             throw new Error(e);
         }
     }
 
+    /**
+     * 현재 상태를 담은 읽기 전용 큐를 배열 복사 없이 O(1)에 반환한다.
+     * 이 큐가 이후에 변경되면 그때 이 큐 쪽에서 배열을 복사하므로 snapshot의 내용은 바뀌지 않는다.
+     * snapshot을 변경하려고 하면 UnsupportedOperationException이 발생한다. (snapshot의 clone()은 변경할 수 있다)
+     */
+    public MyArrayQueue<E> snapshot() {
+        @SuppressWarnings("unchecked")
+        MyArrayQueue<E> snapshot = (MyArrayQueue<E>) clone();
+        snapshot.readOnly = true;
+        return snapshot;
+    }
+
+    public boolean isReadOnly() {
+        return readOnly;
+    }
+
+    /**
+     * 요소들을 앞에서부터 codec으로 직렬화해서 path에 스냅샷 파일로 저장한다. 파일이 있으면 덮어쓴다.
+     * 원형으로 감긴 구간은 연속된 두 조각으로 나누어 쓴다.
+     */
+    @SuppressWarnings("unchecked")
+    public void save(Path path, RecordCodec<? super E> codec) throws IOException {
+        try (SnapshotWriter<E> writer = SnapshotWriter.create(path, codec)) {
+            int size = size();
+            int h = head & mask;
+            int firstLength = Math.min(size, array.length - h);
+            writer.write((E[]) array, h, firstLength);
+            writer.write((E[]) array, 0, size - firstLength);
+        }
+    }
+
+    /**
+     * save로 저장한 스냅샷 파일에서 큐를 만든다. 요소들은 배열의 처음부터 감기지 않은 상태로 놓인다.
+     *
+     * @throws IOException 파일을 읽을 수 없거나, 형식이 다르거나, 요소가 MAX_ARRAY_SIZE개보다 많은 경우
+     */
+    @SuppressWarnings("unchecked")
+    public static <E> MyArrayQueue<E> load(Path path, RecordCodec<E> codec) throws IOException {
+        try (SnapshotReader<E> reader = SnapshotReader.open(path, codec)) {
+            int count = reader.count(MAX_ARRAY_SIZE);
+            MyArrayQueue<E> queue = new MyArrayQueue<>(count);
+            queue.tail = reader.read((E[]) queue.array, 0, count);
+            return queue;
+        }
+    }
+
     /**
      * Comparator를 넘겨주지 않은 경우해당 객체의 Comparable에 구현된 정렬 방식을 사용한다.
      * 만약 구현되어 있지 않으면 cannot be cast to clas java.lang.Comparable에러가 발생한다.
@@ -224,16 +507,146 @@ public class MyArrayQueue<E> implements MyQueueInterface<E>, Cloneable, Iterable
         sort(null);
     }
 
+    /**
+     * 요소들을 배열 안에서 정렬한다.
+     * 원형으로 감겨 있지 않으면 [head, tail) 구간을 그대로 정렬하고,
+     * 감겨 있으면 먼저 짧은 쪽 조각만 임시 배열로 옮겨 요소들을 0번 인덱스부터 이어 붙인 뒤 정렬한다.
+     */
     @SuppressWarnings("unchecked")
     public void sort(Comparator<? super E> c) {
+        unshare();
+        int size = size();
+        int h = head & mask;
+        if (h + size > array.length) {
+            rotateToFront();
+            h = 0;
+        }
+        Sorting.sort((E[]) array, h, h + size, c, parallelSortThreshold);
+    }
+
+    /**
+     * 감겨 있는 요소들을 순서를 유지한 채 0번 인덱스부터 이어지도록 옮긴다.
+     * 앞 조각은 [h, length), 뒤 조각은 [0, rearLength) 에 있다.
+     */
+    private void rotateToFront() {
+        int size = size();
+        int h = head & mask;
+        int frontLength = array.length - h;
+        int rearLength = size - frontLength;
+
+        if (frontLength <= rearLength) {
+            Object[] tmp = Arrays.copyOfRange(array, h, array.length);
+            System.arraycopy(array, 0, array, frontLength, rearLength);
+            System.arraycopy(tmp, 0, array, 0, frontLength);
+        } else {
+            Object[] tmp = Arrays.copyOf(array, rearLength);
+            System.arraycopy(array, h, array, 0, frontLength);
+            System.arraycopy(tmp, 0, array, frontLength, rearLength);
+        }
+        // 옮기고 남은 앞 조각의 옛 자리를 비운다.
+        Arrays.fill(array, Math.max(h, size), array.length, null);
+        head = 0;
+        tail = size;
+    }
+
+    /**
+     * 요소 개수가 threshold 이상이면 sort가 병렬 정렬(Arrays.parallelSort)을 사용한다.
+     *
+     * @param threshold 병렬 정렬을 사용할 최소 요소 개수. Integer.MAX_VALUE이면 항상 단일 스레드로 정렬한다.
+     */
+    public void setParallelSortThreshold(int threshold) {
+        this.parallelSortThreshold = Sorting.checkThreshold(threshold);
+    }
 
-        // null 접근 방지를 위해 toArray로 요소만 있는 배열을 얻어 이를 정렬한 뒤 덮어씌운다.
-        Object[] res = toArray();
-        Arrays.sort((E[]) res, 0, size, c);
-        clear();
-        // 정렬된 res의 원소를 array에 1부터 채운다.
-        // array의 front = 0 인덱스는 비워야 하므로 1번부터 채워야 하는 것이다.
-        System.arraycopy(res, 0, array, 1, res.length);this.rear = this.size = res.length;
+    public int getParallelSortThreshold() {
+        return parallelSortThreshold;
+    }
+
+    @Override
+    public Spliterator<E> spliterator() {
+        return new Spliter(head, tail);
+    }
+
+    public Stream<E> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    public Stream<E> parallelStream() {
+        return StreamSupport.stream(spliterator(), true);
+    }
+
+    /**
+     * 배열을 직접 순회하며 큐의 요소를 앞에서부터 action에 넘긴다. Iterator 객체를 만들지 않는다.
+     * 원형으로 감긴 구간은 연속된 최대 두 조각으로 나누어 순회하므로 요소마다 마스크 연산을 하지 않는다.
+     * 순회 중 요소가 추가/삭제되었는지는 순회가 끝난 뒤 한 번만 확인한다.
+     *
+     * @throws ConcurrentModificationException action이 이 큐를 변경한 경우
+     */
+    @Override
+    public void forEach(Consumer<? super E> action) {
+        if (action == null) {
+            throw new NullPointerException();
+        }
+        forEachRange(0, tail - head, action);
+    }
+
+    /**
+     * forEach와 같고, 요소와 함께 그 위치(head로부터의 거리)를 넘긴다.
+     */
+    @SuppressWarnings("unchecked")
+    public void forEachIndexed(IntObjConsumer<? super E> action) {
+        if (action == null) {
+            throw new NullPointerException();
+        }
+        Object[] data = array;
+        int h = head;
+        int t = tail;
+        int size = t - h;
+        int from = h & mask;
+        int firstLength = Math.min(size, data.length - from);
+        for (int i = 0; i < firstLength; i++) {
+            action.accept(i, (E) data[from + i]);
+        }
+        for (int i = firstLength; i < size; i++) {
+            action.accept(i, (E) data[i - firstLength]);
+        }
+        checkForComodification(data, h, t);
+    }
+
+    /**
+     * 앞에서부터 [fromIndex, toIndex) 번째 요소만 순서대로 action에 넘긴다.
+     */
+    @SuppressWarnings("unchecked")
+    public void forEachRange(int fromIndex, int toIndex, Consumer<? super E> action) {
+        int h = head;
+        int t = tail;
+        if (fromIndex < 0 || toIndex > t - h || fromIndex > toIndex) {
+            throw new IndexOutOfBoundsException();
+        }
+        if (action == null) {
+            throw new NullPointerException();
+        }
+        Object[] data = array;
+        int length = toIndex - fromIndex;
+        int from = (h + fromIndex) & mask;
+        int firstEnd = Math.min(data.length, from + length);
+        for (int i = from; i < firstEnd; i++) {
+            action.accept((E) data[i]);
+        }
+        for (int i = 0, end = length - (firstEnd - from); i < end; i++) {
+            action.accept((E) data[i]);
+        }
+        checkForComodification(data, h, t);
+    }
+
+    /**
+     * 순회를 시작할 때의 배열과 head/tail이 그대로인지 확인한다.
+     * (modCount를 두지 않으므로 set처럼 위치가 바뀌지 않는 변경은 잡지 못한다)
+     */
+    private void checkForComodification(Object[] data, int h, int t) {
+        if (array != data || head != h || tail != t) {
+            throw new ConcurrentModificationException();
+        }
     }
 
     @Override
@@ -243,31 +656,122 @@ public class MyArrayQueue<E> implements MyQueueInterface<E>, Cloneable, Iterable
 
     private class Iter implements Iterator<E> {
 
-        private int count = 0;
-        private int len = array.length;
-        private int now = (front + 1) % len;
+        private int now = head;
+        private final int end = tail;
+        private final Object[] data = array;
+        private final int m = mask;
 
         @Override
         public boolean hasNext() {
-            return count < size;
+            return now != end;
         }
 
         @SuppressWarnings("unchecked")
         @Override
         public E next() {
-            int cs = count;
             int ns = now;
-            if (cs >= size) {
+            if (ns == end) {
                 throw new NoSuchElementException();
             }
-            Object[] data = MyArrayQueue.this.array;
-            count = cs + 1;
-            now = (ns + 1) % len;
-            return (E) data[ns];
+            now = ns + 1;
+            return (E) data[ns & m];
+        }
+
+        /**
+         * 남은 구간을 연속된 최대 두 조각으로 나누어 순회한다.
+         */
+        @SuppressWarnings("unchecked")
+        @Override
+        public void forEachRemaining(Consumer<? super E> action) {
+            if (action == null) {
+                throw new NullPointerException();
+            }
+            int remaining = end - now;
+            int from = now & m;
+            now = end;
+            int firstEnd = Math.min(data.length, from + remaining);
+            for (int i = from; i < firstEnd; i++) {
+                action.accept((E) data[i]);
+            }
+            for (int i = 0, e = remaining - (firstEnd - from); i < e; i++) {
+                action.accept((E) data[i]);
+            }
         }
 
         public void remove() {
             throw new UnsupportedOperationException();
         }
     }
+
+    /**
+     * head/tail과 같은 계속 증가하는 카운터로 [lo, hi) 구간을 나타내는 Spliterator.
+     * 카운터를 mask로 변환하므로 배열 끝에서 처음으로 감겨 있는 구간도 그대로 절반씩 나눌 수 있고,
+     * forEachRemaining은 구간을 연속된 최대 두 조각으로 나누어 순회한다.
+     */
+    private class Spliter implements Spliterator<E> {
+
+        private final Object[] data = array;
+        private final int m = mask;
+        private int lo;
+        private final int hi;
+
+        Spliter(int lo, int hi) {
+            this.lo = lo;
+            this.hi = hi;
+        }
+
+        @Override
+        public Spliterator<E> trySplit() {
+            int half = (hi - lo) >>> 1;
+            if (half == 0) {
+                return null;
+            }
+            int origin = lo;
+            lo = origin + half;
+            return new Spliter(origin, origin + half);
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public boolean tryAdvance(Consumer<? super E> action) {
+            if (action == null) {
+                throw new NullPointerException();
+            }
+            if (lo == hi) {
+                return false;
+            }
+            int i = lo;
+            lo = i + 1;
+            action.accept((E) data[i & m]);
+            return true;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public void forEachRemaining(Consumer<? super E> action) {
+            if (action == null) {
+                throw new NullPointerException();
+            }
+            int remaining = hi - lo;
+            int from = lo & m;
+            lo = hi;
+            int firstEnd = Math.min(data.length, from + remaining);
+            for (int i = from; i < firstEnd; i++) {
+                action.accept((E) data[i]);
+            }
+            for (int i = 0, end = remaining - (firstEnd - from); i < end; i++) {
+                action.accept((E) data[i]);
+            }
+        }
+
+        @Override
+        public long estimateSize() {
+            return hi - lo;
+        }
+
+        @Override
+        public int characteristics() {
+            return Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED;
+        }
+    }
 }
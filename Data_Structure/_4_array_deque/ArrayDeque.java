@@ -1,42 +1,109 @@
 package _4_array_deque;
 
-import my_interface.MyQueueInterface;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import my_interface.MyDequeInterface;
+import my_util.ResizePolicy;
 
-public class ArrayDeque<E> implements MyQueueInterface<E> {
+/**
+ * 배열 기반 원형 덱.
+ * <p>
+ * MyArrayQueue와 같이 배열의 길이는 항상 2의 거듭제곱이고, head/tail은 계속 증가(또는 감소)하는 카운터이다.
+ * offerFirst는 head를 하나 줄인 위치에, offerLast는 tail 위치에 요소를 넣으므로 양쪽 끝 모두 상각 O(1)이다.
+ * 요소 개수는 tail - head 이고, 배열의 모든 칸을 사용할 수 있다.
+ *
+ * @param <E> the type of elements in this Deque
+ */
+public class ArrayDeque<E> implements MyDequeInterface<E>, Cloneable, Iterable<E> {
 
-    private static final int MAX_ARRAY_SIZE = Integer.MAX_VALUE - 8;
+    /**
+     * 2의 거듭제곱 중 배열로 할당할 수 있는 가장 큰 값이다.
+     */
+    private static final int MAX_ARRAY_SIZE = 1 << 30;
     private static final int DEFAULT_CAPACITY = 64;
 
     private Object[] array;
-    private int size;
+    private int mask; // array.length - 1
 
-    private int front;
-    private int rear;
+    private int head; // 첫 번째 요소의 위치 (head & mask)
+    private int tail; // 마지막 요소 다음 위치 (tail & mask)
+    private ResizePolicy resizePolicy;
 
     public ArrayDeque() {
-        this.array = new Object[DEFAULT_CAPACITY];
-        this.size = 0;
-        this.front = 0;
-        this.rear = 0;
+        this(DEFAULT_CAPACITY, ResizePolicy.defaultPolicy());
     }
 
     public ArrayDeque(int capacity) {
+        this(capacity, ResizePolicy.defaultPolicy());
+    }
+
+    public ArrayDeque(ResizePolicy resizePolicy) {
+        this(DEFAULT_CAPACITY, resizePolicy);
+    }
+
+    /**
+     * @param capacity     초기 용적. 2의 거듭제곱으로 올림된다.
+     * @param resizePolicy 용적 확장/축소 정책. 계산된 용적은 2의 거듭제곱으로 올림된다.
+     */
+    public ArrayDeque(int capacity, ResizePolicy resizePolicy) {
         if (capacity < 0) {
             throw new IllegalArgumentException();
         }
-        this.array = new Object[capacity];
-        this.size = 0;
-        this.front = 0;
-        this.rear = 0;
+        if (resizePolicy == null) {
+            throw new NullPointerException();
+        }
+        this.array = new Object[powerOfTwoCapacity(capacity)];
+        this.mask = array.length - 1;
+        this.head = 0;
+        this.tail = 0;
+        this.resizePolicy = resizePolicy;
     }
 
+    private static int powerOfTwoCapacity(int capacity) {
+        if (capacity <= 1) {
+            return 1;
+        }
+        if (capacity >= MAX_ARRAY_SIZE) {
+            return MAX_ARRAY_SIZE;
+        }
+        return Integer.highestOneBit(capacity - 1) << 1;
+    }
+
+    /**
+     * 요소들을 새 배열의 0번 인덱스부터 옮긴다. System.arraycopy 최대 두 번으로 끝난다.
+     *
+     * @param newCapacity 새 용적 (2의 거듭제곱으로 올림된다)
+     */
     private void resize(int newCapacity) {
         int arrayCapacity = array.length;
-        newCapacity = hugeRangeCheck(arrayCapacity, newCapacity);
+        newCapacity = powerOfTwoCapacity(hugeRangeCheck(arrayCapacity, newCapacity));
+        int size = size();
+        Object[] newArray = new Object[newCapacity];
+
+        copyTo(newArray, 0);
+
+        this.array = newArray;
+        this.mask = newCapacity - 1;
+        this.head = 0;
+        this.tail = size;
+        resizePolicy.recordReallocation(size);
+    }
+
+    private void copyTo(Object[] dst, int offset) {
+        int size = size();
+        int h = head & mask;
+        int firstLength = Math.min(size, array.length - h);
+        System.arraycopy(array, h, dst, offset, firstLength);
+        System.arraycopy(array, 0, dst, offset + firstLength, size - firstLength);
     }
 
     private int hugeRangeCheck(int oldCapacity, int newCapacity) {
-        if (MAX_ARRAY_SIZE <= size) {
+        if (MAX_ARRAY_SIZE <= size()) {
             throw new OutOfMemoryError("Required queue length too large");
         }
         if (newCapacity >= 0) {
@@ -53,28 +120,435 @@ public class ArrayDeque<E> implements MyQueueInterface<E> {
         }
     }
 
+    private void growIfFull() {
+        int oldCapacity = array.length;
+        if (tail - head == oldCapacity) {
+            resize(resizePolicy.growCapacity(oldCapacity, oldCapacity + 1));
+        }
+    }
+
+    private void shrinkIfNeeded() {
+        int newCapacity = resizePolicy.shrinkCapacity(array.length, tail - head, DEFAULT_CAPACITY);
+        if (newCapacity < array.length) {
+            resize(newCapacity);
+        }
+    }
+
+    /**
+     * 최소 minCapacity개의 요소를 재할당 없이 담을 수 있도록 용적을 늘린다.
+     *
+     * @param minCapacity 필요한 최소 요소 개수
+     */
+    public void ensureCapacity(int minCapacity) {
+        if (minCapacity < 0) {
+            throw new OutOfMemoryError("Required queue length too large");
+        }
+        int arrayCapacity = array.length;
+        if (minCapacity > arrayCapacity) {
+            resize(resizePolicy.growCapacity(arrayCapacity, minCapacity));
+        }
+    }
+
+    /**
+     * 용적을 현재 요소 개수 이상인 가장 작은 2의 거듭제곱으로 줄인다.
+     */
+    public void trimToSize() {
+        if (powerOfTwoCapacity(size()) < array.length) {
+            resize(size());
+        }
+    }
+
+    public ResizePolicy getResizePolicy() {
+        return resizePolicy;
+    }
+
     @Override
     public boolean offer(E item) {
         return offerLast(item);
     }
 
+    @Override
     public boolean offerLast(E item) {
-        int oldCapacity = array.length;
+        growIfFull();
+        array[tail & mask] = item;
+        tail++;
 
-        if ((front - 1 + oldCapacity) % oldCapacity == rear) {
-            resize(oldCapacity + (oldCapacity >> 1));
-        }
+        return true;
+    }
 
-        array[front] = item;
-        front = (front - 1 + array.length) % array.length;
-        size++;
+    @Override
+    public boolean offerFirst(E item) {
+        growIfFull();
+        head--;
+        array[head & mask] = item;
 
         return true;
     }
 
-    public boolean offerFirst(E item) {
-        int oldCapacity = array.length;
+    @Override
+    public E poll() {
+        return pollFirst();
+    }
 
+    @Override
+    public E pollFirst() {
+        if (head == tail) {
+            return null;
+        }
+        int idx = head & mask;
+
+        @SuppressWarnings("unchecked")
+        E item = (E) array[idx];
+        array[idx] = null;
+        head++;
+
+        shrinkIfNeeded();
+        return item;
+    }
+
+    @Override
+    public E pollLast() {
+        if (head == tail) {
+            return null;
+        }
+        tail--;
+        int idx = tail & mask;
+
+        @SuppressWarnings("unchecked")
+        E item = (E) array[idx];
+        array[idx] = null;
+
+        shrinkIfNeeded();
+        return item;
+    }
+
+    @Override
+    public E peek() {
+        return peekFirst();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E peekFirst() {
+        return (E) array[head & mask]; // 비어있으면 해당 칸은 null이다.
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E peekLast() {
+        return (E) array[(tail - 1) & mask];
+    }
+
+    /**
+     * 최대 max개의 요소를 꺼내 action에 넘긴다. 축소 여부는 마지막에 한 번만 확인한다.
+     * action이 예외를 던져도 그때까지 넘긴 요소는 꺼낸 것으로 처리된다.
+     */
+    @Override
+    public int drainTo(Consumer<? super E> action, int max) {
+        if (action == null) {
+            throw new NullPointerException();
+        }
+        if (max < 0) {
+            throw new IllegalArgumentException();
+        }
+        int n = Math.min(size(), max);
+        if (n == 0) {
+            return 0;
+        }
+        final Object[] data = array;
+        final int m = mask;
+        int h = head;
+        final int end = h + n;
+        try {
+            while (h != end) {
+                int idx = h & m;
+                @SuppressWarnings("unchecked")
+                E item = (E) data[idx];
+                data[idx] = null;
+                h++;
+                action.accept(item);
+            }
+        } finally {
+            head = h;
+            shrinkIfNeeded();
+        }
+        return n;
+    }
+
+    /**
+     * 최대 max개의 요소를 System.arraycopy 최대 두 번으로 dst에 옮기고, 축소 여부는 한 번만 확인한다.
+     */
+    @Override
+    public int drainTo(E[] dst, int off, int max) {
+        if (off < 0 || max < 0 || off > dst.length - max) {
+            throw new IndexOutOfBoundsException();
+        }
+        int n = Math.min(size(), max);
+        if (n == 0) {
+            return 0;
+        }
+        int h = head & mask;
+        int firstLength = Math.min(n, array.length - h);
+        System.arraycopy(array, h, dst, off, firstLength);
+        System.arraycopy(array, 0, dst, off + firstLength, n - firstLength);
+        Arrays.fill(array, h, h + firstLength, null);
+        Arrays.fill(array, 0, n - firstLength, null);
+        head += n;
+        shrinkIfNeeded();
+        return n;
+    }
+
+    /**
+     * 용적을 한 번만 확인(필요하면 한 번 확장)한 뒤 System.arraycopy 최대 두 번으로 요소를 추가한다.
+     */
+    @Override
+    public int offerAll(E[] src, int off, int len) {
+        if (off < 0 || len < 0 || off > src.length - len) {
+            throw new IndexOutOfBoundsException();
+        }
+        if (len == 0) {
+            return 0;
+        }
+        int required = size() + len;
+        if (required < 0) {
+            throw new OutOfMemoryError("Required queue length too large");
+        }
+        if (required > array.length) {
+            ensureCapacity(required);
+        }
+        int t = tail & mask;
+        int firstLength = Math.min(len, array.length - t);
+        System.arraycopy(src, off, array, t, firstLength);
+        System.arraycopy(src, off + firstLength, array, 0, len - firstLength);
+        tail += len;
+        return len;
+    }
 
+    @Override
+    public void push(E item) {
+        offerFirst(item);
+    }
+
+    @Override
+    public E pop() {
+        return removeFirst();
+    }
+
+    public E removeFirst() {
+        if (head == tail) {
+            throw new NoSuchElementException();
+        }
+        return pollFirst();
+    }
+
+    public E removeLast() {
+        if (head == tail) {
+            throw new NoSuchElementException();
+        }
+        return pollLast();
+    }
+
+    @Override
+    public int size() {
+        return tail - head;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return head == tail;
+    }
+
+    public boolean contains(Object value) {
+        if (value == null) {
+            return false;
+        }
+        final Object[] data = array;
+        final int m = mask;
+
+        for (int i = head, end = tail; i != end; i++) {
+            if (value.equals(data[i & m])) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public void clear() {
+        int size = size();
+        int h = head & mask;
+        int firstLength = Math.min(size, array.length - h);
+        Arrays.fill(array, h, h + firstLength, null);
+        Arrays.fill(array, 0, size - firstLength, null);
+        head = tail = 0;
+    }
+
+    public Object[] toArray() {
+        return toArray(new Object[size()]);
+    }
+
+    public <T> T[] toArray(T[] a) {
+        int size = size();
+        if (a.length < size) {
+            a = Arrays.copyOf(a, size);
+        }
+        copyTo(a, 0);
+        return a;
+    }
+
+    @Override
+    public Object clone() {
+        try {
+            @SuppressWarnings("unchecked")
+            ArrayDeque<E> clone = (ArrayDeque<E>) super.clone();
+
+            clone.array = Arrays.copyOf(array, array.length);
+            clone.resizePolicy = resizePolicy.copy();
+            return clone;
+        } catch (CloneNotSupportedException e) {
+            throw new Error(e);
+        }
+    }
+
+    @Override
+    public Spliterator<E> spliterator() {
+        return new Spliter(head, tail);
+    }
+
+    public Stream<E> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    public Stream<E> parallelStream() {
+        return StreamSupport.stream(spliterator(), true);
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return new Iter();
+    }
+
+    @Override
+    public Iterator<E> descendingIterator() {
+        return new DescendingIter();
+    }
+
+    private class Iter implements Iterator<E> {
+
+        private int now = head;
+        private final int end = tail;
+        private final Object[] data = array;
+        private final int m = mask;
+
+        @Override
+        public boolean hasNext() {
+            return now != end;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public E next() {
+            int ns = now;
+            if (ns == end) {
+                throw new NoSuchElementException();
+            }
+            now = ns + 1;
+            return (E) data[ns & m];
+        }
+    }
+
+    private class DescendingIter implements Iterator<E> {
+
+        private int now = tail;
+        private final int end = head;
+        private final Object[] data = array;
+        private final int m = mask;
+
+        @Override
+        public boolean hasNext() {
+            return now != end;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public E next() {
+            int ns = now;
+            if (ns == end) {
+                throw new NoSuchElementException();
+            }
+            now = ns - 1;
+            return (E) data[(ns - 1) & m];
+        }
+    }
+
+    /**
+     * head/tail과 같은 계속 증가하는 카운터로 [lo, hi) 구간을 나타내는 Spliterator.
+     * 카운터를 mask로 변환하므로 배열 끝에서 처음으로 감겨 있는 구간도 그대로 절반씩 나눌 수 있고,
+     * forEachRemaining은 구간을 연속된 최대 두 조각으로 나누어 순회한다.
+     */
+    private class Spliter implements Spliterator<E> {
+
+        private final Object[] data = array;
+        private final int m = mask;
+        private int lo;
+        private final int hi;
+
+        Spliter(int lo, int hi) {
+            this.lo = lo;
+            this.hi = hi;
+        }
+
+        @Override
+        public Spliterator<E> trySplit() {
+            int half = (hi - lo) >>> 1;
+            if (half == 0) {
+                return null;
+            }
+            int origin = lo;
+            lo = origin + half;
+            return new Spliter(origin, origin + half);
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public boolean tryAdvance(Consumer<? super E> action) {
+            if (action == null) {
+                throw new NullPointerException();
+            }
+            if (lo == hi) {
+                return false;
+            }
+            int i = lo;
+            lo = i + 1;
+            action.accept((E) data[i & m]);
+            return true;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public void forEachRemaining(Consumer<? super E> action) {
+            if (action == null) {
+                throw new NullPointerException();
+            }
+            int remaining = hi - lo;
+            int from = lo & m;
+            lo = hi;
+            int firstEnd = Math.min(data.length, from + remaining);
+            for (int i = from; i < firstEnd; i++) {
+                action.accept((E) data[i]);
+            }
+            for (int i = 0, end = remaining - (firstEnd - from); i < end; i++) {
+                action.accept((E) data[i]);
+            }
+        }
+
+        @Override
+        public long estimateSize() {
+            return hi - lo;
+        }
+
+        @Override
+        public int characteristics() {
+            return Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED;
+        }
     }
 }
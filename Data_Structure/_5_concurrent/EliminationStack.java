@@ -0,0 +1,248 @@
+package _5_concurrent;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.EmptyStackException;
+import java.util.concurrent.ThreadLocalRandom;
+import my_interface.MyStackInterface;
+
+/**
+ * 여러 스레드가 동시에 사용할 수 있는 lock-free 스택. (Treiber stack + elimination array)
+ * <p>
+ * top은 불변 노드로 이루어진 연결 리스트의 머리이며 CAS로만 바뀐다.
+ * top에 대한 CAS가 경합으로 실패하면, push는 elimination array의 임의의 칸에 자기 노드를 잠시 걸어두고
+ * pop은 임의의 칸에서 걸려 있는 노드를 가져간다. 이렇게 짝이 맞은 push/pop은 top을 건드리지 않고 끝나므로
+ * 경합이 심해질수록 오히려 더 많은 연산이 병렬로 처리된다.
+ * <p>
+ * 노드는 만들어진 뒤 바뀌지 않고 자기 아래에 있는 요소 개수를 함께 저장한다.
+ * size와 search는 호출 시점에 읽은 top을 기준으로 계산하므로, 다른 스레드가 동시에 push/pop하는 경우
+ * 반환 시점의 상태와 다를 수 있다. (weakly consistent)
+ *
+ * @param <E> the type of elements in this Stack
+ */
+public class EliminationStack<E> implements MyStackInterface<E> {
+
+    private static final VarHandle TOP;
+    private static final VarHandle SLOT = MethodHandles.arrayElementVarHandle(Node[].class);
+
+    static {
+        try {
+            TOP = MethodHandles.lookup().findVarHandle(EliminationStack.class, "top", Node.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private static final int DEFAULT_SPINS = 64; // push가 짝을 기다리는 횟수
+
+    private static final class Node<E> {
+
+        final E item;
+        final Node<E> next;
+        final int size; // 이 노드를 포함해 아래에 있는 요소 개수
+
+        Node(E item, Node<E> next) {
+            this.item = item;
+            this.next = next;
+            this.size = next == null ? 1 : next.size + 1;
+        }
+    }
+
+    private volatile Node<E> top;
+    private final Node<E>[] eliminationArray;
+    private final int eliminationMask;
+    private final int spins;
+
+    public EliminationStack() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * @param eliminationSlots elimination array의 칸 수. 2의 거듭제곱으로 올림된다. 보통 경쟁하는 스레드 수의 절반 정도가 적당하다.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public EliminationStack(int eliminationSlots) {
+        if (eliminationSlots <= 0 || eliminationSlots > (1 << 16)) {
+            throw new IllegalArgumentException();
+        }
+        int slots = eliminationSlots == 1 ? 1 : Integer.highestOneBit(eliminationSlots - 1) << 1;
+        this.eliminationArray = (Node<E>[]) new Node[slots];
+        this.eliminationMask = slots - 1;
+        this.spins = DEFAULT_SPINS;
+    }
+
+    @Override
+    public E push(E item) {
+        Node<E> t = top;
+        Node<E> node = new Node<>(item, t);
+        while (!TOP.compareAndSet(this, t, node)) {
+            if (tryEliminatePush(node)) {
+                return item;
+            }
+            t = top;
+            node = new Node<>(item, t);
+        }
+        return item;
+    }
+
+    @Override
+    public E pop() {
+        while (true) {
+            Node<E> t = top;
+            if (t == null) {
+                throw new EmptyStackException();
+            }
+            if (TOP.compareAndSet(this, t, t.next)) {
+                return t.item;
+            }
+            Node<E> other = tryEliminatePop();
+            if (other != null) {
+                return other.item;
+            }
+        }
+    }
+
+    /**
+     * 요소들의 노드를 현재 top 위에 미리 이어 두고 CAS 한 번으로 공개한다.
+     * 다른 스레드에게는 모든 요소가 한꺼번에 보인다. CAS에 실패하면 새 top 위에 다시 잇는다.
+     */
+    @Override
+    public void pushAll(E[] src, int off, int len) {
+        if (off < 0 || len < 0 || off > src.length - len) {
+            throw new IndexOutOfBoundsException();
+        }
+        if (len == 0) {
+            return;
+        }
+        while (true) {
+            Node<E> t = top;
+            Node<E> node = t;
+            for (int i = off, end = off + len; i < end; i++) {
+                node = new Node<>(src[i], node);
+            }
+            if (TOP.compareAndSet(this, t, node)) {
+                return;
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    /**
+     * 맨 위부터 최대 max개의 노드를 CAS 한 번으로 떼어낸 뒤 pop 순서대로 dst에 담는다.
+     * 비어 있으면 예외 대신 0을 반환한다.
+     */
+    @Override
+    public int popInto(E[] dst, int off, int max) {
+        if (off < 0 || max < 0 || off > dst.length - max) {
+            throw new IndexOutOfBoundsException();
+        }
+        if (max == 0) {
+            return 0;
+        }
+        while (true) {
+            Node<E> t = top;
+            if (t == null) {
+                return 0;
+            }
+            Node<E> rest = t;
+            int n = 0;
+            while (rest != null && n < max) {
+                rest = rest.next;
+                n++;
+            }
+            if (TOP.compareAndSet(this, t, rest)) {
+                Node<E> p = t;
+                for (int i = 0; i < n; i++, p = p.next) {
+                    dst[off + i] = p.item;
+                }
+                return n;
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    /**
+     * elimination array에 노드를 걸어두고 pop이 가져가기를 잠시 기다린다.
+     *
+     * @return pop이 노드를 가져갔을 경우 true
+     */
+    private boolean tryEliminatePush(Node<E> node) {
+        int idx = ThreadLocalRandom.current().nextInt() & eliminationMask;
+        if (!SLOT.compareAndSet(eliminationArray, idx, null, node)) {
+            return false;
+        }
+        for (int i = 0; i < spins; i++) {
+            if (SLOT.getAcquire(eliminationArray, idx) != node) {
+                return true;
+            }
+            Thread.onSpinWait();
+        }
+        // 회수에 실패했다면 그 사이 pop이 가져간 것이다.
+        return !SLOT.compareAndSet(eliminationArray, idx, node, null);
+    }
+
+    /**
+     * elimination array에 걸려 있는 push 노드를 하나 가져온다.
+     *
+     * @return 가져온 노드, 없을 경우 null
+     */
+    @SuppressWarnings("unchecked")
+    private Node<E> tryEliminatePop() {
+        int idx = ThreadLocalRandom.current().nextInt() & eliminationMask;
+        Node<E> node = (Node<E>) SLOT.getAcquire(eliminationArray, idx);
+        if (node != null && SLOT.compareAndSet(eliminationArray, idx, node, null)) {
+            return node;
+        }
+        return null;
+    }
+
+    @Override
+    public E peek() {
+        Node<E> t = top;
+        if (t == null) {
+            throw new EmptyStackException();
+        }
+        return t.item;
+    }
+
+    /**
+     * 호출 시점의 top부터 요소를 찾는다. (weakly consistent)
+     */
+    @Override
+    public int search(Object value) {
+        int idx = 1;
+        if (value == null) {
+            for (Node<E> n = top; n != null; n = n.next, idx++) {
+                if (n.item == null) {
+                    return idx;
+                }
+            }
+        } else {
+            for (Node<E> n = top; n != null; n = n.next, idx++) {
+                if (value.equals(n.item)) {
+                    return idx;
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 호출 시점의 top 아래에 있는 요소 개수를 O(1)에 반환한다. (weakly consistent)
+     */
+    @Override
+    public int size() {
+        Node<E> t = top;
+        return t == null ? 0 : t.size;
+    }
+
+    @Override
+    public void clear() {
+        top = null;
+    }
+
+    @Override
+    public boolean empty() {
+        return top == null;
+    }
+}
@@ -0,0 +1,239 @@
+package _5_concurrent;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import my_interface.MyQueueInterface;
+
+/**
+ * 다중 생산자/다중 소비자(Multi-Producer Multi-Consumer)용 lock-free 고정 크기 원형 큐.
+ * <p>
+ * 각 칸은 요소와 함께 순번(sequence)을 가진다. 칸 i의 순번이 생산자 인덱스 p와 같으면 비어 있어서 p번째 생산자가 쓸 수 있고,
+ * p + 1이면 요소가 채워져 있어서 p번째 소비자가 읽을 수 있다. 소비자는 읽은 뒤 순번을 p + capacity로 올려
+ * 다음 바퀴의 생산자에게 칸을 넘긴다.
+ * <p>
+ * 생산자끼리는 producerIndex의 CAS로, 소비자끼리는 consumerIndex의 CAS로만 경쟁하며,
+ * 생산자와 소비자는 칸 단위 순번으로만 통신하므로 하나의 모니터에 직렬화되지 않는다.
+ * 인덱스와 순번은 계속 증가하는 long 카운터이며, long 범위를 넘어 음수가 되어도 맞도록 항상 두 값의 차이로 비교한다.
+ * 용적은 2의 거듭제곱으로 올림되며 확장되지 않는다. null 요소는 허용하지 않는다.
+ *
+ * @param <E> the type of elements in this Queue
+ */
+public class MpmcArrayQueue<E> extends MpmcConsumerIndex<E> implements MyQueueInterface<E> {
+
+    long p00, p01, p02, p03, p04, p05, p06, p07;
+    long p10, p11, p12, p13, p14, p15, p16, p17;
+
+    /**
+     * @param capacity 최대 요소 개수. 2의 거듭제곱으로 올림된다. (최소 2)
+     */
+    public MpmcArrayQueue(int capacity) {
+        super(capacity);
+    }
+
+    /**
+     * 큐의 가장 마지막에 요소를 추가한다. 블로킹하지 않는다.
+     *
+     * @return 큐가 가득 찼을 경우 false
+     */
+    @Override
+    public boolean offer(E e) {
+        if (e == null) {
+            throw new NullPointerException();
+        }
+        final long[] seq = sequences;
+        final int m = mask;
+        long p = (long) PRODUCER_INDEX.getOpaque(this);
+        while (true) {
+            final int idx = (int) p & m;
+            final long s = (long) SEQUENCE.getAcquire(seq, idx);
+            final long diff = s - p;
+            if (diff == 0) {
+                if (PRODUCER_INDEX.weakCompareAndSet(this, p, p + 1)) {
+                    buffer[idx] = e;
+                    SEQUENCE.setRelease(seq, idx, p + 1);
+                    return true;
+                }
+                p = (long) PRODUCER_INDEX.getOpaque(this);
+            } else if (diff < 0) {
+                // 한 바퀴 전의 요소가 아직 소비되지 않았다.
+                if (p - (long) CONSUMER_INDEX.getAcquire(this) >= capacity) {
+                    return false;
+                }
+                p = (long) PRODUCER_INDEX.getOpaque(this);
+            } else {
+                // 다른 생산자가 먼저 가져갔다.
+                p = (long) PRODUCER_INDEX.getOpaque(this);
+            }
+        }
+    }
+
+    /**
+     * 큐의 첫 번째 요소를 삭제하고 반환한다. 블로킹하지 않는다.
+     *
+     * @return 큐의 첫 번째 요소, 비어있을 경우 null
+     */
+    @Override
+    public E poll() {
+        final long[] seq = sequences;
+        final int m = mask;
+        long c = (long) CONSUMER_INDEX.getOpaque(this);
+        while (true) {
+            final int idx = (int) c & m;
+            final long s = (long) SEQUENCE.getAcquire(seq, idx);
+            final long diff = s - (c + 1);
+            if (diff == 0) {
+                if (CONSUMER_INDEX.weakCompareAndSet(this, c, c + 1)) {
+                    @SuppressWarnings("unchecked")
+                    E e = (E) buffer[idx];
+                    buffer[idx] = null;
+                    SEQUENCE.setRelease(seq, idx, c + capacity);
+                    return e;
+                }
+                c = (long) CONSUMER_INDEX.getOpaque(this);
+            } else if (diff < 0) {
+                // 생산자가 아직 이 칸을 채우지 않았다.
+                if (c - (long) PRODUCER_INDEX.getAcquire(this) >= 0) {
+                    return null;
+                }
+                // 인덱스는 가져갔지만 아직 쓰는 중인 생산자가 있다. 쓰기가 끝날 때까지 기다린다.
+                Thread.onSpinWait();
+                c = (long) CONSUMER_INDEX.getOpaque(this);
+            } else {
+                c = (long) CONSUMER_INDEX.getOpaque(this);
+            }
+        }
+    }
+
+    /**
+     * 큐의 첫 번째 요소를 반환한다. 다른 소비자가 동시에 poll하는 경우 이미 삭제된 요소를 반환할 수 있다.
+     *
+     * @return 큐의 첫 번째 요소, 비어있을 경우 null
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public E peek() {
+        final long[] seq = sequences;
+        while (true) {
+            final long c = (long) CONSUMER_INDEX.getAcquire(this);
+            final int idx = (int) c & mask;
+            final long s = (long) SEQUENCE.getAcquire(seq, idx);
+            if (s == c + 1) {
+                E e = (E) BUFFER.getAcquire(buffer, idx);
+                if (e != null) {
+                    return e;
+                }
+            } else if (c - (long) PRODUCER_INDEX.getAcquire(this) >= 0) {
+                return null;
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    /**
+     * 현재 요소 개수의 근삿값을 반환한다. 다른 스레드가 동시에 offer/poll하는 중에는 정확하지 않다.
+     */
+    public int size() {
+        while (true) {
+            long c = (long) CONSUMER_INDEX.getAcquire(this);
+            long p = (long) PRODUCER_INDEX.getAcquire(this);
+            if (c == (long) CONSUMER_INDEX.getAcquire(this)) {
+                return (int) Math.max(0, Math.min(p - c, capacity));
+            }
+        }
+    }
+
+    public boolean isEmpty() {
+        long c = (long) CONSUMER_INDEX.getAcquire(this);
+        return c - (long) PRODUCER_INDEX.getAcquire(this) >= 0;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+}
+
+abstract class MpmcBufferFields<E> {
+
+    protected static final VarHandle SEQUENCE = MethodHandles.arrayElementVarHandle(long[].class);
+    protected static final VarHandle BUFFER = MethodHandles.arrayElementVarHandle(Object[].class);
+
+    protected final Object[] buffer;
+    protected final long[] sequences;
+    protected final int mask;
+    protected final int capacity;
+
+    MpmcBufferFields(int capacity) {
+        if (capacity <= 0 || capacity > (1 << 30)) {
+            throw new IllegalArgumentException();
+        }
+        // 용적이 1이면 순번 p + 1(채워짐)과 p + capacity(다음 바퀴의 빈 칸)를 구별할 수 없다.
+        int size = capacity <= 2 ? 2 : Integer.highestOneBit(capacity - 1) << 1;
+        this.buffer = new Object[size];
+        this.sequences = new long[size];
+        for (int i = 0; i < size; i++) {
+            sequences[i] = i;
+        }
+        this.mask = size - 1;
+        this.capacity = size;
+    }
+}
+
+abstract class MpmcPad1<E> extends MpmcBufferFields<E> {
+
+    long p00, p01, p02, p03, p04, p05, p06, p07;
+    long p10, p11, p12, p13, p14, p15, p16, p17;
+
+    MpmcPad1(int capacity) {
+        super(capacity);
+    }
+}
+
+abstract class MpmcProducerIndex<E> extends MpmcPad1<E> {
+
+    protected static final VarHandle PRODUCER_INDEX;
+
+    static {
+        try {
+            PRODUCER_INDEX = MethodHandles.lookup()
+                .findVarHandle(MpmcProducerIndex.class, "producerIndex", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private volatile long producerIndex; // 다음 생산자가 가져갈 순번
+
+    MpmcProducerIndex(int capacity) {
+        super(capacity);
+    }
+}
+
+abstract class MpmcPad2<E> extends MpmcProducerIndex<E> {
+
+    long p00, p01, p02, p03, p04, p05, p06, p07;
+    long p10, p11, p12, p13, p14, p15, p16, p17;
+
+    MpmcPad2(int capacity) {
+        super(capacity);
+    }
+}
+
+abstract class MpmcConsumerIndex<E> extends MpmcPad2<E> {
+
+    protected static final VarHandle CONSUMER_INDEX;
+
+    static {
+        try {
+            CONSUMER_INDEX = MethodHandles.lookup()
+                .findVarHandle(MpmcConsumerIndex.class, "consumerIndex", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private volatile long consumerIndex; // 다음 소비자가 가져갈 순번
+
+    MpmcConsumerIndex(int capacity) {
+        super(capacity);
+    }
+}
@@ -0,0 +1,369 @@
+package _5_concurrent;
+
+import _3_array_queue.MyArrayQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import my_interface.MyQueueInterface;
+import my_util.ResizePolicy;
+
+/**
+ * MyArrayQueue의 원형 배열을 하나의 ReentrantLock으로 보호하는 용량 제한 블로킹 큐.
+ * <p>
+ * 가득 차면 put/offer(timeout)는 notFull 조건에서, 비어 있으면 take/poll(timeout)은 notEmpty 조건에서 기다린다.
+ * synchronized를 쓰지 않으므로 기다리는 스레드는 모니터를 잡지 않고 park된다.
+ * (가상 스레드 환경으로 옮겨도 캐리어 스레드를 고정(pinning)하지 않는다)
+ * <p>
+ * drainTo/offerAll/putAll은 락을 한 번만 잡고 MyArrayQueue의 블록 복사로 처리한 뒤,
+ * 옮긴 요소 개수만큼만 기다리는 스레드를 깨운다.
+ * 내부 배열은 capacity 이상인 2의 거듭제곱 크기로 한 번 할당되며 확장/축소하지 않는다.
+ * null 요소는 허용하지 않는다. (poll이 비었을 때 null을 반환하기 때문)
+ *
+ * @param <E> the type of elements in this Queue
+ */
+public class MyBlockingQueue<E> implements MyQueueInterface<E> {
+
+    private final MyArrayQueue<E> queue;
+    private final int capacity;
+
+    private final ReentrantLock lock;
+    private final Condition notEmpty;
+    private final Condition notFull;
+
+    public MyBlockingQueue(int capacity) {
+        this(capacity, false);
+    }
+
+    /**
+     * @param capacity 최대 요소 개수
+     * @param fair     true이면 오래 기다린 스레드부터 락을 얻는다. (처리량은 줄어든다)
+     */
+    public MyBlockingQueue(int capacity, boolean fair) {
+        if (capacity <= 0 || capacity > (1 << 30)) {
+            throw new IllegalArgumentException();
+        }
+        this.queue = new MyArrayQueue<>(capacity, ResizePolicy.neverShrink());
+        this.capacity = capacity;
+        this.lock = new ReentrantLock(fair);
+        this.notEmpty = lock.newCondition();
+        this.notFull = lock.newCondition();
+    }
+
+    /**
+     * 기다리는 소비자를 최대 n개 깨운다. 락을 잡은 상태에서 호출해야 한다.
+     */
+    private void signalNotEmpty(int n) {
+        for (; n > 0 && lock.hasWaiters(notEmpty); n--) {
+            notEmpty.signal();
+        }
+    }
+
+    /**
+     * 기다리는 생산자를 최대 n개 깨운다. 락을 잡은 상태에서 호출해야 한다.
+     */
+    private void signalNotFull(int n) {
+        for (; n > 0 && lock.hasWaiters(notFull); n--) {
+            notFull.signal();
+        }
+    }
+
+    /**
+     * 큐가 가득 차 있으면 기다리지 않고 false를 반환한다.
+     */
+    @Override
+    public boolean offer(E e) {
+        if (e == null) {
+            throw new NullPointerException();
+        }
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            if (queue.size() == capacity) {
+                return false;
+            }
+            queue.offer(e);
+            notEmpty.signal();
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 빈 자리가 생길 때까지 최대 timeout 동안 기다린다.
+     *
+     * @return 시간 안에 추가하지 못했을 경우 false
+     */
+    public boolean offer(E e, long timeout, TimeUnit unit) throws InterruptedException {
+        if (e == null) {
+            throw new NullPointerException();
+        }
+        long nanos = unit.toNanos(timeout);
+        final ReentrantLock lock = this.lock;
+        lock.lockInterruptibly();
+        try {
+            while (queue.size() == capacity) {
+                if (nanos <= 0L) {
+                    return false;
+                }
+                nanos = notFull.awaitNanos(nanos);
+            }
+            queue.offer(e);
+            notEmpty.signal();
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 빈 자리가 생길 때까지 기다렸다가 추가한다. (생산자에 대한 역압)
+     */
+    public void put(E e) throws InterruptedException {
+        if (e == null) {
+            throw new NullPointerException();
+        }
+        final ReentrantLock lock = this.lock;
+        lock.lockInterruptibly();
+        try {
+            while (queue.size() == capacity) {
+                notFull.await();
+            }
+            queue.offer(e);
+            notEmpty.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 비어 있으면 기다리지 않고 null을 반환한다.
+     */
+    @Override
+    public E poll() {
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            E e = queue.poll();
+            if (e != null) {
+                notFull.signal();
+            }
+            return e;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 요소가 들어올 때까지 최대 timeout 동안 기다린다.
+     *
+     * @return 첫 번째 요소, 시간 안에 들어오지 않았을 경우 null
+     */
+    public E poll(long timeout, TimeUnit unit) throws InterruptedException {
+        long nanos = unit.toNanos(timeout);
+        final ReentrantLock lock = this.lock;
+        lock.lockInterruptibly();
+        try {
+            while (queue.isEmpty()) {
+                if (nanos <= 0L) {
+                    return null;
+                }
+                nanos = notEmpty.awaitNanos(nanos);
+            }
+            E e = queue.poll();
+            notFull.signal();
+            return e;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 요소가 들어올 때까지 기다렸다가 첫 번째 요소를 꺼낸다.
+     */
+    public E take() throws InterruptedException {
+        final ReentrantLock lock = this.lock;
+        lock.lockInterruptibly();
+        try {
+            while (queue.isEmpty()) {
+                notEmpty.await();
+            }
+            E e = queue.poll();
+            notFull.signal();
+            return e;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public E peek() {
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            return queue.peek();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 락을 한 번만 잡고 최대 max개의 요소를 꺼낸 뒤, 락을 놓고 action에 넘긴다.
+     * (action이 오래 걸리거나 이 큐에 다시 접근해도 다른 스레드를 막지 않는다)
+     */
+    @SuppressWarnings("unchecked")
+    @Override
+    public int drainTo(Consumer<? super E> action, int max) {
+        if (action == null) {
+            throw new NullPointerException();
+        }
+        if (max < 0) {
+            throw new IllegalArgumentException();
+        }
+        Object[] buf;
+        int n;
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            n = Math.min(queue.size(), max);
+            if (n == 0) {
+                return 0;
+            }
+            buf = new Object[n];
+            queue.drainTo((E[]) buf, 0, n);
+            signalNotFull(n);
+        } finally {
+            lock.unlock();
+        }
+        for (int i = 0; i < n; i++) {
+            action.accept((E) buf[i]);
+        }
+        return n;
+    }
+
+    /**
+     * 락을 한 번만 잡고 최대 max개의 요소를 dst로 블록 복사한다. 비어 있으면 기다리지 않고 0을 반환한다.
+     */
+    @Override
+    public int drainTo(E[] dst, int off, int max) {
+        if (off < 0 || max < 0 || off > dst.length - max) {
+            throw new IndexOutOfBoundsException();
+        }
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            int n = queue.drainTo(dst, off, max);
+            signalNotFull(n);
+            return n;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 요소가 하나 이상 들어올 때까지 최대 timeout 동안 기다린 뒤, 그 시점에 있는 요소를 최대 max개 dst로 옮긴다.
+     * 깨어날 때마다 여러 요소를 한꺼번에 처리하는 소비자 루프에 쓴다.
+     *
+     * @return 옮긴 요소 개수, 시간 안에 들어오지 않았을 경우 0
+     */
+    public int drainTo(E[] dst, int off, int max, long timeout, TimeUnit unit) throws InterruptedException {
+        if (off < 0 || max < 0 || off > dst.length - max) {
+            throw new IndexOutOfBoundsException();
+        }
+        long nanos = unit.toNanos(timeout);
+        final ReentrantLock lock = this.lock;
+        lock.lockInterruptibly();
+        try {
+            while (queue.isEmpty()) {
+                if (nanos <= 0L) {
+                    return 0;
+                }
+                nanos = notEmpty.awaitNanos(nanos);
+            }
+            int n = queue.drainTo(dst, off, max);
+            signalNotFull(n);
+            return n;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 락을 한 번만 잡고 빈 자리만큼 src의 요소를 블록 복사한다. 기다리지 않는다.
+     *
+     * @return 실제로 추가한 요소 개수
+     */
+    @Override
+    public int offerAll(E[] src, int off, int len) {
+        if (off < 0 || len < 0 || off > src.length - len) {
+            throw new IndexOutOfBoundsException();
+        }
+        checkNoNulls(src, off, len);
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            int n = queue.offerAll(src, off, Math.min(len, capacity - queue.size()));
+            signalNotEmpty(n);
+            return n;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * src의 요소를 모두 추가할 때까지 기다린다. 빈 자리가 생길 때마다 들어갈 수 있는 만큼 블록 복사한다.
+     * 인터럽트되면 그때까지 추가한 요소는 큐에 남는다.
+     */
+    public void putAll(E[] src, int off, int len) throws InterruptedException {
+        if (off < 0 || len < 0 || off > src.length - len) {
+            throw new IndexOutOfBoundsException();
+        }
+        checkNoNulls(src, off, len);
+        final ReentrantLock lock = this.lock;
+        lock.lockInterruptibly();
+        try {
+            while (len > 0) {
+                while (queue.size() == capacity) {
+                    notFull.await();
+                }
+                int n = queue.offerAll(src, off, Math.min(len, capacity - queue.size()));
+                signalNotEmpty(n);
+                off += n;
+                len -= n;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static void checkNoNulls(Object[] src, int off, int len) {
+        for (int i = off, end = off + len; i < end; i++) {
+            if (src[i] == null) {
+                throw new NullPointerException();
+            }
+        }
+    }
+
+    public int size() {
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            return queue.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    public int remainingCapacity() {
+        return capacity - size();
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+}
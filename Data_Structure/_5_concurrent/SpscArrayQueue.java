@@ -0,0 +1,362 @@
+package _5_concurrent;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import my_interface.MyQueueInterface;
+
+/**
+ * 단일 생산자/단일 소비자(Single-Producer Single-Consumer)용 lock-free 고정 크기 원형 큐.
+ * <p>
+ * offer/fill은 한 스레드(생산자)에서만, poll/peek/drain은 다른 한 스레드(소비자)에서만 호출해야 한다.
+ * 생산자는 요소를 쓴 뒤 tail을 release로 공개하고, 소비자는 tail을 acquire로 읽은 뒤 요소를 읽는다.
+ * head도 같은 방식으로 소비자에서 생산자로 공개된다.
+ * <p>
+ * 생산자는 마지막으로 본 head를, 소비자는 마지막으로 본 tail을 각자의 필드에 캐시한다.
+ * 상대편 코어의 캐시 라인은 캐시된 값으로 판단할 수 없을 때(가득 찼거나 비었을 때)만 읽는다.
+ * 생산자 필드와 소비자 필드는 상속 계층 사이에 끼운 패딩으로 서로 다른 캐시 라인에 놓인다.
+ * <p>
+ * head/tail은 계속 증가하는 long 카운터이며, long 범위를 넘어 음수가 되어도 맞도록 항상 두 값의 차이로 비교한다.
+ * <p>
+ * 용적은 2의 거듭제곱으로 올림되며 확장되지 않는다. 가득 찬 경우 offer는 false를 반환한다.
+ * null 요소는 허용하지 않는다. (poll이 비었을 때 null을 반환하기 때문)
+ *
+ * @param <E> the type of elements in this Queue
+ */
+public class SpscArrayQueue<E> extends SpscConsumerFields<E> implements MyQueueInterface<E> {
+
+    // 소비자 필드 뒤에 다른 객체가 붙어 같은 캐시 라인을 공유하지 않도록 한다.
+    long p00, p01, p02, p03, p04, p05, p06, p07;
+    long p10, p11, p12, p13, p14, p15, p16, p17;
+
+    /**
+     * @param capacity 최대 요소 개수. 2의 거듭제곱으로 올림된다.
+     */
+    public SpscArrayQueue(int capacity) {
+        super(capacity);
+    }
+
+    /**
+     * 생산자 스레드에서만 호출해야 한다.
+     *
+     * @return 큐가 가득 찼을 경우 false
+     */
+    @Override
+    public boolean offer(E e) {
+        if (e == null) {
+            throw new NullPointerException();
+        }
+        final long t = tail;
+        if (t - headCache >= capacity) {
+            headCache = (long) HEAD.getAcquire(this);
+            if (t - headCache >= capacity) {
+                return false;
+            }
+        }
+        buffer[(int) t & mask] = e;
+        TAIL.setRelease(this, t + 1);
+        return true;
+    }
+
+    /**
+     * 소비자 스레드에서만 호출해야 한다.
+     *
+     * @return 큐의 첫 번째 요소, 비어있을 경우 null
+     */
+    @Override
+    public E poll() {
+        final long h = head;
+        if (h - tailCache >= 0) {
+            tailCache = (long) TAIL.getAcquire(this);
+            if (h - tailCache >= 0) {
+                return null;
+            }
+        }
+        final int idx = (int) h & mask;
+        @SuppressWarnings("unchecked")
+        E e = (E) buffer[idx];
+        buffer[idx] = null;
+        HEAD.setRelease(this, h + 1);
+        return e;
+    }
+
+    /**
+     * 소비자 스레드에서만 호출해야 한다.
+     *
+     * @return 큐의 첫 번째 요소, 비어있을 경우 null
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public E peek() {
+        final long h = head;
+        if (h - tailCache >= 0) {
+            tailCache = (long) TAIL.getAcquire(this);
+            if (h - tailCache >= 0) {
+                return null;
+            }
+        }
+        return (E) buffer[(int) h & mask];
+    }
+
+    /**
+     * 최대 limit개의 요소를 꺼내 consumer에 넘긴다. head는 마지막에 한 번만 공개된다.
+     * 소비자 스레드에서만 호출해야 한다.
+     *
+     * @param consumer 꺼낸 요소를 받을 함수
+     * @param limit    최대로 꺼낼 요소 개수
+     * @return 꺼낸 요소 개수
+     * @throws IllegalArgumentException limit이 음수인 경우
+     */
+    @SuppressWarnings("unchecked")
+    public int drain(Consumer<? super E> consumer, int limit) {
+        if (consumer == null) {
+            throw new NullPointerException();
+        }
+        if (limit < 0) {
+            throw new IllegalArgumentException();
+        }
+        final long h = head;
+        long available = tailCache - h;
+        if (available < limit) {
+            tailCache = (long) TAIL.getAcquire(this);
+            available = tailCache - h;
+        }
+        final int n = (int) Math.min(available, limit);
+        final Object[] data = buffer;
+        final int m = mask;
+        int i = 0;
+        try {
+            while (i < n) {
+                final int idx = (int) (h + i) & m;
+                E e = (E) data[idx];
+                data[idx] = null;
+                i++;
+                consumer.accept(e);
+            }
+        } finally {
+            // consumer가 예외를 던져도 이미 넘긴 요소의 칸은 생산자에게 돌려준다.
+            if (i > 0) {
+                HEAD.setRelease(this, h + i);
+            }
+        }
+        return n;
+    }
+
+    /**
+     * drain(action, max)와 같다. 소비자 스레드에서만 호출해야 한다.
+     */
+    @Override
+    public int drainTo(Consumer<? super E> action, int max) {
+        return drain(action, max);
+    }
+
+    /**
+     * 최대 max개의 요소를 System.arraycopy 최대 두 번으로 dst에 옮긴다. head는 마지막에 한 번만 공개된다.
+     * 소비자 스레드에서만 호출해야 한다.
+     */
+    @Override
+    public int drainTo(E[] dst, int off, int max) {
+        if (off < 0 || max < 0 || off > dst.length - max) {
+            throw new IndexOutOfBoundsException();
+        }
+        final long h = head;
+        long available = tailCache - h;
+        if (available < max) {
+            tailCache = (long) TAIL.getAcquire(this);
+            available = tailCache - h;
+        }
+        final int n = (int) Math.min(available, max);
+        if (n == 0) {
+            return 0;
+        }
+        final Object[] data = buffer;
+        final int idx = (int) h & mask;
+        final int firstLength = Math.min(n, data.length - idx);
+        System.arraycopy(data, idx, dst, off, firstLength);
+        System.arraycopy(data, 0, dst, off + firstLength, n - firstLength);
+        Arrays.fill(data, idx, idx + firstLength, null);
+        Arrays.fill(data, 0, n - firstLength, null);
+        HEAD.setRelease(this, h + n);
+        return n;
+    }
+
+    /**
+     * 빈 칸 수만큼 src의 요소를 System.arraycopy 최대 두 번으로 넣는다. tail은 마지막에 한 번만 공개된다.
+     * 생산자 스레드에서만 호출해야 한다. null 요소가 있으면 아무것도 넣지 않고 NullPointerException을 던진다.
+     */
+    @Override
+    public int offerAll(E[] src, int off, int len) {
+        if (off < 0 || len < 0 || off > src.length - len) {
+            throw new IndexOutOfBoundsException();
+        }
+        final long t = tail;
+        long free = capacity - (t - headCache);
+        if (free < len) {
+            headCache = (long) HEAD.getAcquire(this);
+            free = capacity - (t - headCache);
+        }
+        final int n = (int) Math.min(free, len);
+        if (n == 0) {
+            return 0;
+        }
+        for (int i = off, end = off + n; i < end; i++) {
+            if (src[i] == null) {
+                throw new NullPointerException();
+            }
+        }
+        final Object[] data = buffer;
+        final int idx = (int) t & mask;
+        final int firstLength = Math.min(n, data.length - idx);
+        System.arraycopy(src, off, data, idx, firstLength);
+        System.arraycopy(src, off + firstLength, data, 0, n - firstLength);
+        TAIL.setRelease(this, t + n);
+        return n;
+    }
+
+    /**
+     * 최대 limit개의 요소를 supplier에서 받아 넣는다. tail은 마지막에 한 번만 공개된다.
+     * 생산자 스레드에서만 호출해야 한다.
+     *
+     * @param supplier 넣을 요소를 만드는 함수 (null을 반환하면 안 된다)
+     * @param limit    최대로 넣을 요소 개수
+     * @return 넣은 요소 개수
+     * @throws IllegalArgumentException limit이 음수인 경우
+     */
+    public int fill(Supplier<? extends E> supplier, int limit) {
+        if (supplier == null) {
+            throw new NullPointerException();
+        }
+        if (limit < 0) {
+            throw new IllegalArgumentException();
+        }
+        final long t = tail;
+        long free = capacity - (t - headCache);
+        if (free < limit) {
+            headCache = (long) HEAD.getAcquire(this);
+            free = capacity - (t - headCache);
+        }
+        final int n = (int) Math.min(free, limit);
+        final Object[] data = buffer;
+        final int m = mask;
+        for (int i = 0; i < n; i++) {
+            E e = supplier.get();
+            if (e == null) {
+                // 지금까지 넣은 요소는 공개한다.
+                TAIL.setRelease(this, t + i);
+                throw new NullPointerException();
+            }
+            data[(int) (t + i) & m] = e;
+        }
+        if (n > 0) {
+            TAIL.setRelease(this, t + n);
+        }
+        return n;
+    }
+
+    /**
+     * 현재 요소 개수의 근삿값을 반환한다. 다른 스레드가 동시에 offer/poll하는 중에는 정확하지 않다.
+     */
+    public int size() {
+        long h = (long) HEAD.getAcquire(this);
+        long t = (long) TAIL.getAcquire(this);
+        long size = t - h;
+        return (int) Math.max(0, Math.min(size, capacity));
+    }
+
+    public boolean isEmpty() {
+        long h = (long) HEAD.getAcquire(this);
+        return h - (long) TAIL.getAcquire(this) >= 0;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+}
+
+/**
+ * 불변 필드. 헤더 뒤, 생산자 필드 앞에 놓인다.
+ */
+abstract class SpscBufferFields<E> {
+
+    protected final Object[] buffer;
+    protected final int mask;
+    protected final int capacity;
+
+    SpscBufferFields(int capacity) {
+        if (capacity <= 0 || capacity > (1 << 30)) {
+            throw new IllegalArgumentException();
+        }
+        int size = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+        this.buffer = new Object[size];
+        this.mask = size - 1;
+        this.capacity = size;
+    }
+}
+
+abstract class SpscPad1<E> extends SpscBufferFields<E> {
+
+    long p00, p01, p02, p03, p04, p05, p06, p07;
+    long p10, p11, p12, p13, p14, p15, p16, p17;
+
+    SpscPad1(int capacity) {
+        super(capacity);
+    }
+}
+
+/**
+ * 생산자만 쓰는 필드.
+ */
+abstract class SpscProducerFields<E> extends SpscPad1<E> {
+
+    protected static final VarHandle TAIL;
+
+    static {
+        try {
+            TAIL = MethodHandles.lookup().findVarHandle(SpscProducerFields.class, "tail", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    protected long tail; // 다음에 쓸 위치. 생산자만 쓰고 TAIL.setRelease로 공개한다.
+    protected long headCache; // 생산자가 마지막으로 읽은 head
+
+    SpscProducerFields(int capacity) {
+        super(capacity);
+    }
+}
+
+abstract class SpscPad2<E> extends SpscProducerFields<E> {
+
+    long p00, p01, p02, p03, p04, p05, p06, p07;
+    long p10, p11, p12, p13, p14, p15, p16, p17;
+
+    SpscPad2(int capacity) {
+        super(capacity);
+    }
+}
+
+/**
+ * 소비자만 쓰는 필드.
+ */
+abstract class SpscConsumerFields<E> extends SpscPad2<E> {
+
+    protected static final VarHandle HEAD;
+
+    static {
+        try {
+            HEAD = MethodHandles.lookup().findVarHandle(SpscConsumerFields.class, "head", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    protected long head; // 다음에 읽을 위치. 소비자만 쓰고 HEAD.setRelease로 공개한다.
+    protected long tailCache; // 소비자가 마지막으로 읽은 tail
+
+    SpscConsumerFields(int capacity) {
+        super(capacity);
+    }
+}
@@ -0,0 +1,114 @@
+package _5_concurrent;
+
+import java.util.EmptyStackException;
+import java.util.concurrent.ThreadLocalRandom;
+
+/*
+     EliminationStack에 여러 스레드가 동시에 push/pop/pushAll/popInto를 섞어 호출한 뒤,
+     넣은 값이 모두 정확히 한 번씩 나왔는지(스레드가 꺼낸 값 + 마지막에 남은 값) 확인한다.
+     elimination 칸이 하나뿐인 스택과 여러 개인 스택을 모두 돌려 본다.
+ */
+public class testEliminationStack {
+
+    static final int THREADS = 4;
+    static final int PER_THREAD = 250_000;
+    static final int BATCH = 8;
+
+    public static void main(String[] args) throws InterruptedException {
+        for (int slots : new int[]{1, 4}) {
+            pushPopChecksum(slots);
+        }
+        popIntoOrder();
+    }
+
+    static void check(boolean condition, String message) {
+        if (!condition) {
+            throw new AssertionError(message);
+        }
+    }
+
+    static void pushPopChecksum(int slots) throws InterruptedException {
+        EliminationStack<Integer> stack = new EliminationStack<>(slots);
+        int total = THREADS * PER_THREAD;
+        int[][] popped = new int[THREADS][];
+        int[] poppedCount = new int[THREADS];
+        Thread[] threads = new Thread[THREADS];
+        for (int t = 0; t < THREADS; t++) {
+            final int id = t;
+            threads[t] = new Thread(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                int[] out = new int[PER_THREAD];
+                int n = 0;
+                Integer[] batch = new Integer[BATCH];
+                int next = id * PER_THREAD;
+                int end = next + PER_THREAD;
+                while (next < end) {
+                    int op = random.nextInt(8);
+                    if (op == 0 && end - next >= BATCH) {
+                        for (int i = 0; i < BATCH; i++) {
+                            batch[i] = next++;
+                        }
+                        stack.pushAll(batch, 0, BATCH);
+                    } else if (op < 4) {
+                        stack.push(next++);
+                    } else if (op == 4) {
+                        int k = stack.popInto(batch, 0, Math.min(BATCH, PER_THREAD - n));
+                        for (int i = 0; i < k; i++) {
+                            out[n++] = batch[i];
+                        }
+                    } else if (n < PER_THREAD) {
+                        try {
+                            out[n++] = stack.pop();
+                        } catch (EmptyStackException e) {
+                            n--;
+                        }
+                    }
+                }
+                popped[id] = out;
+                poppedCount[id] = n;
+            });
+        }
+        for (Thread t : threads) {
+            t.start();
+        }
+        for (Thread t : threads) {
+            t.join();
+        }
+        boolean[] seen = new boolean[total];
+        long sum = 0;
+        int count = 0;
+        for (int t = 0; t < THREADS; t++) {
+            for (int i = 0; i < poppedCount[t]; i++) {
+                int v = popped[t][i];
+                check(!seen[v], v + "가 두 번 나왔다");
+                seen[v] = true;
+                sum += v;
+                count++;
+            }
+        }
+        check(stack.size() == total - count, "size가 남은 요소 개수와 다르다 " + stack.size());
+        Integer[] rest = new Integer[total - count];
+        check(stack.popInto(rest, 0, rest.length) == rest.length && stack.empty(), "남은 요소를 모두 꺼내지 못했다");
+        for (Integer v : rest) {
+            check(!seen[v], v + "가 두 번 나왔다");
+            seen[v] = true;
+            sum += v;
+        }
+        check(sum == (long) total * (total - 1) / 2, "합계가 다르다 " + sum);
+        System.out.println("slots " + slots + " : 스레드 " + THREADS + ", " + total + "개 (스레드가 꺼낸 값 " + count
+            + "개 + 남은 값 " + rest.length + "개), 모두 한 번씩 나옴");
+    }
+
+    /**
+     * pushAll로 넣은 요소들은 popInto로 역순으로 나와야 한다.
+     */
+    static void popIntoOrder() {
+        EliminationStack<Integer> stack = new EliminationStack<>(2);
+        stack.pushAll(new Integer[]{1, 2, 3, 4, 5}, 0, 5);
+        Integer[] dst = new Integer[8];
+        check(stack.popInto(dst, 1, 3) == 3 && dst[1] == 5 && dst[2] == 4 && dst[3] == 3, "popInto 순서가 다르다");
+        check(stack.size() == 2 && stack.pop() == 2 && stack.pop() == 1, "남은 요소가 다르다");
+        check(stack.popInto(dst, 0, 8) == 0, "빈 스택에서 popInto가 0이 아니다");
+        System.out.println("popInto    : pushAll한 요소가 역순으로 나옴");
+    }
+}
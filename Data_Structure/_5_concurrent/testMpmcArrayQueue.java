@@ -0,0 +1,121 @@
+package _5_concurrent;
+
+import java.util.Arrays;
+
+/*
+     MpmcArrayQueue를 생산자 여러 개, 소비자 여러 개로 돌려 보고 받은 개수와 합계를 확인한다.
+     소비자 하나가 받은 요소들은 생산자별로 넣은 순서를 지켜야 한다.
+     인덱스와 순번은 Long.MAX_VALUE 바로 앞에서 시작해서 실행 도중 long 범위를 넘어간다.
+     기다릴 때는 Thread.yield()로 다른 스레드에게 CPU를 넘긴다. (코어가 하나인 환경에서도 빨리 끝나도록)
+ */
+public class testMpmcArrayQueue {
+
+    static final int PRODUCERS = 3;
+    static final int CONSUMERS = 3;
+    static final int PER_PRODUCER = 500_000;
+    static final long START = Long.MAX_VALUE - 1000;
+
+    public static void main(String[] args) throws InterruptedException {
+        for (int capacity : new int[]{2, 64}) {
+            producersAndConsumers(capacity);
+        }
+        pollOnEmptyAfterOverflow();
+    }
+
+    static void check(boolean condition, String message) {
+        if (!condition) {
+            throw new AssertionError(message);
+        }
+    }
+
+    /**
+     * 인덱스가 long 범위를 넘어가기 직전 상태의 빈 큐를 만든다. (스레드를 시작하기 전에만 호출한다)
+     */
+    static MpmcArrayQueue<Integer> queueNearOverflow(int capacity) {
+        MpmcArrayQueue<Integer> q = new MpmcArrayQueue<>(capacity);
+        MpmcArrayQueue.PRODUCER_INDEX.set(q, START);
+        MpmcArrayQueue.CONSUMER_INDEX.set(q, START);
+        for (int i = 0; i < q.capacity; i++) {
+            long p = START + i;
+            q.sequences[(int) p & q.mask] = p;
+        }
+        return q;
+    }
+
+    static void producersAndConsumers(int capacity) throws InterruptedException {
+        MpmcArrayQueue<Integer> q = queueNearOverflow(capacity);
+        Thread[] threads = new Thread[PRODUCERS + CONSUMERS];
+        for (int p = 0; p < PRODUCERS; p++) {
+            final int base = p * PER_PRODUCER;
+            threads[p] = new Thread(() -> {
+                for (int i = 0; i < PER_PRODUCER; i++) {
+                    Integer v = base + i;
+                    while (!q.offer(v)) {
+                        Thread.yield();
+                    }
+                }
+            });
+        }
+        final int total = PRODUCERS * PER_PRODUCER;
+        final int[] remaining = {total};
+        final long[] sums = new long[CONSUMERS];
+        final boolean[] outOfOrder = new boolean[CONSUMERS];
+        for (int c = 0; c < CONSUMERS; c++) {
+            final int id = c;
+            threads[PRODUCERS + c] = new Thread(() -> {
+                int[] last = new int[PRODUCERS];
+                Arrays.fill(last, -1);
+                while (true) {
+                    Integer v = q.poll();
+                    if (v == null) {
+                        synchronized (remaining) {
+                            if (remaining[0] == 0) {
+                                return;
+                            }
+                        }
+                        Thread.yield();
+                        continue;
+                    }
+                    int producer = v / PER_PRODUCER;
+                    if (v <= last[producer]) {
+                        outOfOrder[id] = true;
+                    }
+                    last[producer] = v;
+                    sums[id] += v;
+                    synchronized (remaining) {
+                        remaining[0]--;
+                    }
+                }
+            });
+        }
+        for (Thread t : threads) {
+            t.start();
+        }
+        for (Thread t : threads) {
+            t.join();
+        }
+        long sum = 0;
+        for (int c = 0; c < CONSUMERS; c++) {
+            check(!outOfOrder[c], "소비자 " + c + "가 받은 순서가 생산자가 넣은 순서와 다르다");
+            sum += sums[c];
+        }
+        check(sum == (long) total * (total - 1) / 2, "합계가 다르다 " + sum);
+        check(q.isEmpty() && q.poll() == null && q.size() == 0, "모두 꺼낸 뒤에도 비어 있지 않다");
+        long index = (long) MpmcArrayQueue.PRODUCER_INDEX.get(q);
+        check(index < 0, "인덱스가 long 범위를 넘지 않았다");
+        System.out.println("capacity " + q.capacity() + " : 생산자 " + PRODUCERS + ", 소비자 " + CONSUMERS
+            + ", " + total + "개, 합계와 순서 일치 (index = " + index + ")");
+    }
+
+    /**
+     * 인덱스가 long 범위를 넘은 뒤에도 빈 큐의 poll/peek는 기다리지 않고 null을 반환해야 한다.
+     */
+    static void pollOnEmptyAfterOverflow() {
+        MpmcArrayQueue<Integer> q = queueNearOverflow(4);
+        for (int i = 0; i < 2000; i++) {
+            check(q.offer(i) && q.peek() == i && q.poll() == i, "offer/peek/poll이 다르다");
+            check(q.poll() == null && q.peek() == null && q.isEmpty(), "빈 큐가 비어 있지 않다");
+        }
+        System.out.println("empty      : long 범위를 넘은 뒤에도 빈 큐에서 null을 반환함");
+    }
+}
@@ -0,0 +1,156 @@
+package _5_concurrent;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/*
+     MyBlockingQueue를 생산자 둘(put, putAll), 소비자 둘(take, drainTo)로 돌려 보고
+     넣은 값이 모두 정확히 한 번씩 나왔는지 확인한다.
+     용적은 2의 거듭제곱이 아닌 5이므로 내부 원형 배열보다 작고, putAll의 묶음(7개)은 용적보다 크다.
+ */
+public class testMyBlockingQueue {
+
+    static final int CAPACITY = 5;
+    static final int PER_PRODUCER = 300_000;
+    static final int BATCH = 7;
+
+    public static void main(String[] args) throws InterruptedException {
+        producersAndConsumers();
+        timeouts();
+        putAllKeepsAddedElementsWhenInterrupted();
+    }
+
+    static void check(boolean condition, String message) {
+        if (!condition) {
+            throw new AssertionError(message);
+        }
+    }
+
+    static void producersAndConsumers() throws InterruptedException {
+        MyBlockingQueue<Integer> q = new MyBlockingQueue<>(CAPACITY);
+        int total = 2 * PER_PRODUCER;
+        AtomicInteger remaining = new AtomicInteger(total);
+        int[][] received = new int[2][total];
+        int[] receivedCount = new int[2];
+        int[] maxSize = new int[1];
+
+        Thread putter = new Thread(() -> {
+            try {
+                for (int i = 0; i < PER_PRODUCER; i++) {
+                    q.put(i);
+                }
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        Thread batchPutter = new Thread(() -> {
+            Integer[] batch = new Integer[BATCH];
+            try {
+                for (int i = PER_PRODUCER; i < total; ) {
+                    int n = Math.min(BATCH, total - i);
+                    for (int k = 0; k < n; k++) {
+                        batch[k] = i++;
+                    }
+                    q.putAll(batch, 0, n);
+                }
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        Thread taker = new Thread(() -> {
+            try {
+                while (remaining.get() > 0) {
+                    int v = q.take();
+                    if (v >= 0) {
+                        received[0][receivedCount[0]++] = v;
+                        remaining.decrementAndGet();
+                    }
+                    maxSize[0] = Math.max(maxSize[0], q.size());
+                }
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        Thread drainer = new Thread(() -> {
+            Integer[] buf = new Integer[4];
+            try {
+                while (remaining.get() > 0) {
+                    int n = q.drainTo(buf, 0, buf.length, 10, TimeUnit.MILLISECONDS);
+                    for (int i = 0; i < n; i++) {
+                        if (buf[i] >= 0) {
+                            received[1][receivedCount[1]++] = buf[i];
+                            remaining.decrementAndGet();
+                        }
+                    }
+                }
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        Thread[] threads = {putter, batchPutter, taker, drainer};
+        for (Thread t : threads) {
+            t.start();
+        }
+        putter.join();
+        batchPutter.join();
+        // 다른 소비자가 마지막 요소를 가져가면 take가 계속 기다리므로, 세지 않는 값 -1을 넣어 깨운다.
+        while (taker.isAlive()) {
+            q.offer(-1);
+            taker.join(10);
+        }
+        drainer.join();
+
+        boolean[] seen = new boolean[total];
+        long sum = 0;
+        for (int c = 0; c < 2; c++) {
+            for (int i = 0; i < receivedCount[c]; i++) {
+                int v = received[c][i];
+                check(!seen[v], v + "가 두 번 나왔다");
+                seen[v] = true;
+                sum += v;
+            }
+        }
+        check(sum == (long) total * (total - 1) / 2, "합계가 다르다 " + sum);
+        check(maxSize[0] <= CAPACITY, "용적을 넘었다 " + maxSize[0]);
+        System.out.println("put/putAll/take/drainTo : " + total + "개, 모두 한 번씩 나옴 (최대 크기 " + maxSize[0] + ")");
+    }
+
+    static void timeouts() throws InterruptedException {
+        MyBlockingQueue<Integer> q = new MyBlockingQueue<>(2);
+        long start = System.nanoTime();
+        check(q.poll(20, TimeUnit.MILLISECONDS) == null, "빈 큐의 poll(timeout)이 null이 아니다");
+        check(q.drainTo(new Integer[2], 0, 2, 20, TimeUnit.MILLISECONDS) == 0, "빈 큐의 drainTo(timeout)이 0이 아니다");
+        check(q.offer(1) && q.offer(2) && !q.offer(3, 20, TimeUnit.MILLISECONDS), "가득 찬 큐의 offer(timeout)가 성공했다");
+        long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        check(elapsed >= 60, "timeout만큼 기다리지 않았다 " + elapsed + "ms");
+        check(q.remainingCapacity() == 0 && q.poll() == 1 && q.poll() == 2, "요소가 다르다");
+        System.out.println("timeout    : poll/drainTo/offer가 시간 안에 실패를 반환함 (" + elapsed + "ms)");
+    }
+
+    /**
+     * putAll이 기다리는 중에 인터럽트되면 그때까지 추가한 요소는 큐에 남아야 한다.
+     */
+    static void putAllKeepsAddedElementsWhenInterrupted() throws InterruptedException {
+        MyBlockingQueue<Integer> q = new MyBlockingQueue<>(CAPACITY);
+        boolean[] interrupted = {false};
+        Thread t = new Thread(() -> {
+            try {
+                q.putAll(new Integer[]{0, 1, 2, 3, 4, 5, 6, 7}, 0, 8);
+            } catch (InterruptedException e) {
+                interrupted[0] = true;
+            }
+        });
+        t.start();
+        while (t.getState() != Thread.State.WAITING) {
+            Thread.sleep(1);
+        }
+        t.interrupt();
+        t.join();
+        check(interrupted[0], "putAll이 인터럽트되지 않았다");
+        check(q.size() == CAPACITY, "추가한 요소가 남지 않았다 " + q.size());
+        for (int i = 0; i < CAPACITY; i++) {
+            check(q.poll() == i, "남은 요소가 다르다");
+        }
+        System.out.println("putAll     : 인터럽트되어도 추가한 " + CAPACITY + "개가 남음");
+    }
+}
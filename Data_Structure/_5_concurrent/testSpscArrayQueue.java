@@ -0,0 +1,186 @@
+package _5_concurrent;
+
+import java.util.function.Supplier;
+
+/*
+     SpscArrayQueue를 생산자 스레드 하나, 소비자 스레드 하나로 돌려 보고 받은 순서와 합계를 확인한다.
+     head/tail 카운터는 Long.MAX_VALUE 바로 앞에서 시작해서 실행 도중 long 범위를 넘어간다.
+     기다릴 때는 Thread.yield()로 상대 스레드에게 CPU를 넘긴다. (코어가 하나인 환경에서도 빨리 끝나도록)
+ */
+public class testSpscArrayQueue {
+
+    static final int COUNT = 2_000_000;
+    static final long START = Long.MAX_VALUE - 1000;
+
+    public static void main(String[] args) throws InterruptedException {
+        offerPoll();
+        fillDrain();
+        fillPublishesBeforeNull();
+        drainReleasesSlotsWhenConsumerThrows();
+        rejectsBadArguments();
+    }
+
+    static void check(boolean condition, String message) {
+        if (!condition) {
+            throw new AssertionError(message);
+        }
+    }
+
+    /**
+     * 카운터가 long 범위를 넘어가기 직전 상태의 큐를 만든다. (스레드를 시작하기 전에만 호출한다)
+     */
+    static SpscArrayQueue<Integer> queueNearOverflow(int capacity) {
+        SpscArrayQueue<Integer> q = new SpscArrayQueue<>(capacity);
+        q.head = q.tail = q.headCache = q.tailCache = START;
+        return q;
+    }
+
+    static void offerPoll() throws InterruptedException {
+        SpscArrayQueue<Integer> q = queueNearOverflow(64);
+        Thread producer = new Thread(() -> {
+            for (int i = 0; i < COUNT; i++) {
+                Integer v = i;
+                while (!q.offer(v)) {
+                    Thread.yield();
+                }
+            }
+        });
+        long[] result = new long[2];
+        Thread consumer = new Thread(() -> {
+            long sum = 0;
+            int expected = 0;
+            while (expected < COUNT) {
+                Integer v = q.poll();
+                if (v == null) {
+                    Thread.yield();
+                    continue;
+                }
+                if (v != expected) {
+                    result[1] = -1;
+                }
+                sum += v;
+                expected++;
+            }
+            result[0] = sum;
+        });
+        run(producer, consumer);
+        check(result[1] == 0, "offer/poll: 순서가 어긋났다");
+        check(result[0] == (long) COUNT * (COUNT - 1) / 2, "offer/poll: 합계가 다르다 " + result[0]);
+        check(q.isEmpty() && q.tail < 0, "offer/poll: 카운터가 long 범위를 넘지 않았다");
+        System.out.println("offer/poll : " + COUNT + "개, 순서와 합계 일치 (tail = " + q.tail + ")");
+    }
+
+    static void fillDrain() throws InterruptedException {
+        SpscArrayQueue<Integer> q = queueNearOverflow(128);
+        Thread producer = new Thread(new Runnable() {
+            int next;
+
+            @Override
+            public void run() {
+                Supplier<Integer> supplier = () -> next++;
+                while (next < COUNT) {
+                    if (q.fill(supplier, Math.min(37, COUNT - next)) == 0) {
+                        Thread.yield();
+                    }
+                }
+            }
+        });
+        long[] result = new long[3];
+        Thread consumer = new Thread(() -> {
+            while (result[1] < COUNT) {
+                int n = q.drain(v -> {
+                    if (v != result[1]) {
+                        result[2] = -1;
+                    }
+                    result[0] += v;
+                    result[1]++;
+                }, 53);
+                if (n == 0) {
+                    Thread.yield();
+                }
+            }
+        });
+        run(producer, consumer);
+        check(result[2] == 0, "fill/drain: 순서가 어긋났다");
+        check(result[0] == (long) COUNT * (COUNT - 1) / 2, "fill/drain: 합계가 다르다 " + result[0]);
+        System.out.println("fill/drain : " + COUNT + "개, 순서와 합계 일치");
+    }
+
+    /**
+     * supplier가 도중에 null을 반환하면 그 전까지 넣은 요소는 공개되어야 한다.
+     */
+    static void fillPublishesBeforeNull() {
+        SpscArrayQueue<Integer> q = queueNearOverflow(8);
+        int[] calls = {0};
+        try {
+            q.fill(() -> calls[0] < 3 ? calls[0]++ : null, 8);
+            check(false, "fill: null을 받았는데 예외가 없다");
+        } catch (NullPointerException expected) {
+        }
+        check(q.size() == 3, "fill: 공개된 요소 개수 " + q.size());
+        for (int i = 0; i < 3; i++) {
+            check(q.poll() == i, "fill: 공개된 요소가 다르다");
+        }
+        check(q.poll() == null, "fill: null 이후의 요소가 들어갔다");
+        System.out.println("fill       : supplier가 null을 반환하기 전의 3개가 공개됨");
+    }
+
+    /**
+     * consumer가 예외를 던지면 이미 넘긴 요소(예외를 던진 요소 포함)의 칸은 생산자에게 돌아가야 한다.
+     */
+    static void drainReleasesSlotsWhenConsumerThrows() {
+        SpscArrayQueue<Integer> q = queueNearOverflow(4);
+        for (int i = 0; i < 4; i++) {
+            q.offer(i);
+        }
+        check(!q.offer(4), "drain: 큐가 가득 차지 않았다");
+        try {
+            q.drain(v -> {
+                if (v == 1) {
+                    throw new IllegalStateException();
+                }
+            }, 4);
+            check(false, "drain: consumer의 예외가 전달되지 않았다");
+        } catch (IllegalStateException expected) {
+        }
+        check(q.size() == 2 && q.peek() == 2, "drain: 넘긴 요소의 칸이 반환되지 않았다");
+        check(q.offer(4) && q.offer(5) && !q.offer(6), "drain: 반환된 칸에 넣을 수 없다");
+        for (int i = 2; i < 6; i++) {
+            check(q.poll() == i, "drain: 남은 요소가 다르다");
+        }
+        System.out.println("drain      : consumer가 예외를 던져도 넘긴 2칸이 반환됨");
+    }
+
+    static void rejectsBadArguments() {
+        SpscArrayQueue<Integer> q = new SpscArrayQueue<>(4);
+        q.offer(1);
+        expect(IllegalArgumentException.class, () -> q.drain(v -> { }, -1));
+        expect(IllegalArgumentException.class, () -> q.fill(() -> 1, -1));
+        expect(NullPointerException.class, () -> q.drain(null, 1));
+        expect(NullPointerException.class, () -> q.fill(null, 1));
+        expect(IllegalArgumentException.class, () -> q.drainTo(v -> { }, -1));
+        check(q.size() == 1, "잘못된 인자로 큐가 바뀌었다");
+        System.out.println("arguments  : 음수 limit과 null 함수를 거부함");
+    }
+
+    static void expect(Class<? extends RuntimeException> type, Runnable action) {
+        try {
+            action.run();
+        } catch (RuntimeException e) {
+            if (type.isInstance(e)) {
+                return;
+            }
+            throw e;
+        }
+        throw new AssertionError(type.getSimpleName() + "가 발생하지 않았다");
+    }
+
+    static void run(Thread... threads) throws InterruptedException {
+        for (Thread t : threads) {
+            t.start();
+        }
+        for (Thread t : threads) {
+            t.join();
+        }
+    }
+}
@@ -0,0 +1,305 @@
+package _6_primitive;
+
+import _13_snapshot.SnapshotReader;
+import _13_snapshot.SnapshotWriter;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.EmptyStackException;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.function.DoubleConsumer;
+import my_util.ResizePolicy;
+
+/**
+ * double 전용 MyStack. 요소를 Double로 박싱하지 않고 double[]에 그대로 저장한다.
+ * 용적 확장/축소와 hugeRangeCheck는 MyStack과 같다.
+ * <p>
+ * 이 파일은 templates/Stack.template에서 생성되었다. 직접 수정하지 말고 템플릿을 고친 뒤 generate.sh를 실행한다.
+ */
+public class DoubleStack implements Cloneable {
+
+  private static final int MAX_ARRAY_SIZE = Integer.MAX_VALUE - 8;
+
+  private static final int DEFAULT_CAPACITY = 10; // 최소(기본) 용적 크기
+  private static final double[] EMPTY_ARRAY = {};
+
+  private double[] array; // 요소를 담을 배열
+  private int size; // 요소 개수
+  private ResizePolicy resizePolicy; // 용적 확장/축소 정책
+
+  public DoubleStack() {
+    this(ResizePolicy.defaultPolicy());
+  }
+
+  public DoubleStack(int capacity) {
+    this(capacity, ResizePolicy.defaultPolicy());
+  }
+
+  public DoubleStack(ResizePolicy resizePolicy) {
+    if (resizePolicy == null) {
+      throw new NullPointerException();
+    }
+    this.array = EMPTY_ARRAY;
+    this.size = 0;
+    this.resizePolicy = resizePolicy;
+  }
+
+  public DoubleStack(int capacity, ResizePolicy resizePolicy) {
+    if (capacity < 0) {
+      throw new IllegalArgumentException();
+    }
+    if (resizePolicy == null) {
+      throw new NullPointerException();
+    }
+    if (capacity == 0) {
+      array = EMPTY_ARRAY;
+    } else {
+      array = new double[capacity];
+    }
+    this.size = 0;
+    this.resizePolicy = resizePolicy;
+  }
+
+  private void resize() {
+
+    int arrayCapacity = array.length;
+
+    if (arrayCapacity == 0) {
+      reallocate(DEFAULT_CAPACITY);
+      return;
+    }
+
+    if (size == arrayCapacity) {
+      reallocate(hugeRangeCheck(arrayCapacity, resizePolicy.growCapacity(arrayCapacity, size + 1)));
+      return;
+    }
+
+    int newCapacity = resizePolicy.shrinkCapacity(arrayCapacity, size, DEFAULT_CAPACITY);
+    if (newCapacity < arrayCapacity) {
+      reallocate(newCapacity);
+    }
+  }
+
+  private void reallocate(int newCapacity) {
+    array = Arrays.copyOf(array, newCapacity);
+    resizePolicy.recordReallocation(size);
+  }
+
+  /**
+   * resizing할 때 overflow를 방지하기 위한 체크 함수이다. 용적은 MAX_ARRAY_SIZE를 초과할 수 없다.
+   *
+   * @param oldCapacity resize 하기 전의 용적
+   * @param newCapacity resize 하고자 하는 용적
+   * @return 최종 크기 반환
+   */
+  private int hugeRangeCheck(int oldCapacity, int newCapacity) {
+    if (MAX_ARRAY_SIZE - size <= 0) {
+      throw new OutOfMemoryError("Required stack size too large");
+    }
+    if (newCapacity >= 0) {
+      if (newCapacity - MAX_ARRAY_SIZE <= 0) {
+        return newCapacity;
+      }
+      return MAX_ARRAY_SIZE;
+    } else {
+      int fiveFourtheSize = oldCapacity + (oldCapacity >>> 2);
+      if (fiveFourtheSize <= 0 || fiveFourtheSize >= MAX_ARRAY_SIZE) {
+        return MAX_ARRAY_SIZE;
+      }
+      return fiveFourtheSize;
+    }
+  }
+
+  public void ensureCapacity(int minCapacity) {
+    if (minCapacity < 0) {
+      throw new OutOfMemoryError("Required stack size too large");
+    }
+    int arrayCapacity = array.length;
+    if (minCapacity > arrayCapacity) {
+      reallocate(hugeRangeCheck(arrayCapacity, resizePolicy.growCapacity(arrayCapacity, minCapacity)));
+    }
+  }
+
+  public void trimToSize() {
+    if (size < array.length) {
+      if (size == 0) {
+        array = EMPTY_ARRAY;
+        resizePolicy.recordReallocation(0);
+      } else {
+        reallocate(size);
+      }
+    }
+  }
+
+  public ResizePolicy getResizePolicy() {
+    return resizePolicy;
+  }
+
+  public double pushDouble(double item) {
+    if (size == array.length) {
+      resize();
+    }
+    array[size] = item;
+    size++;
+
+    return item;
+  }
+
+  public double popDouble() {
+    if (size == 0) {
+      throw new EmptyStackException();
+    }
+    double obj = array[size - 1];
+    size--;
+    resize();
+
+    return obj;
+  }
+
+  public double peekDouble() {
+    if (size == 0) {
+      throw new EmptyStackException();
+    }
+    return array[size - 1];
+  }
+
+  /**
+   * 스택의 상단부터 value가 몇 번째 위치에 있는지 반환한다. 값 비교는 Double.equals와 같다.
+   *
+   * @return 상단부터 1로 시작하는 위치, 없을 경우 -1
+   */
+  public int search(double value) {
+    for (int idx = size - 1; idx >= 0; idx--) {
+      if (Double.compare(array[idx], value) == 0) {
+        return size - idx;
+      }
+    }
+    return -1;
+  }
+
+  public int size() {
+    return size;
+  }
+
+  public void clear() {
+    size = 0;
+    resize();
+  }
+
+  public boolean empty() {
+    return size == 0;
+  }
+
+  @Override
+  public Object clone() throws CloneNotSupportedException {
+    DoubleStack cloneStack = (DoubleStack) super.clone();
+
+    cloneStack.array = Arrays.copyOf(array, size);
+    cloneStack.resizePolicy = resizePolicy.copy();
+    return cloneStack;
+  }
+
+  public double[] toDoubleArray() {
+    return Arrays.copyOf(array, size);
+  }
+
+  /**
+   * 요소들을 바닥부터 little-endian 원시 배열 형식으로 path에 스냅샷 파일로 저장한다. 파일이 있으면 덮어쓴다.
+   */
+  public void save(Path path) throws IOException {
+    try (SnapshotWriter<Double> writer = SnapshotWriter.createDoubles(path)) {
+      writer.writeDoubles(array, 0, size);
+    }
+  }
+
+  /**
+   * save로 저장한 스냅샷 파일에서 요소 개수에 꼭 맞는 용적의 스택을 만든다. 마지막에 저장된 요소가 top이다.
+   *
+   * @throws IOException 파일을 읽을 수 없거나, 형식이 다르거나, 요소가 MAX_ARRAY_SIZE개보다 많은 경우
+   */
+  public static DoubleStack load(Path path) throws IOException {
+    try (SnapshotReader<Double> reader = SnapshotReader.openDoubles(path)) {
+      DoubleStack stack = new DoubleStack(reader.count(MAX_ARRAY_SIZE));
+      stack.size = reader.readDoubles(stack.array, 0, stack.array.length);
+      return stack;
+    }
+  }
+
+  public void sort() {
+    Arrays.sort(array, 0, size);
+  }
+
+  /**
+   * 배열을 직접 순회하며 스택의 요소를 action에 넘긴다. 박싱하지 않고 Iterator 객체도 만들지 않는다.
+   * 순회 중 요소가 추가/삭제되었는지는 순회가 끝난 뒤 한 번만 확인한다.
+   *
+   * @throws ConcurrentModificationException action이 이 스택를 변경한 경우
+   */
+  public void forEach(DoubleConsumer action) {
+    double[] data = array;
+    int n = size;
+    for (int i = 0; i < n; i++) {
+      action.accept(data[i]);
+    }
+    checkForComodification(data, n);
+  }
+
+  /**
+   * forEach와 같고, 요소와 함께 그 위치를 넘긴다.
+   */
+  public void forEachIndexed(DoubleIndexedConsumer action) {
+    double[] data = array;
+    int n = size;
+    for (int i = 0; i < n; i++) {
+      action.accept(i, data[i]);
+    }
+    checkForComodification(data, n);
+  }
+
+  /**
+   * [fromIndex, toIndex) 구간의 요소만 순서대로 action에 넘긴다.
+   */
+  public void forEachRange(int fromIndex, int toIndex, DoubleConsumer action) {
+    if (fromIndex < 0 || toIndex > size || fromIndex > toIndex) {
+      throw new IndexOutOfBoundsException();
+    }
+    double[] data = array;
+    int n = size;
+    for (int i = fromIndex; i < toIndex; i++) {
+      action.accept(data[i]);
+    }
+    checkForComodification(data, n);
+  }
+
+  private void checkForComodification(double[] data, int n) {
+    if (array != data || size != n) {
+      throw new ConcurrentModificationException();
+    }
+  }
+
+  public PrimitiveIterator.OfDouble iterator() {
+    return new Iter();
+  }
+
+  private class Iter implements PrimitiveIterator.OfDouble {
+
+    private int now = 0;
+
+    @Override
+    public boolean hasNext() {
+      return now < size;
+    }
+
+    @Override
+    public double nextDouble() {
+      int cs = now;
+      if (cs >= size) {
+        throw new NoSuchElementException();
+      }
+      now = cs + 1;
+      return array[cs];
+    }
+  }
+}
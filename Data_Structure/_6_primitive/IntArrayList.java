@@ -0,0 +1,349 @@
+package _6_primitive;
+
+import _13_snapshot.SnapshotReader;
+import _13_snapshot.SnapshotWriter;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.function.IntConsumer;
+import my_util.ResizePolicy;
+
+/*
+     int 전용 MyArrayList. 요소를 Integer로 박싱하지 않고 int[]에 그대로 저장한다.
+     용적 확장/축소와 hugeRangeCheck는 MyArrayList와 같다.
+
+     이 파일은 templates/ArrayList.template에서 생성되었다. 직접 수정하지 말고 템플릿을 고친 뒤 generate.sh를 실행한다.
+ */
+public class IntArrayList implements Cloneable {
+
+  private static final int DEFAULT_CAPACITY = 10;
+
+  private static final int MAX_ARRAY_SIZE = Integer.MAX_VALUE - 8;
+
+  private static final int[] EMPTY_ARRAY = {};
+  private int size;
+
+  int[] array;
+
+  private ResizePolicy resizePolicy; // 용적 확장/축소 정책
+
+  public IntArrayList() {
+    this(ResizePolicy.defaultPolicy());
+  }
+
+  public IntArrayList(int capacity) {
+    this(capacity, ResizePolicy.defaultPolicy());
+  }
+
+  public IntArrayList(ResizePolicy resizePolicy) {
+    if (resizePolicy == null) {
+      throw new NullPointerException();
+    }
+    this.array = EMPTY_ARRAY;
+    this.size = 0;
+    this.resizePolicy = resizePolicy;
+  }
+
+  public IntArrayList(int capacity, ResizePolicy resizePolicy) {
+    if (capacity < 0) {
+      throw new IllegalArgumentException();
+    }
+    if (resizePolicy == null) {
+      throw new NullPointerException();
+    }
+
+    if (capacity == 0) {
+      array = EMPTY_ARRAY;
+    } else {
+      array = new int[capacity];
+    }
+    this.size = 0;
+    this.resizePolicy = resizePolicy;
+  }
+
+  private void resize() {
+    int array_capacity = array.length;
+
+    // if array is empty
+    if (array_capacity == 0) {
+      reallocate(DEFAULT_CAPACITY);
+      return;
+    }
+
+    // if array is full
+    if (size == array_capacity) {
+      reallocate(hugeRangeCheck(array_capacity, resizePolicy.growCapacity(array_capacity, size + 1)));
+      return;
+    }
+
+    // 정책의 축소 임계값 미만일 때만 축소한다.
+    int new_capacity = resizePolicy.shrinkCapacity(array_capacity, size, DEFAULT_CAPACITY);
+    if (new_capacity < array_capacity) {
+      reallocate(new_capacity);
+    }
+  }
+
+  private void reallocate(int new_capacity) {
+    array = Arrays.copyOf(array, new_capacity);
+    resizePolicy.recordReallocation(size);
+  }
+
+  private int hugeRangeCheck(int oldCapacity, int newCapacity) {
+    if (MAX_ARRAY_SIZE - size <= 0) {
+      throw new OutOfMemoryError("Required array length too large");
+    }
+
+    if (newCapacity >= 0) { // no overflow
+      if (newCapacity - MAX_ARRAY_SIZE <= 0) {
+        return newCapacity;
+      }
+      return MAX_ARRAY_SIZE;
+    } else { // newCapacity is overflow
+      int fiveFourtheSize = oldCapacity + (oldCapacity >> 2);
+
+      if (fiveFourtheSize <= 0 || fiveFourtheSize >= MAX_ARRAY_SIZE) {
+        return MAX_ARRAY_SIZE;
+      }
+      return fiveFourtheSize;
+    }
+  }
+
+  public void ensureCapacity(int minCapacity) {
+    if (minCapacity < 0) {
+      throw new OutOfMemoryError("Required array length too large");
+    }
+    int array_capacity = array.length;
+    if (minCapacity > array_capacity) {
+      reallocate(hugeRangeCheck(array_capacity, resizePolicy.growCapacity(array_capacity, minCapacity)));
+    }
+  }
+
+  public void trimToSize() {
+    if (size < array.length) {
+      if (size == 0) {
+        array = EMPTY_ARRAY;
+        resizePolicy.recordReallocation(0);
+      } else {
+        reallocate(size);
+      }
+    }
+  }
+
+  public ResizePolicy getResizePolicy() {
+    return resizePolicy;
+  }
+
+  public boolean addInt(int value) {
+    if (size == array.length) {
+      resize();
+    }
+    array[size] = value;
+    size++;
+    return true;
+  }
+
+  public void addInt(int index, int value) {
+    if (index > size || index < 0) {
+      throw new IndexOutOfBoundsException();
+    }
+
+    if (size == array.length) {
+      resize();
+    }
+
+    System.arraycopy(array, index, array, index + 1, size - index);
+    array[index] = value;
+    size++;
+  }
+
+  public int getInt(int index) {
+    if (index >= size || index < 0) {
+      throw new IndexOutOfBoundsException();
+    }
+    return array[index];
+  }
+
+  public void setInt(int index, int value) {
+    if (index >= size || index < 0) {
+      throw new IndexOutOfBoundsException();
+    }
+    array[index] = value;
+  }
+
+  /*
+       값 비교는 Integer.equals와 같은 결과가 되도록 Integer.compare를 사용한다.
+   */
+  public int indexOf(int value) {
+    for (int i = 0; i < size; i++) {
+      if (Integer.compare(array[i], value) == 0) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  public int lastIndexOf(int value) {
+    for (int i = size - 1; i >= 0; i--) {
+      if (Integer.compare(array[i], value) == 0) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  public boolean contains(int value) {
+    return indexOf(value) >= 0;
+  }
+
+  public int removeInt(int index) {
+    if (index >= size || index < 0) {
+      throw new IndexOutOfBoundsException();
+    }
+
+    int element = array[index];
+    System.arraycopy(array, index + 1, array, index, size - index - 1);
+    size--;
+    resize();
+    return element;
+  }
+
+  public boolean removeValue(int value) {
+    int index = indexOf(value);
+    if (index == -1) {
+      return false;
+    }
+    removeInt(index);
+    return true;
+  }
+
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  public int size() {
+    return size;
+  }
+
+  public void clear() {
+    size = 0;
+    resize();
+  }
+
+  @Override
+  public Object clone() {
+    try {
+      IntArrayList cloneList = (IntArrayList) super.clone();
+      cloneList.array = Arrays.copyOf(array, size);
+      cloneList.resizePolicy = resizePolicy.copy();
+      return cloneList;
+    } catch (CloneNotSupportedException e) {
+      throw new Error(e);
+    }
+  }
+
+  public void sort() {
+    Arrays.sort(array, 0, size);
+  }
+
+  public int[] toIntArray() {
+    return Arrays.copyOf(array, size);
+  }
+
+  /**
+   * 요소들을 little-endian 원시 배열 형식으로 path에 스냅샷 파일로 저장한다. 파일이 있으면 덮어쓴다.
+   * 배열을 매핑된 파일에 bulk 복사하므로 요소마다의 처리가 없다.
+   */
+  public void save(Path path) throws IOException {
+    try (SnapshotWriter<Integer> writer = SnapshotWriter.createInts(path)) {
+      writer.writeInts(array, 0, size);
+    }
+  }
+
+  /**
+   * save로 저장한 스냅샷 파일에서 요소 개수에 꼭 맞는 용적의 리스트를 만든다.
+   *
+   * @throws IOException 파일을 읽을 수 없거나, 형식이 다르거나, 요소가 MAX_ARRAY_SIZE개보다 많은 경우
+   */
+  public static IntArrayList load(Path path) throws IOException {
+    try (SnapshotReader<Integer> reader = SnapshotReader.openInts(path)) {
+      IntArrayList list = new IntArrayList(reader.count(MAX_ARRAY_SIZE));
+      list.size = reader.readInts(list.array, 0, list.array.length);
+      return list;
+    }
+  }
+
+  /**
+   * 배열을 직접 순회하며 리스트의 요소를 action에 넘긴다. 박싱하지 않고 Iterator 객체도 만들지 않는다.
+   * 순회 중 요소가 추가/삭제되었는지는 순회가 끝난 뒤 한 번만 확인한다.
+   *
+   * @throws ConcurrentModificationException action이 이 리스트를 변경한 경우
+   */
+  public void forEach(IntConsumer action) {
+    int[] data = array;
+    int n = size;
+    for (int i = 0; i < n; i++) {
+      action.accept(data[i]);
+    }
+    checkForComodification(data, n);
+  }
+
+  /**
+   * forEach와 같고, 요소와 함께 그 위치를 넘긴다.
+   */
+  public void forEachIndexed(IntIndexedConsumer action) {
+    int[] data = array;
+    int n = size;
+    for (int i = 0; i < n; i++) {
+      action.accept(i, data[i]);
+    }
+    checkForComodification(data, n);
+  }
+
+  /**
+   * [fromIndex, toIndex) 구간의 요소만 순서대로 action에 넘긴다.
+   */
+  public void forEachRange(int fromIndex, int toIndex, IntConsumer action) {
+    if (fromIndex < 0 || toIndex > size || fromIndex > toIndex) {
+      throw new IndexOutOfBoundsException();
+    }
+    int[] data = array;
+    int n = size;
+    for (int i = fromIndex; i < toIndex; i++) {
+      action.accept(data[i]);
+    }
+    checkForComodification(data, n);
+  }
+
+  private void checkForComodification(int[] data, int n) {
+    if (array != data || size != n) {
+      throw new ConcurrentModificationException();
+    }
+  }
+
+  public PrimitiveIterator.OfInt iterator() {
+    return new Iter();
+  }
+
+  private class Iter implements PrimitiveIterator.OfInt {
+
+    private int now = 0;
+
+    @Override
+    public boolean hasNext() {
+      return now < size;
+    }
+
+    @Override
+    public int nextInt() {
+      int cs = now;
+      if (cs >= size) {
+        throw new NoSuchElementException();
+      }
+      now = cs + 1;
+      return array[cs];
+    }
+  }
+}
@@ -0,0 +1,365 @@
+package _6_primitive;
+
+import _13_snapshot.SnapshotReader;
+import _13_snapshot.SnapshotWriter;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.function.LongConsumer;
+import my_util.ResizePolicy;
+
+/**
+ * long 전용 MyArrayQueue. 요소를 Long로 박싱하지 않고 long[]에 그대로 저장한다.
+ * MyArrayQueue와 같이 2의 거듭제곱 길이의 배열과 계속 증가하는 head/tail 카운터를 사용한다.
+ * <p>
+ * 빈 큐에서 pollLong()/peekLong()는 null을 반환할 수 없으므로 NoSuchElementException을 던진다.
+ * 비어있을 때 대신 반환할 값을 넘기는 pollLong(long)/peekLong(long)도 제공한다.
+ * <p>
+ * 이 파일은 templates/ArrayQueue.template에서 생성되었다. 직접 수정하지 말고 템플릿을 고친 뒤 generate.sh를 실행한다.
+ */
+public class LongArrayQueue implements Cloneable {
+
+    private static final int MAX_ARRAY_SIZE = 1 << 30;
+
+    private static final int DEFAULT_CAPACITY = 64;
+
+    private long[] array;
+    private int mask; // array.length - 1
+    private int head; // 첫 번째 요소의 위치 (head & mask)
+    private int tail; // 다음 요소가 추가될 위치 (tail & mask)
+    private ResizePolicy resizePolicy; // 용적 확장/축소 정책
+
+    public LongArrayQueue() {
+        this(DEFAULT_CAPACITY, ResizePolicy.defaultPolicy());
+    }
+
+    public LongArrayQueue(int capacity) {
+        this(capacity, ResizePolicy.defaultPolicy());
+    }
+
+    public LongArrayQueue(ResizePolicy resizePolicy) {
+        this(DEFAULT_CAPACITY, resizePolicy);
+    }
+
+    public LongArrayQueue(int capacity, ResizePolicy resizePolicy) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException();
+        }
+        if (resizePolicy == null) {
+            throw new NullPointerException();
+        }
+        this.array = new long[powerOfTwoCapacity(capacity)];
+        this.mask = array.length - 1;
+        this.head = 0;
+        this.tail = 0;
+        this.resizePolicy = resizePolicy;
+    }
+
+    private static int powerOfTwoCapacity(int capacity) {
+        if (capacity <= 1) {
+            return 1;
+        }
+        if (capacity >= MAX_ARRAY_SIZE) {
+            return MAX_ARRAY_SIZE;
+        }
+        return Integer.highestOneBit(capacity - 1) << 1;
+    }
+
+    private void resize(int newCapacity) {
+        int arrayCapacity = array.length;
+        newCapacity = powerOfTwoCapacity(hugeRangeCheck(arrayCapacity, newCapacity));
+        int size = size();
+        long[] newArray = new long[newCapacity];
+
+        copyTo(newArray, 0);
+
+        this.array = newArray;
+        this.mask = newCapacity - 1;
+        this.head = 0;
+        this.tail = size;
+        resizePolicy.recordReallocation(size);
+    }
+
+    private void copyTo(long[] dst, int offset) {
+        int size = size();
+        int h = head & mask;
+        int firstLength = Math.min(size, array.length - h);
+        System.arraycopy(array, h, dst, offset, firstLength);
+        System.arraycopy(array, 0, dst, offset + firstLength, size - firstLength);
+    }
+
+    /**
+     * resizing할 때, overflow를 방지하기 위한 확인 함수
+     *
+     * @param oldCapacity resize 하기 전의 용적
+     * @param newCapacity resize 하고자 하는 용적
+     * @return 최종 크기 반환
+     */
+    private int hugeRangeCheck(int oldCapacity, int newCapacity) {
+        if (MAX_ARRAY_SIZE - size() <= 0) {
+            throw new OutOfMemoryError("Required queue length large");
+        }
+
+        if (newCapacity >= 0) {
+            if (newCapacity - MAX_ARRAY_SIZE <= 0) {
+                return newCapacity;
+            }
+            return MAX_ARRAY_SIZE;
+        } else {
+            int fiveFourthsSize = oldCapacity + (oldCapacity >>> 2);
+            if (fiveFourthsSize <= 0 || fiveFourthsSize >= MAX_ARRAY_SIZE) {
+                return MAX_ARRAY_SIZE;
+            }
+            return fiveFourthsSize;
+        }
+    }
+
+    public void ensureCapacity(int minCapacity) {
+        if (minCapacity < 0) {
+            throw new OutOfMemoryError("Required queue length large");
+        }
+        int arrayCapacity = array.length;
+        if (minCapacity > arrayCapacity) {
+            resize(resizePolicy.growCapacity(arrayCapacity, minCapacity));
+        }
+    }
+
+    public void trimToSize() {
+        if (powerOfTwoCapacity(size()) < array.length) {
+            resize(size());
+        }
+    }
+
+    public ResizePolicy getResizePolicy() {
+        return resizePolicy;
+    }
+
+    public boolean offerLong(long item) {
+        int oldCapacity = array.length;
+        if (tail - head == oldCapacity) {
+            resize(resizePolicy.growCapacity(oldCapacity, oldCapacity + 1));
+        }
+        array[tail & mask] = item;
+        tail++;
+
+        return true;
+    }
+
+    /**
+     * @throws NoSuchElementException 큐가 비어있을 경우
+     */
+    public long pollLong() {
+        if (head == tail) {
+            throw new NoSuchElementException();
+        }
+        return pollLongUnchecked();
+    }
+
+    /**
+     * @param emptyValue 큐가 비어있을 경우 반환할 값
+     */
+    public long pollLong(long emptyValue) {
+        if (head == tail) {
+            return emptyValue;
+        }
+        return pollLongUnchecked();
+    }
+
+    private long pollLongUnchecked() {
+        long item = array[head & mask];
+        head++;
+
+        int newCapacity = resizePolicy.shrinkCapacity(array.length, tail - head, DEFAULT_CAPACITY);
+        if (newCapacity < array.length) {
+            resize(newCapacity);
+        }
+        return item;
+    }
+
+    /**
+     * @throws NoSuchElementException 큐가 비어있을 경우
+     */
+    public long peekLong() {
+        if (head == tail) {
+            throw new NoSuchElementException();
+        }
+        return array[head & mask];
+    }
+
+    /**
+     * @param emptyValue 큐가 비어있을 경우 반환할 값
+     */
+    public long peekLong(long emptyValue) {
+        if (head == tail) {
+            return emptyValue;
+        }
+        return array[head & mask];
+    }
+
+    public int size() {
+        return tail - head;
+    }
+
+    public boolean isEmpty() {
+        return head == tail;
+    }
+
+    public boolean contains(long value) {
+        final long[] data = array;
+        final int m = mask;
+
+        for (int i = head, end = tail; i != end; i++) {
+            if (Long.compare(data[i & m], value) == 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public void clear() {
+        head = tail = 0;
+    }
+
+    public long[] toLongArray() {
+        long[] res = new long[size()];
+        copyTo(res, 0);
+        return res;
+    }
+
+    /**
+     * 요소들을 앞에서부터 little-endian 원시 배열 형식으로 path에 스냅샷 파일로 저장한다. 파일이 있으면 덮어쓴다.
+     * 원형으로 감긴 구간은 연속된 두 조각으로 나누어 쓴다.
+     */
+    public void save(Path path) throws IOException {
+        try (SnapshotWriter<Long> writer = SnapshotWriter.createLongs(path)) {
+            int size = size();
+            int h = head & mask;
+            int firstLength = Math.min(size, array.length - h);
+            writer.writeLongs(array, h, firstLength);
+            writer.writeLongs(array, 0, size - firstLength);
+        }
+    }
+
+    /**
+     * save로 저장한 스냅샷 파일에서 큐를 만든다. 요소들은 배열의 처음부터 감기지 않은 상태로 놓인다.
+     *
+     * @throws IOException 파일을 읽을 수 없거나, 형식이 다르거나, 요소가 MAX_ARRAY_SIZE개보다 많은 경우
+     */
+    public static LongArrayQueue load(Path path) throws IOException {
+        try (SnapshotReader<Long> reader = SnapshotReader.openLongs(path)) {
+            int count = reader.count(MAX_ARRAY_SIZE);
+            LongArrayQueue queue = new LongArrayQueue(count);
+            queue.tail = reader.readLongs(queue.array, 0, count);
+            return queue;
+        }
+    }
+
+    @Override
+    public Object clone() {
+        try {
+            LongArrayQueue clone = (LongArrayQueue) super.clone();
+
+            clone.array = Arrays.copyOf(array, array.length);
+            clone.resizePolicy = resizePolicy.copy();
+            return clone;
+        } catch (CloneNotSupportedException e) {
+            throw new Error(e);
+        }
+    }
+
+    public void sort() {
+        long[] res = toLongArray();
+        Arrays.sort(res);
+        System.arraycopy(res, 0, array, 0, res.length);
+        head = 0;
+        tail = res.length;
+    }
+
+    /**
+     * 배열을 직접 순회하며 큐의 요소를 앞에서부터 action에 넘긴다. 박싱하지 않고 Iterator 객체도 만들지 않는다.
+     * 원형으로 감긴 구간은 연속된 최대 두 조각으로 나누어 순회한다.
+     * 순회 중 요소가 추가/삭제되었는지는 순회가 끝난 뒤 한 번만 확인한다.
+     *
+     * @throws ConcurrentModificationException action이 이 큐를 변경한 경우
+     */
+    public void forEach(LongConsumer action) {
+        forEachRange(0, tail - head, action);
+    }
+
+    /**
+     * forEach와 같고, 요소와 함께 그 위치(head로부터의 거리)를 넘긴다.
+     */
+    public void forEachIndexed(LongIndexedConsumer action) {
+        long[] data = array;
+        int h = head;
+        int t = tail;
+        int size = t - h;
+        int from = h & mask;
+        int firstLength = Math.min(size, data.length - from);
+        for (int i = 0; i < firstLength; i++) {
+            action.accept(i, data[from + i]);
+        }
+        for (int i = firstLength; i < size; i++) {
+            action.accept(i, data[i - firstLength]);
+        }
+        checkForComodification(data, h, t);
+    }
+
+    /**
+     * 앞에서부터 [fromIndex, toIndex) 번째 요소만 순서대로 action에 넘긴다.
+     */
+    public void forEachRange(int fromIndex, int toIndex, LongConsumer action) {
+        int h = head;
+        int t = tail;
+        if (fromIndex < 0 || toIndex > t - h || fromIndex > toIndex) {
+            throw new IndexOutOfBoundsException();
+        }
+        long[] data = array;
+        int length = toIndex - fromIndex;
+        int from = (h + fromIndex) & mask;
+        int firstEnd = Math.min(data.length, from + length);
+        for (int i = from; i < firstEnd; i++) {
+            action.accept(data[i]);
+        }
+        for (int i = 0, end = length - (firstEnd - from); i < end; i++) {
+            action.accept(data[i]);
+        }
+        checkForComodification(data, h, t);
+    }
+
+    private void checkForComodification(long[] data, int h, int t) {
+        if (array != data || head != h || tail != t) {
+            throw new ConcurrentModificationException();
+        }
+    }
+
+    public PrimitiveIterator.OfLong iterator() {
+        return new Iter();
+    }
+
+    private class Iter implements PrimitiveIterator.OfLong {
+
+        private int now = head;
+        private final int end = tail;
+        private final long[] data = array;
+        private final int m = mask;
+
+        @Override
+        public boolean hasNext() {
+            return now != end;
+        }
+
+        @Override
+        public long nextLong() {
+            int ns = now;
+            if (ns == end) {
+                throw new NoSuchElementException();
+            }
+            now = ns + 1;
+            return data[ns & m];
+        }
+    }
+}
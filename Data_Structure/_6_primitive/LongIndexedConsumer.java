@@ -0,0 +1,10 @@
+package _6_primitive;
+
+/**
+ * 요소의 위치(인덱스)와 long 요소를 함께 받는 함수. forEachIndexed에서 사용한다.
+ */
+@FunctionalInterface
+public interface LongIndexedConsumer {
+
+  void accept(int index, long value);
+}
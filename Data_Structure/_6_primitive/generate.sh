@@ -0,0 +1,19 @@
+#!/bin/sh
+# templates/*.template에서 int/long/double 전용 클래스를 생성한다.
+#   $Type$  -> Int, Long, Double
+#   $type$  -> int, long, double
+#   $Boxed$ -> Integer, Long, Double
+# 사용법: sh Data_Structure/_6_primitive/generate.sh
+cd "$(dirname "$0")" || exit 1
+
+for spec in Int:int:Integer Long:long:Long Double:double:Double; do
+  Type=${spec%%:*}
+  rest=${spec#*:}
+  type=${rest%%:*}
+  Boxed=${rest#*:}
+  for template in templates/*.template; do
+    name=$(basename "$template" .template)
+    sed -e "s/\\\$Type\\\$/$Type/g" -e "s/\\\$type\\\$/$type/g" -e "s/\\\$Boxed\\\$/$Boxed/g" \
+      "$template" > "$Type$name.java"
+  done
+done
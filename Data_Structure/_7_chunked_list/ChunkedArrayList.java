@@ -0,0 +1,548 @@
+package _7_chunked_list;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+import my_interface.MyListInterface;
+
+/**
+ * 요소를 고정 크기(chunkCapacity) 배열 조각(chunk) 여러 개에 나누어 저장하는 리스트.
+ * <p>
+ * offsets[c]는 c번째 조각의 첫 요소가 리스트 전체에서 몇 번째인지를 나타낸다.
+ * get(int)은 offsets에서 이진 탐색으로 조각을 찾고(직전에 접근한 조각은 바로 확인한다), 조각 안에서는 배열로 바로 접근한다.
+ * 위치 삽입/삭제는 한 조각 안에서 최대 chunkCapacity개의 요소를 옮기고 뒤쪽 조각들의 offsets만 1씩 고치므로,
+ * 조각 개수가 n / chunkCapacity 일 때 O(chunkCapacity + n / chunkCapacity), 즉 chunkCapacity가 √n 정도이면 O(√n)이다.
+ * <p>
+ * 가득 찬 조각에 삽입하면 조각을 절반으로 나누고, 삭제로 조각이 1/4 미만으로 줄면 합쳐서 3/4을 넘지 않는 이웃과 합친다.
+ * 빈 조각은 남기지 않는다.
+ *
+ * @param <E> the type of elements in this list
+ */
+public class ChunkedArrayList<E> implements MyListInterface<E>, Iterable<E> {
+
+    private static final int DEFAULT_CHUNK_CAPACITY = 1024;
+    private static final int MIN_CHUNK_CAPACITY = 4;
+    private static final int DEFAULT_CHUNK_SLOTS = 8;
+
+    private final int chunkCapacity;
+
+    private Object[][] chunks;
+    private int[] counts; // 각 조각의 요소 개수
+    private int[] offsets; // 각 조각의 첫 요소의 전체 인덱스
+    private int chunkCount;
+    private int size;
+
+    private int lastChunk; // 마지막으로 접근한 조각 (순차 접근 시 이진 탐색을 건너뛴다)
+
+    public ChunkedArrayList() {
+        this(DEFAULT_CHUNK_CAPACITY);
+    }
+
+    /**
+     * @param chunkCapacity 조각 하나에 담을 최대 요소 개수. 예상 요소 개수의 제곱근 근처가 적당하다.
+     */
+    public ChunkedArrayList(int chunkCapacity) {
+        if (chunkCapacity < MIN_CHUNK_CAPACITY) {
+            throw new IllegalArgumentException();
+        }
+        this.chunkCapacity = chunkCapacity;
+        this.chunks = new Object[DEFAULT_CHUNK_SLOTS][];
+        this.counts = new int[DEFAULT_CHUNK_SLOTS];
+        this.offsets = new int[DEFAULT_CHUNK_SLOTS];
+        this.chunkCount = 0;
+        this.size = 0;
+    }
+
+    /**
+     * index 위치의 요소가 들어있는 조각 번호를 반환한다. (0 <= index < size)
+     */
+    private int chunkOf(int index) {
+        int c = lastChunk;
+        if (c < chunkCount && index >= offsets[c] && index < offsets[c] + counts[c]) {
+            return c;
+        }
+        int lo = 0;
+        int hi = chunkCount - 1;
+        while (lo < hi) {
+            int mid = (lo + hi + 1) >>> 1;
+            if (offsets[mid] <= index) {
+                lo = mid;
+            } else {
+                hi = mid - 1;
+            }
+        }
+        return lastChunk = lo;
+    }
+
+    /**
+     * c번째 자리에 조각을 끼워 넣는다. offsets[c]는 호출하는 쪽에서 채운다.
+     */
+    private void insertChunkAt(int c, Object[] chunk, int count) {
+        if (chunkCount == chunks.length) {
+            int newSlots = chunks.length + (chunks.length >> 1) + 1;
+            chunks = Arrays.copyOf(chunks, newSlots);
+            counts = Arrays.copyOf(counts, newSlots);
+            offsets = Arrays.copyOf(offsets, newSlots);
+        }
+        int moved = chunkCount - c;
+        System.arraycopy(chunks, c, chunks, c + 1, moved);
+        System.arraycopy(counts, c, counts, c + 1, moved);
+        System.arraycopy(offsets, c, offsets, c + 1, moved);
+        chunks[c] = chunk;
+        counts[c] = count;
+        chunkCount++;
+    }
+
+    private void removeChunkAt(int c) {
+        int moved = chunkCount - c - 1;
+        System.arraycopy(chunks, c + 1, chunks, c, moved);
+        System.arraycopy(counts, c + 1, counts, c, moved);
+        System.arraycopy(offsets, c + 1, offsets, c, moved);
+        chunkCount--;
+        chunks[chunkCount] = null;
+    }
+
+    private void rebuildOffsets(int from) {
+        int offset = from == 0 ? 0 : offsets[from - 1] + counts[from - 1];
+        for (int c = from; c < chunkCount; c++) {
+            offsets[c] = offset;
+            offset += counts[c];
+        }
+    }
+
+    /**
+     * c번째 조각의 [at, count) 부분을 새 조각으로 떼어내 c + 1번째에 둔다.
+     */
+    private void splitChunk(int c, int at) {
+        Object[] chunk = chunks[c];
+        int moved = counts[c] - at;
+        Object[] right = new Object[chunkCapacity];
+        System.arraycopy(chunk, at, right, 0, moved);
+        Arrays.fill(chunk, at, counts[c], null);
+        counts[c] = at;
+        insertChunkAt(c + 1, right, moved);
+        offsets[c + 1] = offsets[c] + at;
+    }
+
+    /**
+     * c번째 조각이 1/4 미만이면 더 작은 이웃과 합친다. 합친 결과가 3/4을 넘으면 합치지 않는다.
+     */
+    private void mergeIfSparse(int c) {
+        if (counts[c] >= (chunkCapacity >> 2)) {
+            return;
+        }
+        int left;
+        if (c > 0 && (c + 1 >= chunkCount || counts[c - 1] <= counts[c + 1])) {
+            left = c - 1;
+        } else if (c + 1 < chunkCount) {
+            left = c;
+        } else {
+            return;
+        }
+        int right = left + 1;
+        if (counts[left] + counts[right] > (chunkCapacity >> 1) + (chunkCapacity >> 2)) {
+            return;
+        }
+        System.arraycopy(chunks[right], 0, chunks[left], counts[left], counts[right]);
+        counts[left] += counts[right];
+        removeChunkAt(right);
+    }
+
+    private void checkIndex(int index) {
+        if (index >= size || index < 0) {
+            throw new IndexOutOfBoundsException();
+        }
+    }
+
+    @Override
+    public boolean add(E value) {
+        int last = chunkCount - 1;
+        if (last < 0 || counts[last] == chunkCapacity) {
+            insertChunkAt(chunkCount, new Object[chunkCapacity], 0);
+            last = chunkCount - 1;
+            offsets[last] = size;
+        }
+        chunks[last][counts[last]++] = value;
+        size++;
+        return true;
+    }
+
+    @Override
+    public void add(int index, E value) {
+        if (index > size || index < 0) {
+            throw new IndexOutOfBoundsException();
+        }
+        if (index == size) {
+            add(value);
+            return;
+        }
+        int c = chunkOf(index);
+        int pos = index - offsets[c];
+        if (counts[c] == chunkCapacity) {
+            splitChunk(c, chunkCapacity >> 1);
+            if (pos > counts[c]) {
+                pos -= counts[c];
+                c++;
+            }
+        }
+        Object[] chunk = chunks[c];
+        System.arraycopy(chunk, pos, chunk, pos + 1, counts[c] - pos);
+        chunk[pos] = value;
+        counts[c]++;
+        for (int j = c + 1; j < chunkCount; j++) {
+            offsets[j]++;
+        }
+        size++;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public E remove(int index) {
+        checkIndex(index);
+        int c = chunkOf(index);
+        int pos = index - offsets[c];
+        Object[] chunk = chunks[c];
+        E element = (E) chunk[pos];
+        int count = counts[c];
+        System.arraycopy(chunk, pos + 1, chunk, pos, count - pos - 1);
+        chunk[count - 1] = null;
+        counts[c] = count - 1;
+        for (int j = c + 1; j < chunkCount; j++) {
+            offsets[j]--;
+        }
+        size--;
+        if (counts[c] == 0) {
+            removeChunkAt(c);
+        } else {
+            mergeIfSparse(c);
+        }
+        return element;
+    }
+
+    @Override
+    public boolean remove(Object value) {
+        int index = indexOf(value);
+        if (index == -1) {
+            return false;
+        }
+        remove(index);
+        return true;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public E get(int index) {
+        checkIndex(index);
+        int c = chunkOf(index);
+        return (E) chunks[c][index - offsets[c]];
+    }
+
+    @Override
+    public void set(int index, E value) {
+        checkIndex(index);
+        int c = chunkOf(index);
+        chunks[c][index - offsets[c]] = value;
+    }
+
+    @Override
+    public boolean contains(Object value) {
+        return indexOf(value) >= 0;
+    }
+
+    @Override
+    public int indexOf(Object value) {
+        for (int c = 0; c < chunkCount; c++) {
+            Object[] chunk = chunks[c];
+            int count = counts[c];
+            if (value == null) {
+                for (int i = 0; i < count; i++) {
+                    if (chunk[i] == null) {
+                        return offsets[c] + i;
+                    }
+                }
+            } else {
+                for (int i = 0; i < count; i++) {
+                    if (value.equals(chunk[i])) {
+                        return offsets[c] + i;
+                    }
+                }
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public void clear() {
+        chunks = new Object[DEFAULT_CHUNK_SLOTS][];
+        counts = new int[DEFAULT_CHUNK_SLOTS];
+        offsets = new int[DEFAULT_CHUNK_SLOTS];
+        chunkCount = 0;
+        size = 0;
+        lastChunk = 0;
+    }
+
+    @Override
+    public boolean addAll(Collection<? extends E> values) {
+        Object[] src = values.toArray();
+        return insertAll(size, src, src.length);
+    }
+
+    @Override
+    public boolean addAll(E[] values) {
+        return insertAll(size, values, values.length);
+    }
+
+    @Override
+    public boolean addAll(int index, Collection<? extends E> values) {
+        if (index > size || index < 0) {
+            throw new IndexOutOfBoundsException();
+        }
+        Object[] src = values.toArray();
+        return insertAll(index, src, src.length);
+    }
+
+    @Override
+    public boolean addAll(int index, E[] values) {
+        if (index > size || index < 0) {
+            throw new IndexOutOfBoundsException();
+        }
+        return insertAll(index, values, values.length);
+    }
+
+    /**
+     * index 위치에서 조각을 한 번 나누고, 그 사이에 src를 가득 채운 새 조각들을 끼워 넣는다.
+     * 끝에 추가하는 경우에는 마지막 조각의 빈 자리부터 채운다.
+     */
+    private boolean insertAll(int index, Object[] src, int length) {
+        if (length == 0) {
+            return false;
+        }
+        if (size + length < 0) {
+            throw new OutOfMemoryError("Required list size too large");
+        }
+        int copied = 0;
+        int at; // 새 조각을 끼워 넣을 위치
+        if (index == size) {
+            int last = chunkCount - 1;
+            if (last >= 0) {
+                copied = Math.min(length, chunkCapacity - counts[last]);
+                System.arraycopy(src, 0, chunks[last], counts[last], copied);
+                counts[last] += copied;
+            }
+            at = chunkCount;
+        } else {
+            int c = chunkOf(index);
+            int pos = index - offsets[c];
+            if (pos == 0) {
+                at = c;
+            } else {
+                splitChunk(c, pos);
+                at = c + 1;
+            }
+        }
+        while (copied < length) {
+            int n = Math.min(chunkCapacity, length - copied);
+            Object[] chunk = new Object[chunkCapacity];
+            System.arraycopy(src, copied, chunk, 0, n);
+            insertChunkAt(at++, chunk, n);
+            copied += n;
+        }
+        size += length;
+        rebuildOffsets(0);
+        return true;
+    }
+
+    @Override
+    public void removeRange(int fromIndex, int toIndex) {
+        if (fromIndex < 0 || toIndex > size || fromIndex > toIndex) {
+            throw new IndexOutOfBoundsException();
+        }
+        if (fromIndex == toIndex) {
+            return;
+        }
+        int first = chunkOf(fromIndex);
+        int last = chunkOf(toIndex - 1);
+        for (int c = first; c <= last; c++) {
+            int from = Math.max(fromIndex - offsets[c], 0);
+            int to = Math.min(toIndex - offsets[c], counts[c]);
+            Object[] chunk = chunks[c];
+            System.arraycopy(chunk, to, chunk, from, counts[c] - to);
+            Arrays.fill(chunk, counts[c] - (to - from), counts[c], null);
+            counts[c] -= to - from;
+        }
+        size -= toIndex - fromIndex;
+        compactChunks();
+    }
+
+    @Override
+    public boolean removeIf(Predicate<? super E> filter) {
+        if (filter == null) {
+            throw new NullPointerException();
+        }
+        int before = size;
+        try {
+            for (int c = 0; c < chunkCount; c++) {
+                removeIfInChunk(c, filter);
+            }
+        } finally {
+            compactChunks();
+        }
+        return size != before;
+    }
+
+    /**
+     * 한 조각 안에서 남길 요소를 앞으로 모은다.
+     * filter가 예외를 던지면 아직 검사하지 않은 요소들을 그대로 뒤에 붙인다.
+     */
+    @SuppressWarnings("unchecked")
+    private void removeIfInChunk(int c, Predicate<? super E> filter) {
+        Object[] chunk = chunks[c];
+        int count = counts[c];
+        int r = 0;
+        int w = 0;
+        try {
+            for (; r < count; r++) {
+                Object e = chunk[r];
+                if (!filter.test((E) e)) {
+                    chunk[w++] = e;
+                }
+            }
+        } finally {
+            if (r != count) {
+                System.arraycopy(chunk, r, chunk, w, count - r);
+                w += count - r;
+            }
+            Arrays.fill(chunk, w, count, null);
+            counts[c] = w;
+            size -= count - w;
+        }
+    }
+
+    @Override
+    public boolean retainAll(Collection<?> values) {
+        if (values == null) {
+            throw new NullPointerException();
+        }
+        return removeIf(e -> !values.contains(e));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public void replaceAll(UnaryOperator<E> operator) {
+        if (operator == null) {
+            throw new NullPointerException();
+        }
+        for (int c = 0; c < chunkCount; c++) {
+            Object[] chunk = chunks[c];
+            for (int i = 0, count = counts[c]; i < count; i++) {
+                chunk[i] = operator.apply((E) chunk[i]);
+            }
+        }
+    }
+
+    /**
+     * 빈 조각을 없애고, 이웃한 두 조각의 합이 절반 이하이면 합친 뒤 offsets를 다시 계산한다.
+     */
+    private void compactChunks() {
+        int w = 0;
+        for (int c = 0; c < chunkCount; c++) {
+            int count = counts[c];
+            if (count == 0) {
+                continue;
+            }
+            if (w > 0 && counts[w - 1] + count <= (chunkCapacity >> 1)) {
+                System.arraycopy(chunks[c], 0, chunks[w - 1], counts[w - 1], count);
+                counts[w - 1] += count;
+                continue;
+            }
+            chunks[w] = chunks[c];
+            counts[w] = count;
+            w++;
+        }
+        Arrays.fill(chunks, w, chunkCount, null);
+        chunkCount = w;
+        rebuildOffsets(0);
+    }
+
+    /**
+     * 현재 조각 개수를 반환한다.
+     */
+    public int chunkCount() {
+        return chunkCount;
+    }
+
+    /**
+     * 조각 하나에 담을 수 있는 최대 요소 개수를 반환한다.
+     */
+    public int chunkCapacity() {
+        return chunkCapacity;
+    }
+
+    /**
+     * 각 조각의 요소 개수를 순서대로 반환한다.
+     */
+    public int[] chunkOccupancy() {
+        return Arrays.copyOf(counts, chunkCount);
+    }
+
+    /**
+     * 전체 조각 용적 중 실제로 사용 중인 비율을 반환한다. (요소가 없으면 1)
+     */
+    public double occupancy() {
+        return chunkCount == 0 ? 1.0 : (double) size / ((long) chunkCount * chunkCapacity);
+    }
+
+    public Object[] toArray() {
+        Object[] res = new Object[size];
+        for (int c = 0; c < chunkCount; c++) {
+            System.arraycopy(chunks[c], 0, res, offsets[c], counts[c]);
+        }
+        return res;
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return new Iter();
+    }
+
+    /**
+     * 조각 단위로 순회하는 반복자. 조각 안에서는 배열을 그대로 읽는다.
+     */
+    private class Iter implements Iterator<E> {
+
+        private int chunk = 0;
+        private int pos = 0;
+
+        @Override
+        public boolean hasNext() {
+            return chunk < chunkCount && pos < counts[chunk];
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public E next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            E e = (E) chunks[chunk][pos++];
+            if (pos == counts[chunk]) {
+                chunk++;
+                pos = 0;
+            }
+            return e;
+        }
+    }
+}
@@ -0,0 +1,527 @@
+package _8_gap_buffer;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+import my_interface.MyListInterface;
+import my_util.ResizePolicy;
+
+/**
+ * 갭 버퍼(gap buffer) 리스트.
+ * <p>
+ * 배열 안에 비어있는 구간 [gapStart, gapEnd)를 두고, 그 앞뒤로 요소를 저장한다.
+ * 삽입/삭제는 갭을 편집 위치로 옮긴 뒤(moveGap) 갭의 가장자리에서 일어나므로,
+ * 커서 근처에서 연속으로 일어나는 편집은 O(1)이고 갭을 옮기는 비용은 이동 거리에 비례한다.
+ * get(int)은 갭 뒤쪽 인덱스에 갭 길이만큼 더해 실제 위치를 찾는다.
+ * <p>
+ * adaptive 모드에서는 최근 편집 위치들이 서로 멀리 떨어져 있으면 갭을 배열 끝에 고정하고
+ * MyArrayList와 같은 방식(뒤쪽 요소 이동)으로 편집한다. 편집이 다시 한곳에 모이면 갭을 다시 옮겨 다닌다.
+ *
+ * @param <E> the type of elements in this list
+ */
+public class GapBufferList<E> implements MyListInterface<E>, Cloneable, Iterable<E> {
+
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final int MAX_ARRAY_SIZE = Integer.MAX_VALUE - 8;
+
+    /*
+         adaptive 모드의 지역성 판단 기준.
+         직전 편집 위치에서 LOCAL_DISTANCE 이내의 편집은 scatter를 2 줄이고, 그보다 멀면 1 늘린다.
+         scatter가 FLAT_THRESHOLD에 닿으면 배열 배치로 바꾸고, 0으로 돌아오면 갭 배치로 돌아간다.
+     */
+    private static final int LOCAL_DISTANCE = 64;
+    private static final int FLAT_THRESHOLD = 8;
+    private static final int SCATTER_LIMIT = 16;
+
+    private Object[] array;
+    private int gapStart; // 갭의 시작 = 갭 앞쪽 요소 개수
+    private int gapEnd; // 갭 바로 다음 위치
+
+    private ResizePolicy resizePolicy;
+
+    private final boolean adaptive;
+    private boolean flat; // true이면 갭이 배열 끝에 고정되어 있다.
+    private int scatter;
+    private int lastEdit;
+
+    public GapBufferList() {
+        this(DEFAULT_CAPACITY, ResizePolicy.defaultPolicy(), false);
+    }
+
+    public GapBufferList(int capacity) {
+        this(capacity, ResizePolicy.defaultPolicy(), false);
+    }
+
+    /**
+     * @param capacity     초기 용적
+     * @param resizePolicy 용적 확장/축소 정책
+     * @param adaptive     편집 위치가 흩어져 있을 때 배열 배치로 바꿀지 여부
+     */
+    public GapBufferList(int capacity, ResizePolicy resizePolicy, boolean adaptive) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException();
+        }
+        if (resizePolicy == null) {
+            throw new NullPointerException();
+        }
+        this.array = new Object[Math.max(capacity, 1)];
+        this.gapStart = 0;
+        this.gapEnd = array.length;
+        this.resizePolicy = resizePolicy;
+        this.adaptive = adaptive;
+    }
+
+    private int gapLength() {
+        return gapEnd - gapStart;
+    }
+
+    /**
+     * 갭의 시작을 index로 옮긴다. 갭과 index 사이의 요소만 System.arraycopy 한 번으로 옮긴다.
+     *
+     * @param index 옮길 위치 (0 <= index <= size)
+     */
+    private void moveGap(int index) {
+        int gapLength = gapLength();
+        if (index < gapStart) {
+            System.arraycopy(array, index, array, index + gapLength, gapStart - index);
+            Arrays.fill(array, index, Math.min(gapStart, index + gapLength), null);
+        } else if (index > gapStart) {
+            System.arraycopy(array, gapEnd, array, gapStart, index - gapStart);
+            Arrays.fill(array, Math.max(gapEnd, index), index + gapLength, null);
+        } else {
+            return;
+        }
+        gapStart = index;
+        gapEnd = index + gapLength;
+    }
+
+    /**
+     * 갭 위치를 유지한 채 새 배열로 옮긴다.
+     */
+    private void reallocate(int newCapacity) {
+        int size = size();
+        int tailLength = array.length - gapEnd;
+        Object[] newArray = new Object[newCapacity];
+        System.arraycopy(array, 0, newArray, 0, gapStart);
+        System.arraycopy(array, gapEnd, newArray, newCapacity - tailLength, tailLength);
+        array = newArray;
+        gapEnd = newCapacity - tailLength;
+        resizePolicy.recordReallocation(size);
+    }
+
+    private int hugeRangeCheck(int oldCapacity, int newCapacity) {
+        if (MAX_ARRAY_SIZE - size() <= 0) {
+            throw new OutOfMemoryError("Required array length too large");
+        }
+        if (newCapacity >= 0) {
+            if (newCapacity - MAX_ARRAY_SIZE <= 0) {
+                return newCapacity;
+            }
+            return MAX_ARRAY_SIZE;
+        } else {
+            int fiveFourthsSize = oldCapacity + (oldCapacity >> 2);
+            if (fiveFourthsSize <= 0 || fiveFourthsSize >= MAX_ARRAY_SIZE) {
+                return MAX_ARRAY_SIZE;
+            }
+            return fiveFourthsSize;
+        }
+    }
+
+    /**
+     * 최소 minCapacity개의 요소를 재할당 없이 담을 수 있도록 용적을 늘린다.
+     *
+     * @param minCapacity 필요한 최소 요소 개수
+     */
+    public void ensureCapacity(int minCapacity) {
+        if (minCapacity < 0) {
+            throw new OutOfMemoryError("Required array length too large");
+        }
+        int arrayCapacity = array.length;
+        if (minCapacity > arrayCapacity) {
+            reallocate(hugeRangeCheck(arrayCapacity, resizePolicy.growCapacity(arrayCapacity, minCapacity)));
+        }
+    }
+
+    /**
+     * 용적을 현재 요소 개수에 맞게 줄인다. (갭이 없어진다)
+     */
+    public void trimToSize() {
+        int size = size();
+        if (size < array.length) {
+            reallocate(Math.max(size, 1));
+        }
+    }
+
+    private void shrinkIfNeeded() {
+        int newCapacity = resizePolicy.shrinkCapacity(array.length, size(), DEFAULT_CAPACITY);
+        if (newCapacity < array.length) {
+            reallocate(newCapacity);
+        }
+    }
+
+    public ResizePolicy getResizePolicy() {
+        return resizePolicy;
+    }
+
+    /**
+     * 편집 위치를 기록하고, adaptive 모드이면 갭 배치와 배열 배치 중 하나를 고른다.
+     */
+    private void recordEdit(int index) {
+        if (!adaptive) {
+            return;
+        }
+        if (Math.abs(index - lastEdit) <= LOCAL_DISTANCE) {
+            scatter = Math.max(0, scatter - 2);
+        } else {
+            scatter = Math.min(SCATTER_LIMIT, scatter + 1);
+        }
+        lastEdit = index;
+
+        if (!flat && scatter >= FLAT_THRESHOLD) {
+            flat = true;
+            moveGap(size());
+        } else if (flat && scatter == 0) {
+            flat = false;
+        }
+    }
+
+    /**
+     * 현재 갭의 시작 위치를 반환한다. (배열 배치이면 size와 같다)
+     */
+    public int gapPosition() {
+        return gapStart;
+    }
+
+    /**
+     * adaptive 모드에서 지금 배열 배치로 동작 중인지 반환한다.
+     */
+    public boolean isFlat() {
+        return flat;
+    }
+
+    private void checkIndex(int index) {
+        if (index >= size() || index < 0) {
+            throw new IndexOutOfBoundsException();
+        }
+    }
+
+    /**
+     * 리스트 인덱스를 배열 인덱스로 바꾼다.
+     */
+    private int physical(int index) {
+        return index < gapStart ? index : index + gapLength();
+    }
+
+    @Override
+    public boolean add(E value) {
+        add(size(), value);
+        return true;
+    }
+
+    @Override
+    public void add(int index, E value) {
+        int size = size();
+        if (index > size || index < 0) {
+            throw new IndexOutOfBoundsException();
+        }
+        recordEdit(index);
+        if (gapStart == gapEnd) {
+            ensureCapacity(size + 1);
+        }
+        if (flat) {
+            // 갭이 배열 끝에 있으므로 MyArrayList와 같이 뒤쪽 요소를 한 칸씩 민다.
+            System.arraycopy(array, index, array, index + 1, size - index);
+            array[index] = value;
+        } else {
+            moveGap(index);
+            array[index] = value;
+        }
+        gapStart++;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public E remove(int index) {
+        checkIndex(index);
+        recordEdit(index);
+        E element;
+        if (flat) {
+            element = (E) array[index];
+            System.arraycopy(array, index + 1, array, index, gapStart - index - 1);
+            array[--gapStart] = null;
+        } else if (index < gapStart) {
+            // 커서 바로 앞 요소 삭제(backspace)는 이동 없이 끝난다.
+            moveGap(index + 1);
+            element = (E) array[index];
+            array[index] = null;
+            gapStart--;
+        } else {
+            moveGap(index);
+            element = (E) array[gapEnd];
+            array[gapEnd] = null;
+            gapEnd++;
+        }
+        shrinkIfNeeded();
+        return element;
+    }
+
+    @Override
+    public boolean remove(Object value) {
+        int index = indexOf(value);
+        if (index == -1) {
+            return false;
+        }
+        remove(index);
+        return true;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public E get(int index) {
+        checkIndex(index);
+        return (E) array[physical(index)];
+    }
+
+    @Override
+    public void set(int index, E value) {
+        checkIndex(index);
+        array[physical(index)] = value;
+    }
+
+    @Override
+    public boolean contains(Object value) {
+        return indexOf(value) >= 0;
+    }
+
+    @Override
+    public int indexOf(Object value) {
+        int index = indexOf(value, 0, gapStart);
+        if (index >= 0) {
+            return index;
+        }
+        index = indexOf(value, gapEnd, array.length);
+        return index >= 0 ? index - gapLength() : -1;
+    }
+
+    private int indexOf(Object value, int from, int to) {
+        if (value == null) {
+            for (int i = from; i < to; i++) {
+                if (array[i] == null) {
+                    return i;
+                }
+            }
+        } else {
+            for (int i = from; i < to; i++) {
+                if (value.equals(array[i])) {
+                    return i;
+                }
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public int size() {
+        return array.length - gapLength();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(array, 0, gapStart, null);
+        Arrays.fill(array, gapEnd, array.length, null);
+        gapStart = 0;
+        gapEnd = array.length;
+        shrinkIfNeeded();
+    }
+
+    @Override
+    public boolean addAll(Collection<? extends E> values) {
+        Object[] src = values.toArray();
+        return insertAll(size(), src, src.length);
+    }
+
+    @Override
+    public boolean addAll(E[] values) {
+        return insertAll(size(), values, values.length);
+    }
+
+    @Override
+    public boolean addAll(int index, Collection<? extends E> values) {
+        if (index > size() || index < 0) {
+            throw new IndexOutOfBoundsException();
+        }
+        Object[] src = values.toArray();
+        return insertAll(index, src, src.length);
+    }
+
+    @Override
+    public boolean addAll(int index, E[] values) {
+        if (index > size() || index < 0) {
+            throw new IndexOutOfBoundsException();
+        }
+        return insertAll(index, values, values.length);
+    }
+
+    /*
+         용적 확인 한 번, 갭 이동 한 번, 복사 한 번으로 여러 요소를 삽입한다.
+     */
+    private boolean insertAll(int index, Object[] src, int length) {
+        if (length == 0) {
+            return false;
+        }
+        int size = size();
+        if (size + length < 0) {
+            throw new OutOfMemoryError("Required array length too large");
+        }
+        recordEdit(index);
+        if (gapLength() < length) {
+            ensureCapacity(size + length);
+        }
+        moveGap(index);
+        System.arraycopy(src, 0, array, index, length);
+        gapStart += length;
+        if (flat) {
+            moveGap(size + length);
+        }
+        return true;
+    }
+
+    @Override
+    public void removeRange(int fromIndex, int toIndex) {
+        if (fromIndex < 0 || toIndex > size() || fromIndex > toIndex) {
+            throw new IndexOutOfBoundsException();
+        }
+        if (fromIndex == toIndex) {
+            return;
+        }
+        recordEdit(fromIndex);
+        moveGap(fromIndex);
+        int removed = toIndex - fromIndex;
+        Arrays.fill(array, gapEnd, gapEnd + removed, null);
+        gapEnd += removed;
+        if (flat) {
+            moveGap(size());
+        }
+        shrinkIfNeeded();
+    }
+
+    @Override
+    public boolean removeIf(Predicate<? super E> filter) {
+        if (filter == null) {
+            throw new NullPointerException();
+        }
+        return batchRemove(filter);
+    }
+
+    @Override
+    public boolean retainAll(Collection<?> values) {
+        if (values == null) {
+            throw new NullPointerException();
+        }
+        return batchRemove(e -> !values.contains(e));
+    }
+
+    /*
+         갭을 끝으로 옮긴 뒤, 남길 요소를 앞으로 모으는 한 번의 압축으로 filter를 만족하는 요소를 모두 삭제한다.
+         filter가 예외를 던지면 아직 검사하지 않은 요소들을 그대로 뒤에 붙여 리스트를 일관된 상태로 남긴다.
+     */
+    @SuppressWarnings("unchecked")
+    private boolean batchRemove(Predicate<? super E> filter) {
+        int size = size();
+        moveGap(size);
+        final Object[] data = array;
+        int r = 0;
+        int w = 0;
+        try {
+            for (; r < size; r++) {
+                Object e = data[r];
+                if (!filter.test((E) e)) {
+                    data[w++] = e;
+                }
+            }
+        } finally {
+            if (r != size) {
+                System.arraycopy(data, r, data, w, size - r);
+                w += size - r;
+            }
+            if (w != size) {
+                Arrays.fill(data, w, size, null);
+                gapStart = w;
+                shrinkIfNeeded();
+            }
+        }
+        return r != w;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public void replaceAll(UnaryOperator<E> operator) {
+        if (operator == null) {
+            throw new NullPointerException();
+        }
+        final Object[] data = array;
+        for (int i = 0; i < gapStart; i++) {
+            data[i] = operator.apply((E) data[i]);
+        }
+        for (int i = gapEnd; i < data.length; i++) {
+            data[i] = operator.apply((E) data[i]);
+        }
+    }
+
+    public Object[] toArray() {
+        Object[] res = new Object[size()];
+        System.arraycopy(array, 0, res, 0, gapStart);
+        System.arraycopy(array, gapEnd, res, gapStart, array.length - gapEnd);
+        return res;
+    }
+
+    @Override
+    public Object clone() {
+        try {
+            @SuppressWarnings("unchecked")
+            GapBufferList<E> clone = (GapBufferList<E>) super.clone();
+            clone.array = Arrays.copyOf(array, array.length);
+            clone.resizePolicy = resizePolicy.copy();
+            return clone;
+        } catch (CloneNotSupportedException e) {
+            throw new Error(e);
+        }
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return new Iter();
+    }
+
+    /**
+     * 갭 앞쪽 구간을 순회한 뒤 갭을 건너뛰어 뒤쪽 구간을 순회하는 반복자.
+     */
+    private class Iter implements Iterator<E> {
+
+        private int now = gapStart == 0 ? gapEnd : 0; // 배열 인덱스
+
+        @Override
+        public boolean hasNext() {
+            return now < array.length;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public E next() {
+            int i = now;
+            if (i >= array.length) {
+                throw new NoSuchElementException();
+            }
+            now = i + 1 == gapStart ? gapEnd : i + 1;
+            return (E) array[i];
+        }
+    }
+}
@@ -0,0 +1,739 @@
+package _9_persistent_vector;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import my_interface.MyReadableListInterface;
+
+/**
+ * 변경할 때마다 새 버전을 반환하는 영속(persistent) 벡터.
+ * <p>
+ * 요소는 32갈래 트리(RRB-tree, relaxed radix balanced tree)의 잎에 32개씩 저장되고,
+ * 마지막 잎은 트리 밖의 tail 배열에 따로 둔다. 내부 노드는 자식별 누적 요소 개수(sizes)를 가지므로
+ * concat/slice로 잎이 가득 차 있지 않아도 된다. get은 (index >>> shift)로 자식을 추정한 뒤
+ * sizes를 보고 필요한 만큼만 오른쪽으로 옮기므로, 가득 찬 트리에서는 비교 한 번으로 끝난다.
+ * <p>
+ * set/append는 루트에서 잎까지의 경로만 복사하고 나머지 노드는 이전 버전과 공유한다. (O(log32 n))
+ * 많은 요소를 한 번에 넣을 때는 경로 복사 없이 트리를 아래에서부터 만드는 Builder를 쓴다.
+ * <p>
+ * 모든 필드와 노드는 생성 후 변경되지 않으므로 여러 스레드가 동기화 없이 읽어도 안전하다.
+ *
+ * @param <E> the type of elements in this vector
+ */
+public final class PersistentVector<E> implements MyReadableListInterface<E>, Iterable<E> {
+
+    private static final int BITS = 5;
+    private static final int WIDTH = 1 << BITS;
+    private static final int MASK = WIDTH - 1;
+
+    /*
+         concat의 재배치 기준. 합친 자식 노드 개수가 최적 개수(요소 개수 / 32 올림)보다
+         EXTRAS개 이하로 많으면 자식 노드를 다시 나누지 않는다.
+     */
+    private static final int EXTRAS = 2;
+
+    private static final Object[] EMPTY_ARRAY = {};
+    private static final Node EMPTY_ROOT = new Node(EMPTY_ARRAY, new int[0]);
+    private static final PersistentVector<?> EMPTY = new PersistentVector<>(0, BITS, EMPTY_ROOT, EMPTY_ARRAY);
+
+    /**
+     * 트리 노드. 잎은 sizes가 null이고 array에 요소를 담는다.
+     * 내부 노드는 array에 자식 노드를, sizes[i]에 0..i번 자식의 요소 개수 합을 담는다.
+     * 두 배열 모두 노드를 만든 뒤에는 변경하지 않는다.
+     */
+    private static final class Node {
+
+        final Object[] array;
+        final int[] sizes;
+
+        Node(Object[] array, int[] sizes) {
+            this.array = array;
+            this.sizes = sizes;
+        }
+
+        int size() {
+            if (sizes == null) {
+                return array.length;
+            }
+            return sizes.length == 0 ? 0 : sizes[sizes.length - 1];
+        }
+    }
+
+    private final int size;
+    private final int shift; // 루트 노드의 높이 * BITS (루트의 자식이 잎이면 BITS)
+    private final Node root;
+    private final Object[] tail; // 마지막 0 ~ 32개의 요소
+
+    private PersistentVector(int size, int shift, Node root, Object[] tail) {
+        this.size = size;
+        this.shift = shift;
+        this.root = root;
+        this.tail = tail;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <E> PersistentVector<E> empty() {
+        return (PersistentVector<E>) EMPTY;
+    }
+
+    @SafeVarargs
+    public static <E> PersistentVector<E> of(E... values) {
+        Builder<E> builder = new Builder<>(empty());
+        // 가변 인자 배열을 그대로 넘기지 않고 요소 단위로 추가한다. (배열을 넘기면 heap pollution 경고가 난다)
+        for (E value : values) {
+            builder.add(value);
+        }
+        return builder.build();
+    }
+
+    public static <E> Builder<E> builder() {
+        return new Builder<>(empty());
+    }
+
+    /**
+     * 이 벡터 뒤에 요소를 이어 붙이는 Builder를 반환한다. 이 벡터는 변경되지 않는다.
+     */
+    public Builder<E> toBuilder() {
+        return new Builder<>(this);
+    }
+
+    private static Node internal(Object[] children) {
+        int[] sizes = new int[children.length];
+        int sum = 0;
+        for (int i = 0; i < children.length; i++) {
+            sum += ((Node) children[i]).size();
+            sizes[i] = sum;
+        }
+        return new Node(children, sizes);
+    }
+
+    /**
+     * 내부 노드에서 index(노드 기준)가 속한 자식 번호를 찾는다.
+     * 자식이 가득 차 있다고 가정한 추정값에서 시작하고, 실제 자식은 그보다 왼쪽일 수 없다.
+     */
+    private static int slotOf(int[] sizes, int index, int shift) {
+        int slot = (index >>> shift) & MASK;
+        while (sizes[slot] <= index) {
+            slot++;
+        }
+        return slot;
+    }
+
+    private int tailOffset() {
+        return size - tail.length;
+    }
+
+    private void checkIndex(int index) {
+        if (index >= size || index < 0) {
+            throw new IndexOutOfBoundsException();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public E get(int index) {
+        checkIndex(index);
+        int tailOffset = tailOffset();
+        if (index >= tailOffset) {
+            return (E) tail[index - tailOffset];
+        }
+        Node node = root;
+        for (int s = shift; s > 0; s -= BITS) {
+            int[] sizes = node.sizes;
+            int slot = slotOf(sizes, index, s);
+            if (slot > 0) {
+                index -= sizes[slot - 1];
+            }
+            node = (Node) node.array[slot];
+        }
+        return (E) node.array[index];
+    }
+
+    /**
+     * index 위치의 요소를 value로 바꾼 새 버전을 반환한다.
+     */
+    public PersistentVector<E> set(int index, E value) {
+        checkIndex(index);
+        int tailOffset = tailOffset();
+        if (index >= tailOffset) {
+            Object[] newTail = tail.clone();
+            newTail[index - tailOffset] = value;
+            return new PersistentVector<>(size, shift, root, newTail);
+        }
+        return new PersistentVector<>(size, shift, setIn(root, shift, index, value), tail);
+    }
+
+    private static Node setIn(Node node, int shift, int index, Object value) {
+        Object[] array = node.array.clone();
+        if (shift == 0) {
+            array[index] = value;
+            return new Node(array, null);
+        }
+        int[] sizes = node.sizes;
+        int slot = slotOf(sizes, index, shift);
+        int childIndex = slot == 0 ? index : index - sizes[slot - 1];
+        array[slot] = setIn((Node) array[slot], shift - BITS, childIndex, value);
+        return new Node(array, sizes); // 요소 개수는 그대로이므로 sizes는 공유한다.
+    }
+
+    /**
+     * 끝에 value를 추가한 새 버전을 반환한다.
+     */
+    public PersistentVector<E> append(E value) {
+        int tailLength = tail.length;
+        if (tailLength < WIDTH) {
+            Object[] newTail = Arrays.copyOf(tail, tailLength + 1);
+            newTail[tailLength] = value;
+            return new PersistentVector<>(size + 1, shift, root, newTail);
+        }
+        PersistentVector<E> pushed = withTailPushed();
+        return new PersistentVector<>(size + 1, pushed.shift, pushed.root, new Object[]{value});
+    }
+
+    /**
+     * tail을 잎으로 만들어 트리의 가장 오른쪽에 넣은, tail이 비어 있는 버전을 반환한다.
+     */
+    private PersistentVector<E> withTailPushed() {
+        if (tail.length == 0) {
+            return this;
+        }
+        Node leaf = new Node(tail, null);
+        Node newRoot = appendLeaf(root, shift, leaf);
+        int newShift = shift;
+        if (newRoot == null) {
+            // 가장 오른쪽 경로가 모두 가득 차 있으면 높이를 하나 늘린다.
+            newRoot = internal(new Object[]{root, newPath(shift, leaf)});
+            newShift += BITS;
+        }
+        return new PersistentVector<>(size, newShift, newRoot, EMPTY_ARRAY);
+    }
+
+    /**
+     * node의 가장 오른쪽 경로에 leaf를 추가한 새 노드를 반환한다. 자리가 없으면 null을 반환한다.
+     */
+    private static Node appendLeaf(Node node, int shift, Node leaf) {
+        int count = node.array.length;
+        if (shift > BITS && count > 0) {
+            Node newLast = appendLeaf((Node) node.array[count - 1], shift - BITS, leaf);
+            if (newLast != null) {
+                Object[] array = node.array.clone();
+                array[count - 1] = newLast;
+                int[] sizes = node.sizes.clone();
+                sizes[count - 1] += leaf.array.length;
+                return new Node(array, sizes);
+            }
+        }
+        if (count == WIDTH) {
+            return null;
+        }
+        Object[] array = Arrays.copyOf(node.array, count + 1);
+        array[count] = newPath(shift - BITS, leaf);
+        int[] sizes = Arrays.copyOf(node.sizes, count + 1);
+        sizes[count] = (count == 0 ? 0 : sizes[count - 1]) + leaf.array.length;
+        return new Node(array, sizes);
+    }
+
+    /**
+     * leaf 하나만 담은, 높이가 shift인 노드를 만든다.
+     */
+    private static Node newPath(int shift, Node leaf) {
+        Node node = leaf;
+        for (int s = 0; s < shift; s += BITS) {
+            node = internal(new Object[]{node});
+        }
+        return node;
+    }
+
+    /**
+     * 이 벡터 뒤에 other를 이어 붙인 새 버전을 반환한다.
+     * 두 트리의 맞닿은 경계 경로만 새로 만들고 재배치하므로 O(log n)이다.
+     */
+    @SuppressWarnings("unchecked")
+    public PersistentVector<E> concat(PersistentVector<? extends E> other) {
+        if (other.size == 0) {
+            return this;
+        }
+        if (size == 0) {
+            return (PersistentVector<E>) other;
+        }
+        int newSize = size + other.size;
+        if (newSize < 0) {
+            throw new OutOfMemoryError("Required vector size too large");
+        }
+        if (other.root.array.length == 0) {
+            // other의 요소가 모두 tail에 있다.
+            if (tail.length + other.tail.length <= WIDTH) {
+                Object[] newTail = Arrays.copyOf(tail, tail.length + other.tail.length);
+                System.arraycopy(other.tail, 0, newTail, tail.length, other.tail.length);
+                return new PersistentVector<>(newSize, shift, root, newTail);
+            }
+            PersistentVector<E> pushed = withTailPushed();
+            return new PersistentVector<>(newSize, pushed.shift, pushed.root, other.tail);
+        }
+        PersistentVector<E> left = withTailPushed();
+        Node carrier = concatSub(left.root, left.shift, other.root, other.shift);
+        int newShift = Math.max(left.shift, other.shift) + BITS;
+        return collapse(newSize, newShift, carrier, other.tail);
+    }
+
+    /**
+     * 높이가 같은 자식이 하나뿐인 루트를 걷어낸 벡터를 만든다.
+     */
+    private static <E> PersistentVector<E> collapse(int size, int shift, Node root, Object[] tail) {
+        while (shift > BITS && root.array.length == 1) {
+            root = (Node) root.array[0];
+            shift -= BITS;
+        }
+        if (root.array.length == 0) {
+            return new PersistentVector<>(size, BITS, EMPTY_ROOT, tail);
+        }
+        return new PersistentVector<>(size, shift, root, tail);
+    }
+
+    /**
+     * 높이가 leftShift인 left와 rightShift인 right를 이어 붙인다.
+     * 반환값은 높이가 max(leftShift, rightShift) + BITS이고 자식이 한두 개인 노드이다.
+     */
+    private static Node concatSub(Node left, int leftShift, Node right, int rightShift) {
+        if (leftShift > rightShift) {
+            Node mid = concatSub(lastChild(left), leftShift - BITS, right, rightShift);
+            return rebalance(left, mid, null, leftShift);
+        }
+        if (leftShift < rightShift) {
+            Node mid = concatSub(left, leftShift, firstChild(right), rightShift - BITS);
+            return rebalance(null, mid, right, rightShift);
+        }
+        if (leftShift == 0) {
+            int leftLength = left.array.length;
+            int rightLength = right.array.length;
+            if (leftLength + rightLength <= WIDTH) {
+                Object[] merged = Arrays.copyOf(left.array, leftLength + rightLength);
+                System.arraycopy(right.array, 0, merged, leftLength, rightLength);
+                return internal(new Object[]{new Node(merged, null)});
+            }
+            return internal(new Object[]{left, right});
+        }
+        Node mid = concatSub(lastChild(left), leftShift - BITS, firstChild(right), rightShift - BITS);
+        return rebalance(left, mid, right, leftShift);
+    }
+
+    private static Node lastChild(Node node) {
+        return (Node) node.array[node.array.length - 1];
+    }
+
+    private static Node firstChild(Node node) {
+        return (Node) node.array[0];
+    }
+
+    /**
+     * left의 마지막 자식을 뺀 자식들, mid의 자식들, right의 첫 자식을 뺀 자식들(모두 높이 shift - BITS)을
+     * 이어 놓고, 너무 많이 비어 있으면 내용을 앞쪽으로 당겨 자식 개수를 줄인다.
+     * 결과 자식들을 높이 shift인 노드 한두 개로 묶어, 그 노드들을 자식으로 갖는 노드를 반환한다.
+     */
+    private static Node rebalance(Node left, Node mid, Node right, int shift) {
+        int leftCount = left == null ? 0 : left.array.length - 1;
+        int rightCount = right == null ? 0 : right.array.length - 1;
+        int midCount = mid.array.length;
+        Node[] all = new Node[leftCount + midCount + rightCount];
+        if (left != null) {
+            System.arraycopy(left.array, 0, all, 0, leftCount);
+        }
+        System.arraycopy(mid.array, 0, all, leftCount, midCount);
+        if (right != null) {
+            System.arraycopy(right.array, 1, all, leftCount + midCount, rightCount);
+        }
+
+        int[] plan = new int[all.length];
+        int count = plan(all, plan);
+        Node[] merged = executePlan(all, plan, count, shift - BITS);
+
+        if (count <= WIDTH) {
+            return internal(new Object[]{internal(merged)});
+        }
+        return internal(new Object[]{
+            internal(Arrays.copyOf(merged, WIDTH)),
+            internal(Arrays.copyOfRange(merged, WIDTH, count))
+        });
+    }
+
+    /**
+     * 각 새 노드가 담을 항목 개수를 plan에 채우고 새 노드 개수를 반환한다.
+     * 가득 차지 않은 첫 노드부터 뒤쪽 내용을 한 칸씩 앞으로 당겨 노드를 하나씩 없앤다.
+     */
+    private static int plan(Node[] all, int[] counts) {
+        int n = all.length;
+        int total = 0;
+        for (int i = 0; i < n; i++) {
+            counts[i] = all[i].array.length;
+            total += counts[i];
+        }
+        int optimal = (total + WIDTH - 1) / WIDTH;
+        while (n > optimal + EXTRAS) {
+            int i = 0;
+            while (counts[i] > WIDTH - EXTRAS / 2) {
+                i++;
+            }
+            int remaining = counts[i];
+            while (remaining > 0) {
+                int filled = Math.min(remaining + counts[i + 1], WIDTH);
+                remaining = remaining + counts[i + 1] - filled;
+                counts[i] = filled;
+                i++;
+            }
+            System.arraycopy(counts, i + 1, counts, i, n - i - 1);
+            n--;
+        }
+        return n;
+    }
+
+    /**
+     * plan대로 all의 항목(잎이면 요소, 아니면 자식 노드)을 옮겨 새 노드들을 만든다.
+     * 그대로 쓸 수 있는 노드는 복사하지 않는다.
+     */
+    private static Node[] executePlan(Node[] all, int[] plan, int count, int childShift) {
+        Node[] result = new Node[count];
+        int src = 0;
+        int offset = 0;
+        for (int k = 0; k < count; k++) {
+            int need = plan[k];
+            if (offset == 0 && all[src].array.length == need) {
+                result[k] = all[src++];
+                continue;
+            }
+            Object[] items = new Object[need];
+            int filled = 0;
+            while (filled < need) {
+                Object[] from = all[src].array;
+                int n = Math.min(need - filled, from.length - offset);
+                System.arraycopy(from, offset, items, filled, n);
+                filled += n;
+                offset += n;
+                if (offset == from.length) {
+                    src++;
+                    offset = 0;
+                }
+            }
+            result[k] = childShift == 0 ? new Node(items, null) : internal(items);
+        }
+        return result;
+    }
+
+    /**
+     * [fromIndex, toIndex) 구간의 요소로 이루어진 새 버전을 반환한다.
+     * 구간 경계에 걸친 경로만 새로 만들고 구간 안쪽의 노드는 공유한다.
+     */
+    public PersistentVector<E> slice(int fromIndex, int toIndex) {
+        if (fromIndex < 0 || toIndex > size || fromIndex > toIndex) {
+            throw new IndexOutOfBoundsException();
+        }
+        if (fromIndex == 0 && toIndex == size) {
+            return this;
+        }
+        if (fromIndex == toIndex) {
+            return empty();
+        }
+        int tailOffset = tailOffset();
+        if (fromIndex >= tailOffset) {
+            Object[] newTail = Arrays.copyOfRange(tail, fromIndex - tailOffset, toIndex - tailOffset);
+            return new PersistentVector<>(newTail.length, BITS, EMPTY_ROOT, newTail);
+        }
+        PersistentVector<E> whole = toIndex > tailOffset ? withTailPushed() : this;
+        Node sliced = sliceTree(whole.root, whole.shift, fromIndex, toIndex);
+
+        // 가장 오른쪽 잎을 떼어 tail로 쓴다.
+        Node leaf = sliced;
+        for (int s = whole.shift; s > 0; s -= BITS) {
+            leaf = lastChild(leaf);
+        }
+        int newSize = toIndex - fromIndex;
+        int treeSize = newSize - leaf.array.length;
+        Node tree = treeSize == 0 ? EMPTY_ROOT : sliceTree(sliced, whole.shift, 0, treeSize);
+        return collapse(newSize, whole.shift, tree, leaf.array);
+    }
+
+    private static Node sliceTree(Node node, int shift, int from, int to) {
+        if (shift == 0) {
+            if (from == 0 && to == node.array.length) {
+                return node;
+            }
+            return new Node(Arrays.copyOfRange(node.array, from, to), null);
+        }
+        int[] sizes = node.sizes;
+        int first = slotOf(sizes, from, shift);
+        int last = slotOf(sizes, to - 1, shift);
+        Object[] children = new Object[last - first + 1];
+        for (int slot = first; slot <= last; slot++) {
+            int start = slot == 0 ? 0 : sizes[slot - 1];
+            int end = sizes[slot];
+            Node child = (Node) node.array[slot];
+            int childFrom = Math.max(from - start, 0);
+            int childTo = Math.min(to, end) - start;
+            if (childFrom == 0 && childTo == end - start) {
+                children[slot - first] = child;
+            } else {
+                children[slot - first] = sliceTree(child, shift - BITS, childFrom, childTo);
+            }
+        }
+        return internal(children);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public boolean contains(Object value) {
+        return indexOf(value) >= 0;
+    }
+
+    @Override
+    public int indexOf(Object value) {
+        Iter it = new Iter();
+        while (it.index < size) {
+            it.loadLeaf();
+            Object[] leaf = it.leaf;
+            int base = it.leafStart;
+            if (value == null) {
+                for (int i = 0; i < leaf.length; i++) {
+                    if (leaf[i] == null) {
+                        return base + i;
+                    }
+                }
+            } else {
+                for (int i = 0; i < leaf.length; i++) {
+                    if (value.equals(leaf[i])) {
+                        return base + i;
+                    }
+                }
+            }
+            it.index = base + leaf.length;
+        }
+        return -1;
+    }
+
+    public Object[] toArray() {
+        Object[] res = new Object[size];
+        Iter it = new Iter();
+        while (it.index < size) {
+            it.loadLeaf();
+            System.arraycopy(it.leaf, 0, res, it.leafStart, it.leaf.length);
+            it.index = it.leafStart + it.leaf.length;
+        }
+        return res;
+    }
+
+    /**
+     * 트리의 높이(잎 제외)를 반환한다.
+     */
+    public int depth() {
+        return shift / BITS;
+    }
+
+    /**
+     * versions가 참조하는 노드들이 차지하는 메모리의 추정값(바이트)을 반환한다.
+     * 여러 버전이 공유하는 노드는 한 번만 센다. 요소 객체 자체의 크기는 포함하지 않는다.
+     * (압축 참조를 쓰는 64비트 JVM 기준: 객체 헤더 12바이트, 배열 헤더 16바이트, 참조 4바이트, 8바이트 정렬)
+     */
+    public static long estimateRetainedBytes(Iterable<? extends PersistentVector<?>> versions) {
+        Map<Object, Boolean> seen = new IdentityHashMap<>();
+        long bytes = 0;
+        for (PersistentVector<?> v : versions) {
+            if (seen.put(v, Boolean.TRUE) == null) {
+                bytes += align(12 + 4 + 4 + 4 + 4); // size, shift, root, tail
+            }
+            if (seen.put(v.tail, Boolean.TRUE) == null) {
+                bytes += align(16 + 4L * v.tail.length);
+            }
+            bytes += nodeBytes(v.root, seen);
+        }
+        return bytes;
+    }
+
+    private static long nodeBytes(Node node, Map<Object, Boolean> seen) {
+        if (seen.put(node, Boolean.TRUE) != null) {
+            return 0;
+        }
+        long bytes = align(12 + 4 + 4) + align(16 + 4L * node.array.length);
+        if (node.sizes != null) {
+            bytes += align(16 + 4L * node.sizes.length);
+            for (Object child : node.array) {
+                bytes += nodeBytes((Node) child, seen);
+            }
+        }
+        return bytes;
+    }
+
+    private static long align(long bytes) {
+        return (bytes + 7) & ~7L;
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return new Iter();
+    }
+
+    /**
+     * 잎 단위로 순회하는 반복자. 잎 안에서는 배열을 그대로 읽고, 잎이 끝날 때만 트리를 내려간다.
+     */
+    private class Iter implements Iterator<E> {
+
+        private int index = 0;
+        private Object[] leaf = EMPTY_ARRAY;
+        private int leafStart = 0;
+
+        /**
+         * index가 속한 잎(또는 tail)을 leaf에 읽어 온다.
+         */
+        private void loadLeaf() {
+            int tailOffset = tailOffset();
+            if (index >= tailOffset) {
+                leaf = tail;
+                leafStart = tailOffset;
+                return;
+            }
+            Node node = root;
+            int i = index;
+            int start = 0;
+            for (int s = shift; s > 0; s -= BITS) {
+                int[] sizes = node.sizes;
+                int slot = slotOf(sizes, i, s);
+                if (slot > 0) {
+                    i -= sizes[slot - 1];
+                    start += sizes[slot - 1];
+                }
+                node = (Node) node.array[slot];
+            }
+            leaf = node.array;
+            leafStart = start;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return index < size;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public E next() {
+            int i = index;
+            if (i >= size) {
+                throw new NoSuchElementException();
+            }
+            if (i - leafStart >= leaf.length || i < leafStart) {
+                loadLeaf();
+            }
+            index = i + 1;
+            return (E) leaf[i - leafStart];
+        }
+    }
+
+    /**
+     * 요소를 모아 두었다가 한 번에 벡터를 만드는 가변 Builder.
+     * <p>
+     * 추가한 요소는 32개짜리 잎 배열에 그대로 채우고, build()에서 잎들을 아래에서부터 묶어 트리를 만든다.
+     * 경로 복사가 없으므로 n개의 요소를 넣는 비용은 O(n)이다. 기존 벡터에서 시작한 경우 build()는
+     * 기존 벡터와 새로 만든 벡터를 concat으로 잇는다.
+     * build() 후에도 계속 추가할 수 있으며, 다음 build()는 이전 결과 뒤에 이어 붙인다.
+     * Builder는 스레드 안전하지 않다.
+     */
+    public static final class Builder<E> {
+
+        private PersistentVector<E> base;
+        private Object[][] leaves;
+        private int leafCount;
+        private Object[] current;
+        private int currentSize;
+
+        private Builder(PersistentVector<E> base) {
+            this.base = base;
+            reset();
+        }
+
+        private void reset() {
+            leaves = new Object[8][];
+            leafCount = 0;
+            current = new Object[WIDTH];
+            currentSize = 0;
+        }
+
+        private void flushLeaf() {
+            if (leafCount == leaves.length) {
+                leaves = Arrays.copyOf(leaves, leafCount + (leafCount >> 1));
+            }
+            leaves[leafCount++] = current;
+            current = new Object[WIDTH];
+            currentSize = 0;
+        }
+
+        public Builder<E> add(E value) {
+            current[currentSize++] = value;
+            if (currentSize == WIDTH) {
+                flushLeaf();
+            }
+            return this;
+        }
+
+        public Builder<E> addAll(E[] values) {
+            int copied = 0;
+            while (copied < values.length) {
+                int n = Math.min(WIDTH - currentSize, values.length - copied);
+                System.arraycopy(values, copied, current, currentSize, n);
+                currentSize += n;
+                copied += n;
+                if (currentSize == WIDTH) {
+                    flushLeaf();
+                }
+            }
+            return this;
+        }
+
+        public Builder<E> addAll(Iterable<? extends E> values) {
+            for (E value : values) {
+                add(value);
+            }
+            return this;
+        }
+
+        /**
+         * build()를 호출하면 만들어질 벡터의 요소 개수를 반환한다.
+         */
+        public int size() {
+            return base.size + leafCount * WIDTH + currentSize;
+        }
+
+        public PersistentVector<E> build() {
+            if (leafCount == 0 && currentSize == 0) {
+                return base;
+            }
+            Node[] level = new Node[leafCount];
+            for (int i = 0; i < leafCount; i++) {
+                level[i] = new Node(leaves[i], null);
+            }
+            int shift = BITS;
+            while (level.length > WIDTH) {
+                Node[] parents = new Node[(level.length + WIDTH - 1) / WIDTH];
+                for (int i = 0; i < parents.length; i++) {
+                    int from = i * WIDTH;
+                    parents[i] = internal(Arrays.copyOfRange(level, from, Math.min(from + WIDTH, level.length), Object[].class));
+                }
+                level = parents;
+                shift += BITS;
+            }
+            Node root = level.length == 0 ? EMPTY_ROOT : internal(Arrays.copyOf(level, level.length, Object[].class));
+            Object[] tail = Arrays.copyOf(current, currentSize);
+            PersistentVector<E> built = new PersistentVector<>(leafCount * WIDTH + currentSize, shift, root, tail);
+
+            base = base.concat(built);
+            reset();
+            return base;
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package my_interface;
+
+/**
+ * 요소의 위치(인덱스)와 요소를 함께 받는 함수. forEachIndexed에서 사용한다.
+ *
+ * @param <E> the type of elements
+ */
+@FunctionalInterface
+public interface IntObjConsumer<E> {
+
+    /**
+     * @param index 요소의 위치
+     * @param value 요소
+     */
+    void accept(int index, E value);
+}
@@ -0,0 +1,93 @@
+package my_interface;
+
+import java.util.Iterator;
+
+/**
+ * 양쪽 끝에서 삽입/삭제가 가능한 덱(Deque) 인터페이스.
+ * MyQueueInterface의 offer/poll/peek은 각각 offerLast/pollFirst/peekFirst와 같다.
+ * push/pop은 덱의 앞쪽을 스택의 맨 위로 사용한다.
+ *
+ * @param <E> the type of elements in this Deque
+ */
+public interface MyDequeInterface<E> extends MyQueueInterface<E> {
+
+    /**
+     * 덱의 가장 앞에 요소를 추가한다.
+     *
+     * @param e 덱에 추가할 요소
+     * @return 덱에 요소가 정상적으로 추가되었을 경우 true를 반환
+     */
+    boolean offerFirst(E e);
+
+    /**
+     * 덱의 가장 마지막에 요소를 추가한다.
+     *
+     * @param e 덱에 추가할 요소
+     * @return 덱에 요소가 정상적으로 추가되었을 경우 true를 반환
+     */
+    boolean offerLast(E e);
+
+    /**
+     * 덱의 첫 번째 요소를 삭제하고 삭제된 요소를 반환한다.
+     *
+     * @return 삭제된 요소, 덱이 비어있을 경우 null
+     */
+    E pollFirst();
+
+    /**
+     * 덱의 마지막 요소를 삭제하고 삭제된 요소를 반환한다.
+     *
+     * @return 삭제된 요소, 덱이 비어있을 경우 null
+     */
+    E pollLast();
+
+    /**
+     * 덱의 첫 번째 요소를 반환한다.
+     *
+     * @return 첫 번째 요소, 덱이 비어있을 경우 null
+     */
+    E peekFirst();
+
+    /**
+     * 덱의 마지막 요소를 반환한다.
+     *
+     * @return 마지막 요소, 덱이 비어있을 경우 null
+     */
+    E peekLast();
+
+    /**
+     * 덱의 가장 앞(스택의 맨 위)에 요소를 추가한다.
+     *
+     * @param e 덱에 추가할 요소
+     */
+    void push(E e);
+
+    /**
+     * 덱의 가장 앞(스택의 맨 위)에 있는 요소를 삭제하고 반환한다.
+     *
+     * @return 삭제된 요소
+     * @throws java.util.NoSuchElementException 덱이 비어있을 경우
+     */
+    E pop();
+
+    /**
+     * 덱의 요소 개수를 반환한다.
+     *
+     * @return 덱의 요소 개수
+     */
+    int size();
+
+    /**
+     * 덱이 비어있는지를 반환한다.
+     *
+     * @return 덱에 요소가 없을 경우 true
+     */
+    boolean isEmpty();
+
+    /**
+     * 마지막 요소부터 첫 번째 요소 순서로 순회하는 반복자를 반환한다.
+     *
+     * @return 역방향 반복자
+     */
+    Iterator<E> descendingIterator();
+}
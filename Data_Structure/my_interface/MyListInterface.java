@@ -8,8 +8,11 @@ package my_interface;
      @version 1.0
  */
 
+import java.util.Collection;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
 
-public interface MyListInterface<E> {
+public interface MyListInterface<E> extends MyReadableListInterface<E> {
 
   boolean add(E value);
   /*
@@ -46,56 +49,83 @@ public interface MyListInterface<E> {
      삭제에 성공헀을 경우 true를 반환한다.
   */
 
-  E get(int index);
+  void set(int index, E value);
   /*
-     리스트의 index 위치에 있는 요소를 반환한다.
+     리스트의 index 위치에 있는 값을 value로 대체한다.
 
      @param index - 리스트의 위치
-     @return - 리스트의 index 위치에 있는 요소를 반환한다.
+     @return - 새로 대체한 변수(value)
   */
 
-  void set(int index, E value);
+  public void clear();
   /*
-     리스트의 index 위치에 있는 값을 value로 대체한다.
+     리스트의 모든 요소를 삭제한다.
+  */
 
-     @param index - 리스트의 위치
-     @return - 새로 대체한 변수(value)
+  boolean addAll(Collection<? extends E> values);
+  /*
+     컬렉션의 모든 요소를 순서대로 리스트의 끝에 추가한다.
+
+     @param values - 추가할 요소들
+     @return - 리스트가 변경되었을 경우 true를 반환한다.
   */
 
-  boolean contains(Object value);
+  boolean addAll(E[] values);
   /*
-     리스트의 요소 중 value가 있는지 확인한다.
+     배열의 모든 요소를 순서대로 리스트의 끝에 추가한다.
 
-     @param value - 리스트에서 찾을 변수
-     @return - 리스트의 요소 중 value가 있을 경우 true를 반환, 없을 경우
-     false를 반환한다.
+     @param values - 추가할 요소들
+     @return - 리스트가 변경되었을 경우 true를 반환한다.
   */
 
-  int indexOf(Object value);
+  boolean addAll(int index, Collection<? extends E> values);
   /*
-     리스트의 요소 중 값이 value인 요소의 위치를 반환한다.
+     컬렉션의 모든 요소를 순서대로 리스트의 index 위치에 추가한다.
+     index 위치 및 이후의 요소들은 추가한 개수만큼 뒤로 밀려난다.
 
-     @param value - 리스트에서 찾을 변수
-     @return - 리스트의 요소 중 값이 value인 요소의 위치를 반환, 요소 중에
-     value가 없다면 -1을 반환한다.
+     @param index - 첫 번째 요소를 추가할 위치
+     @param values - 추가할 요소들
+     @return - 리스트가 변경되었을 경우 true를 반환한다.
   */
 
-  int size();
+  boolean addAll(int index, E[] values);
   /*
-     리스트 요소의 개수를 반환한다.
+     배열의 모든 요소를 순서대로 리스트의 index 위치에 추가한다.
 
-     @return - 리스트의 요소 개수를 반환한다.
+     @param index - 첫 번째 요소를 추가할 위치
+     @param values - 추가할 요소들
+     @return - 리스트가 변경되었을 경우 true를 반환한다.
   */
 
-  boolean isEmpty();
+  void removeRange(int fromIndex, int toIndex);
   /*
-     리스트가 비어있는지를 확인한다.
+     리스트의 fromIndex(포함)부터 toIndex(미포함)까지의 요소를 삭제한다.
+     이후의 요소들은 삭제한 개수만큼 앞으로 당겨진다.
 
-     @return - 리스트에 요소가 없을 경우 true를 반환, 요소가 있을 경우 false를 반환
+     @param fromIndex - 삭제할 첫 번째 요소의 위치
+     @param toIndex - 삭제할 마지막 요소의 다음 위치
   */
 
-  public void clear();
+  boolean removeIf(Predicate<? super E> filter);
   /*
-     리스트의 모든 요소를 삭제한다.
+     filter를 만족하는 모든 요소를 삭제한다.
+
+     @param filter - 삭제할 요소이면 true를 반환하는 함수
+     @return - 하나 이상의 요소가 삭제되었을 경우 true를 반환한다.
+  */
+
+  boolean retainAll(Collection<?> values);
+  /*
+     values에 포함된 요소만 남기고 나머지를 삭제한다.
+
+     @param values - 남길 요소들
+     @return - 하나 이상의 요소가 삭제되었을 경우 true를 반환한다.
+  */
+
+  void replaceAll(UnaryOperator<E> operator);
+  /*
+     리스트의 모든 요소를 operator를 적용한 결과로 대체한다.
+
+     @param operator - 각 요소에 적용할 함수
   */
 }
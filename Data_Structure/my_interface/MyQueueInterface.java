@@ -1,5 +1,7 @@
 package my_interface;
 
+import java.util.function.Consumer;
+
 public interface MyQueueInterface<E> {
 
     /**
@@ -23,4 +25,70 @@ public interface MyQueueInterface<E> {
      * @return 큐의 첫 번째 요소를 반환한다.
      */
     E peek();
+
+    /**
+     * 큐의 앞쪽부터 최대 max개의 요소를 꺼내 순서대로 action에 넘긴다.
+     * 기본 구현은 poll()을 반복한다. 배열 기반 큐는 용적 조정을 한 번만 하도록 재정의한다.
+     *
+     * @param action 꺼낸 요소를 받을 함수
+     * @param max    최대로 꺼낼 요소 개수
+     * @return 꺼낸 요소 개수
+     */
+    default int drainTo(Consumer<? super E> action, int max) {
+        if (action == null) {
+            throw new NullPointerException();
+        }
+        if (max < 0) {
+            throw new IllegalArgumentException();
+        }
+        int n = 0;
+        E e;
+        while (n < max && (e = poll()) != null) {
+            action.accept(e);
+            n++;
+        }
+        return n;
+    }
+
+    /**
+     * 큐의 앞쪽부터 최대 max개의 요소를 꺼내 dst[off]부터 순서대로 담는다.
+     * 배열 기반 큐는 System.arraycopy 최대 두 번으로 처리한다.
+     *
+     * @param dst 꺼낸 요소를 담을 배열
+     * @param off dst에서 첫 요소를 담을 위치
+     * @param max 최대로 꺼낼 요소 개수 (off + max는 dst.length 이하여야 한다)
+     * @return 꺼낸 요소 개수
+     */
+    default int drainTo(E[] dst, int off, int max) {
+        if (off < 0 || max < 0 || off > dst.length - max) {
+            throw new IndexOutOfBoundsException();
+        }
+        int n = 0;
+        E e;
+        while (n < max && (e = poll()) != null) {
+            dst[off + n] = e;
+            n++;
+        }
+        return n;
+    }
+
+    /**
+     * src[off]부터 len개의 요소를 순서대로 큐의 끝에 추가한다.
+     * 용량이 제한된 큐는 가득 차면 멈춘다. 배열 기반 큐는 용적 확인 한 번과 System.arraycopy 최대 두 번으로 처리한다.
+     *
+     * @param src 추가할 요소가 담긴 배열
+     * @param off 첫 번째로 추가할 요소의 위치
+     * @param len 추가할 요소 개수
+     * @return 실제로 추가한 요소 개수
+     */
+    default int offerAll(E[] src, int off, int len) {
+        if (off < 0 || len < 0 || off > src.length - len) {
+            throw new IndexOutOfBoundsException();
+        }
+        int n = 0;
+        while (n < len && offer(src[off + n])) {
+            n++;
+        }
+        return n;
+    }
 }
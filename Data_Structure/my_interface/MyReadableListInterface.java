@@ -0,0 +1,50 @@
+package my_interface;
+/*
+     리스트의 읽기 연산만 모은 인터페이스.
+     MyListInterface는 이 인터페이스를 확장하고, 변경 연산 대신 새 버전을 반환하는
+     영속(persistent) 리스트는 이 인터페이스만 구현한다.
+     @param <E> the type of elements in this list
+ */
+
+public interface MyReadableListInterface<E> {
+
+  E get(int index);
+  /*
+     리스트의 index 위치에 있는 요소를 반환한다.
+
+     @param index - 리스트의 위치
+     @return - 리스트의 index 위치에 있는 요소를 반환한다.
+  */
+
+  int size();
+  /*
+     리스트 요소의 개수를 반환한다.
+
+     @return - 리스트의 요소 개수를 반환한다.
+  */
+
+  boolean isEmpty();
+  /*
+     리스트가 비어있는지를 확인한다.
+
+     @return - 리스트에 요소가 없을 경우 true를 반환, 요소가 있을 경우 false를 반환
+  */
+
+  boolean contains(Object value);
+  /*
+     리스트의 요소 중 value가 있는지 확인한다.
+
+     @param value - 리스트에서 찾을 변수
+     @return - 리스트의 요소 중 value가 있을 경우 true를 반환, 없을 경우
+     false를 반환한다.
+  */
+
+  int indexOf(Object value);
+  /*
+     리스트의 요소 중 값이 value인 요소의 위치를 반환한다.
+
+     @param value - 리스트에서 찾을 변수
+     @return - 리스트의 요소 중 값이 value인 요소의 위치를 반환, 요소 중에
+     value가 없다면 -1을 반환한다.
+  */
+}
@@ -59,4 +59,61 @@ public interface MyStackInterface<E> {
 
     @return 스택에 요소가 없을 경우 true, 있을 경우 false를 반환
    */
+
+  default void pushAll(E[] src, int off, int len) {
+    if (off < 0 || len < 0 || off > src.length - len) {
+      throw new IndexOutOfBoundsException();
+    }
+    for (int i = off, end = off + len; i < end; i++) {
+      push(src[i]);
+    }
+  }
+  /*
+    src[off]부터 len개의 요소를 순서대로 스택에 추가한다. 마지막 요소(src[off + len - 1])가 맨 위에 놓인다.
+    기본 구현은 push()를 반복한다. 배열 기반 스택은 용적 확인 한 번과 System.arraycopy 한 번으로 처리한다.
+
+    @param src 추가할 요소가 담긴 배열
+    @param off 첫 번째로 추가할 요소의 위치
+    @param len 추가할 요소 개수
+   */
+
+  default void pushAll(E[] src) {
+    pushAll(src, 0, src.length);
+  }
+  /*
+    배열의 모든 요소를 순서대로 스택에 추가한다.
+
+    @param src 추가할 요소가 담긴 배열
+   */
+
+  default int popInto(E[] dst, int off, int max) {
+    if (off < 0 || max < 0 || off > dst.length - max) {
+      throw new IndexOutOfBoundsException();
+    }
+    int n = 0;
+    while (n < max && !empty()) {
+      dst[off + n] = pop();
+      n++;
+    }
+    return n;
+  }
+  /*
+    스택의 맨 위부터 최대 max개의 요소를 제거하여 pop 순서대로 dst[off]부터 담는다.
+    기본 구현은 pop()을 반복한다. 배열 기반 스택은 용적 조정을 한 번만 한다.
+
+    @param dst 제거한 요소를 담을 배열
+    @param off dst에서 첫 요소를 담을 위치
+    @param max 최대로 제거할 요소 개수 (off + max는 dst.length 이하여야 한다)
+    @return 제거한 요소 개수
+   */
+
+  default int popInto(E[] dst) {
+    return popInto(dst, 0, dst.length);
+  }
+  /*
+    스택의 맨 위부터 최대 dst.length개의 요소를 제거하여 pop 순서대로 dst에 담는다.
+
+    @param dst 제거한 요소를 담을 배열
+    @return 제거한 요소 개수
+   */
 }
@@ -0,0 +1,37 @@
+package my_util;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * 확장 용적을 hugeRangeCheck로 확인한 결과를 나타내는 JFR 이벤트.
+ * 요청한 용적이 int 범위를 넘었거나 최대 배열 크기를 넘어서 잘렸으면 clamped가 true이다.
+ */
+@Name("datastructure.HugeRangeCheck")
+@Label("Huge Range Check")
+@Category({"Data Structure", "Memory"})
+@Description("Requested capacity was checked against the maximum array size")
+@StackTrace(false)
+final class HugeRangeCheckEvent extends jdk.jfr.Event {
+
+    @Label("Structure")
+    String structure;
+
+    @Label("Call Site")
+    String callSite;
+
+    @Label("Size")
+    int size;
+
+    @Label("Old Capacity")
+    int oldCapacity;
+
+    @Label("Requested Capacity")
+    int requestedCapacity;
+
+    @Label("Clamped")
+    boolean clamped;
+}
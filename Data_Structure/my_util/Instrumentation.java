@@ -0,0 +1,149 @@
+package my_util;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * 배열 기반 자료구조의 선택적 계측(JFR 이벤트, JMX 카운터).
+ * <p>
+ * JVM을 -Ddatastructure.instrumentation=true 로 시작했을 때만 켜진다.
+ * ENABLED는 클래스 초기화 때 정해지는 static final 상수이므로, 자료구조의 호출 지점을
+ * if (Instrumentation.ENABLED) { ... } 로 감싸 두면 꺼져 있을 때 JIT이 분기 전체를 제거한다.
+ * <p>
+ * 켜져 있으면
+ * <ul>
+ *   <li>재할당마다 ResizeEvent("datastructure.Resize"), hugeRangeCheck마다 HugeRangeCheckEvent를 기록한다.
+ *       (JFR 녹화에서 해당 이벤트가 활성화되어 있을 때만 호출 위치를 찾는다)</li>
+ *   <li>클래스별 전역 카운터(StructureStats)를 갱신하고 "datastructure:type=StructureStats,name=..."으로 JMX에 등록한다.</li>
+ *   <li>인스턴스별 카운터(연산 횟수, 최대 요소 개수, 할당한 바이트)를 그 인스턴스의 ResizePolicy에 누적한다.</li>
+ * </ul>
+ */
+public final class Instrumentation {
+
+    public static final boolean ENABLED = Boolean.getBoolean("datastructure.instrumentation");
+
+    /**
+     * 배열 할당 크기 추정에 쓰는 값. (64비트 JVM, compressed oops 기준)
+     */
+    private static final int ARRAY_HEADER_BYTES = 16;
+    private static final int REFERENCE_BYTES = 4;
+
+    private static final ConcurrentMap<String, StructureStats> STATS = new ConcurrentHashMap<>();
+
+    private static final StackWalker WALKER = StackWalker.getInstance();
+
+    private Instrumentation() {
+    }
+
+    /**
+     * structure 클래스의 전역 카운터를 반환한다. 처음 요청될 때 만들고, 계측이 켜져 있으면 JMX에 등록한다.
+     * 자료구조 클래스는 이 값을 static final 필드에 보관한다.
+     */
+    public static StructureStats stats(Class<?> structure) {
+        return STATS.computeIfAbsent(structure.getName(), name -> {
+            StructureStats stats = new StructureStats(name);
+            if (ENABLED) {
+                register(structure.getSimpleName(), stats);
+            }
+            return stats;
+        });
+    }
+
+    private static void register(String simpleName, StructureStats stats) {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName objectName = new ObjectName("datastructure:type=StructureStats,name=" + simpleName);
+            if (!server.isRegistered(objectName)) {
+                server.registerMBean(stats, objectName);
+            }
+        } catch (JMException e) {
+            // 계측 때문에 자료구조 생성이 실패해서는 안 된다. 카운터는 JMX 없이도 계속 갱신된다.
+        }
+    }
+
+    /**
+     * 요소 하나를 추가/삭제한 뒤 호출한다.
+     *
+     * @param size 연산 후 요소 개수
+     */
+    public static void operation(StructureStats stats, ResizePolicy policy, int size) {
+        stats.recordOperation(size);
+        policy.recordOperation(size);
+    }
+
+    /**
+     * 여러 요소를 한 번에 추가/삭제한 뒤 호출한다. 연산 횟수는 count만큼 늘어난다.
+     *
+     * @param count 추가/삭제한 요소 개수
+     * @param size  연산 후 요소 개수
+     */
+    public static void operations(StructureStats stats, ResizePolicy policy, int count, int size) {
+        stats.recordOperations(count, size);
+        policy.recordOperations(count, size);
+    }
+
+    /**
+     * 배열을 새로 할당해서 요소를 옮긴 뒤 호출한다.
+     *
+     * @param copied 새 배열로 옮긴 요소 개수
+     */
+    public static void resized(StructureStats stats, ResizePolicy policy, int oldCapacity, int newCapacity,
+        int copied) {
+        long bytes = ARRAY_HEADER_BYTES + (long) newCapacity * REFERENCE_BYTES;
+        stats.recordResize(copied, bytes);
+        policy.recordAllocation(bytes);
+
+        ResizeEvent event = new ResizeEvent();
+        if (event.shouldCommit()) {
+            event.structure = stats.getName();
+            event.callSite = callSite();
+            event.cause = newCapacity > oldCapacity ? "grow" : newCapacity < oldCapacity ? "shrink" : "copy";
+            event.oldCapacity = oldCapacity;
+            event.newCapacity = newCapacity;
+            event.copied = copied;
+            event.allocatedBytes = bytes;
+            event.commit();
+        }
+    }
+
+    /**
+     * hugeRangeCheck에 들어올 때 호출한다.
+     *
+     * @param requestedCapacity 정책이 계산한 확장 용적 (int overflow로 음수일 수 있다)
+     * @param maxArraySize      자료구조의 최대 용적
+     */
+    public static void hugeRangeCheck(StructureStats stats, int size, int oldCapacity, int requestedCapacity,
+        int maxArraySize) {
+        boolean clamped = requestedCapacity < 0 || requestedCapacity > maxArraySize || maxArraySize - size <= 0;
+        if (clamped) {
+            stats.recordHugeRangeClamp();
+        }
+
+        HugeRangeCheckEvent event = new HugeRangeCheckEvent();
+        if (event.shouldCommit()) {
+            event.structure = stats.getName();
+            event.callSite = callSite();
+            event.size = size;
+            event.oldCapacity = oldCapacity;
+            event.requestedCapacity = requestedCapacity;
+            event.clamped = clamped;
+            event.commit();
+        }
+    }
+
+    /**
+     * 자료구조 패키지와 my_util 밖에서 처음 만나는 호출 클래스의 이름.
+     * 자료구조 패키지는 이름이 '_'로 시작한다.
+     */
+    private static String callSite() {
+        return WALKER.walk(frames -> frames
+            .map(StackWalker.StackFrame::getClassName)
+            .filter(name -> !name.startsWith("my_util.") && !name.startsWith("_"))
+            .findFirst()
+            .orElse("unknown"));
+    }
+}
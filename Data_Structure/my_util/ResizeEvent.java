@@ -0,0 +1,44 @@
+package my_util;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * 배열 기반 자료구조의 배열 재할당 한 번을 나타내는 JFR 이벤트.
+ * Instrumentation.ENABLED가 true일 때만 만들어진다.
+ */
+@Name("datastructure.Resize")
+@Label("Array Resize")
+@Category({"Data Structure", "Memory"})
+@Description("Backing array of a data structure was reallocated")
+@StackTrace(false)
+final class ResizeEvent extends jdk.jfr.Event {
+
+    @Label("Structure")
+    String structure;
+
+    @Label("Call Site")
+    @Description("First calling class outside the data structure")
+    String callSite;
+
+    @Label("Cause")
+    @Description("grow, shrink or copy (copy-on-write unshare)")
+    String cause;
+
+    @Label("Old Capacity")
+    int oldCapacity;
+
+    @Label("New Capacity")
+    int newCapacity;
+
+    @Label("Elements Copied")
+    int copied;
+
+    @Label("Bytes Allocated")
+    @DataAmount
+    long allocatedBytes;
+}
@@ -0,0 +1,234 @@
+package my_util;
+
+/**
+ * 배열 기반 자료구조(MyArrayList, MyStack, MyArrayQueue, ArrayDeque)의 용적 확장/축소 정책.
+ * <p>
+ * 확장은 growthFactor 배로 이루어진다.
+ * 축소는 요소 개수가 용적의 shrinkThreshold 비율 미만으로 떨어졌을 때만 shrinkFactor 배로 이루어진다.
+ * 확장 직후(요소 개수 = 용적 / growthFactor)나 축소 직후(요소 개수 < 용적 * shrinkThreshold / shrinkFactor)에
+ * 바로 반대 방향의 재할당이 일어나지 않도록 두 임계값 사이에 간격(hysteresis)을 강제한다.
+ * 따라서 임계값 근처에서 push/pop을 반복해도 배열 전체를 반복해서 복사하지 않는다.
+ * <p>
+ * 정책 객체는 재할당 횟수와 복사한 요소 개수를 센다.
+ * Instrumentation이 켜져 있으면 연산 횟수, 최대 요소 개수, 할당한 바이트(추정)도 센다.
+ * 여러 자료구조가 하나의 정책 객체를 공유하면 카운터도 합산된다. 카운터는 동기화되지 않는다.
+ */
+public final class ResizePolicy {
+
+    public static final double DEFAULT_GROWTH_FACTOR = 1.5;
+    public static final double DEFAULT_SHRINK_THRESHOLD = 0.25;
+    public static final double DEFAULT_SHRINK_FACTOR = 0.5;
+
+    private final double growthFactor;
+    private final double shrinkThreshold;
+    private final double shrinkFactor;
+    private final boolean shrinkEnabled;
+
+    private long reallocations; // 배열 재할당 횟수
+    private long copiedElements; // 재할당 중 복사된 요소 개수
+    private long operations; // 추가/삭제 연산 횟수 (Instrumentation.ENABLED일 때만)
+    private int peakSize; // 연산 직후 요소 개수의 최댓값 (Instrumentation.ENABLED일 때만)
+    private long allocatedBytes; // 재할당한 배열 크기의 합 (Instrumentation.ENABLED일 때만)
+
+    private ResizePolicy(double growthFactor, double shrinkThreshold, double shrinkFactor,
+        boolean shrinkEnabled) {
+        this.growthFactor = growthFactor;
+        this.shrinkThreshold = shrinkThreshold;
+        this.shrinkFactor = shrinkFactor;
+        this.shrinkEnabled = shrinkEnabled;
+    }
+
+    /**
+     * 1.5배 확장, 용적의 1/4 미만일 때 절반으로 축소하는 기본 정책을 새로 만든다.
+     */
+    public static ResizePolicy defaultPolicy() {
+        return new Builder().build();
+    }
+
+    /**
+     * 1.5배로 확장만 하고 축소는 하지 않는 정책을 새로 만든다.
+     * 용적을 줄이려면 자료구조의 trimToSize()를 명시적으로 호출해야 한다.
+     */
+    public static ResizePolicy neverShrink() {
+        return new Builder().neverShrink().build();
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * 배열이 가득 찼을 때 확장할 용적을 반환한다.
+     * 반환값은 MAX_ARRAY_SIZE를 넘을 수 있으므로 호출하는 쪽에서 hugeRangeCheck로 한 번 더 확인해야 한다.
+     *
+     * @param oldCapacity 현재 용적
+     * @param minCapacity 최소로 필요한 용적
+     * @return 확장할 용적 (int 범위를 넘으면 Integer.MAX_VALUE)
+     */
+    public int growCapacity(int oldCapacity, int minCapacity) {
+        long newCapacity = (long) (oldCapacity * growthFactor);
+        if (newCapacity <= oldCapacity) {
+            newCapacity = oldCapacity + 1L;
+        }
+        if (newCapacity < minCapacity) {
+            newCapacity = minCapacity;
+        }
+        return (int) Math.min(newCapacity, Integer.MAX_VALUE);
+    }
+
+    /**
+     * 요소를 삭제한 뒤 축소할 용적을 반환한다. 축소하지 않아야 할 경우 capacity를 그대로 반환한다.
+     *
+     * @param capacity    현재 용적
+     * @param required    유지해야 하는 최소 칸 수(보통 요소 개수)
+     * @param minCapacity 축소할 수 있는 최소 용적(각 자료구조의 DEFAULT_CAPACITY)
+     * @return 축소할 용적, 축소하지 않을 경우 capacity
+     */
+    public int shrinkCapacity(int capacity, int required, int minCapacity) {
+        if (!shrinkEnabled || capacity <= minCapacity || required >= capacity * shrinkThreshold) {
+            return capacity;
+        }
+        int newCapacity = Math.max((int) (capacity * shrinkFactor), minCapacity);
+        return Math.max(newCapacity, required);
+    }
+
+    /**
+     * 배열을 재할당했음을 기록한다.
+     *
+     * @param copied 새 배열로 복사한 요소 개수
+     */
+    public void recordReallocation(int copied) {
+        reallocations++;
+        copiedElements += copied;
+    }
+
+    void recordOperation(int size) {
+        operations++;
+        if (size > peakSize) {
+            peakSize = size;
+        }
+    }
+
+    void recordOperations(int count, int size) {
+        operations += count;
+        if (size > peakSize) {
+            peakSize = size;
+        }
+    }
+
+    void recordAllocation(long bytes) {
+        allocatedBytes += bytes;
+    }
+
+    public long getReallocations() {
+        return reallocations;
+    }
+
+    public long getCopiedElements() {
+        return copiedElements;
+    }
+
+    public long getOperations() {
+        return operations;
+    }
+
+    public int getPeakSize() {
+        return peakSize;
+    }
+
+    public long getAllocatedBytes() {
+        return allocatedBytes;
+    }
+
+    public void resetCounters() {
+        reallocations = 0;
+        copiedElements = 0;
+        operations = 0;
+        peakSize = 0;
+        allocatedBytes = 0;
+    }
+
+    public double getGrowthFactor() {
+        return growthFactor;
+    }
+
+    public double getShrinkThreshold() {
+        return shrinkThreshold;
+    }
+
+    public double getShrinkFactor() {
+        return shrinkFactor;
+    }
+
+    public boolean isShrinkEnabled() {
+        return shrinkEnabled;
+    }
+
+    /**
+     * 같은 설정에 카운터만 0인 새 정책을 반환한다. clone() 시 원본과 카운터를 공유하지 않기 위해 사용한다.
+     */
+    public ResizePolicy copy() {
+        return new ResizePolicy(growthFactor, shrinkThreshold, shrinkFactor, shrinkEnabled);
+    }
+
+    @Override
+    public String toString() {
+        return "ResizePolicy{growth=" + growthFactor
+            + (shrinkEnabled ? ", shrinkBelow=" + shrinkThreshold + ", shrinkTo=" + shrinkFactor
+            : ", neverShrink")
+            + ", reallocations=" + reallocations + ", copied=" + copiedElements + '}';
+    }
+
+    public static final class Builder {
+
+        private double growthFactor = DEFAULT_GROWTH_FACTOR;
+        private double shrinkThreshold = DEFAULT_SHRINK_THRESHOLD;
+        private double shrinkFactor = DEFAULT_SHRINK_FACTOR;
+        private boolean shrinkEnabled = true;
+
+        private Builder() {
+        }
+
+        /**
+         * @param growthFactor 가득 찼을 때 곱할 배수 (1보다 커야 한다)
+         */
+        public Builder growthFactor(double growthFactor) {
+            this.growthFactor = growthFactor;
+            return this;
+        }
+
+        /**
+         * @param shrinkThreshold 요소 개수가 용적의 이 비율 미만이면 축소한다
+         * @param shrinkFactor    축소할 때 곱할 배수
+         */
+        public Builder shrink(double shrinkThreshold, double shrinkFactor) {
+            this.shrinkThreshold = shrinkThreshold;
+            this.shrinkFactor = shrinkFactor;
+            this.shrinkEnabled = true;
+            return this;
+        }
+
+        public Builder neverShrink() {
+            this.shrinkEnabled = false;
+            return this;
+        }
+
+        public ResizePolicy build() {
+            if (!(growthFactor > 1.0)) {
+                throw new IllegalArgumentException("growthFactor must be > 1: " + growthFactor);
+            }
+            if (shrinkEnabled) {
+                if (!(shrinkFactor > 0.0 && shrinkFactor < 1.0)) {
+                    throw new IllegalArgumentException("shrinkFactor must be in (0, 1): " + shrinkFactor);
+                }
+                // 축소 직후 가득 차거나, 확장 직후 바로 축소되는 경우를 막는다.
+                if (!(shrinkThreshold > 0.0 && shrinkThreshold < shrinkFactor
+                    && shrinkThreshold * growthFactor < 1.0)) {
+                    throw new IllegalArgumentException(
+                        "shrinkThreshold must be below shrinkFactor and 1/growthFactor: " + shrinkThreshold);
+                }
+            }
+            return new ResizePolicy(growthFactor, shrinkThreshold, shrinkFactor, shrinkEnabled);
+        }
+    }
+}
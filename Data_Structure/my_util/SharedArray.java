@@ -0,0 +1,48 @@
+package my_util;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 복사 지연(copy-on-write) clone을 위한 배열 공유 표시.
+ * <p>
+ * clone()은 배열을 복사하지 않고 원본과 복제본이 같은 배열과 같은 SharedArray를 가리키게 한다.
+ * 공유 중인 자료구조는 처음으로 배열을 변경하기 직전에 release()를 호출하고,
+ * 다른 소유자가 남아 있으면 배열을 복사해서 자신만의 배열을 갖는다. 마지막 소유자는 복사하지 않고 그대로 쓴다.
+ * <p>
+ * 서로 다른 스레드가 원본과 복제본을 각각 변경할 수 있으므로 소유자 수는 원자적으로 관리한다.
+ * (하나의 자료구조를 여러 스레드가 동시에 변경하는 것은 여전히 허용되지 않는다)
+ * <p>
+ * 더 이상 쓰지 않는 복제본도 소유자로 남아 있으므로, 그 경우 원본은 첫 변경 때 한 번 복사한다.
+ */
+public final class SharedArray {
+
+    private final AtomicInteger owners = new AtomicInteger(1);
+
+    /**
+     * 공유 표시가 없으면 새로 만들고, 소유자를 하나 늘려 반환한다.
+     * 원본과 복제본 모두 반환값을 공유 표시로 가져야 한다.
+     *
+     * @param current 현재 공유 표시 (없으면 null)
+     */
+    public static SharedArray share(SharedArray current) {
+        SharedArray shared = current == null ? new SharedArray() : current;
+        shared.owners.incrementAndGet();
+        return shared;
+    }
+
+    /**
+     * 배열의 공유를 끝낸다.
+     *
+     * @return 다른 소유자가 남아 있으면 true. 이 경우 호출한 쪽은 배열을 변경하기 전에 복사해야 한다.
+     */
+    public boolean release() {
+        return owners.getAndDecrement() != 1;
+    }
+
+    /**
+     * 현재 배열을 공유하는 자료구조 개수를 반환한다. (근사값)
+     */
+    public int owners() {
+        return owners.get();
+    }
+}
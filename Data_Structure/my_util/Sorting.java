@@ -0,0 +1,50 @@
+package my_util;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * 배열 기반 자료구조들이 공유하는 정렬 함수.
+ * <p>
+ * 정렬할 구간의 길이가 parallelThreshold 이상이고 공용 ForkJoinPool이 둘 이상의 스레드를 쓸 수 있으면
+ * Arrays.parallelSort(병렬 병합 정렬)를, 아니면 Arrays.sort를 사용한다. 두 정렬 모두 안정 정렬이다.
+ */
+public final class Sorting {
+
+    /**
+     * 병렬 정렬을 시작하는 기본 요소 개수.
+     * 이보다 작은 배열은 작업을 나누고 합치는 비용이 정렬 시간보다 크다.
+     */
+    public static final int DEFAULT_PARALLEL_SORT_THRESHOLD = 1 << 16;
+
+    private Sorting() {
+    }
+
+    /**
+     * a[fromIndex, toIndex) 구간을 정렬한다.
+     *
+     * @param c                 정렬 기준, null이면 요소의 Comparable 구현을 따른다
+     * @param parallelThreshold 병렬 정렬을 사용할 최소 구간 길이
+     */
+    public static <E> void sort(E[] a, int fromIndex, int toIndex, Comparator<? super E> c,
+        int parallelThreshold) {
+        if (toIndex - fromIndex >= parallelThreshold && ForkJoinPool.getCommonPoolParallelism() > 1) {
+            Arrays.parallelSort(a, fromIndex, toIndex, c);
+        } else {
+            Arrays.sort(a, fromIndex, toIndex, c);
+        }
+    }
+
+    /**
+     * 병렬 정렬 임계값이 올바른지 확인한다.
+     *
+     * @throws IllegalArgumentException threshold가 1보다 작은 경우
+     */
+    public static int checkThreshold(int threshold) {
+        if (threshold < 1) {
+            throw new IllegalArgumentException("parallel sort threshold must be >= 1: " + threshold);
+        }
+        return threshold;
+    }
+}
@@ -0,0 +1,95 @@
+package my_util;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 같은 클래스의 모든 인스턴스가 함께 쓰는 전역 카운터.
+ * 여러 스레드의 서로 다른 인스턴스가 동시에 갱신하므로 LongAdder/LongAccumulator를 사용한다.
+ * Instrumentation.ENABLED가 false이면 갱신되지 않는다.
+ */
+public final class StructureStats implements StructureStatsMXBean {
+
+    private final String name;
+    private final LongAdder operations = new LongAdder();
+    private final LongAdder resizes = new LongAdder();
+    private final LongAdder copiedElements = new LongAdder();
+    private final LongAdder allocatedBytes = new LongAdder();
+    private final LongAccumulator peakSize = new LongAccumulator(Math::max, 0);
+    private final LongAdder hugeRangeClamps = new LongAdder();
+
+    StructureStats(String name) {
+        this.name = name;
+    }
+
+    void recordOperation(int size) {
+        operations.increment();
+        peakSize.accumulate(size);
+    }
+
+    void recordOperations(int count, int size) {
+        operations.add(count);
+        peakSize.accumulate(size);
+    }
+
+    void recordResize(int copied, long bytes) {
+        resizes.increment();
+        copiedElements.add(copied);
+        allocatedBytes.add(bytes);
+    }
+
+    void recordHugeRangeClamp() {
+        hugeRangeClamps.increment();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public long getOperations() {
+        return operations.sum();
+    }
+
+    @Override
+    public long getResizes() {
+        return resizes.sum();
+    }
+
+    @Override
+    public long getCopiedElements() {
+        return copiedElements.sum();
+    }
+
+    @Override
+    public long getAllocatedBytes() {
+        return allocatedBytes.sum();
+    }
+
+    @Override
+    public int getPeakSize() {
+        return (int) peakSize.get();
+    }
+
+    @Override
+    public long getHugeRangeClamps() {
+        return hugeRangeClamps.sum();
+    }
+
+    @Override
+    public void reset() {
+        operations.reset();
+        resizes.reset();
+        copiedElements.reset();
+        allocatedBytes.reset();
+        peakSize.reset();
+        hugeRangeClamps.reset();
+    }
+
+    @Override
+    public String toString() {
+        return "StructureStats{" + name + ", operations=" + getOperations() + ", resizes=" + getResizes()
+            + ", copied=" + getCopiedElements() + ", allocatedBytes=" + getAllocatedBytes()
+            + ", peakSize=" + getPeakSize() + ", hugeRangeClamps=" + getHugeRangeClamps() + '}';
+    }
+}
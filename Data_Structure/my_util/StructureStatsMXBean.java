@@ -0,0 +1,22 @@
+package my_util;
+
+/**
+ * 자료구조 클래스 하나의 전역 카운터를 JMX로 공개하는 인터페이스.
+ * ObjectName은 "datastructure:type=StructureStats,name=클래스 이름" 이다.
+ */
+public interface StructureStatsMXBean {
+
+    long getOperations();
+
+    long getResizes();
+
+    long getCopiedElements();
+
+    long getAllocatedBytes();
+
+    int getPeakSize();
+
+    long getHugeRangeClamps();
+
+    void reset();
+}
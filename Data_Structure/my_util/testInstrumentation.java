@@ -0,0 +1,107 @@
+package my_util;
+
+import _1_array_list.MyArrayList;
+import _2_stack.MyStack;
+import _3_array_queue.MyArrayQueue;
+import java.lang.management.ManagementFactory;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/*
+     계측을 켠 상태에서 MyArrayList, MyStack, MyArrayQueue의 대량 연산(addAll/removeRange/removeIf,
+     pushAll/popInto, offerAll/drainTo)이 JMX 카운터와 인스턴스별 카운터에 반영되는지 확인한다.
+     대량 연산 한 번은 옮긴 요소 개수만큼의 연산으로 센다.
+     ENABLED는 Instrumentation 클래스가 초기화될 때 정해지므로, 그 전에 시스템 속성을 켠다.
+     (-Ddatastructure.instrumentation=true 로 실행해도 된다)
+ */
+public class testInstrumentation {
+
+    static final int COUNT = 1000;
+
+    public static void main(String[] args) throws JMException {
+        System.setProperty("datastructure.instrumentation", "true");
+        check(Instrumentation.ENABLED, "계측이 켜지지 않았다");
+        arrayList();
+        stack();
+        arrayQueue();
+    }
+
+    static void check(boolean condition, String message) {
+        if (!condition) {
+            throw new AssertionError(message);
+        }
+    }
+
+    static Integer[] values(int n) {
+        Integer[] values = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            values[i] = i;
+        }
+        return values;
+    }
+
+    /**
+     * JMX에 등록된 클래스별 카운터와 인스턴스의 ResizePolicy 카운터가 모두 기대한 값인지 확인한다.
+     */
+    static void expect(String name, ResizePolicy policy, long operations, int peakSize) throws JMException {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName objectName = new ObjectName("datastructure:type=StructureStats,name=" + name);
+        long jmxOperations = (Long) server.getAttribute(objectName, "Operations");
+        int jmxPeakSize = (Integer) server.getAttribute(objectName, "PeakSize");
+        long jmxResizes = (Long) server.getAttribute(objectName, "Resizes");
+        check(jmxOperations == operations, name + ": JMX Operations " + jmxOperations + ", 기대값 " + operations);
+        check(jmxPeakSize == peakSize, name + ": JMX PeakSize " + jmxPeakSize + ", 기대값 " + peakSize);
+        check(jmxResizes >= 1, name + ": JMX Resizes가 0이다");
+        check(policy.getOperations() == operations, name + ": 인스턴스 operations " + policy.getOperations());
+        check(policy.getPeakSize() == peakSize, name + ": 인스턴스 peakSize " + policy.getPeakSize());
+    }
+
+    static void arrayList() throws JMException {
+        MyArrayList<Integer> list = new MyArrayList<>();
+        list.addAll(values(COUNT));
+        expect("MyArrayList", list.getResizePolicy(), COUNT, COUNT);
+
+        list.removeRange(0, 100);
+        list.removeIf(v -> v % 2 == 0);
+        list.add(0, -1);
+        expect("MyArrayList", list.getResizePolicy(), COUNT + 100 + 450 + 1, COUNT);
+        check(list.size() == 451, "MyArrayList: 크기 " + list.size());
+        System.out.println("MyArrayList  : addAll/removeRange/removeIf가 옮긴 요소 개수만큼 연산으로 기록됨");
+    }
+
+    static void stack() throws JMException {
+        MyStack<Integer> stack = new MyStack<>();
+        stack.pushAll(values(COUNT), 0, COUNT);
+        expect("MyStack", stack.getResizePolicy(), COUNT, COUNT);
+
+        Integer[] dst = new Integer[300];
+        check(stack.popInto(dst, 0, dst.length) == 300 && dst[0] == COUNT - 1, "MyStack: popInto 결과가 다르다");
+        stack.push(-1);
+        expect("MyStack", stack.getResizePolicy(), COUNT + 300 + 1, COUNT);
+        System.out.println("MyStack      : pushAll/popInto가 옮긴 요소 개수만큼 연산으로 기록됨");
+    }
+
+    static void arrayQueue() throws JMException {
+        MyArrayQueue<Integer> queue = new MyArrayQueue<>();
+        check(queue.offerAll(values(COUNT), 0, COUNT) == COUNT, "MyArrayQueue: offerAll 결과가 다르다");
+        expect("MyArrayQueue", queue.getResizePolicy(), COUNT, COUNT);
+
+        check(queue.drainTo(new Integer[200], 0, 200) == 200, "MyArrayQueue: drainTo(배열) 결과가 다르다");
+        check(queue.drainTo(v -> { }, 300) == 300, "MyArrayQueue: drainTo(action) 결과가 다르다");
+        // action이 예외를 던져도 그때까지 넘긴 요소(예외를 던진 요소 포함)는 꺼낸 것으로 센다.
+        int[] seen = {0};
+        try {
+            queue.drainTo(v -> {
+                if (++seen[0] == 5) {
+                    throw new IllegalStateException();
+                }
+            }, 100);
+            check(false, "MyArrayQueue: action의 예외가 전달되지 않았다");
+        } catch (IllegalStateException expected) {
+        }
+        expect("MyArrayQueue", queue.getResizePolicy(), COUNT + 200 + 300 + 5, COUNT);
+        check(queue.size() == COUNT - 505, "MyArrayQueue: 크기 " + queue.size());
+        System.out.println("MyArrayQueue : offerAll/drainTo가 옮긴 요소 개수만큼 연산으로 기록됨");
+    }
+}
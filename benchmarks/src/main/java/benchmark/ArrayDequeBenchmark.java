@@ -0,0 +1,125 @@
+package benchmark;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * _4_array_deque.ArrayDeque와 java.util.ArrayDeque 비교.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ArrayDequeBenchmark {
+
+    @Param({"100", "10000", "1000000"})
+    int size;
+
+    Integer[] values;
+    _4_array_deque.ArrayDeque<Integer> myDeque;
+    java.util.ArrayDeque<Integer> jdkDeque;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        values = new Integer[size];
+        myDeque = new _4_array_deque.ArrayDeque<>();
+        jdkDeque = new java.util.ArrayDeque<>();
+        for (int i = 0; i < size; i++) {
+            values[i] = i;
+            myDeque.offerLast(values[i]);
+            jdkDeque.offerLast(values[i]);
+        }
+    }
+
+    // 앞뒤로 번갈아 size개를 넣은 뒤 앞뒤로 번갈아 모두 꺼낸다.
+    @Benchmark
+    public int fillDrainBothEnds_MyArrayDeque() {
+        _4_array_deque.ArrayDeque<Integer> deque = new _4_array_deque.ArrayDeque<>();
+        for (int i = 0; i < values.length; i++) {
+            if ((i & 1) == 0) {
+                deque.offerFirst(values[i]);
+            } else {
+                deque.offerLast(values[i]);
+            }
+        }
+        int sum = 0;
+        for (int i = 0; !deque.isEmpty(); i++) {
+            sum += (i & 1) == 0 ? deque.pollFirst() : deque.pollLast();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public int fillDrainBothEnds_ArrayDeque() {
+        java.util.ArrayDeque<Integer> deque = new java.util.ArrayDeque<>();
+        for (int i = 0; i < values.length; i++) {
+            if ((i & 1) == 0) {
+                deque.offerFirst(values[i]);
+            } else {
+                deque.offerLast(values[i]);
+            }
+        }
+        int sum = 0;
+        for (int i = 0; !deque.isEmpty(); i++) {
+            sum += (i & 1) == 0 ? deque.pollFirst() : deque.pollLast();
+        }
+        return sum;
+    }
+
+    // 큐처럼 사용 (뒤로 넣고 앞에서 꺼냄)
+    @Benchmark
+    public Integer offerPoll_MyArrayDeque() {
+        myDeque.offerLast(values[0]);
+        return myDeque.pollFirst();
+    }
+
+    @Benchmark
+    public Integer offerPoll_ArrayDeque() {
+        jdkDeque.offerLast(values[0]);
+        return jdkDeque.pollFirst();
+    }
+
+    // 스택처럼 사용 (앞으로 넣고 앞에서 꺼냄)
+    @Benchmark
+    public Integer pushPop_MyArrayDeque() {
+        myDeque.push(values[0]);
+        return myDeque.pop();
+    }
+
+    @Benchmark
+    public Integer pushPop_ArrayDeque() {
+        jdkDeque.push(values[0]);
+        return jdkDeque.pop();
+    }
+
+    @Benchmark
+    public long descendingIterate_MyArrayDeque() {
+        long sum = 0;
+        for (java.util.Iterator<Integer> it = myDeque.descendingIterator(); it.hasNext(); ) {
+            sum += it.next();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long descendingIterate_ArrayDeque() {
+        long sum = 0;
+        for (java.util.Iterator<Integer> it = jdkDeque.descendingIterator(); it.hasNext(); ) {
+            sum += it.next();
+        }
+        return sum;
+    }
+}
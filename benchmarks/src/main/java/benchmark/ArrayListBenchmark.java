@@ -0,0 +1,174 @@
+package benchmark;
+
+import _1_array_list.MyArrayList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * MyArrayList와 java.util.ArrayList 비교.
+ * build* 벤치마크는 size개의 요소를 빈 리스트에 채우는 비용을,
+ * 나머지는 size개의 요소가 들어있는 리스트에서 연산 한 번의 비용을 측정한다.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ArrayListBenchmark {
+
+    @Param({"100", "10000", "1000000"})
+    int size;
+
+    Integer[] values;
+    Integer[] batch; // 64개 요소 묶음
+    List<Integer> batchList;
+    MyArrayList<Integer> myList;
+    ArrayList<Integer> jdkList;
+    int cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        values = new Integer[size];
+        myList = new MyArrayList<>();
+        jdkList = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            values[i] = i;
+            myList.add(values[i]);
+            jdkList.add(values[i]);
+        }
+        batch = Arrays.copyOf(values, Math.min(64, size));
+        batchList = Arrays.asList(batch);
+    }
+
+    private int nextIndex() {
+        int i = cursor + 1;
+        if (i >= size) {
+            i = 0;
+        }
+        return cursor = i;
+    }
+
+    @Benchmark
+    public MyArrayList<Integer> buildAdd_MyArrayList() {
+        MyArrayList<Integer> list = new MyArrayList<>();
+        for (Integer v : values) {
+            list.add(v);
+        }
+        return list;
+    }
+
+    @Benchmark
+    public MyArrayList<Integer> buildAddLast_MyArrayList() {
+        MyArrayList<Integer> list = new MyArrayList<>();
+        for (Integer v : values) {
+            list.addLast(v);
+        }
+        return list;
+    }
+
+    @Benchmark
+    public ArrayList<Integer> buildAdd_ArrayList() {
+        ArrayList<Integer> list = new ArrayList<>();
+        for (Integer v : values) {
+            list.add(v);
+        }
+        return list;
+    }
+
+    // 중간 삽입 후 같은 위치를 삭제하여 크기를 유지한다.
+    @Benchmark
+    public Integer insertRemoveMiddle_MyArrayList() {
+        int mid = size >> 1;
+        myList.add(mid, values[mid]);
+        return myList.remove(mid);
+    }
+
+    @Benchmark
+    public Integer insertRemoveMiddle_ArrayList() {
+        int mid = size >> 1;
+        jdkList.add(mid, values[mid]);
+        return jdkList.remove(mid);
+    }
+
+    @Benchmark
+    public Integer get_MyArrayList() {
+        return myList.get(nextIndex());
+    }
+
+    @Benchmark
+    public Integer get_ArrayList() {
+        return jdkList.get(nextIndex());
+    }
+
+    @Benchmark
+    public int indexOf_MyArrayList() {
+        return myList.indexOf(values[size >> 1]);
+    }
+
+    @Benchmark
+    public int indexOf_ArrayList() {
+        return jdkList.indexOf(values[size >> 1]);
+    }
+
+    // 중간에 64개를 한꺼번에 넣고 다시 한꺼번에 지운다.
+    @Benchmark
+    public MyArrayList<Integer> batchInsertRemoveMiddle_MyArrayList() {
+        int mid = size >> 1;
+        myList.addAll(mid, batch);
+        myList.removeRange(mid, mid + batch.length);
+        return myList;
+    }
+
+    // 같은 작업을 요소 하나씩 처리한다.
+    @Benchmark
+    public MyArrayList<Integer> batchInsertRemoveMiddleOneByOne_MyArrayList() {
+        int mid = size >> 1;
+        for (int i = 0; i < batch.length; i++) {
+            myList.add(mid + i, batch[i]);
+        }
+        for (int i = 0; i < batch.length; i++) {
+            myList.remove(mid);
+        }
+        return myList;
+    }
+
+    @Benchmark
+    public ArrayList<Integer> batchInsertRemoveMiddle_ArrayList() {
+        int mid = size >> 1;
+        jdkList.addAll(mid, batchList);
+        jdkList.subList(mid, mid + batch.length).clear();
+        return jdkList;
+    }
+
+    // 복사본을 만든 뒤 절반(짝수)을 지운다.
+    @Benchmark
+    public MyArrayList<Integer> removeIfHalf_MyArrayList() {
+        MyArrayList<Integer> list = new MyArrayList<>(size);
+        list.addAll(values);
+        list.removeIf(v -> (v & 1) == 0);
+        return list;
+    }
+
+    @Benchmark
+    public ArrayList<Integer> removeIfHalf_ArrayList() {
+        ArrayList<Integer> list = new ArrayList<>(size);
+        list.addAll(Arrays.asList(values));
+        list.removeIf(v -> (v & 1) == 0);
+        return list;
+    }
+}
@@ -0,0 +1,118 @@
+package benchmark;
+
+import _3_array_queue.MyArrayQueue;
+import java.util.ArrayDeque;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * MyArrayQueue와 java.util.ArrayDeque 비교.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ArrayQueueBenchmark {
+
+    @Param({"100", "10000", "1000000"})
+    int size;
+
+    Integer[] values;
+    MyArrayQueue<Integer> myQueue;
+    ArrayDeque<Integer> jdkQueue;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        values = new Integer[size];
+        myQueue = new MyArrayQueue<>();
+        jdkQueue = new ArrayDeque<>();
+        for (int i = 0; i < size; i++) {
+            values[i] = i;
+            myQueue.offer(values[i]);
+            jdkQueue.offer(values[i]);
+        }
+    }
+
+    // size개를 모두 offer한 뒤 모두 poll한다.
+    @Benchmark
+    public int fillDrain_MyArrayQueue() {
+        MyArrayQueue<Integer> queue = new MyArrayQueue<>();
+        for (Integer v : values) {
+            queue.offer(v);
+        }
+        int sum = 0;
+        Integer v;
+        while ((v = queue.poll()) != null) {
+            sum += v;
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public int fillDrain_ArrayDeque() {
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        for (Integer v : values) {
+            queue.offer(v);
+        }
+        int sum = 0;
+        Integer v;
+        while ((v = queue.poll()) != null) {
+            sum += v;
+        }
+        return sum;
+    }
+
+    // size를 유지한 채 offer 후 poll 한다. (머리와 꼬리가 배열을 한 바퀴씩 돈다)
+    @Benchmark
+    public Integer offerPoll_MyArrayQueue() {
+        myQueue.offer(values[0]);
+        return myQueue.poll();
+    }
+
+    @Benchmark
+    public Integer offerPoll_ArrayDeque() {
+        jdkQueue.offer(values[0]);
+        return jdkQueue.poll();
+    }
+
+    @Benchmark
+    public Integer peek_MyArrayQueue() {
+        return myQueue.peek();
+    }
+
+    @Benchmark
+    public Integer peek_ArrayDeque() {
+        return jdkQueue.peek();
+    }
+
+    @Benchmark
+    public long iterate_MyArrayQueue() {
+        long sum = 0;
+        for (Integer v : myQueue) {
+            sum += v;
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long iterate_ArrayDeque() {
+        long sum = 0;
+        for (Integer v : jdkQueue) {
+            sum += v;
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,111 @@
+package benchmark;
+
+import _2_stack.MyStack;
+import _3_array_queue.MyArrayQueue;
+import _5_concurrent.SpscArrayQueue;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * 한 번에 batch개의 요소를 넣고 꺼내는 비용 비교.
+ * single* 벤치마크는 offer/poll(push/pop)을 batch번 반복하고, batch* 벤치마크는 offerAll/drainTo(pushAll/popInto)를 한 번씩 호출한다.
+ * 한 스레드에서 넣고 꺼내므로 SpscArrayQueue의 스레드 간 비용은 포함되지 않는다.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BatchBenchmark {
+
+    @Param({"16", "256"})
+    int batch;
+
+    Integer[] src;
+    Integer[] dst;
+    MyArrayQueue<Integer> queue;
+    MyStack<Integer> stack;
+    SpscArrayQueue<Integer> spsc;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        src = new Integer[batch];
+        dst = new Integer[batch];
+        for (int i = 0; i < batch; i++) {
+            src[i] = i;
+        }
+        queue = new MyArrayQueue<>();
+        stack = new MyStack<>();
+        spsc = new SpscArrayQueue<>(1024);
+    }
+
+    @Benchmark
+    public void singleQueue(Blackhole bh) {
+        for (Integer e : src) {
+            queue.offer(e);
+        }
+        for (int i = 0; i < batch; i++) {
+            bh.consume(queue.poll());
+        }
+    }
+
+    @Benchmark
+    public Integer[] batchQueue() {
+        queue.offerAll(src, 0, batch);
+        queue.drainTo(dst, 0, batch);
+        return dst;
+    }
+
+    @Benchmark
+    public void batchQueueConsumer(Blackhole bh) {
+        queue.offerAll(src, 0, batch);
+        queue.drainTo(bh::consume, batch);
+    }
+
+    @Benchmark
+    public void singleStack(Blackhole bh) {
+        for (Integer e : src) {
+            stack.push(e);
+        }
+        for (int i = 0; i < batch; i++) {
+            bh.consume(stack.pop());
+        }
+    }
+
+    @Benchmark
+    public Integer[] batchStack() {
+        stack.pushAll(src, 0, batch);
+        stack.popInto(dst, 0, batch);
+        return dst;
+    }
+
+    @Benchmark
+    public void singleSpsc(Blackhole bh) {
+        for (Integer e : src) {
+            spsc.offer(e);
+        }
+        for (int i = 0; i < batch; i++) {
+            bh.consume(spsc.poll());
+        }
+    }
+
+    @Benchmark
+    public Integer[] batchSpsc() {
+        spsc.offerAll(src, 0, batch);
+        spsc.drainTo(dst, 0, batch);
+        return dst;
+    }
+}
@@ -0,0 +1,25 @@
+package benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * 모든 벤치마크를 GC 프로파일러와 함께 실행한다.
+ * 처리량(ops/s)과 함께 gc.alloc.rate / gc.alloc.rate.norm(연산 당 할당 바이트)이 출력된다.
+ * <p>
+ * 사용법: java -jar benchmarks/target/benchmarks.jar [JMH 옵션] [벤치마크 정규식]
+ */
+public class BenchmarkRunner {
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        CommandLineOptions cmd = new CommandLineOptions(args);
+        new Runner(new OptionsBuilder()
+            .parent(cmd)
+            .addProfiler(GCProfiler.class)
+            .build()).run();
+    }
+}
@@ -0,0 +1,31 @@
+package benchmark;
+
+import java.util.Queue;
+import my_interface.MyQueueInterface;
+
+/**
+ * java.util.Queue 구현체(ArrayBlockingQueue, ConcurrentLinkedQueue 등)를 MyQueueInterface로 감싼다.
+ */
+final class BlockingQueueAdapter<E> implements MyQueueInterface<E> {
+
+    private final Queue<E> queue;
+
+    BlockingQueueAdapter(Queue<E> queue) {
+        this.queue = queue;
+    }
+
+    @Override
+    public boolean offer(E e) {
+        return queue.offer(e);
+    }
+
+    @Override
+    public E poll() {
+        return queue.poll();
+    }
+
+    @Override
+    public E peek() {
+        return queue.peek();
+    }
+}
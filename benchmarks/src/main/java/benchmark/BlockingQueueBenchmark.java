@@ -0,0 +1,222 @@
+package benchmark;
+
+import _5_concurrent.MyBlockingQueue;
+import java.util.ArrayList;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * MyBlockingQueue와 ArrayBlockingQueue의 블로킹 동작 비교.
+ * <p>
+ * fanOut: 소비자 스레드 여러 개가 take()에서 기다리는 동안 생산자 하나가 put()하는 처리량. (깨우기 비용 포함)
+ * batch: 생산자 하나와 깨어날 때마다 최대 256개를 가져가는 소비자 하나의 처리량.
+ * pingPong: 요소 하나를 보내고 응답을 받을 때까지의 왕복 지연. (깨우기 두 번)
+ * <p>
+ * 기다리는 쪽은 시간 제한이 있는 연산을 써서 측정이 끝났을 때 멈춰 있지 않게 한다.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BlockingQueueBenchmark {
+
+    static final Integer VALUE = 42;
+    static final int BATCH = 256;
+
+    @State(Scope.Benchmark)
+    public static class FanOut {
+
+        @Param({"MyBlockingQueue", "ArrayBlockingQueue"})
+        String impl;
+
+        @Param({"1", "1000"})
+        int consumers;
+
+        @Param({"1024"})
+        int capacity;
+
+        MyBlockingQueue<Integer> my;
+        ArrayBlockingQueue<Integer> jdk;
+        Thread[] threads;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            if (impl.equals("MyBlockingQueue")) {
+                my = new MyBlockingQueue<>(capacity);
+            } else {
+                jdk = new ArrayBlockingQueue<>(capacity);
+            }
+            threads = new Thread[consumers];
+            for (int i = 0; i < consumers; i++) {
+                threads[i] = new Thread(this::consume);
+                threads[i].setDaemon(true);
+                threads[i].start();
+            }
+        }
+
+        private void consume() {
+            try {
+                while (true) {
+                    if (my != null) {
+                        my.take();
+                    } else {
+                        jdk.take();
+                    }
+                }
+            } catch (InterruptedException e) {
+                // 종료
+            }
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws InterruptedException {
+            for (Thread t : threads) {
+                t.interrupt();
+            }
+            for (Thread t : threads) {
+                t.join();
+            }
+        }
+    }
+
+    @Benchmark
+    public void fanOut(FanOut s) throws InterruptedException {
+        if (s.my != null) {
+            s.my.put(VALUE);
+        } else {
+            s.jdk.put(VALUE);
+        }
+    }
+
+    @State(Scope.Group)
+    public static class Batch {
+
+        @Param({"MyBlockingQueue", "ArrayBlockingQueue"})
+        String impl;
+
+        @Param({"1024"})
+        int capacity;
+
+        MyBlockingQueue<Integer> my;
+        ArrayBlockingQueue<Integer> jdk;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            if (impl.equals("MyBlockingQueue")) {
+                my = new MyBlockingQueue<>(capacity);
+            } else {
+                jdk = new ArrayBlockingQueue<>(capacity);
+            }
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Buffer {
+
+        final Integer[] dst = new Integer[BATCH];
+        final ArrayList<Integer> list = new ArrayList<>(BATCH);
+    }
+
+    @Benchmark
+    @Group("batch")
+    @GroupThreads(1)
+    public boolean batchProducer(Batch s) throws InterruptedException {
+        if (s.my != null) {
+            return s.my.offer(VALUE, 1, TimeUnit.MILLISECONDS);
+        }
+        return s.jdk.offer(VALUE, 1, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * ArrayBlockingQueue에는 시간 제한이 있는 drainTo가 없으므로 poll(timeout) 한 번 뒤 drainTo로 나머지를 가져온다.
+     */
+    @Benchmark
+    @Group("batch")
+    @GroupThreads(1)
+    public int batchConsumer(Batch s, Buffer b) throws InterruptedException {
+        if (s.my != null) {
+            return s.my.drainTo(b.dst, 0, BATCH, 1, TimeUnit.MILLISECONDS);
+        }
+        if (s.jdk.poll(1, TimeUnit.MILLISECONDS) == null) {
+            return 0;
+        }
+        int n = 1 + s.jdk.drainTo(b.list, BATCH - 1);
+        b.list.clear();
+        return n;
+    }
+
+    @State(Scope.Benchmark)
+    public static class PingPong {
+
+        @Param({"MyBlockingQueue", "ArrayBlockingQueue"})
+        String impl;
+
+        MyBlockingQueue<Integer> myRequest;
+        MyBlockingQueue<Integer> myResponse;
+        ArrayBlockingQueue<Integer> jdkRequest;
+        ArrayBlockingQueue<Integer> jdkResponse;
+        Thread echo;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            if (impl.equals("MyBlockingQueue")) {
+                myRequest = new MyBlockingQueue<>(1);
+                myResponse = new MyBlockingQueue<>(1);
+            } else {
+                jdkRequest = new ArrayBlockingQueue<>(1);
+                jdkResponse = new ArrayBlockingQueue<>(1);
+            }
+            echo = new Thread(this::echo);
+            echo.setDaemon(true);
+            echo.start();
+        }
+
+        private void echo() {
+            try {
+                while (true) {
+                    if (myRequest != null) {
+                        myResponse.put(myRequest.take());
+                    } else {
+                        jdkResponse.put(jdkRequest.take());
+                    }
+                }
+            } catch (InterruptedException e) {
+                // 종료
+            }
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws InterruptedException {
+            echo.interrupt();
+            echo.join();
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public Integer pingPong(PingPong s) throws InterruptedException {
+        if (s.myRequest != null) {
+            s.myRequest.put(VALUE);
+            return s.myResponse.take();
+        }
+        s.jdkRequest.put(VALUE);
+        return s.jdkResponse.take();
+    }
+}
@@ -0,0 +1,107 @@
+package benchmark;
+
+import _1_array_list.MyArrayList;
+import _7_chunked_list.ChunkedArrayList;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * ChunkedArrayList와 MyArrayList 비교.
+ * insertRemove* 벤치마크는 position 분포에 따라 고른 위치에 요소 하나를 넣고 같은 위치에서 빼는 비용을,
+ * get* 벤치마크는 무작위 위치 읽기 비용을 측정한다. 요소 개수는 size로 유지된다.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ChunkedListBenchmark {
+
+    private static final int POSITIONS = 1024; // 2의 거듭제곱
+
+    @Param({"10000", "1000000"})
+    int size;
+
+    @Param({"head", "middle", "random", "tail"})
+    String position;
+
+    @Param({"1024"})
+    int chunkCapacity;
+
+    int[] positions;
+    int[] randomIndices;
+    MyArrayList<Integer> arrayList;
+    ChunkedArrayList<Integer> chunkedList;
+    Integer value = 42;
+    int cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(7);
+        positions = new int[POSITIONS];
+        randomIndices = new int[POSITIONS];
+        for (int i = 0; i < POSITIONS; i++) {
+            switch (position) {
+                case "head":
+                    positions[i] = 0;
+                    break;
+                case "middle":
+                    positions[i] = size / 2;
+                    break;
+                case "tail":
+                    positions[i] = size;
+                    break;
+                default:
+                    positions[i] = random.nextInt(size + 1);
+            }
+            randomIndices[i] = random.nextInt(size);
+        }
+        arrayList = new MyArrayList<>();
+        chunkedList = new ChunkedArrayList<>(chunkCapacity);
+        for (int i = 0; i < size; i++) {
+            arrayList.add(i);
+            chunkedList.add(i);
+        }
+    }
+
+    private int next() {
+        return cursor = (cursor + 1) & (POSITIONS - 1);
+    }
+
+    @Benchmark
+    public Integer insertRemoveArrayList() {
+        int index = positions[next()];
+        arrayList.add(index, value);
+        return arrayList.remove(index);
+    }
+
+    @Benchmark
+    public Integer insertRemoveChunkedList() {
+        int index = positions[next()];
+        chunkedList.add(index, value);
+        return chunkedList.remove(index);
+    }
+
+    @Benchmark
+    public Integer getArrayList() {
+        return arrayList.get(randomIndices[next()]);
+    }
+
+    @Benchmark
+    public Integer getChunkedList() {
+        return chunkedList.get(randomIndices[next()]);
+    }
+}
@@ -0,0 +1,91 @@
+package benchmark;
+
+import _2_stack.MyStack;
+import _5_concurrent.EliminationStack;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * 1, 2, 4, 8개의 스레드가 하나의 스택에 push 후 pop을 반복할 때의 처리량. (객체 재활용 풀 형태의 부하)
+ * 각 스레드는 자기 push를 마친 뒤에 pop하므로 pop이 빈 스택을 만나지 않는다.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ConcurrentStackBenchmark {
+
+    @Param({"EliminationStack", "SynchronizedMyStack", "ConcurrentLinkedDeque"})
+    String impl;
+
+    EliminationStack<Integer> eliminationStack;
+    MyStack<Integer> myStack;
+    ConcurrentLinkedDeque<Integer> deque;
+    final Integer value = 42;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        eliminationStack = new EliminationStack<>();
+        myStack = new MyStack<>();
+        deque = new ConcurrentLinkedDeque<>();
+    }
+
+    private Integer pushPop() {
+        switch (impl) {
+            case "EliminationStack":
+                eliminationStack.push(value);
+                return eliminationStack.pop();
+            case "SynchronizedMyStack":
+                synchronized (myStack) {
+                    myStack.push(value);
+                }
+                synchronized (myStack) {
+                    return myStack.pop();
+                }
+            case "ConcurrentLinkedDeque":
+                deque.push(value);
+                return deque.pop();
+            default:
+                throw new IllegalArgumentException(impl);
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Integer pushPop_t1() {
+        return pushPop();
+    }
+
+    @Benchmark
+    @Threads(2)
+    public Integer pushPop_t2() {
+        return pushPop();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Integer pushPop_t4() {
+        return pushPop();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public Integer pushPop_t8() {
+        return pushPop();
+    }
+}
@@ -0,0 +1,120 @@
+package benchmark;
+
+import _1_array_list.MyArrayList;
+import _8_gap_buffer.GapBufferList;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import my_util.ResizePolicy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * GapBufferList와 MyArrayList 비교.
+ * cursor 패턴은 커서를 가끔 무작위 위치로 옮기고 그 근처에서 삽입/backspace를 반복하고,
+ * scattered 패턴은 매번 무작위 위치에서 삽입/삭제한다. 요소 개수는 size 근처로 유지된다.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class GapBufferBenchmark {
+
+    private static final int POSITIONS = 1024; // 2의 거듭제곱
+    private static final int CURSOR_JUMP = 256; // cursor 패턴에서 커서를 옮기는 주기
+
+    @Param({"100000", "1000000"})
+    int size;
+
+    @Param({"cursor", "scattered"})
+    String pattern;
+
+    int[] positions;
+    MyArrayList<Integer> arrayList;
+    GapBufferList<Integer> gapList;
+    GapBufferList<Integer> adaptiveList;
+    Integer value = 42;
+    int step;
+    int arrayCursor;
+    int gapCursor;
+    int adaptiveCursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(7);
+        positions = new int[POSITIONS];
+        for (int i = 0; i < POSITIONS; i++) {
+            positions[i] = random.nextInt(size);
+        }
+        arrayList = new MyArrayList<>();
+        gapList = new GapBufferList<>();
+        adaptiveList = new GapBufferList<>(16, ResizePolicy.defaultPolicy(), true);
+        for (int i = 0; i < size; i++) {
+            arrayList.add(i);
+            gapList.add(i);
+            adaptiveList.add(i);
+        }
+    }
+
+    /**
+     * 이번 편집 위치를 정한다. 짝수 번째 단계는 삽입, 홀수 번째 단계는 직전 삽입 요소의 삭제이다.
+     */
+    private int nextCursor(int cursor) {
+        int s = step++;
+        if (pattern.equals("scattered")) {
+            return positions[(s >>> 1) & (POSITIONS - 1)];
+        }
+        if ((s & (CURSOR_JUMP - 1)) == 0) {
+            return positions[(s / CURSOR_JUMP) & (POSITIONS - 1)];
+        }
+        return cursor;
+    }
+
+    @Benchmark
+    public Integer editArrayList() {
+        int cursor = arrayCursor = nextCursor(arrayCursor);
+        arrayList.add(cursor, value);
+        arrayList.add(cursor + 1, value);
+        arrayList.remove(cursor + 1);
+        return arrayList.remove(cursor);
+    }
+
+    @Benchmark
+    public Integer editGapBuffer() {
+        int cursor = gapCursor = nextCursor(gapCursor);
+        gapList.add(cursor, value);
+        gapList.add(cursor + 1, value);
+        gapList.remove(cursor + 1);
+        return gapList.remove(cursor);
+    }
+
+    @Benchmark
+    public Integer editAdaptiveGapBuffer() {
+        int cursor = adaptiveCursor = nextCursor(adaptiveCursor);
+        adaptiveList.add(cursor, value);
+        adaptiveList.add(cursor + 1, value);
+        adaptiveList.remove(cursor + 1);
+        return adaptiveList.remove(cursor);
+    }
+
+    @Benchmark
+    public Integer getArrayList() {
+        return arrayList.get(positions[step++ & (POSITIONS - 1)]);
+    }
+
+    @Benchmark
+    public Integer getGapBuffer() {
+        return gapList.get(positions[step++ & (POSITIONS - 1)]);
+    }
+}
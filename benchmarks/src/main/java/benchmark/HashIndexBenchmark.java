@@ -0,0 +1,74 @@
+package benchmark;
+
+import _1_array_list.MyArrayList;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * MyArrayList의 해시 색인(setHashIndexEnabled)을 켰을 때와 껐을 때의 비용.
+ * <ul>
+ *   <li>contains: size개가 든 리스트에서 절반은 있는 값, 절반은 없는 값을 찾는다.</li>
+ *   <li>addRemoveLast: 끝에 추가하고 끝에서 삭제한다. 색인을 바로 고치는 비용이다.</li>
+ *   <li>removeMiddleThenContains: 중간 삭제/삽입 직후의 탐색. 색인은 버려지고, 다시 만들지 않고 선형 탐색으로 답한다.</li>
+ * </ul>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class HashIndexBenchmark {
+
+    @Param({"100000", "1000000"})
+    int size;
+
+    @Param({"false", "true"})
+    boolean indexed;
+
+    MyArrayList<Integer> list;
+    int probe;
+    Integer extra;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        list = new MyArrayList<>(size + 1);
+        list.setHashIndexEnabled(indexed);
+        for (int i = 0; i < size; i++) {
+            list.add(i * 2);
+        }
+        extra = -1;
+        list.contains(0); // 색인을 미리 만든다.
+    }
+
+    @Benchmark
+    public boolean contains() {
+        int p = probe;
+        probe = p + 7919 < size ? p + 7919 : p + 7919 - size;
+        return list.contains(p);
+    }
+
+    @Benchmark
+    public Integer addRemoveLast() {
+        list.add(extra);
+        return list.remove(list.size() - 1);
+    }
+
+    @Benchmark
+    public boolean removeMiddleThenContains() {
+        Integer removed = list.remove(size / 2);
+        list.add(size / 2, removed);
+        return list.contains(size);
+    }
+}
@@ -0,0 +1,127 @@
+package benchmark;
+
+import _1_array_list.MyArrayList;
+import _2_stack.MyStack;
+import _3_array_queue.MyArrayQueue;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Instrumentation(JFR 이벤트, JMX 카운터)을 끈 경우와 켠 경우의 비용 비교.
+ * *_disabled는 기본 JVM 옵션으로, *_enabled는 -Ddatastructure.instrumentation=true 로 포크한다.
+ * (JFR 녹화는 하지 않으므로 enabled는 카운터 갱신과 이벤트 활성화 확인 비용만 포함한다)
+ * pushPop/offerPoll/addRemove는 재할당이 없는 연산 한 쌍, fill은 size개를 채우고 비우며 재할당을 반복한다.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class InstrumentationBenchmark {
+
+    private static final String ENABLED = "-Ddatastructure.instrumentation=true";
+
+    @Param({"10000"})
+    int size;
+
+    Integer value = 42;
+    MyStack<Integer> stack;
+    MyArrayQueue<Integer> queue;
+    MyArrayList<Integer> list;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        stack = new MyStack<>();
+        queue = new MyArrayQueue<>();
+        list = new MyArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            stack.push(i);
+            queue.offer(i);
+            list.add(i);
+        }
+    }
+
+    private Integer pushPop() {
+        stack.push(value);
+        return stack.pop();
+    }
+
+    private Integer offerPoll() {
+        queue.offer(value);
+        return queue.poll();
+    }
+
+    private Integer addRemove() {
+        list.add(value);
+        return list.remove(list.size() - 1);
+    }
+
+    private int fill() {
+        MyStack<Integer> s = new MyStack<>();
+        for (int i = 0; i < size; i++) {
+            s.push(value);
+        }
+        int n = 0;
+        while (!s.empty()) {
+            s.pop();
+            n++;
+        }
+        return n;
+    }
+
+    @Benchmark
+    public Integer pushPop_disabled() {
+        return pushPop();
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = ENABLED)
+    public Integer pushPop_enabled() {
+        return pushPop();
+    }
+
+    @Benchmark
+    public Integer offerPoll_disabled() {
+        return offerPoll();
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = ENABLED)
+    public Integer offerPoll_enabled() {
+        return offerPoll();
+    }
+
+    @Benchmark
+    public Integer addRemove_disabled() {
+        return addRemove();
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = ENABLED)
+    public Integer addRemove_enabled() {
+        return addRemove();
+    }
+
+    @Benchmark
+    public int fill_disabled() {
+        return fill();
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = ENABLED)
+    public int fill_enabled() {
+        return fill();
+    }
+}
@@ -0,0 +1,137 @@
+package benchmark;
+
+import _1_array_list.MyArrayList;
+import _2_stack.MyStack;
+import _3_array_queue.MyArrayQueue;
+import _6_primitive.IntArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+import my_interface.IntObjConsumer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.CompilerControl;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * 외부 순회(for-each 문, Iterator)와 내부 순회(forEach, forEachIndexed)의 비교.
+ * gc.alloc.rate.norm(B/op)으로 순회 한 번에 할당이 있는지 확인한다.
+ * iterate*는 세 자료구조가 모두 지나가는(megamorphic) 인라인되지 않는 호출 지점에서 Iterator를 만들어,
+ * iterator()가 인라인되지 않아 escape analysis가 Iterator 할당을 없애지 못하는 경우를 재현한다.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class IterationBenchmark {
+
+    @Param({"1000"})
+    int size;
+
+    MyArrayList<Integer> list;
+    MyStack<Integer> stack;
+    MyArrayQueue<Integer> queue;
+    IntArrayList intList;
+    long sum;
+    Consumer<Integer> action;
+    IntObjConsumer<Integer> indexedAction;
+    IntConsumer intAction;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        list = new MyArrayList<>();
+        stack = new MyStack<>();
+        queue = new MyArrayQueue<>(size);
+        intList = new IntArrayList();
+        for (int i = 0; i < size; i++) {
+            list.add(i);
+            stack.push(i);
+            intList.addInt(i);
+        }
+        // head가 배열 중간에 오도록 해서 원형으로 감긴 구간을 순회하게 한다.
+        for (int i = 0; i < size / 2; i++) {
+            queue.offer(i);
+            queue.poll();
+        }
+        for (int i = 0; i < size; i++) {
+            queue.offer(i);
+        }
+        action = v -> sum += v;
+        indexedAction = (i, v) -> sum += i ^ v;
+        intAction = v -> sum += v;
+        for (int i = 0; i < 20_000; i++) {
+            sum += iterate(list) + iterate(stack) + iterate(queue);
+        }
+    }
+
+    @CompilerControl(CompilerControl.Mode.DONT_INLINE)
+    private long iterate(Iterable<Integer> iterable) {
+        long s = 0;
+        for (Integer v : iterable) {
+            s += v;
+        }
+        return s;
+    }
+
+    @Benchmark
+    public long iterateList() {
+        return iterate(list);
+    }
+
+    @Benchmark
+    public long forEachList() {
+        list.forEach(action);
+        return sum;
+    }
+
+    @Benchmark
+    public long forEachIndexedList() {
+        list.forEachIndexed(indexedAction);
+        return sum;
+    }
+
+    @Benchmark
+    public long iterateStack() {
+        return iterate(stack);
+    }
+
+    @Benchmark
+    public long forEachStack() {
+        stack.forEach(action);
+        return sum;
+    }
+
+    @Benchmark
+    public long iterateQueue() {
+        return iterate(queue);
+    }
+
+    @Benchmark
+    public long forEachQueue() {
+        queue.forEach(action);
+        return sum;
+    }
+
+    @Benchmark
+    public long forEachRangeQueue() {
+        queue.forEachRange(size / 4, size - size / 4, action);
+        return sum;
+    }
+
+    @Benchmark
+    public long forEachIntList() {
+        intList.forEach(intAction);
+        return sum;
+    }
+}
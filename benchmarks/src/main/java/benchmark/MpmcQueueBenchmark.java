@@ -0,0 +1,145 @@
+package benchmark;
+
+import _5_concurrent.MpmcArrayQueue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import my_interface.MyQueueInterface;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * 생산자 N개, 소비자 N개(N = 1, 2, 4, 8)가 하나의 큐를 공유할 때의 처리량.
+ * 성공한 offer/poll 횟수는 AuxCounters로 따로 집계한다.
+ * ConcurrentLinkedQueue는 용량 제한이 없으므로 offer가 실패하지 않는다.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Group)
+public class MpmcQueueBenchmark {
+
+    @Param({"MpmcArrayQueue", "ArrayBlockingQueue", "ConcurrentLinkedQueue"})
+    String impl;
+
+    @Param({"1024"})
+    int capacity;
+
+    MyQueueInterface<Integer> queue;
+    final Integer value = 42;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        switch (impl) {
+            case "MpmcArrayQueue":
+                queue = new MpmcArrayQueue<>(capacity);
+                break;
+            case "ArrayBlockingQueue":
+                queue = new BlockingQueueAdapter<>(new ArrayBlockingQueue<>(capacity));
+                break;
+            case "ConcurrentLinkedQueue":
+                queue = new BlockingQueueAdapter<>(new ConcurrentLinkedQueue<>());
+                break;
+            default:
+                throw new IllegalArgumentException(impl);
+        }
+    }
+
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    @State(Scope.Thread)
+    public static class Counters {
+
+        public long offered;
+        public long polled;
+        public long failed;
+    }
+
+    private void offer(Counters counters) {
+        if (queue.offer(value)) {
+            counters.offered++;
+        } else {
+            counters.failed++;
+        }
+    }
+
+    private Integer poll(Counters counters) {
+        Integer e = queue.poll();
+        if (e != null) {
+            counters.polled++;
+        } else {
+            counters.failed++;
+        }
+        return e;
+    }
+
+    @Benchmark
+    @Group("p1c1")
+    @GroupThreads(1)
+    public void offer_p1c1(Counters counters) {
+        offer(counters);
+    }
+
+    @Benchmark
+    @Group("p1c1")
+    @GroupThreads(1)
+    public Integer poll_p1c1(Counters counters) {
+        return poll(counters);
+    }
+
+    @Benchmark
+    @Group("p2c2")
+    @GroupThreads(2)
+    public void offer_p2c2(Counters counters) {
+        offer(counters);
+    }
+
+    @Benchmark
+    @Group("p2c2")
+    @GroupThreads(2)
+    public Integer poll_p2c2(Counters counters) {
+        return poll(counters);
+    }
+
+    @Benchmark
+    @Group("p4c4")
+    @GroupThreads(4)
+    public void offer_p4c4(Counters counters) {
+        offer(counters);
+    }
+
+    @Benchmark
+    @Group("p4c4")
+    @GroupThreads(4)
+    public Integer poll_p4c4(Counters counters) {
+        return poll(counters);
+    }
+
+    @Benchmark
+    @Group("p8c8")
+    @GroupThreads(8)
+    public void offer_p8c8(Counters counters) {
+        offer(counters);
+    }
+
+    @Benchmark
+    @Group("p8c8")
+    @GroupThreads(8)
+    public Integer poll_p8c8(Counters counters) {
+        return poll(counters);
+    }
+}
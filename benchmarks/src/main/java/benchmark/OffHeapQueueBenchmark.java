@@ -0,0 +1,69 @@
+package benchmark;
+
+import _11_offheap_queue.Codecs;
+import _11_offheap_queue.OffHeapQueue;
+import _3_array_queue.MyArrayQueue;
+import java.util.concurrent.TimeUnit;
+import my_interface.MyQueueInterface;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * depth개의 요소가 쌓인 큐에서 poll 한 번과 offer 한 번을 반복할 때의 처리량과 GC 시간(gc.time).
+ * heap은 MyArrayQueue<Long>(요소마다 Long 객체가 힙에 남는다), offHeap은 OffHeapQueue<Long>(8바이트씩 직접 버퍼에 저장)이다.
+ * 두 경우 모두 offer하는 Long과 poll로 돌려받는 Long은 새로 할당된다.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx2g"})
+@State(Scope.Thread)
+public class OffHeapQueueBenchmark {
+
+    @Param({"heap", "offHeap"})
+    String impl;
+
+    @Param({"1000000", "10000000"})
+    int depth;
+
+    MyQueueInterface<Long> queue;
+    long next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        if (impl.equals("heap")) {
+            queue = new MyArrayQueue<>(depth);
+        } else {
+            queue = new OffHeapQueue<>(Codecs.INT64);
+        }
+        for (int i = 0; i < depth; i++) {
+            queue.offer(next++);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (queue instanceof OffHeapQueue) {
+            ((OffHeapQueue<Long>) queue).close();
+        }
+    }
+
+    @Benchmark
+    public Long hold() {
+        Long head = queue.poll();
+        queue.offer(next++);
+        return head;
+    }
+}
@@ -0,0 +1,86 @@
+package benchmark;
+
+import _11_offheap_queue.Codecs;
+import _12_persistent_queue.FsyncPolicy;
+import _12_persistent_queue.PersistentQueue;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * PersistentQueue<Long>(8바이트 레코드, 64MB 세그먼트)에 작은 레코드를 추가하는 처리량을 fsync 정책별로 비교한다.
+ * <ul>
+ *   <li>append: 추가만 한다. 반복(iteration)마다 빈 임시 디렉터리에서 시작하므로 세그먼트가 계속 새로 만들어진다.</li>
+ *   <li>offerPoll: 1000개가 쌓인 큐에서 offer 한 번과 poll 한 번을 반복한다. 다 읽은 세그먼트는 지워진다.</li>
+ * </ul>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PersistentQueueBenchmark {
+
+    @Param({"never", "every1000", "every10ms"})
+    String fsync;
+
+    Path dir;
+    PersistentQueue<Long> queue;
+    long next;
+
+    private FsyncPolicy policy() {
+        switch (fsync) {
+            case "every1000":
+                return FsyncPolicy.everyRecords(1000);
+            case "every10ms":
+                return FsyncPolicy.everyMillis(10);
+            default:
+                return FsyncPolicy.never();
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("persistent-queue");
+        queue = PersistentQueue.open(dir, Codecs.INT64, PersistentQueue.DEFAULT_SEGMENT_SIZE, policy());
+        for (int i = 0; i < 1000; i++) {
+            queue.offer(next++);
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() throws IOException {
+        queue.close();
+        try (Stream<Path> files = Files.walk(dir)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public boolean append() {
+        return queue.offer(next++);
+    }
+
+    @Benchmark
+    public Long offerPoll() {
+        queue.offer(next++);
+        return queue.poll();
+    }
+}
@@ -0,0 +1,120 @@
+package benchmark;
+
+import _1_array_list.MyArrayList;
+import _9_persistent_vector.PersistentVector;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * PersistentVector의 버전 생성 비용과 MyArrayList의 복사 후 변경 비용 비교.
+ * 새 버전 하나를 만드는 데 드는 메모리는 GCProfiler의 gc.alloc.rate.norm(B/op)으로 확인한다.
+ * build* 벤치마크는 size개의 요소로 벡터를 처음부터 만드는 비용을 측정한다.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PersistentVectorBenchmark {
+
+    private static final int POSITIONS = 1024; // 2의 거듭제곱
+
+    @Param({"10000", "1000000"})
+    int size;
+
+    Integer[] values;
+    int[] positions;
+    PersistentVector<Integer> vector;
+    MyArrayList<Integer> list;
+    Integer value = 42;
+    int cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(7);
+        values = new Integer[size];
+        list = new MyArrayList<>();
+        for (int i = 0; i < size; i++) {
+            values[i] = i;
+            list.add(values[i]);
+        }
+        vector = PersistentVector.of(values);
+        positions = new int[POSITIONS];
+        for (int i = 0; i < POSITIONS; i++) {
+            positions[i] = random.nextInt(size);
+        }
+    }
+
+    private int nextIndex() {
+        return positions[cursor++ & (POSITIONS - 1)];
+    }
+
+    @Benchmark
+    public Integer getVector() {
+        return vector.get(nextIndex());
+    }
+
+    @Benchmark
+    public Integer getArrayList() {
+        return list.get(nextIndex());
+    }
+
+    @Benchmark
+    public PersistentVector<Integer> setVector() {
+        return vector.set(nextIndex(), value);
+    }
+
+    /**
+     * 이전 버전을 보존하면서 하나를 바꾸려면 MyArrayList는 배열 전체를 복사해야 한다.
+     */
+    @SuppressWarnings("unchecked")
+    @Benchmark
+    public MyArrayList<Integer> setArrayListCopy() {
+        MyArrayList<Integer> copy = (MyArrayList<Integer>) list.clone();
+        copy.set(nextIndex(), value);
+        return copy;
+    }
+
+    @Benchmark
+    public PersistentVector<Integer> appendVector() {
+        return vector.append(value);
+    }
+
+    @Benchmark
+    public PersistentVector<Integer> concatVector() {
+        return vector.concat(vector);
+    }
+
+    @Benchmark
+    public PersistentVector<Integer> sliceVector() {
+        int from = nextIndex() >>> 1;
+        return vector.slice(from, from + (size >>> 1));
+    }
+
+    @Benchmark
+    public PersistentVector<Integer> buildWithAppend() {
+        PersistentVector<Integer> v = PersistentVector.empty();
+        for (Integer e : values) {
+            v = v.append(e);
+        }
+        return v;
+    }
+
+    @Benchmark
+    public PersistentVector<Integer> buildWithBuilder() {
+        return PersistentVector.<Integer>builder().addAll(values).build();
+    }
+}
@@ -0,0 +1,154 @@
+package benchmark;
+
+import _1_array_list.MyArrayList;
+import _2_stack.MyStack;
+import _3_array_queue.MyArrayQueue;
+import _6_primitive.IntArrayList;
+import _6_primitive.IntStack;
+import _6_primitive.LongArrayQueue;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * 박싱하는 제네릭 자료구조와 원시 타입 전용 자료구조 비교.
+ * build* 벤치마크의 gc.alloc.rate.norm(B/op)이 size개 요소를 담는 데 필요한 메모리(박싱 객체 포함)를 보여준다.
+ * 값은 Integer 캐시(-128~127) 밖에서 만들어 실제 박싱이 일어나도록 한다.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PrimitiveBenchmark {
+
+    private static final int OFFSET = 1000;
+
+    @Param({"1000", "100000"})
+    int size;
+
+    MyArrayList<Integer> boxedList;
+    IntArrayList intList;
+    int target;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        boxedList = new MyArrayList<>();
+        intList = new IntArrayList();
+        for (int i = 0; i < size; i++) {
+            boxedList.add(OFFSET + i);
+            intList.addInt(OFFSET + i);
+        }
+        target = OFFSET + size - 1;
+    }
+
+    @Benchmark
+    public MyArrayList<Integer> buildList_MyArrayList() {
+        MyArrayList<Integer> list = new MyArrayList<>();
+        for (int i = 0; i < size; i++) {
+            list.add(OFFSET + i);
+        }
+        return list;
+    }
+
+    @Benchmark
+    public IntArrayList buildList_IntArrayList() {
+        IntArrayList list = new IntArrayList();
+        for (int i = 0; i < size; i++) {
+            list.addInt(OFFSET + i);
+        }
+        return list;
+    }
+
+    @Benchmark
+    public long sumByIndex_MyArrayList() {
+        long sum = 0;
+        for (int i = 0; i < size; i++) {
+            sum += boxedList.get(i);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long sumByIndex_IntArrayList() {
+        long sum = 0;
+        for (int i = 0; i < size; i++) {
+            sum += intList.getInt(i);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public int indexOfLast_MyArrayList() {
+        return boxedList.indexOf(target);
+    }
+
+    @Benchmark
+    public int indexOfLast_IntArrayList() {
+        return intList.indexOf(target);
+    }
+
+    @Benchmark
+    public long fillDrain_MyStack() {
+        MyStack<Integer> stack = new MyStack<>();
+        for (int i = 0; i < size; i++) {
+            stack.push(OFFSET + i);
+        }
+        long sum = 0;
+        while (!stack.empty()) {
+            sum += stack.pop();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long fillDrain_IntStack() {
+        IntStack stack = new IntStack();
+        for (int i = 0; i < size; i++) {
+            stack.pushInt(OFFSET + i);
+        }
+        long sum = 0;
+        while (!stack.empty()) {
+            sum += stack.popInt();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long fillDrain_MyArrayQueueOfLong() {
+        MyArrayQueue<Long> queue = new MyArrayQueue<>();
+        for (int i = 0; i < size; i++) {
+            queue.offer((long) OFFSET + i);
+        }
+        long sum = 0;
+        Long v;
+        while ((v = queue.poll()) != null) {
+            sum += v;
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long fillDrain_LongArrayQueue() {
+        LongArrayQueue queue = new LongArrayQueue();
+        for (int i = 0; i < size; i++) {
+            queue.offerLong((long) OFFSET + i);
+        }
+        long sum = 0;
+        while (!queue.isEmpty()) {
+            sum += queue.pollLong();
+        }
+        return sum;
+    }
+}
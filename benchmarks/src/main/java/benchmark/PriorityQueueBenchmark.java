@@ -0,0 +1,156 @@
+package benchmark;
+
+import _10_priority_queue.IndexedPriorityQueue;
+import _10_priority_queue.LongKeyPriorityQueue;
+import _10_priority_queue.MyPriorityQueue;
+import _3_array_queue.MyArrayQueue;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import my_util.ResizePolicy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * 우선순위 큐 비교.
+ * hold: 요소 개수를 size로 유지하면서 poll 한 번과 무작위 우선순위의 offer 한 번을 반복한다.
+ * sortOnOffer: 지금까지 스케줄러가 쓰던 방식(MyArrayQueue에 offer할 때마다 sort)과의 비교. (size = 1000 고정)
+ * heapify: size개의 요소로 큐를 만든다. (O(n) 힙 구성과 offer 반복)
+ * decreaseKey: IndexedPriorityQueue에서 임의 요소의 우선순위를 가장 앞으로 낮추고 poll한 뒤 새 요소를 추가한다.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PriorityQueueBenchmark {
+
+    private static final int KEYS = 1 << 16;
+    private static final int SORT_ON_OFFER_SIZE = 1000;
+    private static final Long MINUS_ONE = -1L;
+
+    @Param({"1000", "100000"})
+    int size;
+
+    Long[] keys;
+    int next;
+    MyPriorityQueue<Long> binary;
+    MyPriorityQueue<Long> quaternary;
+    LongKeyPriorityQueue<Long> longKey;
+    PriorityQueue<Long> jdk;
+    MyArrayQueue<Long> sorted;
+    IndexedPriorityQueue<Long> indexed;
+    IndexedPriorityQueue.Handle<Long>[] handles;
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(7);
+        keys = new Long[KEYS];
+        for (int i = 0; i < KEYS; i++) {
+            keys[i] = (long) random.nextInt(1 << 30);
+        }
+        binary = new MyPriorityQueue<>(size, 2, null, ResizePolicy.defaultPolicy());
+        quaternary = new MyPriorityQueue<>(size, 4, null, ResizePolicy.defaultPolicy());
+        longKey = new LongKeyPriorityQueue<>(size, 4, ResizePolicy.defaultPolicy());
+        jdk = new PriorityQueue<>(size);
+        sorted = new MyArrayQueue<>();
+        indexed = new IndexedPriorityQueue<>();
+        handles = new IndexedPriorityQueue.Handle[size];
+        for (int i = 0; i < size; i++) {
+            Long key = keys[i & (KEYS - 1)];
+            binary.offer(key);
+            quaternary.offer(key);
+            longKey.offer(key, key);
+            jdk.offer(key);
+            handles[i] = indexed.add(key);
+            if (i < SORT_ON_OFFER_SIZE) {
+                sorted.offer(key);
+            }
+        }
+        sorted.sort();
+    }
+
+    private Long nextKey() {
+        return keys[next++ & (KEYS - 1)];
+    }
+
+    @Benchmark
+    public Long holdBinary() {
+        Long top = binary.poll();
+        binary.offer(nextKey());
+        return top;
+    }
+
+    @Benchmark
+    public Long holdQuaternary() {
+        Long top = quaternary.poll();
+        quaternary.offer(nextKey());
+        return top;
+    }
+
+    @Benchmark
+    public Long holdLongKey() {
+        Long top = longKey.poll();
+        Long key = nextKey();
+        longKey.offer(key, key);
+        return top;
+    }
+
+    @Benchmark
+    public Long holdJdk() {
+        Long top = jdk.poll();
+        jdk.offer(nextKey());
+        return top;
+    }
+
+    @Benchmark
+    public Long sortOnOffer() {
+        Long top = sorted.poll();
+        sorted.offer(nextKey());
+        sorted.sort();
+        return top;
+    }
+
+    @Benchmark
+    public MyPriorityQueue<Long> heapify() {
+        Long[] values = new Long[size];
+        System.arraycopy(keys, 0, values, 0, Math.min(size, KEYS));
+        for (int i = KEYS; i < size; i++) {
+            values[i] = keys[i & (KEYS - 1)];
+        }
+        return MyPriorityQueue.heapify(values, 4, null);
+    }
+
+    @Benchmark
+    public MyPriorityQueue<Long> offerRepeatedly() {
+        MyPriorityQueue<Long> queue = new MyPriorityQueue<>(size, 4, null, ResizePolicy.defaultPolicy());
+        for (int i = 0; i < size; i++) {
+            queue.offer(keys[i & (KEYS - 1)]);
+        }
+        return queue;
+    }
+
+    /**
+     * 임의 handle을 모든 키(0 이상)보다 작은 -1로 낮추면 바로 다음 poll에서 그 handle이 나온다.
+     */
+    @Benchmark
+    public Long decreaseKey() {
+        int i = next++ % size;
+        indexed.decreaseKey(handles[i], MINUS_ONE);
+        Long top = indexed.poll();
+        handles[i] = indexed.add(nextKey());
+        return top;
+    }
+}
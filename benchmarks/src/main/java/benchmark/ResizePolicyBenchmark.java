@@ -0,0 +1,57 @@
+package benchmark;
+
+import _2_stack.MyStack;
+import java.util.concurrent.TimeUnit;
+import my_util.ResizePolicy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * 축소 임계값 근처에서 push/pop을 반복하는 작업 부하에서 정책별 재할당 비용을 비교한다.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ResizePolicyBenchmark {
+
+    @Param({"1000", "100000"})
+    int size;
+
+    @Param({"default", "neverShrink"})
+    String policy;
+
+    MyStack<Integer> stack;
+    Integer value = 42;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ResizePolicy resizePolicy = "neverShrink".equals(policy)
+            ? ResizePolicy.neverShrink() : ResizePolicy.defaultPolicy();
+        stack = new MyStack<>(resizePolicy);
+        for (int i = 0; i < size; i++) {
+            stack.push(value);
+        }
+    }
+
+    // 스택 크기를 기준점 아래위로 흔든다.
+    @Benchmark
+    public Integer oscillate() {
+        stack.pop();
+        stack.pop();
+        stack.push(value);
+        return stack.push(value);
+    }
+}
@@ -0,0 +1,76 @@
+package benchmark;
+
+import _1_array_list.MyArrayList;
+import _3_array_queue.MyArrayQueue;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * 복사 지연 clone()/snapshot()의 비용 측정.
+ * snapshot* 벤치마크는 원본을 변경하지 않으므로 배열 복사가 일어나지 않고,
+ * snapshotThenWrite* 벤치마크는 snapshot 직후 원본을 한 번 변경하여 지연된 복사 비용까지 포함한다.
+ * jdkCopy는 java.util.ArrayList 전체 복사와의 비교용이다. (GCProfiler의 gc.alloc.rate.norm으로 메모리를 비교한다)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = {"-Xmx4g"})
+@State(Scope.Thread)
+public class SnapshotBenchmark {
+
+    @Param({"1000000", "10000000"})
+    int size;
+
+    MyArrayList<Integer> list;
+    MyArrayQueue<Integer> queue;
+    ArrayList<Integer> jdkList;
+    Integer value = 42;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        list = new MyArrayList<>();
+        queue = new MyArrayQueue<>();
+        jdkList = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            Integer v = i;
+            list.add(v);
+            queue.offer(v);
+            jdkList.add(v);
+        }
+    }
+
+    @Benchmark
+    public MyArrayList<Integer> snapshotList() {
+        return list.snapshot();
+    }
+
+    @Benchmark
+    public MyArrayQueue<Integer> snapshotQueue() {
+        return queue.snapshot();
+    }
+
+    @Benchmark
+    public MyArrayList<Integer> snapshotThenWriteList() {
+        MyArrayList<Integer> snapshot = list.snapshot();
+        list.set(0, value);
+        return snapshot;
+    }
+
+    @Benchmark
+    public ArrayList<Integer> jdkCopy() {
+        return new ArrayList<>(jdkList);
+    }
+}
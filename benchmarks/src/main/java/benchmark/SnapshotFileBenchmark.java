@@ -0,0 +1,161 @@
+package benchmark;
+
+import _11_offheap_queue.Codecs;
+import _13_snapshot.SnapshotReader;
+import _13_snapshot.SnapshotWriter;
+import _1_array_list.MyArrayList;
+import _6_primitive.LongArrayList;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * size개의 long을 파일로 저장하고 다시 읽는 시간.
+ * <ul>
+ *   <li>primitive*: LongArrayList.save/load (little-endian 원시 배열, 매핑된 파일에 bulk 복사)</li>
+ *   <li>codec*: MyArrayList&lt;Long&gt;.save/load (Codecs.INT64로 요소마다 직렬화)</li>
+ *   <li>javaSerialization*: java.util.ArrayList&lt;Long&gt;를 ObjectOutputStream/ObjectInputStream으로 저장/복원</li>
+ * </ul>
+ * save는 close()의 fsync까지 포함한다. load는 방금 쓴 파일을 읽으므로 페이지 캐시에서 읽는다.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g"})
+@State(Scope.Thread)
+public class SnapshotFileBenchmark {
+
+    @Param({"10000000"})
+    int size;
+
+    Path dir;
+    Path primitiveFile;
+    Path codecFile;
+    Path serialFile;
+    LongArrayList primitive;
+    MyArrayList<Long> boxed;
+    ArrayList<Long> jdkList;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("snapshot");
+        primitiveFile = dir.resolve("primitive.snap");
+        codecFile = dir.resolve("codec.snap");
+        serialFile = dir.resolve("list.ser");
+        primitive = new LongArrayList(size);
+        boxed = new MyArrayList<>(size);
+        jdkList = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            long v = i * 31L;
+            primitive.addLong(v);
+            boxed.add(v);
+            jdkList.add(v);
+        }
+        primitiveSave();
+        codecSave();
+        javaSerializationSave();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(primitiveFile);
+        Files.deleteIfExists(codecFile);
+        Files.deleteIfExists(serialFile);
+        Files.deleteIfExists(dir);
+    }
+
+    @Benchmark
+    public long primitiveSave() throws IOException {
+        primitive.save(primitiveFile);
+        return Files.size(primitiveFile);
+    }
+
+    @Benchmark
+    public LongArrayList primitiveLoad() throws IOException {
+        return LongArrayList.load(primitiveFile);
+    }
+
+    @Benchmark
+    public long codecSave() throws IOException {
+        boxed.save(codecFile, Codecs.INT64);
+        return Files.size(codecFile);
+    }
+
+    @Benchmark
+    public MyArrayList<Long> codecLoad() throws IOException {
+        return MyArrayList.load(codecFile, Codecs.INT64);
+    }
+
+    /**
+     * 힙에 모으지 않고 SnapshotReader로 읽으면서 합계만 구한다.
+     */
+    @Benchmark
+    public long streamingSum() throws IOException {
+        long sum = 0;
+        long[] chunk = new long[8192];
+        try (SnapshotReader<Long> reader = SnapshotReader.openLongs(primitiveFile)) {
+            int n;
+            while ((n = reader.readLongs(chunk, 0, chunk.length)) > 0) {
+                for (int i = 0; i < n; i++) {
+                    sum += chunk[i];
+                }
+            }
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long javaSerializationSave() throws IOException {
+        try (ObjectOutputStream out = new ObjectOutputStream(
+            new BufferedOutputStream(Files.newOutputStream(serialFile)))) {
+            out.writeObject(jdkList);
+        }
+        return Files.size(serialFile);
+    }
+
+    @Benchmark
+    public Object javaSerializationLoad() throws IOException, ClassNotFoundException {
+        try (ObjectInputStream in = new ObjectInputStream(
+            new BufferedInputStream(Files.newInputStream(serialFile)))) {
+            return in.readObject();
+        }
+    }
+
+    /**
+     * 스트리밍 writer가 SnapshotWriter를 직접 쓰는 경우의 비교용. (요소 하나씩, 박싱 없이 8192개씩 모아서)
+     */
+    @Benchmark
+    public long streamingWrite() throws IOException {
+        long[] chunk = new long[8192];
+        try (SnapshotWriter<Long> writer = SnapshotWriter.createLongs(primitiveFile)) {
+            for (int i = 0; i < size; i += chunk.length) {
+                int n = Math.min(chunk.length, size - i);
+                for (int j = 0; j < n; j++) {
+                    chunk[j] = (i + j) * 31L;
+                }
+                writer.writeLongs(chunk, 0, n);
+            }
+            return writer.count();
+        }
+    }
+}
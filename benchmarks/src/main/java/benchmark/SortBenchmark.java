@@ -0,0 +1,81 @@
+package benchmark;
+
+import _1_array_list.MyArrayList;
+import _3_array_queue.MyArrayQueue;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * 단일 스레드 정렬과 병렬 정렬 비교. 매 호출마다 같은 무작위 순서로 되돌린 뒤 정렬한다.
+ * (되돌리는 비용도 측정에 포함되므로 두 경우의 차이를 보면 된다)
+ * 큐는 원형 배열이 끝에서 감겨 있는 상태로 만든다.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SortBenchmark {
+
+    @Param({"100000", "3000000"})
+    int size;
+
+    @Param({"sequential", "parallel"})
+    String mode;
+
+    Integer[] shuffled;
+    MyArrayList<Integer> list;
+    MyArrayQueue<Integer> queue;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        shuffled = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            shuffled[i] = random.nextInt();
+        }
+        int threshold = "parallel".equals(mode) ? 1 : Integer.MAX_VALUE;
+        list = new MyArrayList<>(size);
+        list.setParallelSortThreshold(threshold);
+        queue = new MyArrayQueue<>(size);
+        queue.setParallelSortThreshold(threshold);
+    }
+
+    @Benchmark
+    public MyArrayList<Integer> sort_MyArrayList() {
+        list.clear();
+        list.addAll(shuffled);
+        list.sort();
+        return list;
+    }
+
+    @Benchmark
+    public MyArrayQueue<Integer> sort_MyArrayQueue() {
+        queue.clear();
+        // 절반 위치에서 시작해 배열 끝에서 감기도록 만든다.
+        for (int i = 0; i < size / 2; i++) {
+            queue.offer(shuffled[i]);
+        }
+        for (int i = 0; i < size / 2; i++) {
+            queue.poll();
+        }
+        for (Integer v : shuffled) {
+            queue.offer(v);
+        }
+        queue.sort();
+        return queue;
+    }
+}
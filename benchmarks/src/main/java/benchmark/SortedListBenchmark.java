@@ -0,0 +1,126 @@
+package benchmark;
+
+import _14_sorted_list.SortedArrayList;
+import _1_array_list.MyArrayList;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * 정렬된 상태를 유지하는 비용. size개가 든 리스트에 batch개를 넣고, 같은 개수를 임의의 위치에서 삭제해서 크기를 유지한다.
+ * <ul>
+ *   <li>sortedMerge / listAddAllSort: 정렬되지 않은 묶음을 SortedArrayList.addAll로 병합 vs MyArrayList.addAll 후 sort()</li>
+ *   <li>sortedMergePresorted: 이미 정렬된 묶음을 mergeSorted로 병합 (정렬 비용 없음)</li>
+ *   <li>sortedSingleAdds: 묶음을 add로 하나씩 넣고 contains 한 번 (버퍼가 차거나 읽을 때 병합)</li>
+ *   <li>sortedContains / listContains: 이진 탐색 vs 선형 탐색</li>
+ * </ul>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SortedListBenchmark {
+
+    @Param({"1000000"})
+    int size;
+
+    @Param({"1000"})
+    int batch;
+
+    SortedArrayList<Integer> sorted;
+    MyArrayList<Integer> list;
+    Integer[] values;
+    Integer[] presorted;
+    Random random;
+    int probe;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        random = new Random(42);
+        sorted = new SortedArrayList<>();
+        list = new MyArrayList<>(size + batch);
+        Integer[] initial = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            initial[i] = random.nextInt();
+        }
+        sorted.addAll(initial);
+        for (Integer v : initial) {
+            list.add(v);
+        }
+        list.sort();
+        values = new Integer[batch];
+        for (int i = 0; i < batch; i++) {
+            values[i] = random.nextInt();
+        }
+        presorted = values.clone();
+        Arrays.sort(presorted);
+    }
+
+    private int removeFrom() {
+        return random.nextInt(size);
+    }
+
+    @Benchmark
+    public int sortedMerge() {
+        sorted.addAll(values);
+        int from = removeFrom();
+        sorted.removeRange(from, from + batch);
+        return sorted.size();
+    }
+
+    @Benchmark
+    public int sortedMergePresorted() {
+        sorted.mergeSorted(presorted, 0, batch);
+        int from = removeFrom();
+        sorted.removeRange(from, from + batch);
+        return sorted.size();
+    }
+
+    @Benchmark
+    public boolean sortedSingleAdds() {
+        for (Integer v : values) {
+            sorted.add(v);
+        }
+        boolean found = sorted.contains(values[0]);
+        int from = removeFrom();
+        sorted.removeRange(from, from + batch);
+        return found;
+    }
+
+    @Benchmark
+    public int listAddAllSort() {
+        list.addAll(values);
+        list.sort();
+        int from = removeFrom();
+        list.removeRange(from, from + batch);
+        return list.size();
+    }
+
+    @Benchmark
+    public boolean sortedContains() {
+        int p = probe;
+        probe = p + 1 < batch ? p + 1 : 0;
+        return sorted.contains(values[p]);
+    }
+
+    @Benchmark
+    public boolean listContains() {
+        int p = probe;
+        probe = p + 1 < batch ? p + 1 : 0;
+        return list.contains(values[p]);
+    }
+}
@@ -0,0 +1,125 @@
+package benchmark;
+
+import _3_array_queue.MyArrayQueue;
+import _5_concurrent.SpscArrayQueue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import my_interface.MyQueueInterface;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * 생산자 스레드 하나와 소비자 스레드 하나 사이의 전달 처리량.
+ * 성공한 offer/poll 횟수는 AuxCounters로 따로 집계한다. (실패한 시도는 처리량에서 제외하고 보면 된다)
+ * 두 스레드가 서로 다른 코어에서 돌아야 의미 있는 수치가 나온다.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Group)
+public class SpscQueueBenchmark {
+
+    @Param({"SpscArrayQueue", "ArrayBlockingQueue", "SynchronizedMyArrayQueue"})
+    String impl;
+
+    @Param({"1024"})
+    int capacity;
+
+    @Param({"64"})
+    int batch;
+
+    MyQueueInterface<Integer> queue;
+    SpscArrayQueue<Integer> spsc;
+    final Integer value = 42;
+    final Supplier<Integer> supplier = () -> value; // 호출마다 람다를 만들지 않도록 미리 만들어 둔다.
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        switch (impl) {
+            case "SpscArrayQueue":
+                queue = spsc = new SpscArrayQueue<>(capacity);
+                break;
+            case "ArrayBlockingQueue":
+                queue = new BlockingQueueAdapter<>(new ArrayBlockingQueue<>(capacity));
+                break;
+            case "SynchronizedMyArrayQueue":
+                queue = new SynchronizedQueue<>(new MyArrayQueue<>(capacity), capacity);
+                break;
+            default:
+                throw new IllegalArgumentException(impl);
+        }
+    }
+
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    @State(Scope.Thread)
+    public static class Counters {
+
+        public long offered;
+        public long polled;
+        public long failed;
+    }
+
+    @Benchmark
+    @Group("offerPoll")
+    @GroupThreads(1)
+    public void offer(Counters counters) {
+        if (queue.offer(value)) {
+            counters.offered++;
+        } else {
+            counters.failed++;
+        }
+    }
+
+    @Benchmark
+    @Group("offerPoll")
+    @GroupThreads(1)
+    public Integer poll(Counters counters) {
+        Integer e = queue.poll();
+        if (e != null) {
+            counters.polled++;
+        } else {
+            counters.failed++;
+        }
+        return e;
+    }
+
+    // 배치 API는 SpscArrayQueue에만 있으므로 impl=SpscArrayQueue 일 때만 의미가 있다.
+    @Benchmark
+    @Group("fillDrain")
+    @GroupThreads(1)
+    public void fill(Counters counters) {
+        if (spsc == null) {
+            return;
+        }
+        counters.offered += spsc.fill(supplier, batch);
+    }
+
+    @Benchmark
+    @Group("fillDrain")
+    @GroupThreads(1)
+    public void drain(Counters counters) {
+        if (spsc == null) {
+            return;
+        }
+        counters.polled += spsc.drain(SpscQueueBenchmark::consume, batch);
+    }
+
+    private static void consume(Integer e) {
+    }
+}
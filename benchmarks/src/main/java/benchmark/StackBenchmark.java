@@ -0,0 +1,136 @@
+package benchmark;
+
+import _2_stack.MyStack;
+import java.util.ArrayDeque;
+import java.util.Stack;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * MyStack과 java.util.Stack, java.util.ArrayDeque 비교.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class StackBenchmark {
+
+    @Param({"100", "10000", "1000000"})
+    int size;
+
+    Integer[] values;
+    MyStack<Integer> myStack;
+    Stack<Integer> jdkStack;
+    ArrayDeque<Integer> jdkDeque;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        values = new Integer[size];
+        myStack = new MyStack<>();
+        jdkStack = new Stack<>();
+        jdkDeque = new ArrayDeque<>();
+        for (int i = 0; i < size; i++) {
+            values[i] = i;
+            myStack.push(values[i]);
+            jdkStack.push(values[i]);
+            jdkDeque.push(values[i]);
+        }
+    }
+
+    // size개를 모두 push한 뒤 모두 pop한다.
+    @Benchmark
+    public int fillDrain_MyStack() {
+        MyStack<Integer> stack = new MyStack<>();
+        for (Integer v : values) {
+            stack.push(v);
+        }
+        int sum = 0;
+        while (!stack.empty()) {
+            sum += stack.pop();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public int fillDrain_Stack() {
+        Stack<Integer> stack = new Stack<>();
+        for (Integer v : values) {
+            stack.push(v);
+        }
+        int sum = 0;
+        while (!stack.empty()) {
+            sum += stack.pop();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public int fillDrain_ArrayDeque() {
+        ArrayDeque<Integer> stack = new ArrayDeque<>();
+        for (Integer v : values) {
+            stack.push(v);
+        }
+        int sum = 0;
+        while (!stack.isEmpty()) {
+            sum += stack.pop();
+        }
+        return sum;
+    }
+
+    // size를 유지한 채 push 후 pop 한다.
+    @Benchmark
+    public Integer pushPop_MyStack() {
+        myStack.push(values[0]);
+        return myStack.pop();
+    }
+
+    @Benchmark
+    public Integer pushPop_Stack() {
+        jdkStack.push(values[0]);
+        return jdkStack.pop();
+    }
+
+    @Benchmark
+    public Integer pushPop_ArrayDeque() {
+        jdkDeque.push(values[0]);
+        return jdkDeque.pop();
+    }
+
+    @Benchmark
+    public Integer peek_MyStack() {
+        return myStack.peek();
+    }
+
+    @Benchmark
+    public Integer peek_Stack() {
+        return jdkStack.peek();
+    }
+
+    @Benchmark
+    public Integer peek_ArrayDeque() {
+        return jdkDeque.peek();
+    }
+
+    @Benchmark
+    public int search_MyStack() {
+        return myStack.search(values[size >> 1]);
+    }
+
+    @Benchmark
+    public int search_Stack() {
+        return jdkStack.search(values[size >> 1]);
+    }
+}
@@ -0,0 +1,80 @@
+package benchmark;
+
+import _1_array_list.MyArrayList;
+import _3_array_queue.MyArrayQueue;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * 순차/병렬 스트림 집계. 큐는 원형 배열이 끝에서 감겨 있는 상태로 만든다.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class StreamBenchmark {
+
+    @Param({"100000", "5000000"})
+    int size;
+
+    MyArrayList<Integer> myList;
+    ArrayList<Integer> jdkList;
+    MyArrayQueue<Integer> myQueue;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        myList = new MyArrayList<>();
+        jdkList = new ArrayList<>();
+        myQueue = new MyArrayQueue<>(size);
+        for (int i = 0; i < size / 2; i++) {
+            myQueue.offer(i);
+        }
+        for (int i = 0; i < size / 2; i++) {
+            myQueue.poll();
+        }
+        for (int i = 0; i < size; i++) {
+            myList.add(i);
+            jdkList.add(i);
+            myQueue.offer(i);
+        }
+    }
+
+    @Benchmark
+    public long sum_MyArrayList() {
+        return myList.stream().mapToLong(Integer::longValue).sum();
+    }
+
+    @Benchmark
+    public long parallelSum_MyArrayList() {
+        return myList.parallelStream().mapToLong(Integer::longValue).sum();
+    }
+
+    @Benchmark
+    public long parallelSum_ArrayList() {
+        return jdkList.parallelStream().mapToLong(Integer::longValue).sum();
+    }
+
+    @Benchmark
+    public long sum_MyArrayQueue() {
+        return myQueue.stream().mapToLong(Integer::longValue).sum();
+    }
+
+    @Benchmark
+    public long parallelSum_MyArrayQueue() {
+        return myQueue.parallelStream().mapToLong(Integer::longValue).sum();
+    }
+}
@@ -0,0 +1,55 @@
+package benchmark;
+
+import _3_array_queue.MyArrayQueue;
+import java.util.function.Consumer;
+import my_interface.MyQueueInterface;
+
+/**
+ * MyArrayQueue를 synchronized로 감싼 용량 제한 큐. 동시성 큐들의 비교 기준으로 사용한다.
+ */
+final class SynchronizedQueue<E> implements MyQueueInterface<E> {
+
+    private final MyArrayQueue<E> queue;
+    private final int capacity;
+
+    SynchronizedQueue(MyArrayQueue<E> queue, int capacity) {
+        this.queue = queue;
+        this.capacity = capacity;
+    }
+
+    @Override
+    public synchronized boolean offer(E e) {
+        if (queue.size() >= capacity) {
+            return false;
+        }
+        return queue.offer(e);
+    }
+
+    @Override
+    public synchronized E poll() {
+        return queue.poll();
+    }
+
+    @Override
+    public synchronized E peek() {
+        return queue.peek();
+    }
+
+    @Override
+    public synchronized int drainTo(Consumer<? super E> action, int max) {
+        return queue.drainTo(action, max);
+    }
+
+    @Override
+    public synchronized int drainTo(E[] dst, int off, int max) {
+        return queue.drainTo(dst, off, max);
+    }
+
+    @Override
+    public synchronized int offerAll(E[] src, int off, int len) {
+        if (off < 0 || len < 0 || off > src.length - len) {
+            throw new IndexOutOfBoundsException();
+        }
+        return queue.offerAll(src, off, Math.min(len, capacity - queue.size()));
+    }
+}